@@ -0,0 +1,130 @@
+package handist.collections;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import handist.collections.accumulator.Accumulator;
+import handist.collections.accumulator.AccumulatorBlocked;
+import handist.collections.accumulator.AccumulatorCompleteRange;
+
+/**
+ * Compares {@link AccumulatorCompleteRange} and {@link AccumulatorBlocked} on
+ * an accumulation in which each element only updates the accumulators of a few
+ * neighboring indices. The whole cycle is measured: allocation of the
+ * thread-local accumulators, accumulation, and update of the collection with
+ * {@link ChunkedList#parallelAccept(Accumulator, java.util.function.BiConsumer)},
+ * or with the tree merge of
+ * {@link ChunkedList#parallelAccept(Accumulator, java.util.function.BiConsumer, java.util.function.BiConsumer)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Measurement(iterations = 10, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Timeout(time = 30)
+public class BenchAccumulator {
+
+    /** Modifiable long value */
+    static class LongValue {
+        long value;
+
+        LongValue(long v) {
+            value = v;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Class<BenchAccumulator> c = BenchAccumulator.class;
+
+        final Options opt = new OptionsBuilder().include(c.getSimpleName()).result("results/" + c.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    /** Size of the blocks allocated by {@link AccumulatorBlocked} */
+    @Param({ "256", "4096" })
+    private long blockSize;
+
+    /** Collection whose elements are accumulated and updated */
+    private ChunkedList<LongValue> list;
+
+    private final int nbChunks = 64;
+    private final int chunkSize = 100000;
+    /** Number of neighbors of each element updated during the accumulation */
+    private final int neighbors = 4;
+
+    private void accumulate(Accumulator<LongValue> acc, boolean treeMerge) {
+        final long size = list.size();
+        list.parallelForEach(acc, (long l, LongValue v, Accumulator.ThreadLocalAccumulator<LongValue> tla) -> {
+            for (long n = l + 1; n <= l + neighbors && n < size; n++) {
+                tla.acquire(n).value += v.value;
+            }
+        });
+        if (treeMerge) {
+            list.parallelAccept(acc, (LongValue a, LongValue b) -> {
+                a.value += b.value;
+            }, (LongValue v, LongValue a) -> {
+                v.value += a.value;
+            });
+        } else {
+            list.parallelAccept(acc, (LongValue v, LongValue a) -> {
+                v.value += a.value;
+            });
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        list = new ChunkedList<>();
+        for (int c = 0; c < nbChunks; c++) {
+            final LongRange range = new LongRange((long) c * chunkSize, (long) (c + 1) * chunkSize);
+            list.add(new Chunk<>(range, (Long i) -> new LongValue(i % 7)));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        list = null;
+    }
+
+    @Benchmark
+    public void testAccumulate_Blocked(Blackhole result) {
+        final Accumulator<LongValue> acc = new AccumulatorBlocked<>(list, blockSize, l -> new LongValue(0));
+        accumulate(acc, false);
+        result.consume(acc);
+    }
+
+    @Benchmark
+    public void testAccumulate_BlockedTreeMerge(Blackhole result) {
+        final Accumulator<LongValue> acc = new AccumulatorBlocked<>(list, blockSize, l -> new LongValue(0));
+        accumulate(acc, true);
+        result.consume(acc);
+    }
+
+    @Benchmark
+    public void testAccumulate_CompleteRange(Blackhole result) {
+        final Accumulator<LongValue> acc = new AccumulatorCompleteRange<>(list, l -> new LongValue(0));
+        accumulate(acc, false);
+        result.consume(acc);
+    }
+}
@@ -0,0 +1,140 @@
+package handist.collections;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of {@link ChunkedList#get(long)} and
+ * {@link ChunkedList#set(long, Object)} with and without the lookup index built
+ * by {@link ChunkedList#freeze()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@Measurement(iterations = 10, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Timeout(time = 10)
+public class BenchChunkedListGet {
+
+    public static void main(String[] args) throws RunnerException {
+        final Class<BenchChunkedListGet> c = BenchChunkedListGet.class;
+
+        final Options opt = new OptionsBuilder().include(c.getSimpleName()).result("results/" + c.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    /** Number of chunks held by the collections */
+    @Param({ "10", "1000" })
+    private int nbChunks;
+
+    /** Collection on which the skip-list lookup is used */
+    private ChunkedList<Integer> plainList;
+    /** Collection on which {@link ChunkedList#freeze()} was called */
+    private ChunkedList<Integer> frozenList;
+    /** Indices accessed in the "random" benchmarks */
+    private long[] randomIndices;
+
+    private final int chunkSize = 1000;
+    private final int seed = 12345;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        plainList = new ChunkedList<>();
+        frozenList = new ChunkedList<>();
+        for (int c = 0; c < nbChunks; c++) {
+            final LongRange range = new LongRange((long) c * chunkSize, (long) (c + 1) * chunkSize);
+            plainList.add(new Chunk<>(range, (i) -> i.intValue()));
+            frozenList.add(new Chunk<>(range, (i) -> i.intValue()));
+        }
+        frozenList.freeze();
+
+        final Random r = new Random(seed);
+        final long total = (long) nbChunks * chunkSize;
+        randomIndices = new long[100000];
+        for (int i = 0; i < randomIndices.length; i++) {
+            randomIndices[i] = (long) (r.nextDouble() * total);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        plainList = null;
+        frozenList = null;
+        randomIndices = null;
+    }
+
+    private static long sequentialSum(ChunkedList<Integer> list) {
+        long sum = 0;
+        final long size = list.size();
+        for (long i = 0; i < size; i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    private static long randomSum(ChunkedList<Integer> list, long[] indices) {
+        long sum = 0;
+        for (final long i : indices) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void testGetRandom_Frozen(Blackhole result) {
+        result.consume(randomSum(frozenList, randomIndices));
+    }
+
+    @Benchmark
+    public void testGetRandom_SkipList(Blackhole result) {
+        result.consume(randomSum(plainList, randomIndices));
+    }
+
+    @Benchmark
+    public void testGetSequential_Frozen(Blackhole result) {
+        result.consume(sequentialSum(frozenList));
+    }
+
+    @Benchmark
+    public void testGetSequential_SkipList(Blackhole result) {
+        result.consume(sequentialSum(plainList));
+    }
+
+    @Benchmark
+    public void testSetRandom_Frozen(Blackhole result) {
+        for (final long i : randomIndices) {
+            frozenList.set(i, 0);
+        }
+        result.consume(frozenList);
+    }
+
+    @Benchmark
+    public void testSetRandom_SkipList(Blackhole result) {
+        for (final long i : randomIndices) {
+            plainList.set(i, 0);
+        }
+        result.consume(plainList);
+    }
+}
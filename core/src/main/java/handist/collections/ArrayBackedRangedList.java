@@ -0,0 +1,20 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+/**
+ * Marker interface for the {@link RangedList} implementations which store
+ * their elements themselves, typically in arrays, rather than giving access to
+ * the elements of another {@link RangedList}. Such instances can be used as the
+ * base of a {@link RangedListView}.
+ */
+public interface ArrayBackedRangedList {
+}
@@ -26,6 +26,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.KryoSerializable;
@@ -41,6 +44,9 @@ import handist.collections.reducer.IntReducer;
 import handist.collections.reducer.LongReducer;
 import handist.collections.reducer.Reducer;
 import handist.collections.reducer.ShortReducer;
+import handist.collections.reducer.ToDoubleReducer;
+import handist.collections.reducer.ToIntReducer;
+import handist.collections.reducer.ToLongReducer;
 
 /**
  * Container for user-defined types.
@@ -718,6 +724,58 @@ public class Bag<T> implements ParallelReceiver<T>, Serializable, KryoSerializab
         return parallelReduceList(Runtime.getRuntime().availableProcessors(), reducer);
     }
 
+    /**
+     * Performs the specified reduction on the elements contained in this bag in
+     * parallel, using an operation provided by default. Contrary to
+     * {@link #parallelReduce(int, DoubleReducer.Op, Function)}, the values extracted
+     * from the elements are not boxed. This {@link Bag} will be emptied as a
+     * result
+     *
+     * @param parallelism the maximum number of concurrent threads allocated to this
+     *                    reduction operation (must be greater or equal to 1)
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public double parallelReduceToDouble(int parallelism, DoubleReducer.Op op,
+            ToDoubleFunction<? super T> extractFunc) {
+        return parallelReduce(parallelism, new ToDoubleReducer<T>(op, extractFunc)).value();
+    }
+
+    /**
+     * Performs the specified reduction on the elements contained in this bag in
+     * parallel, using an operation provided by default. Contrary to
+     * {@link #parallelReduce(int, IntReducer.Op, Function)}, the values extracted
+     * from the elements are not boxed. This {@link Bag} will be emptied as a
+     * result
+     *
+     * @param parallelism the maximum number of concurrent threads allocated to this
+     *                    reduction operation (must be greater or equal to 1)
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public int parallelReduceToInt(int parallelism, IntReducer.Op op, ToIntFunction<? super T> extractFunc) {
+        return parallelReduce(parallelism, new ToIntReducer<T>(op, extractFunc)).value();
+    }
+
+    /**
+     * Performs the specified reduction on the elements contained in this bag in
+     * parallel, using an operation provided by default. Contrary to
+     * {@link #parallelReduce(int, LongReducer.Op, Function)}, the values extracted
+     * from the elements are not boxed. This {@link Bag} will be emptied as a
+     * result
+     *
+     * @param parallelism the maximum number of concurrent threads allocated to this
+     *                    reduction operation (must be greater or equal to 1)
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public long parallelReduceToLong(int parallelism, LongReducer.Op op, ToLongFunction<? super T> extractFunc) {
+        return parallelReduce(parallelism, new ToLongReducer<T>(op, extractFunc)).value();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void read(Kryo kryo, Input input) {
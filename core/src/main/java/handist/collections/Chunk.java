@@ -25,12 +25,14 @@ import com.esotericsoftware.kryo.KryoSerializable;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 
+import handist.collections.dist.util.KryoRegistry;
+
 /**
  * Large collection that can contain objects mapped to long indices.
  *
  * @param <T> type of the elements handled by this instance
  */
-public class Chunk<T> extends RangedList<T> implements Serializable, KryoSerializable {
+public class Chunk<T> extends RangedList<T> implements ArrayBackedRangedList, Serializable, KryoSerializable {
 
     /** Serial Version UID */
     private static final long serialVersionUID = -7691832846457812518L;
@@ -281,8 +283,9 @@ public class Chunk<T> extends RangedList<T> implements Serializable, KryoSeriali
 
     @Override
     public void read(Kryo kryo, Input input) {
-        this.range = (LongRange) kryo.readClassAndObject(input);
-        this.a = (Object[]) kryo.readClassAndObject(input);
+        final long from = input.readVarLong(false);
+        this.range = new LongRange(from, from + input.readVarLong(true));
+        this.a = KryoRegistry.readArray(kryo, input);
     }
 
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -417,8 +420,11 @@ public class Chunk<T> extends RangedList<T> implements Serializable, KryoSeriali
 
     @Override
     public void write(Kryo kryo, Output output) {
-        kryo.writeClassAndObject(output, range);
-        kryo.writeClassAndObject(output, a);
+        // The range is written as its lower bound and size, the elements with
+        // their class written once if they all share the same class
+        output.writeVarLong(range.from, false);
+        output.writeVarLong(range.to - range.from, true);
+        KryoRegistry.writeArray(kryo, output, a);
     }
 
     private void writeObject(ObjectOutputStream out) throws IOException {
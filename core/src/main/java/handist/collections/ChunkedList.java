@@ -32,6 +32,12 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import handist.collections.FutureN.ReturnGivenResult;
 import handist.collections.accumulator.Accumulator;
@@ -46,6 +52,9 @@ import handist.collections.reducer.LongReducer;
 import handist.collections.reducer.Reducible;
 import handist.collections.reducer.Reducer;
 import handist.collections.reducer.ShortReducer;
+import handist.collections.reducer.ToDoubleReducer;
+import handist.collections.reducer.ToIntReducer;
+import handist.collections.reducer.ToLongReducer;
 
 /**
  * Large collection containing multiple {@link Chunk}s. This overcomes the
@@ -137,6 +146,75 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
 
     }
 
+    /**
+     * Read-only snapshot of the chunks of a {@link ChunkedList} built by method
+     * {@link ChunkedList#freeze()}. The bounds of the chunks are kept in sorted
+     * {@code long} arrays so that the chunk containing an index can be found with
+     * a binary search, without allocating any object or walking the
+     * {@link ConcurrentSkipListMap}.
+     *
+     * @param <S> type of the elements handled by the chunks
+     */
+    private static final class LookupIndex<S> {
+        /** Lower bound (inclusive) of each chunk, in increasing order */
+        private final long[] froms;
+        /**
+         * Position of the chunk which was found last. Races on this member are
+         * benign: the worst that can happen is an unnecessary binary search.
+         */
+        private int hint;
+        /** Chunks of the snapshot, in the same order as {@link #froms} */
+        private final RangedList<S>[] lists;
+        /** Upper bound (exclusive) of each chunk */
+        private final long[] tos;
+
+        @SuppressWarnings("unchecked")
+        LookupIndex(ConcurrentSkipListMap<LongRange, RangedList<S>> chunks) {
+            final ArrayList<RangedList<S>> snapshot = new ArrayList<>(chunks.values());
+            final int len = snapshot.size();
+            froms = new long[len];
+            tos = new long[len];
+            lists = snapshot.toArray(new RangedList[len]);
+            for (int k = 0; k < len; k++) {
+                final LongRange r = lists[k].getRange();
+                froms[k] = r.from;
+                tos[k] = r.to;
+            }
+        }
+
+        /**
+         * Returns the chunk which contains the specified index
+         *
+         * @param i the index whose chunk is looked for
+         * @return the chunk containing this index, or {@code null} if there are no
+         *         such chunk in the snapshot
+         */
+        RangedList<S> find(long i) {
+            int k = hint;
+            if (k < froms.length && froms[k] <= i && i < tos[k]) {
+                return lists[k];
+            }
+            // Binary search for the last chunk whose lower bound is <= i
+            int low = 0;
+            int high = froms.length - 1;
+            k = -1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                if (froms[mid] <= i) {
+                    k = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (k < 0 || tos[k] <= i) {
+                return null;
+            }
+            hint = k;
+            return lists[k];
+        }
+    }
+
     public static class UnmodifiableView<S> extends ChunkedList<S> {
         /**
          *
@@ -309,6 +387,16 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
             base.forEachChunk(range, op);
         }
 
+        @Override
+        public void freeze() {
+            base.freeze();
+        }
+
+        @Override
+        public LazyPipeline<S, S> lazy() {
+            return base.lazy();
+        }
+
         @Override
         public S get(long i) {
             return base.get(i);
@@ -319,6 +407,16 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
             return base.getChunk(lr);
         }
 
+        @Override
+        public long getParallelGrain() {
+            return base.getParallelGrain();
+        }
+
+        @Override
+        public LongStream indexStream() {
+            return base.indexStream();
+        }
+
         @Override
         public int hashCode() {
             return base.hashCode();
@@ -365,6 +463,11 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
             base.parallelForEach(action);
         }
 
+        @Override
+        public LongStream parallelIndexStream() {
+            return base.parallelIndexStream();
+        }
+
         @Override
         public boolean parallelReduce(BoolReducer.Op op, Function<S, Boolean> extractFunc) {
             return base.parallelReduce(op, extractFunc);
@@ -435,6 +538,44 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
             return base.parallelReduce(op, extractFunc);
         }
 
+        @Override
+        public double parallelReduceToDouble(int parallelism, DoubleReducer.Op op,
+                ToDoubleFunction<? super S> extractFunc) {
+            return base.parallelReduceToDouble(parallelism, op, extractFunc);
+        }
+
+        @Override
+        public double parallelReduceToDouble(DoubleReducer.Op op, ToDoubleFunction<? super S> extractFunc) {
+            return base.parallelReduceToDouble(op, extractFunc);
+        }
+
+        @Override
+        public int parallelReduceToInt(int parallelism, IntReducer.Op op,
+                ToIntFunction<? super S> extractFunc) {
+            return base.parallelReduceToInt(parallelism, op, extractFunc);
+        }
+
+        @Override
+        public int parallelReduceToInt(IntReducer.Op op, ToIntFunction<? super S> extractFunc) {
+            return base.parallelReduceToInt(op, extractFunc);
+        }
+
+        @Override
+        public long parallelReduceToLong(int parallelism, LongReducer.Op op,
+                ToLongFunction<? super S> extractFunc) {
+            return base.parallelReduceToLong(parallelism, op, extractFunc);
+        }
+
+        @Override
+        public long parallelReduceToLong(LongReducer.Op op, ToLongFunction<? super S> extractFunc) {
+            return base.parallelReduceToLong(op, extractFunc);
+        }
+
+        @Override
+        public Stream<S> parallelStream() {
+            return base.parallelStream();
+        }
+
         @Override
         public Collection<LongRange> ranges() {
             return base.ranges();
@@ -466,6 +607,11 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
             return base.set(i, value);
         }
 
+        @Override
+        public void setParallelGrain(long grain) {
+            base.setParallelGrain(grain);
+        }
+
         @Override
         public long size() {
             return base.size();
@@ -481,6 +627,11 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
             return base.spliterator();
         }
 
+        @Override
+        public Stream<S> stream() {
+            return base.stream();
+        }
+
         @Override
         public ChunkedList<S> subList(LongRange range) {
             return new UnmodifiableView<>(base.subList(range));
@@ -511,6 +662,29 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
      */
     protected final ConcurrentSkipListMap<LongRange, RangedList<T>> chunks;
 
+    /**
+     * Snapshot of the chunks used to accelerate {@link #get(long)},
+     * {@link #set(long, Object)} and {@link #containsIndex(long)}. It is built by
+     * {@link #freeze()} and discarded as soon as a chunk is added or removed.
+     */
+    private transient volatile LookupIndex<T> lookupIndex;
+
+    /**
+     * Counter incremented after each modification of {@link #chunks}. Used by
+     * {@link #freeze()} to detect chunks added or removed while the lookup index
+     * was being built.
+     */
+    private transient volatile int modifications;
+
+    /**
+     * Number of elements below which a range is no longer split when parallel
+     * methods run in work-stealing mode. If zero (default), parallel methods
+     * statically split this collection with {@link #separate(int)} instead.
+     *
+     * @see #setParallelGrain(long)
+     */
+    private long parallelGrain = 0l;
+
     /**
      * Running tally of how many elements can be contained in the ChunkedList. It is
      * equal to the sum of the size of each individual chunk.
@@ -571,6 +745,11 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
      * Add a chunk to this instance. The provided chunk should not intersect with
      * any other already present in this instance, a {@link RuntimeException} will
      * be thrown otherwise.
+     * <p>
+     * This method may be called concurrently by several threads: the overlap check
+     * and the insertion are performed atomically with respect to other calls to
+     * this method, so that two overlapping chunks added concurrently cannot both be
+     * kept.
      *
      * @param c the chunk to add to this instance
      * @throws RuntimeException if the range on which the provided {@link Chunk} is
@@ -579,13 +758,16 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
      */
     public void add(RangedList<T> c) {
         final LongRange desired = c.getRange();
-        final LongRange intersection = checkOverlap(desired);
-        if (intersection != null) {
-            throw new ElementOverlapException("LongRange " + desired + " overlaps " + intersection
-                    + " which is already present in this ChunkedList");
+        synchronized (chunks) {
+            final LongRange intersection = checkOverlap(desired);
+            if (intersection != null) {
+                throw new ElementOverlapException("LongRange " + desired + " overlaps " + intersection
+                        + " which is already present in this ChunkedList");
+            }
+            chunks.put(desired, c);
         }
-        chunks.put(desired, c);
         size.addAndGet(c.size());
+        chunksModified();
     }
 
     /**
@@ -602,6 +784,7 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
     protected void add_unchecked(RangedList<T> c) {
         chunks.put(c.getRange(), c);
         size.addAndGet(c.size());
+        chunksModified();
     }
 
     public <U> void asyncForEach(BiConsumer<? super T, Consumer<? super U>> action,
@@ -963,6 +1146,15 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return range.findOverlap(chunks);
     }
 
+    /**
+     * Discards the lookup index built by {@link #freeze()}, if any. Needs to be
+     * called after each modification of {@link #chunks}.
+     */
+    private void chunksModified() {
+        modifications++;
+        lookupIndex = null;
+    }
+
     /**
      * Removes all the chunks contained in this instance. This instance is
      * effectively empty as a result and a subsequent call to {@link #isEmpty()}
@@ -971,6 +1163,7 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
     public void clear() {
         size.set(0l);
         chunks.clear();
+        chunksModified();
     }
 
     /**
@@ -984,7 +1177,7 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         final ConcurrentSkipListMap<LongRange, RangedList<T>> newChunks = new ConcurrentSkipListMap<>(
                 new LongRangeOrdering());
         for (final RangedList<T> c : chunks.values()) {
-            newChunks.put(c.getRange(), ((Chunk<T>) c).clone());
+            newChunks.put(c.getRange(), c.cloneRange(c.getRange()));
         }
         return new ChunkedList<>(newChunks);
     }
@@ -1059,15 +1252,7 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
     }
 
     public boolean containsIndex(long i) {
-        final LongRange r = new LongRange(i);
-        final Map.Entry<LongRange, RangedList<T>> entry = chunks.floorEntry(r);
-        if (entry == null || !entry.getKey().contains(i)) {
-//            entry = chunks.ceilingEntry(r);
-//            if (entry == null || !entry.getKey().contains(i)) {
-            return false;
-//            }
-        }
-        return true;
+        return findChunk(i) != null;
     }
 
     public boolean containsRange(LongRange range) {
@@ -1075,7 +1260,7 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return range.contained(chunks);
     }
 
-    private int defaultParallelism() {
+    int defaultParallelism() {
         return Runtime.getRuntime().availableProcessors() * 2;
     }
 
@@ -1123,6 +1308,27 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return result;
     }
 
+    /**
+     * Returns the chunk which contains the specified index. If a lookup index was
+     * built by {@link #freeze()}, it is used. Otherwise, the chunk is searched in
+     * {@link #chunks}.
+     *
+     * @param i the index whose chunk is looked for
+     * @return the chunk containing the index, or {@code null} if there are no such
+     *         chunk in this instance
+     */
+    private RangedList<T> findChunk(long i) {
+        final LookupIndex<T> index = lookupIndex;
+        if (index != null) {
+            return index.find(i);
+        }
+        final Map.Entry<LongRange, RangedList<T>> entry = chunks.floorEntry(new LongRange(i));
+        if (entry == null || !entry.getKey().contains(i)) {
+            return null;
+        }
+        return entry.getValue();
+    }
+
     /**
      * Uses this collection entries to accumulate information into the supplied
      * {@link Accumulator}.
@@ -1355,7 +1561,21 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return futures;
     }
 
-    private void forEachParallelBody(int parallelism, Consumer<ChunkedList<T>> run) {
+    /**
+     * Splits this collection according to the specified parallelism, or in
+     * work-stealing mode if a grain was set with {@link #setParallelGrain(long)},
+     * and performs the given action on each part in an asynchronous activity.
+     * This method needs to be called within a {@code finish}.
+     *
+     * @param parallelism number of parts in which to split this collection
+     * @param run         action to perform on each part
+     */
+    void forEachParallelBody(int parallelism, Consumer<ChunkedList<T>> run) {
+        final long grain = parallelGrain;
+        if (grain > 0) {
+            workStealingBody(grain, run);
+            return;
+        }
         final List<ChunkedList<T>> separated = separate(parallelism);
         for (final ChunkedList<T> sub : separated) {
             async(() -> {
@@ -1364,6 +1584,95 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         }
     }
 
+    /**
+     * Work-stealing counterpart of {@link #forEachParallelBody(int, Consumer)}.
+     * The elements of this collection are considered in the order of the chunks.
+     * The range of elements to process is recursively halved, preferably on a
+     * chunk boundary, until it contains no more than {@code grain} elements. At
+     * each step, the second half is spawned as an asynchronous activity while the
+     * first half keeps being split by the current thread. As the activities
+     * spawned first are the largest, idle workers of the underlying fork-join pool
+     * steal large pieces of work while busy workers process small ones.
+     * <p>
+     * This method needs to be called within a {@code finish}.
+     *
+     * @param grain maximum number of elements handed to {@code run} at once
+     * @param run   action to perform on each piece of this collection
+     */
+    private void workStealingBody(long grain, Consumer<ChunkedList<T>> run) {
+        final ArrayList<RangedList<T>> lists = new ArrayList<>(chunks.values());
+        final long[] offsets = new long[lists.size() + 1];
+        for (int k = 0; k < lists.size(); k++) {
+            offsets[k + 1] = offsets[k] + lists.get(k).size();
+        }
+        workStealingBody(grain, lists, offsets, 0l, offsets[lists.size()], run);
+    }
+
+    /**
+     * Processes the elements whose position (counted from the first element of
+     * the first chunk) lies in {@code [from, to)}.
+     *
+     * @param grain   maximum number of elements handed to {@code run} at once
+     * @param lists   snapshot of the chunks of this collection
+     * @param offsets position of the first element of each chunk in the snapshot,
+     *                followed by the total number of elements
+     * @param from    position of the first element to process
+     * @param to      position following that of the last element to process
+     * @param run     action to perform on each piece of this collection
+     */
+    private void workStealingBody(long grain, ArrayList<RangedList<T>> lists, long[] offsets, long from, long to,
+            Consumer<ChunkedList<T>> run) {
+        long end = to;
+        while (end - from > grain) {
+            final long mid = RangedListSpliterator.splitPoint(offsets, from, end);
+            final long secondHalfEnd = end;
+            async(() -> {
+                workStealingBody(grain, lists, offsets, mid, secondHalfEnd, run);
+            });
+            end = mid;
+        }
+        if (end == from) {
+            return;
+        }
+
+        final ChunkedList<T> piece = new ChunkedList<>();
+        int k = RangedListSpliterator.listIndex(offsets, from);
+        long position = from;
+        while (position < end) {
+            final RangedList<T> c = lists.get(k);
+            final long chunkEnd = Math.min(end, offsets[k + 1]);
+            final long base = c.getRange().from - offsets[k];
+            piece.add(c.subList(base + position, base + chunkEnd));
+            position = chunkEnd;
+            k++;
+        }
+        run.accept(piece);
+    }
+
+    /**
+     * Builds a read-optimized lookup index over the chunks currently contained in
+     * this instance. Until the next chunk is added or removed, methods
+     * {@link #get(long)}, {@link #set(long, Object)} and
+     * {@link #containsIndex(long)} locate the chunk holding an index with a binary
+     * search over sorted {@code long} bounds instead of a lookup in the
+     * {@link ConcurrentSkipListMap}, and do not allocate any object.
+     * <p>
+     * This is meant to be called after the chunks of this collection have been
+     * placed and before a phase in which elements are accessed by index. Adding
+     * or removing a chunk discards the index: the results of the methods above
+     * remain correct, but they fall back to the slower lookup until this method is
+     * called again. Calling this method has no effect on the contents of this
+     * collection.
+     */
+    public void freeze() {
+        final int before = modifications;
+        lookupIndex = new LookupIndex<>(chunks);
+        if (modifications != before) {
+            // Chunks were added or removed concurrently, the index may be stale
+            lookupIndex = null;
+        }
+    }
+
     /**
      * Finds the chunk containing the provided index and returns the associated
      * value.
@@ -1375,15 +1684,10 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
      * @see #containsIndex(long)
      */
     public T get(long i) {
-        final LongRange r = new LongRange(i);
-        final Map.Entry<LongRange, RangedList<T>> entry = chunks.floorEntry(r);
-        if (entry == null || !entry.getKey().contains(i)) {
-//            entry = chunks.ceilingEntry(r);
-//            if (entry == null || !entry.getKey().contains(i)) {
+        final RangedList<T> chunk = findChunk(i);
+        if (chunk == null) {
             throw new IndexOutOfBoundsException("ChunkedList: index " + i + " is not within the range of any chunk");
-//            }
         }
-        final RangedList<T> chunk = entry.getValue();
         return chunk.get(i);
     }
 
@@ -1405,6 +1709,18 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return chunks.floorEntry(lr).getValue();
     }
 
+    /**
+     * Returns the grain used by the parallel methods of this collection when they
+     * run in work-stealing mode, or {@code 0} if they statically split this
+     * collection.
+     *
+     * @return the grain currently set
+     * @see #setParallelGrain(long)
+     */
+    public long getParallelGrain() {
+        return parallelGrain;
+    }
+
     @Override
     public int hashCode() {
         int hashCode = 1;
@@ -1415,6 +1731,18 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return hashCode;
     }
 
+    /**
+     * Returns a sequential {@link LongStream} of the indices contained in this
+     * collection, in increasing order. Like {@link #stream()}, the stream is
+     * sized and splits on chunk boundaries first, then inside chunks.
+     *
+     * @return a stream of the indices of this collection
+     * @see #parallelIndexStream()
+     */
+    public LongStream indexStream() {
+        return StreamSupport.longStream(new RangedListSpliterator.OfIndex(chunks.values()), false);
+    }
+
     /**
      * Indicates if this instance does not contain any chunk
      *
@@ -1463,6 +1791,19 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return result;
     }
 
+    /**
+     * Returns a lazy pipeline over the elements of this collection. Operations
+     * chained on the returned pipeline are only performed when a terminal
+     * operation is called on it, in a single pass over each chunk and without
+     * creating intermediate collections.
+     *
+     * @return a pipeline over the elements of this collection
+     * @see LazyPipeline
+     */
+    public LazyPipeline<T, T> lazy() {
+        return new LazyPipeline<>(this);
+    }
+
     /**
      * Creates a new {@link ChunkedList} by applying the provided map function to
      * every element of every {@link Chunk} contained by this instance.
@@ -1512,6 +1853,70 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         }
     }
 
+    /**
+     * Merges the accumulators of {@code src} into those of {@code dst}. Indices
+     * of {@code src} for which {@code dst} holds no accumulator are added to
+     * {@code dst} as is.
+     *
+     * @param <A>   accumulator type
+     * @param dst   collection into which accumulators are merged
+     * @param src   collection whose accumulators are merged
+     * @param merge the closure which adds the information of the second
+     *              accumulator to the first one
+     */
+    private static <A> void mergeInto(ChunkedList<A> dst, ChunkedList<A> src, BiConsumer<A, A> merge) {
+        final List<RangedList<A>> missing = new ArrayList<>();
+        src.forEachChunk((RangedList<A> c) -> {
+            final LongRange r = c.getRange();
+            final ChunkedList<A> overlap = dst.subList(r);
+            long pos = r.from;
+            for (final LongRange o : overlap.ranges()) {
+                if (pos < o.from) {
+                    missing.add(c.subList(pos, o.from));
+                }
+                final RangedList<A> d = overlap.getChunk(o);
+                for (long l = o.from; l < o.to; l++) {
+                    merge.accept(d.get(l), c.get(l));
+                }
+                pos = o.to;
+            }
+            if (pos < r.to) {
+                missing.add(c.subList(pos, r.to));
+            }
+        });
+        for (final RangedList<A> m : missing) {
+            dst.add(m);
+        }
+    }
+
+    /**
+     * Combines the accumulators held by the given collections pairwise, following
+     * a binary tree, and returns the collection holding the result. Collection
+     * {@code i + stride} is merged into collection {@code i} for every level,
+     * the pairs of a level being merged concurrently.
+     *
+     * @param <A>   accumulator type
+     * @param parts collections of accumulators to combine, at least one
+     * @param merge the closure which adds the information of the second
+     *              accumulator to the first one
+     * @return the first collection of {@code parts}, which contains the combined
+     *         accumulators of all the collections
+     */
+    private static <A> ChunkedList<A> mergeTree(List<ChunkedList<A>> parts, BiConsumer<A, A> merge) {
+        final int n = parts.size();
+        for (int stride = 1; stride < n; stride *= 2) {
+            final int s = stride;
+            finish(() -> {
+                for (int i = 0; i + s < n; i += 2 * s) {
+                    final ChunkedList<A> dst = parts.get(i);
+                    final ChunkedList<A> src = parts.get(i + s);
+                    async(() -> mergeInto(dst, src, merge));
+                }
+            });
+        }
+        return parts.get(0);
+    }
+
     /**
      * Returns the number of chunks contained in this instance
      *
@@ -1535,6 +1940,25 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         parallelAccept(Runtime.getRuntime().availableProcessors(), acc, update);
     }
 
+    /**
+     * Updates the contents of this collection in parallel, based on the information
+     * contained in the provided accumulator. The accumulators of the different
+     * threads are first combined using the provided {@code merge} function before
+     * each element of this collection is updated once.
+     *
+     * @param <A>    accumulator type
+     * @param acc    the accumulator into which information is recorded
+     * @param merge  the closure which adds the information of the second
+     *               accumulator to the first one
+     * @param update the closure which given an entry T of this collection and the
+     *               corresponding accumulator A, updates the contents of the T
+     *               entry.
+     * @see #parallelAccept(int, Accumulator, BiConsumer, BiConsumer)
+     */
+    public <A> void parallelAccept(Accumulator<A> acc, BiConsumer<A, A> merge, BiConsumer<T, A> update) {
+        parallelAccept(Runtime.getRuntime().availableProcessors(), acc, merge, update);
+    }
+
     /**
      * Updates the contents of this collection in parallel, based on the information
      * contained in the provided accumulator
@@ -1550,16 +1974,70 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
             forEachParallelBody(parallelism, cl -> {
                 // For each TLA in acc
                 for (final ThreadLocalAccumulator<A> tla : acc.getAllThreadLocalAccumulator()) {
-                    // Obtain the ranges matching that of assigned `cl`
                     final ChunkedList<A> tlaChunk = tla.getChunkedList();
 
-                    // Probably a more efficient implementation possible
-                    cl.forEach((l, t) -> {
-                        if (tlaChunk.containsIndex(l)) {
-                            update.accept(t, tlaChunk.get(l));
-                        }
+                    // Only walk the accumulators of the TLA which overlap the assigned `cl`
+                    cl.forEachChunk((RangedList<T> c) -> {
+                        tlaChunk.subList(c.getRange()).forEach((long l, A a) -> {
+                            update.accept(c.get(l), a);
+                        });
+                    });
+                }
+            });
+        });
+    }
+
+    /**
+     * Updates the contents of this collection in parallel, based on the information
+     * contained in the provided accumulator. The accumulators of the different
+     * threads are first combined using the provided {@code merge} function before
+     * each element of this collection is updated once.
+     * <p>
+     * The collection is split into disjoint parts, one per thread. Each thread
+     * combines the accumulators of all the thread-local accumulators for the
+     * indices of its part only, following a binary tree: the accumulators of
+     * thread-local accumulators {@code i} and {@code i + 1} are combined, then
+     * those of {@code i} and {@code i + 2}, and so on. The pairs of a same level
+     * are combined concurrently. As the parts are disjoint, no synchronization is
+     * needed and the number of levels grows logarithmically with the number of
+     * thread-local accumulators.
+     * <p>
+     * The accumulator instances held by the thread-local accumulators of
+     * {@code acc} are modified by the merge.
+     *
+     * @param <A>         accumulator type
+     * @param parallelism number of threads desired for this collection
+     * @param acc         the accumulator into which information was recorded
+     * @param merge       the closure which adds the information of the second
+     *                    accumulator to the first one
+     * @param update      the closure given every T and matching A type in the
+     *                    accumulator comes to update T
+     */
+    public <A> void parallelAccept(int parallelism, Accumulator<A> acc, BiConsumer<A, A> merge,
+            BiConsumer<T, A> update) {
+        final List<ThreadLocalAccumulator<A>> tlas = acc.getAllThreadLocalAccumulator();
+        if (tlas.isEmpty()) {
+            return;
+        }
+        finish(() -> {
+            forEachParallelBody(parallelism, cl -> {
+                // Gather the accumulators of each TLA which overlap the assigned `cl`
+                final List<ChunkedList<A>> parts = new ArrayList<>(tlas.size());
+                for (final ThreadLocalAccumulator<A> tla : tlas) {
+                    final ChunkedList<A> part = new ChunkedList<>();
+                    final ChunkedList<A> tlaChunk = tla.getChunkedList();
+                    cl.forEachChunk((RangedList<T> c) -> {
+                        tlaChunk.subList(c.getRange()).forEachChunk(part::add);
                     });
+                    parts.add(part);
                 }
+
+                final ChunkedList<A> merged = mergeTree(parts, merge);
+                cl.forEachChunk((RangedList<T> c) -> {
+                    merged.subList(c.getRange()).forEach((long l, A a) -> {
+                        update.accept(c.get(l), a);
+                    });
+                });
             });
         });
     }
@@ -1745,6 +2223,17 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         parallelForEach(defaultParallelism(), action);
     }
 
+    /**
+     * Returns a parallel {@link LongStream} of the indices contained in this
+     * collection.
+     *
+     * @return a parallel stream of the indices of this collection
+     * @see #indexStream()
+     */
+    public LongStream parallelIndexStream() {
+        return StreamSupport.longStream(new RangedListSpliterator.OfIndex(chunks.values()), true);
+    }
+
     /**
      * Performs a parallel reduction with the specified level of parallelism on the
      * elements contained in this {@link ChunkedList}, using an operation provided
@@ -2089,6 +2578,108 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return parallelReduce(defaultParallelism(), op, extractFunc);
     }
 
+    /**
+     * Performs a parallel reduction with the specified level of parallelism on the
+     * elements contained in this {@link ChunkedList}, using an operation provided
+     * by default. Contrary to
+     * {@link #parallelReduce(int, DoubleReducer.Op, Function)}, the values extracted
+     * from the elements are not boxed.
+     *
+     * @param parallelism the level of parallelism (i.e. number of threads) desired
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public double parallelReduceToDouble(int parallelism, DoubleReducer.Op op,
+            ToDoubleFunction<? super T> extractFunc) {
+        return parallelReduce(parallelism, new ToDoubleReducer<T>(op, extractFunc)).value();
+    }
+
+    /**
+     * Performs a parallel reduction on the elements contained in this
+     * {@link ChunkedList}, using an operation provided by default. Contrary to
+     * {@link #parallelReduce(DoubleReducer.Op, Function)}, the values extracted from
+     * the elements are not boxed.
+     *
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public double parallelReduceToDouble(DoubleReducer.Op op, ToDoubleFunction<? super T> extractFunc) {
+        return parallelReduceToDouble(defaultParallelism(), op, extractFunc);
+    }
+
+    /**
+     * Performs a parallel reduction with the specified level of parallelism on the
+     * elements contained in this {@link ChunkedList}, using an operation provided
+     * by default. Contrary to
+     * {@link #parallelReduce(int, IntReducer.Op, Function)}, the values extracted
+     * from the elements are not boxed.
+     *
+     * @param parallelism the level of parallelism (i.e. number of threads) desired
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public int parallelReduceToInt(int parallelism, IntReducer.Op op, ToIntFunction<? super T> extractFunc) {
+        return parallelReduce(parallelism, new ToIntReducer<T>(op, extractFunc)).value();
+    }
+
+    /**
+     * Performs a parallel reduction on the elements contained in this
+     * {@link ChunkedList}, using an operation provided by default. Contrary to
+     * {@link #parallelReduce(IntReducer.Op, Function)}, the values extracted from
+     * the elements are not boxed.
+     *
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public int parallelReduceToInt(IntReducer.Op op, ToIntFunction<? super T> extractFunc) {
+        return parallelReduceToInt(defaultParallelism(), op, extractFunc);
+    }
+
+    /**
+     * Performs a parallel reduction with the specified level of parallelism on the
+     * elements contained in this {@link ChunkedList}, using an operation provided
+     * by default. Contrary to
+     * {@link #parallelReduce(int, LongReducer.Op, Function)}, the values extracted
+     * from the elements are not boxed.
+     *
+     * @param parallelism the level of parallelism (i.e. number of threads) desired
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public long parallelReduceToLong(int parallelism, LongReducer.Op op, ToLongFunction<? super T> extractFunc) {
+        return parallelReduce(parallelism, new ToLongReducer<T>(op, extractFunc)).value();
+    }
+
+    /**
+     * Performs a parallel reduction on the elements contained in this
+     * {@link ChunkedList}, using an operation provided by default. Contrary to
+     * {@link #parallelReduce(LongReducer.Op, Function)}, the values extracted from
+     * the elements are not boxed.
+     *
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public long parallelReduceToLong(LongReducer.Op op, ToLongFunction<? super T> extractFunc) {
+        return parallelReduceToLong(defaultParallelism(), op, extractFunc);
+    }
+
+    /**
+     * Returns a parallel {@link Stream} of the elements contained in this
+     * collection. The stream relies on {@link #spliterator()}, which splits the
+     * collection on chunk boundaries first, then inside chunks.
+     *
+     * @return a parallel stream of the elements of this collection
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     /**
      * Extracts an U object from each (T) object contained in this collection and
      * places it into the provided {@link ParallelReceiver}. This action is
@@ -2153,6 +2744,7 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         final RangedList<T> removed = chunks.remove(range);
         if (removed != null) {
             size.addAndGet(-removed.size());
+            chunksModified();
         }
         return removed;
     }
@@ -2236,18 +2828,50 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
      *         previous value or if the previous value was {@code null}
      */
     public T set(long i, T value) {
-        final LongRange r = new LongRange(i);
-        final Map.Entry<LongRange, RangedList<T>> entry = chunks.floorEntry(r);
-        if (entry == null || !entry.getKey().contains(i)) {
-//            entry = chunks.ceilingEntry(r);
-//            if (entry == null || !entry.getKey().contains(i)) {
+        final RangedList<T> chunk = findChunk(i);
+        if (chunk == null) {
             throw new IndexOutOfBoundsException("ChunkedList: index " + i + " is not with the range of any chunk");
-//            }
         }
-        final RangedList<T> chunk = entry.getValue();
         return chunk.set(i, value);
     }
 
+    /**
+     * Sets the mode in which the parallel methods of this collection distribute
+     * the elements among threads.
+     * <p>
+     * By default (grain of {@code 0}), methods such as
+     * {@link #parallelForEach(int, Consumer)} use {@link #separate(int)} to cut
+     * this collection into as many parts as the requested parallelism, each
+     * processed by a single asynchronous activity. This is efficient when every
+     * element takes about the same time to process, but a single slow part
+     * delays the whole operation when the cost of elements is skewed.
+     * <p>
+     * With a strictly positive grain, the collection is instead recursively split
+     * along chunk boundaries, and inside chunks if necessary, into pieces of at
+     * most {@code grain} elements, each processed by its own asynchronous
+     * activity. Idle workers then steal the pending pieces of busy ones. The
+     * parallelism argument of the methods is ignored in this mode, all the workers
+     * of the runtime taking part in the computation. Smaller grains balance the
+     * load better at the cost of more activities, and for reductions, of more
+     * intermediate reducers to merge.
+     * <p>
+     * This setting affects {@code parallelForEach} with a {@link Consumer} or a
+     * {@link LongTBiConsumer}, {@code parallelReduce}, {@code parallelAccept},
+     * {@code parallelToBag} and the {@code asyncForEach} and {@code asyncToBag}
+     * methods which do not take an {@link ExecutorService}. Variants which use
+     * one {@link ThreadLocalAccumulator} per thread keep using the static split.
+     *
+     * @param grain maximum number of elements processed by a single activity in
+     *              work-stealing mode, or {@code 0} to use the static split
+     * @throws IllegalArgumentException if the grain is negative
+     */
+    public void setParallelGrain(long grain) {
+        if (grain < 0) {
+            throw new IllegalArgumentException("ChunkedList: the parallel grain cannot be negative, was " + grain);
+        }
+        parallelGrain = grain;
+    }
+
     /**
      * Return to total number of mappings contained in this instance, i.e. the sum
      * of the size of each individual {@link Chunk} this instance holds.
@@ -2258,6 +2882,22 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return size.get();
     }
 
+    /**
+     * Returns a {@link Spliterator} over the elements of this collection. The
+     * spliterator is {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED} and
+     * {@link Spliterator#ORDERED}. It splits on chunk boundaries when possible and
+     * inside chunks otherwise, which makes it suitable for parallel streams.
+     * <p>
+     * The spliterator covers the chunks present in this collection at the time
+     * it is created. Chunks added or removed afterwards are not reflected.
+     *
+     * @return a spliterator over the elements of this collection
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RangedListSpliterator<>(chunks.values());
+    }
+
     /**
      * TODO : Still not sure if it works.
      */
@@ -2300,6 +2940,17 @@ public class ChunkedList<T> implements Iterable<T>, Serializable, Reducible<T> {
         return chunksToRet;
     }
 
+    /**
+     * Returns a sequential {@link Stream} of the elements contained in this
+     * collection, in the order of their indices.
+     *
+     * @return a stream of the elements of this collection
+     * @see #parallelStream()
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
     /**
      * TODO : Still not sure if it works.
      */
@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import static apgas.Constructs.*;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import handist.collections.function.LongTBiConsumer;
+import handist.collections.function.LongTBiFunction;
+import handist.collections.reducer.Reducer;
+
+/**
+ * Lazy sequence of operations applied to the elements of a
+ * {@link ChunkedList}, obtained through method {@link ChunkedList#lazy()}.
+ * <p>
+ * Intermediate operations ({@link #map(Function)},
+ * {@link #mapIndexed(LongTBiFunction)} and {@link #filter(Predicate)}) do not
+ * perform any computation, they return a new pipeline which records the
+ * additional stage. When a terminal operation
+ * ({@link #forEach(LongTBiConsumer)}, {@link #reduce(Reducer)},
+ * {@link #parallelReduce(Reducer)}, {@link #toChunkedList()} ...) is called, all
+ * the stages are fused and applied to each element of the source collection in
+ * a single pass over each chunk. Contrary to chaining calls to
+ * {@link ChunkedList#map(Function)}, no intermediate collection is created.
+ * <p>
+ * For instance, the following computes the sum of the squares of the even
+ * values of a collection, in parallel and without allocating any intermediate
+ * chunk:
+ *
+ * <pre>
+ * list.lazy().filter(i -&gt; i % 2 == 0).map(i -&gt; i * i).parallelReduce(new SumReducer());
+ * </pre>
+ *
+ * Elements keep the index they have in the source collection throughout the
+ * pipeline. Filtered elements are simply skipped. As long as the pipeline does
+ * not contain any {@link #filter(Predicate)} stage, it can also be seen as a
+ * {@link ChunkedList} of {@link LazyRangedList}s with method
+ * {@link #asChunkedList()}.
+ * <p>
+ * Parallel terminal operations distribute the chunks of the source collection
+ * in the same way as the parallel methods of {@link ChunkedList}, including the
+ * work-stealing mode set with {@link ChunkedList#setParallelGrain(long)}. The
+ * functions given to the stages may therefore be called concurrently by several
+ * threads.
+ *
+ * @param <S> type of the elements of the source collection
+ * @param <T> type of the elements produced by this pipeline
+ */
+public final class LazyPipeline<S, T> {
+
+    /** Collection whose elements are processed by this pipeline */
+    private final ChunkedList<S> source;
+
+    /**
+     * Composition of the stages of this pipeline. Given the action to apply on
+     * the elements produced by the last stage, returns the action to apply on the
+     * elements of the source collection.
+     */
+    private final Function<LongTBiConsumer<T>, LongTBiConsumer<S>> stages;
+
+    /**
+     * Function equivalent to the stages of this pipeline, or {@code null} if the
+     * pipeline contains a filter stage.
+     */
+    private final LongTBiFunction<S, T> mapping;
+
+    /**
+     * Creates the pipeline of a collection, whose elements are unmodified
+     *
+     * @param source the collection whose elements will be processed
+     */
+    @SuppressWarnings("unchecked")
+    LazyPipeline(ChunkedList<S> source) {
+        this(source, (LongTBiConsumer<T> action) -> (LongTBiConsumer<S>) (LongTBiConsumer<?>) action,
+                (long l, S s) -> (T) s);
+    }
+
+    private LazyPipeline(ChunkedList<S> source, Function<LongTBiConsumer<T>, LongTBiConsumer<S>> stages,
+            LongTBiFunction<S, T> mapping) {
+        this.source = source;
+        this.stages = stages;
+        this.mapping = mapping;
+    }
+
+    /**
+     * Returns a view of the elements produced by this pipeline as a
+     * {@link ChunkedList}. The returned collection holds one
+     * {@link LazyRangedList} per chunk of the source collection, defined on the
+     * same range. No element is computed until it is accessed, and it is computed
+     * again each time it is accessed. The returned collection does not support
+     * modifications of its elements.
+     *
+     * @return a lazy view of the elements of this pipeline
+     * @throws IllegalStateException if this pipeline contains a filter stage
+     */
+    public ChunkedList<T> asChunkedList() {
+        final LongTBiFunction<S, T> func = checkMapping();
+        final ChunkedList<T> result = new ChunkedList<>();
+        source.forEachChunk((RangedList<S> c) -> {
+            result.add(new LazyRangedList<>(c, func));
+        });
+        return result;
+    }
+
+    /**
+     * Returns the function equivalent to the stages of this pipeline
+     *
+     * @return the function applying all the stages of this pipeline
+     * @throws IllegalStateException if the pipeline contains a filter stage
+     */
+    private LongTBiFunction<S, T> checkMapping() {
+        if (mapping == null) {
+            throw new IllegalStateException(
+                    "LazyPipeline: this operation is not available on a pipeline which contains a filter stage");
+        }
+        return mapping;
+    }
+
+    /**
+     * Returns a new pipeline which only keeps the elements of this pipeline which
+     * satisfy the given predicate
+     *
+     * @param predicate the condition elements need to satisfy to be kept
+     * @return a new pipeline with the additional filter stage
+     */
+    public LazyPipeline<S, T> filter(Predicate<? super T> predicate) {
+        final Function<LongTBiConsumer<T>, LongTBiConsumer<S>> previous = stages;
+        return new LazyPipeline<>(source, (LongTBiConsumer<T> action) -> previous.apply((long l, T t) -> {
+            if (predicate.test(t)) {
+                action.accept(l, t);
+            }
+        }), null);
+    }
+
+    /**
+     * Performs the given action on each element produced by this pipeline,
+     * sequentially and in increasing order of index
+     *
+     * @param action the action to perform on each element
+     */
+    public void forEach(Consumer<? super T> action) {
+        forEach((long l, T t) -> action.accept(t));
+    }
+
+    /**
+     * Performs the given action on each element produced by this pipeline and the
+     * index of the source element it was obtained from, sequentially and in
+     * increasing order of index
+     *
+     * @param action the action to perform on each index and element
+     */
+    public void forEach(LongTBiConsumer<? super T> action) {
+        source.forEach(stages.apply(action::accept));
+    }
+
+    /**
+     * Returns a new pipeline which transforms the elements of this pipeline with
+     * the given function
+     *
+     * @param <U>  type of the elements produced by the new stage
+     * @param func the function to apply to the elements of this pipeline
+     * @return a new pipeline with the additional map stage
+     */
+    public <U> LazyPipeline<S, U> map(Function<? super T, ? extends U> func) {
+        return mapIndexed((long l, T t) -> func.apply(t));
+    }
+
+    /**
+     * Returns a new pipeline which transforms the elements of this pipeline with
+     * the given function, which also receives the index of each element
+     *
+     * @param <U>  type of the elements produced by the new stage
+     * @param func the function to apply to each index and element of this
+     *             pipeline
+     * @return a new pipeline with the additional map stage
+     */
+    public <U> LazyPipeline<S, U> mapIndexed(LongTBiFunction<? super T, ? extends U> func) {
+        final Function<LongTBiConsumer<T>, LongTBiConsumer<S>> previous = stages;
+        final LongTBiFunction<S, T> previousMapping = mapping;
+        final LongTBiFunction<S, U> newMapping = previousMapping == null ? null
+                : (long l, S s) -> func.apply(l, previousMapping.apply(l, s));
+        return new LazyPipeline<>(source,
+                (LongTBiConsumer<U> action) -> previous.apply((long l, T t) -> action.accept(l, func.apply(l, t))),
+                newMapping);
+    }
+
+    /**
+     * Performs the given action on each element produced by this pipeline in
+     * parallel. Returns when all the elements have been processed.
+     *
+     * @param action the action to perform on each element
+     */
+    public void parallelForEach(Consumer<? super T> action) {
+        parallelForEach((long l, T t) -> action.accept(t));
+    }
+
+    /**
+     * Performs the given action on each element produced by this pipeline with the
+     * specified degree of parallelism. Returns when all the elements have been
+     * processed.
+     *
+     * @param parallelism the number of threads to use
+     * @param action      the action to perform on each index and element
+     */
+    public void parallelForEach(int parallelism, LongTBiConsumer<? super T> action) {
+        final LongTBiConsumer<S> sink = stages.apply(action::accept);
+        finish(() -> {
+            source.forEachParallelBody(parallelism, (ChunkedList<S> sub) -> {
+                sub.forEach(sink);
+            });
+        });
+    }
+
+    /**
+     * Performs the given action on each element produced by this pipeline and the
+     * index of the source element it was obtained from in parallel. Returns when
+     * all the elements have been processed.
+     *
+     * @param action the action to perform on each index and element
+     */
+    public void parallelForEach(LongTBiConsumer<? super T> action) {
+        parallelForEach(source.defaultParallelism(), action);
+    }
+
+    /**
+     * Reduces the elements produced by this pipeline in parallel with the
+     * specified degree of parallelism
+     *
+     * @param <R>         type of the reducer
+     * @param parallelism the number of threads to use
+     * @param reducer     the instance into which the result will be stored
+     * @return the instance provided as parameter, containing the result of the
+     *         reduction
+     */
+    public <R extends Reducer<R, T>> R parallelReduce(int parallelism, R reducer) {
+        final ConcurrentLinkedQueue<R> reducers = new ConcurrentLinkedQueue<>();
+        finish(() -> {
+            source.forEachParallelBody(parallelism, (ChunkedList<S> sub) -> {
+                final R localReducer = reducer.newReducer();
+                reducers.add(localReducer);
+                sub.forEach(stages.apply((long l, T t) -> localReducer.reduce(t)));
+            });
+        });
+        while (!reducers.isEmpty()) {
+            reducer.merge(reducers.poll());
+        }
+        return reducer;
+    }
+
+    /**
+     * Reduces the elements produced by this pipeline in parallel
+     *
+     * @param <R>     type of the reducer
+     * @param reducer the instance into which the result will be stored
+     * @return the instance provided as parameter, containing the result of the
+     *         reduction
+     */
+    public <R extends Reducer<R, T>> R parallelReduce(R reducer) {
+        return parallelReduce(source.defaultParallelism(), reducer);
+    }
+
+    /**
+     * Places the elements produced by this pipeline into the given receiver, in
+     * parallel with the specified degree of parallelism
+     *
+     * @param parallelism the number of threads to use
+     * @param bag         the receiver into which the elements are placed
+     */
+    public void parallelToBag(int parallelism, ParallelReceiver<? super T> bag) {
+        finish(() -> {
+            source.forEachParallelBody(parallelism, (ChunkedList<S> sub) -> {
+                final Consumer<? super T> receiver = bag.getReceiver();
+                sub.forEach(stages.apply((long l, T t) -> receiver.accept(t)));
+            });
+        });
+    }
+
+    /**
+     * Reduces the elements produced by this pipeline sequentially
+     *
+     * @param <R>     type of the reducer
+     * @param reducer the instance into which the result will be stored
+     * @return the instance provided as parameter, containing the result of the
+     *         reduction
+     */
+    public <R extends Reducer<R, T>> R reduce(R reducer) {
+        forEach((long l, T t) -> reducer.reduce(t));
+        return reducer;
+    }
+
+    /**
+     * Computes the elements produced by this pipeline in parallel and stores them
+     * into a new {@link ChunkedList}. The returned collection contains one
+     * {@link Chunk} for each chunk of the source collection, defined on the same
+     * range.
+     *
+     * @return a new collection containing the elements of this pipeline
+     * @throws IllegalStateException if this pipeline contains a filter stage
+     */
+    public ChunkedList<T> toChunkedList() {
+        checkMapping();
+        final ChunkedList<T> result = new ChunkedList<>();
+        source.forEachChunk((RangedList<S> c) -> {
+            result.add(new Chunk<T>(c.getRange()));
+        });
+        finish(() -> {
+            source.forEachParallelBody(source.defaultParallelism(), (ChunkedList<S> sub) -> {
+                sub.forEachChunk((RangedList<S> piece) -> {
+                    final RangedList<T> target = result.getChunk(piece.getRange());
+                    piece.forEach(stages.apply((long l, T t) -> target.set(l, t)));
+                });
+            });
+        });
+        return result;
+    }
+}
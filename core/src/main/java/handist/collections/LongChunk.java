@@ -0,0 +1,565 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+import java.util.function.LongUnaryOperator;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoSerializable;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import handist.collections.function.LongLongConsumer;
+import handist.collections.function.LongTBiConsumer;
+
+/**
+ * {@link RangedList} implementation backed by a {@code long} array. Contrary
+ * to a {@link Chunk} of {@link Long}, the values are stored unboxed, which
+ * reduces the memory footprint and allows the values to be accessed with
+ * methods {@link #getLong(long)}, {@link #setLong(long, long)} and
+ * {@link #forEachLong(LongLongConsumer)} without any boxing.
+ * <p>
+ * Instances of this class can be placed into {@link ChunkedList} and
+ * distributed collections like any other {@link RangedList}. Methods inherited
+ * from {@link RangedList} remain available but box the values they return.
+ */
+public class LongChunk extends RangedList<Long> implements ArrayBackedRangedList, Serializable, KryoSerializable {
+
+    /**
+     * Iterator on the values of a {@link LongChunk} restricted to a range
+     */
+    private class It implements RangedListIterator<Long>, PrimitiveIterator.OfLong {
+        /** Offset in the array of the first value this iterator can return */
+        private final int head;
+        /** Offset in the array of the value returned by next call to next */
+        private int i;
+        /** Offset of the last returned value, -1 if there is none */
+        private int lastReturned = -1;
+        /** Offset in the array of the upper bound (excluded) */
+        private final int limit;
+
+        private It(LongRange r, long i0) {
+            head = (int) (r.from - range.from);
+            limit = (int) (r.to - range.from);
+            i = (int) (i0 - range.from);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Long> action) {
+            while (i < limit) {
+                lastReturned = i;
+                action.accept(a[i++]);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < limit;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return i > head;
+        }
+
+        @Override
+        public Long next() {
+            return nextLong();
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = i;
+            return a[i++];
+        }
+
+        @Override
+        public long nextIndex() {
+            return range.from + i;
+        }
+
+        @Override
+        public Long previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = --i;
+            return a[i];
+        }
+
+        @Override
+        public long previousIndex() {
+            return range.from + i - 1;
+        }
+
+        @Override
+        public void set(Long e) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("[LongChunk.It] Either method "
+                        + "previous or next needs to be called before method set can be used");
+            }
+            a[lastReturned] = e;
+        }
+    }
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = 5306632790127316562L;
+
+    /** Array containing the values */
+    private long[] a;
+
+    /** Range on which this instance is defined */
+    private LongRange range;
+
+    /**
+     * Builds a {@link LongChunk} with the given range, all values being
+     * initialized to 0.
+     * <p>
+     * The given LongRange should have a strictly positive size and a size which
+     * does not exceed {@value handist.collections.Config#maxChunkSize}. An
+     * {@link IllegalArgumentException} will be thrown otherwise.
+     *
+     * @param range the range of the chunk to build
+     * @throws IllegalArgumentException if a {@link LongChunk} cannot be built
+     *                                  with the provided range.
+     */
+    public LongChunk(LongRange range) {
+        final long size = range.to - range.from;
+        if (size > Config.maxChunkSize) {
+            throw new IllegalArgumentException(
+                    "The given range " + range + " exceeds the maximum Chunk size " + Config.maxChunkSize);
+        } else if (size <= 0) {
+            throw new IllegalArgumentException("Cannot build a LongChunk with " + "LongRange " + range
+                    + ", should have a strictly positive" + " size");
+        }
+        a = new long[(int) size];
+        this.range = range;
+    }
+
+    /**
+     * Builds a {@link LongChunk} with the provided {@link LongRange} and an
+     * initial value for each index in the array. The provided array is used as is
+     * by the created instance and should have the same size as the range. An
+     * {@link IllegalArgumentException} will be thrown otherwise.
+     *
+     * @param range the range of the chunk to build
+     * @param a     array with the initial value for every index in the range
+     * @throws IllegalArgumentException if a {@link LongChunk} cannot be built
+     *                                  with the provided range and array.
+     */
+    public LongChunk(LongRange range, long[] a) {
+        final long size = range.to - range.from;
+        if (size > Config.maxChunkSize) {
+            throw new IllegalArgumentException(
+                    "The given range " + range + " exceeds the maximum Chunk size " + Config.maxChunkSize);
+        } else if (size <= 0) {
+            throw new IllegalArgumentException("Cannot build a LongChunk with " + "LongRange " + range
+                    + ", should have a strictly positive" + " size");
+        }
+        if (a.length != size) {
+            throw new IllegalArgumentException("The length of the provided " + "array <" + a.length
+                    + "> does not match the size of the " + "LongRange <" + range.size() + ">");
+        }
+        this.a = a;
+        this.range = range;
+    }
+
+    /**
+     * Builds a {@link LongChunk} with the provided {@link LongRange} with every
+     * index set to the provided value.
+     *
+     * @param range the range of the chunk to build
+     * @param v     initial value for every index in the provided range
+     * @throws IllegalArgumentException if a {@link LongChunk} cannot be built
+     *                                  with the provided range.
+     */
+    public LongChunk(LongRange range, long v) {
+        this(range);
+        Arrays.fill(a, v);
+    }
+
+    /**
+     * Builds a {@link LongChunk} with the provided {@link LongRange}. The
+     * provided initializer generates the initial value for each index.
+     *
+     * @param range       the range of the chunk to build
+     * @param initializer generates the initial value for each index
+     * @throws IllegalArgumentException if a {@link LongChunk} cannot be built
+     *                                  with the provided range.
+     */
+    public LongChunk(LongRange range, LongUnaryOperator initializer) {
+        this(range);
+        for (long index = range.from; index < range.to; index++) {
+            a[(int) (index - range.from)] = initializer.applyAsLong(index);
+        }
+    }
+
+    private LongRange calcSubIteratorRange(LongRange range) {
+        range = this.getRange().intersection(range);
+        if (range == null) {
+            throw new IndexOutOfBoundsException();
+        }
+        return range;
+    }
+
+    /**
+     * Returns a new {@link LongChunk} defined on the same {@link LongRange} and
+     * with the same contents as this instance.
+     *
+     * @return a copy of this instance
+     */
+    @Override
+    public LongChunk clone() {
+        return new LongChunk(range, a.clone());
+    }
+
+    @Override
+    public LongChunk cloneRange(LongRange newRange) {
+        final long[] values = toLongArray(newRange);
+        return new LongChunk(newRange, values == a ? a.clone() : values);
+    }
+
+    @Override
+    public boolean contains(Object v) {
+        if (!(v instanceof Long)) {
+            return false;
+        }
+        final long value = (Long) v;
+        for (final long e : a) {
+            if (e == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return RangedList.equals(this, o);
+    }
+
+    /**
+     * Performs the provided action on every index and value contained in this
+     * instance. Contrary to {@link #forEach(LongTBiConsumer)}, the values are
+     * not boxed.
+     *
+     * @param action action to perform on each index and value
+     */
+    public void forEachLong(LongLongConsumer action) {
+        forEachLong(range, action);
+    }
+
+    /**
+     * Performs the provided action on every index and value contained in this
+     * instance on the specified range. Contrary to
+     * {@link #forEach(LongRange, LongTBiConsumer)}, the values are not boxed.
+     *
+     * @param range  range of indices on which to perform the action
+     * @param action action to perform on each index and value
+     * @throws IndexOutOfBoundsException if the specified range is not included in
+     *                                   the range of this instance
+     */
+    public void forEachLong(LongRange range, LongLongConsumer action) {
+        rangeCheck(range);
+        final long from = this.range.from;
+        for (long index = range.from; index < range.to; index++) {
+            action.accept(index, a[(int) (index - from)]);
+        }
+    }
+
+    @Override
+    protected void forEachImpl(LongRange range, Consumer<? super Long> action) {
+        rangeCheck(range);
+        final int offset = (int) (range.from - this.range.from);
+        final int limit = offset + (int) range.size();
+        for (int i = offset; i < limit; i++) {
+            action.accept(a[i]);
+        }
+    }
+
+    @Override
+    protected void forEachImpl(LongRange range, LongTBiConsumer<? super Long> action) {
+        rangeCheck(range);
+        final long from = this.range.from;
+        for (long index = range.from; index < range.to; index++) {
+            action.accept(index, a[(int) (index - from)]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long get(long index) {
+        return getLong(index);
+    }
+
+    /**
+     * Returns the value located at the provided index without boxing it.
+     *
+     * @param index index whose value should be returned
+     * @return the value stored at the provided index
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public long getLong(long index) {
+        if (!getRange().contains(index)) {
+            throw new IndexOutOfBoundsException(rangeMsg(index));
+        }
+        return a[(int) (index - range.from)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongRange getRange() {
+        return range;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return RangedList.hashCode(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new It(range, range.from);
+    }
+
+    /**
+     * Creates and returns a new {@link RangedListIterator} on the elements
+     * contained by this instance
+     *
+     * @return a new {@link RangedListIterator}
+     */
+    @Override
+    public RangedListIterator<Long> listIterator() {
+        return new It(range, range.from);
+    }
+
+    /**
+     * Creates and returns a new {@link RangedListIterator} starting at the
+     * specified index on the elements contained by this instance
+     *
+     * @param index the index of the first element to be returned by calling method
+     *              {@link RangedListIterator#next()}
+     * @return a new {@link RangedListIterator} starting at the specified index
+     */
+    @Override
+    public RangedListIterator<Long> listIterator(long index) {
+        if (index < range.from || range.to < index) {
+            throw new IndexOutOfBoundsException(rangeMsg(index));
+        }
+        return new It(range, index);
+    }
+
+    private String rangeMsg(long index) {
+        return "[LongChunk] range " + index + " is out of " + getRange();
+    }
+
+    private String rangeMsg(LongRange range) {
+        return "[LongChunk] range " + range + " is not contained in " + getRange();
+    }
+
+    @Override
+    public void read(Kryo kryo, Input input) {
+        this.range = (LongRange) kryo.readClassAndObject(input);
+        this.a = kryo.readObject(input, long[].class);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        this.range = (LongRange) in.readObject();
+        this.a = (long[]) in.readObject();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The value given as parameter is un-boxed, a {@link NullPointerException}
+     * will be thrown if it is {@code null}.
+     */
+    @Override
+    public Long set(long index, Long value) {
+        return setLong(index, value);
+    }
+
+    /**
+     * Sets the value at the provided index without boxing it.
+     *
+     * @param index index at which the value should be set
+     * @param value value to set
+     * @return the value previously stored at this index
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public long setLong(long index, long value) {
+        if (!getRange().contains(index)) {
+            throw new IndexOutOfBoundsException(rangeMsg(index));
+        }
+        final int offset = (int) (index - range.from);
+        final long prev = a[offset];
+        a[offset] = value;
+        return prev;
+    }
+
+    @Override
+    protected PrimitiveIterator.OfLong subIterator(LongRange range) {
+        range = calcSubIteratorRange(range);
+        return new It(range, range.from);
+    }
+
+    @Override
+    protected RangedListIterator<Long> subListIterator(LongRange range) {
+        range = calcSubIteratorRange(range);
+        return new It(range, range.from);
+    }
+
+    @Override
+    protected RangedListIterator<Long> subListIterator(LongRange range, long i0) {
+        range = calcSubIteratorRange(range);
+        if (i0 < range.from || range.to < i0) {
+            throw new IndexOutOfBoundsException(rangeMsg(i0));
+        }
+        return new It(range, i0);
+    }
+
+    /**
+     * Returns a new array containing the boxed values of this instance.
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(range);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray(LongRange newRange) {
+        final long[] values = toLongArray(newRange);
+        final Object[] result = new Object[values.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The values contained in the returned {@link Chunk} are boxed.
+     */
+    @Override
+    public Chunk<Long> toChunk(LongRange newRange) {
+        final Object[] newRail = toArray(newRange);
+        if (newRail.length == 0) {
+            throw new IllegalArgumentException("[LongChunk] toChunk(emptyRange) is not permitted.");
+        }
+        return new Chunk<>(newRange, newRail);
+    }
+
+    /**
+     * Returns the array containing the values of this instance. The returned array
+     * is not a copy, changes made to it are reflected on this instance.
+     *
+     * @return the array backing this instance
+     */
+    public long[] toLongArray() {
+        return a;
+    }
+
+    /**
+     * Returns the values of this instance on the specified range as a
+     * {@code long} array. If the specified range matches the range of this
+     * instance, the array backing this instance is returned, otherwise a new array
+     * is created.
+     *
+     * @param newRange range of the values to return
+     * @return array containing the values on the specified range
+     * @throws IndexOutOfBoundsException if the specified range is not included in
+     *                                   the range of this instance
+     */
+    public long[] toLongArray(LongRange newRange) {
+        if (!range.contains(newRange)) {
+            throw new IndexOutOfBoundsException(rangeMsg(newRange));
+        }
+        if (newRange.from == range.from && newRange.to == range.to) {
+            return a;
+        }
+        final int offset = (int) (newRange.from - range.from);
+        return Arrays.copyOfRange(a, offset, offset + (int) newRange.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> toList(LongRange r) {
+        final ArrayList<Long> list = new ArrayList<>((int) r.size());
+        forEach(r, (Consumer<Long>) list::add);
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (range == null) {
+            return "[LongChunk] in Construction";
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[" + range + "]:");
+        final long sz = Config.omitElementsToString ? Math.min(size(), Config.maxNumElementsToString) : size();
+
+        for (int c = 0; c < sz; c++) {
+            if (c > 0) {
+                sb.append(",");
+            }
+            sb.append(a[c]);
+        }
+        if (sz < size()) {
+            sb.append("...(omitted " + (size() - sz) + " elements)");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output) {
+        kryo.writeClassAndObject(output, range);
+        kryo.writeObject(output, a);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.writeObject(range);
+        out.writeObject(a);
+    }
+}
@@ -11,13 +11,18 @@
 package handist.collections;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import handist.collections.function.LongTBiConsumer;
 
@@ -273,6 +278,16 @@ public abstract class RangedList<T> implements Iterable<T> {
      */
     public abstract LongRange getRange();
 
+    /**
+     * Returns a sequential {@link LongStream} of the indices of this instance, in
+     * increasing order.
+     *
+     * @return a stream of the indices contained in the range of this instance
+     */
+    public LongStream indexStream() {
+        return getRange().stream();
+    }
+
     /**
      * Indicates if this RangedList is empty, i.e. if it cannot contain any entry
      * because it is defined on an empty {@link LongRange}.
@@ -329,6 +344,26 @@ public abstract class RangedList<T> implements Iterable<T> {
         return result;
     }
 
+    /**
+     * Returns a parallel {@link LongStream} of the indices of this instance.
+     *
+     * @return a parallel stream of the indices contained in the range of this
+     *         instance
+     */
+    public LongStream parallelIndexStream() {
+        return indexStream().parallel();
+    }
+
+    /**
+     * Returns a parallel {@link Stream} of the elements of this instance.
+     *
+     * @return a parallel stream of the elements of this instance
+     * @see #spliterator()
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     public <T2> RangedProduct<T, T2> product(RangedList<T2> list) {
         return RangedProduct.newProd(this, list);
     }
@@ -521,6 +556,29 @@ public abstract class RangedList<T> implements Iterable<T> {
         return toReturn;
     }
 
+    /**
+     * Returns a {@link Spliterator} over the elements of this instance. The
+     * spliterator is {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED} and
+     * {@link Spliterator#ORDERED}, and splits the range of this instance in
+     * halves.
+     *
+     * @return a spliterator over the elements of this instance
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RangedListSpliterator<>(Collections.singletonList(this));
+    }
+
+    /**
+     * Returns a sequential {@link Stream} of the elements of this instance, in
+     * the order of their indices.
+     *
+     * @return a stream of the elements of this instance
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
     protected abstract Iterator<T> subIterator(LongRange range);
 
     /**
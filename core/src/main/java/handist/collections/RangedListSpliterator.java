@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link Spliterator} over the elements of a sequence of {@link RangedList}s,
+ * typically the chunks of a {@link ChunkedList} or a single
+ * {@link RangedList}.
+ * <p>
+ * Elements are numbered by their position in the sequence: the first element
+ * of the first list has position 0 and the first element of the second list
+ * follows the last element of the first list, regardless of the gap that may
+ * exist between the ranges of the two lists. A spliterator covers a range of
+ * positions and splits it in two halves, preferably on a list boundary and
+ * inside a list otherwise. As the size of both halves is known exactly, this
+ * spliterator reports {@link #SIZED}, {@link #SUBSIZED} and {@link #ORDERED}.
+ * <p>
+ * The lists covered are those given to the constructor. Lists added to or
+ * removed from a {@link ChunkedList} after the creation of the spliterator are
+ * not reflected.
+ *
+ * @param <T> type of the elements
+ */
+final class RangedListSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * {@link Spliterator} over the indices of the elements of a sequence of
+     * {@link RangedList}s, in the same order as the elements are traversed by
+     * {@link RangedListSpliterator}
+     */
+    static final class OfIndex implements Spliterator.OfLong {
+        /** Layout of the lists */
+        private final Layout layout;
+        /** Position of the next element to traverse */
+        private long position;
+        /** Position following that of the last element to traverse */
+        private final long end;
+        /** Index of the list containing the element at {@link #position} */
+        private int current;
+
+        OfIndex(Collection<? extends RangedList<?>> lists) {
+            this(new Layout(lists), 0l, -1l);
+        }
+
+        private OfIndex(Layout layout, long from, long to) {
+            this.layout = layout;
+            position = from;
+            end = to < 0 ? layout.offsets[layout.ranges.length] : to;
+            current = layout.listIndex(from);
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | ORDERED | DISTINCT | SORTED | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            while (position < end) {
+                final LongRange r = layout.ranges[current];
+                final long listEnd = Math.min(end, layout.offsets[current + 1]);
+                final long shift = r.from - layout.offsets[current];
+                for (long l = position + shift; l < listEnd + shift; l++) {
+                    action.accept(l);
+                }
+                position = listEnd;
+                current++;
+            }
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator() {
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (position >= end) {
+                return false;
+            }
+            while (layout.offsets[current + 1] <= position) {
+                current++;
+            }
+            action.accept(layout.ranges[current].from + position - layout.offsets[current]);
+            position++;
+            return true;
+        }
+
+        @Override
+        public OfIndex trySplit() {
+            if (end - position < 2) {
+                return null;
+            }
+            final long split = layout.splitPoint(position, end);
+            final OfIndex prefix = new OfIndex(layout, position, split);
+            position = split;
+            current = layout.listIndex(split);
+            return prefix;
+        }
+    }
+
+    /**
+     * Ranges of a sequence of lists and position of their first element, shared
+     * by all the spliterators obtained by splitting an initial spliterator
+     */
+    static final class Layout {
+        /**
+         * Position of the first element of each list, followed by the total number
+         * of elements
+         */
+        final long[] offsets;
+        /** Range of each list */
+        final LongRange[] ranges;
+
+        Layout(Collection<? extends RangedList<?>> lists) {
+            ranges = new LongRange[lists.size()];
+            offsets = new long[ranges.length + 1];
+            int k = 0;
+            for (final RangedList<?> l : lists) {
+                ranges[k] = l.getRange();
+                offsets[k + 1] = offsets[k] + ranges[k].size();
+                k++;
+            }
+        }
+
+        /**
+         * Returns the index of the list which contains the element at the
+         * specified position. If the position is that following the last element,
+         * returns the index of the last list.
+         *
+         * @param position position of an element
+         * @return index of the list containing this element
+         */
+        int listIndex(long position) {
+            return RangedListSpliterator.listIndex(offsets, position);
+        }
+
+        /**
+         * Chooses where to split the elements at positions {@code [from, to)}
+         *
+         * @param from position of the first element
+         * @param to   position following that of the last element
+         * @return position at which to split
+         * @see RangedListSpliterator#splitPoint(long[], long, long)
+         */
+        long splitPoint(long from, long to) {
+            return RangedListSpliterator.splitPoint(offsets, from, to);
+        }
+    }
+
+    /**
+     * Returns the index of the list which contains the element at the specified
+     * position.
+     *
+     * @param offsets  position of the first element of each list, followed by the
+     *                 total number of elements
+     * @param position position of an element
+     * @return index of the list containing this element, or of the last list if
+     *         the position is that following the last element
+     */
+    static int listIndex(long[] offsets, long position) {
+        int low = 0;
+        int high = Math.max(0, offsets.length - 2);
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Chooses where to split the elements at positions {@code [from, to)} in two.
+     * A list boundary is chosen if one lies in the middle half of the range,
+     * otherwise the range is split in its middle, inside a list. The returned
+     * position is strictly between {@code from} and {@code to} provided there are
+     * at least two elements.
+     *
+     * @param offsets position of the first element of each list, followed by the
+     *                total number of elements
+     * @param from    position of the first element
+     * @param to      position following that of the last element
+     * @return position at which to split
+     */
+    static long splitPoint(long[] offsets, long from, long to) {
+        final long quarter = (to - from) / 4;
+        final long mid = from + (to - from) / 2;
+        final int k = listIndex(offsets, mid);
+        final long before = offsets[k];
+        final long after = offsets[k + 1];
+        final boolean beforeOk = before - from >= quarter && before > from;
+        final boolean afterOk = to - after >= quarter && after < to;
+        if (beforeOk && (!afterOk || mid - before <= after - mid)) {
+            return before;
+        } else if (afterOk) {
+            return after;
+        }
+        return mid;
+    }
+
+    /** Layout of the lists */
+    private final Layout layout;
+    /** Lists whose elements are traversed */
+    private final RangedList<T>[] lists;
+    /** Position of the next element to traverse */
+    private long position;
+    /** Position following that of the last element to traverse */
+    private final long end;
+    /** Index of the list containing the element at {@link #position} */
+    private int current;
+
+    /**
+     * Creates a spliterator over all the elements of the given lists, in the
+     * iteration order of the collection
+     *
+     * @param lists the lists whose elements are traversed, none of which may be
+     *              empty
+     */
+    @SuppressWarnings("unchecked")
+    RangedListSpliterator(Collection<? extends RangedList<T>> lists) {
+        this(lists.toArray(new RangedList[lists.size()]), null, 0l, -1l);
+    }
+
+    private RangedListSpliterator(RangedList<T>[] lists, Layout layout, long from, long to) {
+        this.lists = lists;
+        this.layout = layout == null ? new Layout(Arrays.asList(lists)) : layout;
+        position = from;
+        end = to < 0 ? this.layout.offsets[lists.length] : to;
+        current = this.layout.listIndex(from);
+    }
+
+    @Override
+    public int characteristics() {
+        return SIZED | SUBSIZED | ORDERED;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - position;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (position < end) {
+            final LongRange r = layout.ranges[current];
+            final long listEnd = Math.min(end, layout.offsets[current + 1]);
+            final long shift = r.from - layout.offsets[current];
+            lists[current].forEach(new LongRange(position + shift, listEnd + shift), action);
+            position = listEnd;
+            current++;
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (position >= end) {
+            return false;
+        }
+        while (layout.offsets[current + 1] <= position) {
+            current++;
+        }
+        action.accept(lists[current].get(layout.ranges[current].from + position - layout.offsets[current]));
+        position++;
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (end - position < 2) {
+            return null;
+        }
+        final long split = layout.splitPoint(position, end);
+        final RangedListSpliterator<T> prefix = new RangedListSpliterator<>(lists, layout, position, split);
+        position = split;
+        current = layout.listIndex(split);
+        return prefix;
+    }
+}
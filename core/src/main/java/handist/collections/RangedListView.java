@@ -22,8 +22,10 @@ import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 
 /**
- * {@link RangedListView} provides an access to a {@link Chunk} restricted to a
- * specific range.
+ * {@link RangedListView} provides an access to a {@link RangedList} restricted
+ * to a specific range. The underlying {@link RangedList} is typically a
+ * {@link Chunk}, one of its primitive counterparts ({@link IntChunk},
+ * {@link LongChunk}, {@link DoubleChunk}) or a {@link StructChunk}.
  *
  * @param <T> type handled by the {@link RangedListView} this instance provides
  *            access to
@@ -42,11 +44,11 @@ public class RangedListView<T> extends RangedList<T> implements Serializable, Kr
      *         access
      */
     public static <T> RangedListView<T> emptyView() {
-        return new RangedListView<>((Chunk<T>) null, new LongRange(0, 0));
+        return new RangedListView<>((RangedList<T>) null, new LongRange(0, 0));
     }
 
-    /** Chunk instance whose access is controlled by this instance */
-    private Chunk<T> base;
+    /** RangedList instance whose access is controlled by this instance */
+    private RangedList<T> base;
 
     /**
      * The range of the {@link RangedList} which this object allows access to
@@ -57,9 +59,9 @@ public class RangedListView<T> extends RangedList<T> implements Serializable, Kr
      * Creates a new {@link RangedListView} which grants access to the provided
      * {@link RangedList} only on the specified range.
      * <p>
-     * The provided base can either be a {@link Chunk} or an existing
-     * {@link RangedListView}, in which case the {@link Chunk} base of this
-     * {@link RangedListView} will be extracted.
+     * The provided base can either be an {@link ArrayBackedRangedList} such as a
+     * {@link Chunk}, or an existing {@link RangedListView}, in which case the base
+     * of this {@link RangedListView} will be extracted.
      *
      * @param base  {@link RangedList} this instance will control access to
      * @param range the range of indices that the created instance allows access to
@@ -70,8 +72,8 @@ public class RangedListView<T> extends RangedList<T> implements Serializable, Kr
             this.base = null;
             return;
         }
-        if (base instanceof Chunk) {
-            this.base = (Chunk<T>) base;
+        if (base instanceof ArrayBackedRangedList) {
+            this.base = base;
         } else if (base instanceof RangedListView) {
             this.base = ((RangedListView<T>) base).base; // base;
         } else {
@@ -105,7 +107,7 @@ public class RangedListView<T> extends RangedList<T> implements Serializable, Kr
     public RangedList<T> cloneRange(LongRange range) {
         rangeCheck(range);
         if (range.equals(base.getRange())) {
-            return base.clone();
+            return base.cloneRange(base.getRange());
         }
         return base.cloneRange(range);
     }
@@ -187,14 +189,14 @@ public class RangedListView<T> extends RangedList<T> implements Serializable, Kr
     @Override
     public void read(Kryo kryo, Input input) {
         @SuppressWarnings("unchecked")
-        final Chunk<T> chunk = (Chunk<T>) kryo.readClassAndObject(input);
+        final RangedList<T> chunk = (RangedList<T>) kryo.readClassAndObject(input);
         this.base = chunk;
         this.range = chunk.getRange();
     }
 
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         @SuppressWarnings("unchecked")
-        final Chunk<T> chunk = (Chunk<T>) in.readObject();
+        final RangedList<T> chunk = (RangedList<T>) in.readObject();
         this.base = chunk;
         this.range = chunk.getRange();
     }
@@ -301,16 +303,26 @@ public class RangedListView<T> extends RangedList<T> implements Serializable, Kr
         return sb.toString();
     }
 
+    /**
+     * Returns the {@link RangedList} to serialize in place of this view: the base
+     * itself if this view covers all of it, a copy of the viewed range otherwise.
+     * Primitive bases are thus transferred without boxing their values.
+     */
+    private RangedList<T> toSerializable() {
+        if (range.equals(base.getRange())) {
+            return base;
+        }
+        return base.cloneRange(range);
+    }
+
     @Override
     public void write(Kryo kryo, Output output) {
-        final Chunk<T> chunk = this.toChunk(range);
-        kryo.writeClassAndObject(output, chunk);
+        kryo.writeClassAndObject(output, toSerializable());
     }
 
     // TODO this implement generates redundant RangedListView at receiver node.
     private void writeObject(ObjectOutputStream out) throws IOException {
-        final Chunk<T> chunk = this.toChunk(range);
-        out.writeObject(chunk);
+        out.writeObject(toSerializable());
     }
 
 
@@ -29,6 +29,7 @@ import com.esotericsoftware.kryo.KryoSerializable;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 
+import handist.collections.dist.util.KryoRegistry;
 import handist.collections.function.LongTBiConsumer;
 import handist.collections.function.SquareIndexTConsumer;
 import handist.collections.function.SquareIndexTFunction;
@@ -793,7 +794,7 @@ public class SquareChunk<T> implements Serializable, SquareRangedList<T>, KryoSe
     public void read(Kryo kryo, Input input) {
         this.innerSize = input.readLong();
         this.range = (SquareRange) kryo.readClassAndObject(input);
-        this.a = (Object[]) kryo.readClassAndObject(input);
+        this.a = KryoRegistry.readArray(kryo, input);
     }
 
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -909,7 +910,7 @@ public class SquareChunk<T> implements Serializable, SquareRangedList<T>, KryoSe
     public void write(Kryo kryo, Output output) {
         output.writeLong(innerSize);
         kryo.writeClassAndObject(output, range);
-        kryo.writeClassAndObject(output, a);
+        KryoRegistry.writeArray(kryo, output, a);
     }
 
     private void writeObject(ObjectOutputStream out) throws IOException {
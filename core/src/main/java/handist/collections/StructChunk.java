@@ -0,0 +1,1057 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoSerializable;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import handist.collections.StructLayout.Type;
+
+/**
+ * {@link RangedList} of fixed-layout records stored off-heap. The memory of
+ * each field (column) of the records comes from a dedicated direct
+ * {@link ByteBuffer}, avoiding the object headers and the scattering of data
+ * across the heap that would result from storing small objects in a
+ * {@link Chunk}.
+ * <p>
+ * The fields of a record are accessed without creating any object through
+ * methods such as {@link #getDouble(long, int)} and
+ * {@link #setDouble(long, int, double)}, the {@code int} parameter being the
+ * identifier of the field in the {@link StructLayout} of this chunk.
+ * Alternatively, {@link Record} instances act as flyweights which provide
+ * access to the fields of a single record. The iterators of this class
+ * reposition a single {@link Record} instance on each element rather than
+ * creating a new instance for each element. Any {@link Record} obtained this
+ * way should therefore not be kept after moving the iterator.
+ * <p>
+ * When a {@link StructChunk} is serialized, the bytes of each column are
+ * copied as is, without going through the objects graph. The columns use the
+ * native byte order of the host, which is written in the stream: a host with a
+ * different byte order reverses the bytes of each value upon reception.
+ */
+public class StructChunk extends RangedList<StructChunk.Record>
+        implements ArrayBackedRangedList, Serializable, KryoSerializable {
+
+    /**
+     * Iterator on the records of a {@link StructChunk}. The same {@link Record}
+     * instance is returned by each call to {@link #next()} and
+     * {@link #previous()}.
+     */
+    private class It implements RangedListIterator<Record> {
+        /** Flyweight repositioned on each returned element */
+        private final Record flyweight = new Record();
+        /** Index of the element returned by next call to next */
+        private long i;
+        /** Index of the last returned element, or {@code Long.MIN_VALUE} */
+        private long lastReturned = Long.MIN_VALUE;
+        /** Range of indices on which this iterator operates */
+        private final LongRange r;
+
+        private It(LongRange r, long i0) {
+            this.r = r;
+            i = i0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < r.to;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return i > r.from;
+        }
+
+        @Override
+        public Record next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = i;
+            flyweight.offset = (int) (i++ - range.from);
+            return flyweight;
+        }
+
+        @Override
+        public long nextIndex() {
+            return i;
+        }
+
+        @Override
+        public Record previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = --i;
+            flyweight.offset = (int) (i - range.from);
+            return flyweight;
+        }
+
+        @Override
+        public long previousIndex() {
+            return i - 1;
+        }
+
+        @Override
+        public void set(Record e) {
+            if (lastReturned == Long.MIN_VALUE) {
+                throw new IllegalStateException("[StructChunk.It] Either method "
+                        + "previous or next needs to be called before method set can be used");
+            }
+            copyRecord(e, (int) (lastReturned - range.from));
+        }
+    }
+
+    /**
+     * Flyweight giving access to the fields of one record of a
+     * {@link StructChunk}. A record does not hold any data itself: the values it
+     * returns are read from the columns of the {@link StructChunk} it belongs to.
+     */
+    public final class Record {
+        /** Position of the record in the columns */
+        private int offset;
+
+        private Record() {
+        }
+
+        private Record(long index) {
+            moveTo(index);
+        }
+
+        /**
+         * Checks if the given object is a {@link Record} with the same layout and
+         * the same field values as this record
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Record)) {
+                return false;
+            }
+            final Record r = (Record) o;
+            final StructChunk other = r.chunk();
+            if (!layout.equals(other.layout)) {
+                return false;
+            }
+            for (int f = 0; f < columns.length; f++) {
+                final int bytes = layout.type(f).bytes;
+                for (int b = 0; b < bytes; b++) {
+                    if (columns[f].get(offset * bytes + b) != other.columns[f].get(r.offset * bytes + b)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private StructChunk chunk() {
+            return StructChunk.this;
+        }
+
+        /**
+         * Returns the value of a {@link Type#BYTE} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @return the value of the field
+         * @throws IllegalArgumentException if the field is not of type BYTE
+         */
+        public byte getByte(int field) {
+            return StructChunk.this.getByteAt(offset, field);
+        }
+
+        /**
+         * Returns the value of a {@link Type#DOUBLE} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @return the value of the field
+         * @throws IllegalArgumentException if the field is not of type DOUBLE
+         */
+        public double getDouble(int field) {
+            return StructChunk.this.getDoubleAt(offset, field);
+        }
+
+        /**
+         * Returns the value of a {@link Type#FLOAT} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @return the value of the field
+         * @throws IllegalArgumentException if the field is not of type FLOAT
+         */
+        public float getFloat(int field) {
+            return StructChunk.this.getFloatAt(offset, field);
+        }
+
+        /**
+         * Returns the value of a {@link Type#INT} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @return the value of the field
+         * @throws IllegalArgumentException if the field is not of type INT
+         */
+        public int getInt(int field) {
+            return StructChunk.this.getIntAt(offset, field);
+        }
+
+        /**
+         * Returns the value of a {@link Type#LONG} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @return the value of the field
+         * @throws IllegalArgumentException if the field is not of type LONG
+         */
+        public long getLong(int field) {
+            return StructChunk.this.getLongAt(offset, field);
+        }
+
+        /**
+         * Returns the value of a {@link Type#SHORT} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @return the value of the field
+         * @throws IllegalArgumentException if the field is not of type SHORT
+         */
+        public short getShort(int field) {
+            return StructChunk.this.getShortAt(offset, field);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 1;
+            for (int f = 0; f < columns.length; f++) {
+                final int bytes = layout.type(f).bytes;
+                for (int b = 0; b < bytes; b++) {
+                    hash = 31 * hash + columns[f].get(offset * bytes + b);
+                }
+            }
+            return hash;
+        }
+
+        /**
+         * Returns the index of the record this flyweight currently gives access to
+         *
+         * @return index of the record
+         */
+        public long index() {
+            return range.from + offset;
+        }
+
+        /**
+         * Repositions this flyweight on the record at the specified index
+         *
+         * @param index index of the record to access
+         * @return this flyweight
+         * @throws IndexOutOfBoundsException if the index is not included in the
+         *                                   range of the {@link StructChunk}
+         */
+        public Record moveTo(long index) {
+            if (!range.contains(index)) {
+                throw new IndexOutOfBoundsException(rangeMsg(index));
+            }
+            offset = (int) (index - range.from);
+            return this;
+        }
+
+        /**
+         * Sets the value of a {@link Type#BYTE} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @param v     the new value of the field
+         * @throws IllegalArgumentException if the field is not of type BYTE
+         */
+        public void setByte(int field, byte v) {
+            StructChunk.this.setByteAt(offset, field, v);
+        }
+
+        /**
+         * Sets the value of a {@link Type#DOUBLE} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @param v     the new value of the field
+         * @throws IllegalArgumentException if the field is not of type DOUBLE
+         */
+        public void setDouble(int field, double v) {
+            StructChunk.this.setDoubleAt(offset, field, v);
+        }
+
+        /**
+         * Sets the value of a {@link Type#FLOAT} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @param v     the new value of the field
+         * @throws IllegalArgumentException if the field is not of type FLOAT
+         */
+        public void setFloat(int field, float v) {
+            StructChunk.this.setFloatAt(offset, field, v);
+        }
+
+        /**
+         * Sets the value of a {@link Type#INT} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @param v     the new value of the field
+         * @throws IllegalArgumentException if the field is not of type INT
+         */
+        public void setInt(int field, int v) {
+            StructChunk.this.setIntAt(offset, field, v);
+        }
+
+        /**
+         * Sets the value of a {@link Type#LONG} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @param v     the new value of the field
+         * @throws IllegalArgumentException if the field is not of type LONG
+         */
+        public void setLong(int field, long v) {
+            StructChunk.this.setLongAt(offset, field, v);
+        }
+
+        /**
+         * Sets the value of a {@link Type#SHORT} field of this record
+         *
+         * @param field identifier of the field in the layout of the chunk
+         * @param v     the new value of the field
+         * @throws IllegalArgumentException if the field is not of type SHORT
+         */
+        public void setShort(int field, short v) {
+            StructChunk.this.setShortAt(offset, field, v);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("(");
+            for (int f = 0; f < columns.length; f++) {
+                if (f > 0) {
+                    sb.append(",");
+                }
+                switch (layout.type(f)) {
+                case BYTE:
+                    sb.append(getByte(f));
+                    break;
+                case SHORT:
+                    sb.append(getShort(f));
+                    break;
+                case INT:
+                    sb.append(getInt(f));
+                    break;
+                case FLOAT:
+                    sb.append(getFloat(f));
+                    break;
+                case LONG:
+                    sb.append(getLong(f));
+                    break;
+                case DOUBLE:
+                    sb.append(getDouble(f));
+                    break;
+                }
+            }
+            return sb.append(")").toString();
+        }
+    }
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = 3630618279009521637L;
+
+    /** Size of the buffer used to copy the columns during serialization */
+    private static final int TRANSFER_BUFFER_SIZE = 8192;
+
+    /** Indicates if the columns of this host are stored in big-endian order */
+    private static final boolean NATIVE_BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+
+    private static ByteBuffer[] allocateColumns(StructLayout layout, long size) {
+        final ByteBuffer[] columns = new ByteBuffer[layout.numFields()];
+        for (int f = 0; f < columns.length; f++) {
+            columns[f] = ByteBuffer.allocateDirect((int) size * layout.type(f).bytes).order(ByteOrder.nativeOrder());
+        }
+        return columns;
+    }
+
+    /**
+     * Reverses the bytes of each value of a column, used when the column was
+     * received from a host with a different byte order
+     *
+     * @param column the column whose values to convert
+     * @param bytes  number of bytes of each value
+     */
+    private static void swapBytes(ByteBuffer column, int bytes) {
+        if (bytes == 1) {
+            return;
+        }
+        for (int i = 0; i < column.capacity(); i += bytes) {
+            for (int lo = i, hi = i + bytes - 1; lo < hi; lo++, hi--) {
+                final byte b = column.get(lo);
+                column.put(lo, column.get(hi));
+                column.put(hi, b);
+            }
+        }
+    }
+
+    /** One direct buffer per field of the layout */
+    private transient ByteBuffer[] columns;
+
+    /** Layout of the records stored in this instance */
+    private StructLayout layout;
+
+    /** Range on which this instance is defined */
+    private LongRange range;
+
+    /**
+     * Builds a {@link StructChunk} with the given range and layout, all the
+     * fields of all the records being initialized to 0.
+     * <p>
+     * The given LongRange should have a strictly positive size and a size which
+     * does not exceed {@value handist.collections.Config#maxChunkSize}. In
+     * addition, each column should not exceed {@link Integer#MAX_VALUE} bytes. An
+     * {@link IllegalArgumentException} will be thrown otherwise.
+     *
+     * @param range  the range of the chunk to build
+     * @param layout the layout of the records
+     * @throws IllegalArgumentException if a {@link StructChunk} cannot be built
+     *                                  with the provided range and layout.
+     */
+    public StructChunk(LongRange range, StructLayout layout) {
+        final long size = range.to - range.from;
+        if (size > Config.maxChunkSize) {
+            throw new IllegalArgumentException(
+                    "The given range " + range + " exceeds the maximum Chunk size " + Config.maxChunkSize);
+        } else if (size <= 0) {
+            throw new IllegalArgumentException("Cannot build a StructChunk with " + "LongRange " + range
+                    + ", should have a strictly positive" + " size");
+        }
+        for (int f = 0; f < layout.numFields(); f++) {
+            if (size * layout.type(f).bytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(
+                        "The given range " + range + " exceeds the maximum column size for " + layout.type(f));
+            }
+        }
+        this.range = range;
+        this.layout = layout;
+        columns = allocateColumns(layout, size);
+    }
+
+    private int byteOffset(long index, int field, Type expected) {
+        if (layout.type(field) != expected) {
+            throw new IllegalArgumentException(
+                    "[StructChunk] field " + field + " is of type " + layout.type(field) + ", not " + expected);
+        }
+        if (!range.contains(index)) {
+            throw new IndexOutOfBoundsException(rangeMsg(index));
+        }
+        return (int) (index - range.from) * expected.bytes;
+    }
+
+    private int byteOffsetAt(int offset, int field, Type expected) {
+        if (layout.type(field) != expected) {
+            throw new IllegalArgumentException(
+                    "[StructChunk] field " + field + " is of type " + layout.type(field) + ", not " + expected);
+        }
+        return offset * expected.bytes;
+    }
+
+    private LongRange calcSubIteratorRange(LongRange range) {
+        range = this.getRange().intersection(range);
+        if (range == null) {
+            throw new IndexOutOfBoundsException();
+        }
+        return range;
+    }
+
+    /**
+     * Returns a new {@link StructChunk} defined on the same {@link LongRange} and
+     * layout, with a copy of the contents of this instance.
+     *
+     * @return a copy of this instance
+     */
+    @Override
+    public StructChunk clone() {
+        return cloneRange(range);
+    }
+
+    @Override
+    public StructChunk cloneRange(LongRange newRange) {
+        if (!range.contains(newRange)) {
+            throw new IndexOutOfBoundsException(rangeMsg(newRange));
+        }
+        final StructChunk copy = new StructChunk(newRange, layout);
+        for (int f = 0; f < columns.length; f++) {
+            final int bytes = layout.type(f).bytes;
+            final ByteBuffer src = columns[f].duplicate();
+            src.limit((int) (newRange.to - range.from) * bytes);
+            src.position((int) (newRange.from - range.from) * bytes);
+            copy.columns[f].put(src);
+            copy.columns[f].clear();
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Record)) {
+            return false;
+        }
+        final Record r = new Record();
+        for (int i = 0; i < size(); i++) {
+            r.offset = i;
+            if (r.equals(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void copyRecord(Record source, int offset) {
+        final StructChunk other = source.chunk();
+        if (!layout.equals(other.layout)) {
+            throw new IllegalArgumentException("[StructChunk] cannot copy a record of layout " + other.layout
+                    + " into a StructChunk of layout " + layout);
+        }
+        for (int f = 0; f < columns.length; f++) {
+            final int bytes = layout.type(f).bytes;
+            for (int b = 0; b < bytes; b++) {
+                columns[f].put(offset * bytes + b, other.columns[f].get(source.offset * bytes + b));
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return RangedList.equals(this, o);
+    }
+
+    /**
+     * Returns a new {@link Record} giving access to the record at the specified
+     * index. Prefer {@link #record(long)} followed by calls to
+     * {@link Record#moveTo(long)} to access multiple records.
+     */
+    @Override
+    public Record get(long index) {
+        return new Record(index);
+    }
+
+    /**
+     * Returns the value of a {@link Type#BYTE} field of the record at the
+     * specified index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @return the value of the field
+     * @throws IllegalArgumentException  if the field is not of type BYTE
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public byte getByte(long index, int field) {
+        return columns[field].get(byteOffset(index, field, Type.BYTE));
+    }
+
+    private byte getByteAt(int offset, int field) {
+        return columns[field].get(byteOffsetAt(offset, field, Type.BYTE));
+    }
+
+    /**
+     * Returns the value of a {@link Type#DOUBLE} field of the record at the
+     * specified index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @return the value of the field
+     * @throws IllegalArgumentException  if the field is not of type DOUBLE
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public double getDouble(long index, int field) {
+        return columns[field].getDouble(byteOffset(index, field, Type.DOUBLE));
+    }
+
+    private double getDoubleAt(int offset, int field) {
+        return columns[field].getDouble(byteOffsetAt(offset, field, Type.DOUBLE));
+    }
+
+    /**
+     * Returns the value of a {@link Type#FLOAT} field of the record at the
+     * specified index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @return the value of the field
+     * @throws IllegalArgumentException  if the field is not of type FLOAT
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public float getFloat(long index, int field) {
+        return columns[field].getFloat(byteOffset(index, field, Type.FLOAT));
+    }
+
+    private float getFloatAt(int offset, int field) {
+        return columns[field].getFloat(byteOffsetAt(offset, field, Type.FLOAT));
+    }
+
+    /**
+     * Returns the value of a {@link Type#INT} field of the record at the
+     * specified index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @return the value of the field
+     * @throws IllegalArgumentException  if the field is not of type INT
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public int getInt(long index, int field) {
+        return columns[field].getInt(byteOffset(index, field, Type.INT));
+    }
+
+    private int getIntAt(int offset, int field) {
+        return columns[field].getInt(byteOffsetAt(offset, field, Type.INT));
+    }
+
+    /**
+     * Returns the layout of the records contained in this instance
+     *
+     * @return the layout of the records
+     */
+    public StructLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the value of a {@link Type#LONG} field of the record at the
+     * specified index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @return the value of the field
+     * @throws IllegalArgumentException  if the field is not of type LONG
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public long getLong(long index, int field) {
+        return columns[field].getLong(byteOffset(index, field, Type.LONG));
+    }
+
+    private long getLongAt(int offset, int field) {
+        return columns[field].getLong(byteOffsetAt(offset, field, Type.LONG));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongRange getRange() {
+        return range;
+    }
+
+    /**
+     * Returns the value of a {@link Type#SHORT} field of the record at the
+     * specified index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @return the value of the field
+     * @throws IllegalArgumentException  if the field is not of type SHORT
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public short getShort(long index, int field) {
+        return columns[field].getShort(byteOffset(index, field, Type.SHORT));
+    }
+
+    private short getShortAt(int offset, int field) {
+        return columns[field].getShort(byteOffsetAt(offset, field, Type.SHORT));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return RangedList.hashCode(this);
+    }
+
+    /**
+     * Returns an iterator on the records of this instance. The same
+     * {@link Record} flyweight is returned by every call to
+     * {@link java.util.Iterator#next()}.
+     */
+    @Override
+    public RangedListIterator<Record> iterator() {
+        return new It(range, range.from);
+    }
+
+    /**
+     * Creates and returns a new {@link RangedListIterator} on the records
+     * contained by this instance. The same {@link Record} flyweight is returned by
+     * every call to {@link RangedListIterator#next()} and
+     * {@link RangedListIterator#previous()}.
+     *
+     * @return a new {@link RangedListIterator}
+     */
+    @Override
+    public RangedListIterator<Record> listIterator() {
+        return new It(range, range.from);
+    }
+
+    /**
+     * Creates and returns a new {@link RangedListIterator} starting at the
+     * specified index on the records contained by this instance.
+     *
+     * @param index the index of the first element to be returned by calling method
+     *              {@link RangedListIterator#next()}
+     * @return a new {@link RangedListIterator} starting at the specified index
+     */
+    @Override
+    public RangedListIterator<Record> listIterator(long index) {
+        if (index < range.from || range.to < index) {
+            throw new IndexOutOfBoundsException(rangeMsg(index));
+        }
+        return new It(range, index);
+    }
+
+    private String rangeMsg(long index) {
+        return "[StructChunk] range " + index + " is out of " + getRange();
+    }
+
+    private String rangeMsg(LongRange range) {
+        return "[StructChunk] range " + range + " is not contained in " + getRange();
+    }
+
+    @Override
+    public void read(Kryo kryo, Input input) {
+        range = (LongRange) kryo.readClassAndObject(input);
+        layout = (StructLayout) kryo.readClassAndObject(input);
+        final boolean bigEndian = input.readBoolean();
+        columns = allocateColumns(layout, range.size());
+        final byte[] tmp = new byte[TRANSFER_BUFFER_SIZE];
+        for (int f = 0; f < columns.length; f++) {
+            final ByteBuffer column = columns[f];
+            while (column.hasRemaining()) {
+                final int n = Math.min(tmp.length, column.remaining());
+                input.readBytes(tmp, 0, n);
+                column.put(tmp, 0, n);
+            }
+            column.clear();
+            if (bigEndian != NATIVE_BIG_ENDIAN) {
+                swapBytes(column, layout.type(f).bytes);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        range = (LongRange) in.readObject();
+        layout = (StructLayout) in.readObject();
+        final boolean bigEndian = in.readBoolean();
+        columns = allocateColumns(layout, range.size());
+        final byte[] tmp = new byte[TRANSFER_BUFFER_SIZE];
+        for (int f = 0; f < columns.length; f++) {
+            final ByteBuffer column = columns[f];
+            while (column.hasRemaining()) {
+                final int n = Math.min(tmp.length, column.remaining());
+                in.readFully(tmp, 0, n);
+                column.put(tmp, 0, n);
+            }
+            column.clear();
+            if (bigEndian != NATIVE_BIG_ENDIAN) {
+                swapBytes(column, layout.type(f).bytes);
+            }
+        }
+    }
+
+    /**
+     * Returns a new {@link Record} flyweight positioned on the specified index.
+     *
+     * @param index index of the first record to access
+     * @return a new flyweight
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public Record record(long index) {
+        return new Record(index);
+    }
+
+    /**
+     * Copies the fields of the given record into the record at the specified
+     * index. The given record may belong to another {@link StructChunk} with the
+     * same layout.
+     *
+     * @return {@code null}, the previous values are overwritten and not returned
+     * @throws IllegalArgumentException if the given record does not have the same
+     *                                  layout as this instance
+     */
+    @Override
+    public Record set(long index, Record value) {
+        if (!range.contains(index)) {
+            throw new IndexOutOfBoundsException(rangeMsg(index));
+        }
+        copyRecord(value, (int) (index - range.from));
+        return null;
+    }
+
+    /**
+     * Sets the value of a {@link Type#BYTE} field of the record at the specified
+     * index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @param v     the new value of the field
+     * @throws IllegalArgumentException  if the field is not of type BYTE
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public void setByte(long index, int field, byte v) {
+        columns[field].put(byteOffset(index, field, Type.BYTE), v);
+    }
+
+    private void setByteAt(int offset, int field, byte v) {
+        columns[field].put(byteOffsetAt(offset, field, Type.BYTE), v);
+    }
+
+    /**
+     * Sets the value of a {@link Type#DOUBLE} field of the record at the specified
+     * index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @param v     the new value of the field
+     * @throws IllegalArgumentException  if the field is not of type DOUBLE
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public void setDouble(long index, int field, double v) {
+        columns[field].putDouble(byteOffset(index, field, Type.DOUBLE), v);
+    }
+
+    private void setDoubleAt(int offset, int field, double v) {
+        columns[field].putDouble(byteOffsetAt(offset, field, Type.DOUBLE), v);
+    }
+
+    /**
+     * Sets the value of a {@link Type#FLOAT} field of the record at the specified
+     * index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @param v     the new value of the field
+     * @throws IllegalArgumentException  if the field is not of type FLOAT
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public void setFloat(long index, int field, float v) {
+        columns[field].putFloat(byteOffset(index, field, Type.FLOAT), v);
+    }
+
+    private void setFloatAt(int offset, int field, float v) {
+        columns[field].putFloat(byteOffsetAt(offset, field, Type.FLOAT), v);
+    }
+
+    /**
+     * Sets the value of a {@link Type#INT} field of the record at the specified
+     * index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @param v     the new value of the field
+     * @throws IllegalArgumentException  if the field is not of type INT
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public void setInt(long index, int field, int v) {
+        columns[field].putInt(byteOffset(index, field, Type.INT), v);
+    }
+
+    private void setIntAt(int offset, int field, int v) {
+        columns[field].putInt(byteOffsetAt(offset, field, Type.INT), v);
+    }
+
+    /**
+     * Sets the value of a {@link Type#LONG} field of the record at the specified
+     * index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @param v     the new value of the field
+     * @throws IllegalArgumentException  if the field is not of type LONG
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public void setLong(long index, int field, long v) {
+        columns[field].putLong(byteOffset(index, field, Type.LONG), v);
+    }
+
+    private void setLongAt(int offset, int field, long v) {
+        columns[field].putLong(byteOffsetAt(offset, field, Type.LONG), v);
+    }
+
+    /**
+     * Sets the value of a {@link Type#SHORT} field of the record at the specified
+     * index.
+     *
+     * @param index index of the record
+     * @param field identifier of the field in the layout of this instance
+     * @param v     the new value of the field
+     * @throws IllegalArgumentException  if the field is not of type SHORT
+     * @throws IndexOutOfBoundsException if the index is not included in the range
+     *                                   of this instance
+     */
+    public void setShort(long index, int field, short v) {
+        columns[field].putShort(byteOffset(index, field, Type.SHORT), v);
+    }
+
+    private void setShortAt(int offset, int field, short v) {
+        columns[field].putShort(byteOffsetAt(offset, field, Type.SHORT), v);
+    }
+
+    @Override
+    protected RangedListIterator<Record> subIterator(LongRange range) {
+        range = calcSubIteratorRange(range);
+        return new It(range, range.from);
+    }
+
+    @Override
+    protected RangedListIterator<Record> subListIterator(LongRange range) {
+        range = calcSubIteratorRange(range);
+        return new It(range, range.from);
+    }
+
+    @Override
+    protected RangedListIterator<Record> subListIterator(LongRange range, long i0) {
+        range = calcSubIteratorRange(range);
+        if (i0 < range.from || range.to < i0) {
+            throw new IndexOutOfBoundsException(rangeMsg(i0));
+        }
+        return new It(range, i0);
+    }
+
+    /**
+     * Returns a new array containing one distinct {@link Record} for each record
+     * of this instance.
+     */
+    @Override
+    public Object[] toArray() {
+        return toArray(range);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned array contains one distinct {@link Record} for each index of
+     * the specified range. These records give access to the records of this
+     * instance, they are not copies.
+     */
+    @Override
+    public Object[] toArray(LongRange newRange) {
+        if (!range.contains(newRange)) {
+            throw new IndexOutOfBoundsException(rangeMsg(newRange));
+        }
+        final Object[] result = new Object[(int) newRange.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new Record(newRange.from + i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The records are first copied into a new {@link StructChunk}. The elements
+     * of the returned {@link Chunk} are {@link Record}s of this copy.
+     */
+    @Override
+    public Chunk<Record> toChunk(LongRange newRange) {
+        if (newRange.size() == 0) {
+            throw new IllegalArgumentException("[StructChunk] toChunk(emptyRange) is not permitted.");
+        }
+        return new Chunk<>(newRange, cloneRange(newRange).toArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned list contains one distinct {@link Record} for each index of the
+     * specified range.
+     */
+    @Override
+    public List<Record> toList(LongRange r) {
+        rangeCheck(r);
+        final ArrayList<Record> list = new ArrayList<>((int) r.size());
+        for (long i = r.from; i < r.to; i++) {
+            list.add(new Record(i));
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (range == null) {
+            return "[StructChunk] in Construction";
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[" + range + "]:");
+        final long sz = Config.omitElementsToString ? Math.min(size(), Config.maxNumElementsToString) : size();
+        final Record r = new Record();
+        for (int c = 0; c < sz; c++) {
+            if (c > 0) {
+                sb.append(",");
+            }
+            r.offset = c;
+            sb.append(r);
+        }
+        if (sz < size()) {
+            sb.append("...(omitted " + (size() - sz) + " elements)");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output) {
+        kryo.writeClassAndObject(output, range);
+        kryo.writeClassAndObject(output, layout);
+        output.writeBoolean(NATIVE_BIG_ENDIAN);
+        final byte[] tmp = new byte[TRANSFER_BUFFER_SIZE];
+        for (final ByteBuffer c : columns) {
+            final ByteBuffer column = c.duplicate();
+            column.clear();
+            while (column.hasRemaining()) {
+                final int n = Math.min(tmp.length, column.remaining());
+                column.get(tmp, 0, n);
+                output.writeBytes(tmp, 0, n);
+            }
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.writeObject(range);
+        out.writeObject(layout);
+        out.writeBoolean(NATIVE_BIG_ENDIAN);
+        final byte[] tmp = new byte[TRANSFER_BUFFER_SIZE];
+        for (final ByteBuffer c : columns) {
+            final ByteBuffer column = c.duplicate();
+            column.clear();
+            while (column.hasRemaining()) {
+                final int n = Math.min(tmp.length, column.remaining());
+                column.get(tmp, 0, n);
+                out.write(tmp, 0, n);
+            }
+        }
+    }
+}
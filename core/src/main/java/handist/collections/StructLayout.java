@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Describes the fields of the fixed-layout records stored in a
+ * {@link StructChunk}. Each field has a primitive {@link Type} and is identified
+ * by its position in the layout, starting at 0.
+ * <p>
+ * For instance, particles with a position, a velocity and an identifier can be
+ * described with the following layout:
+ *
+ * <pre>
+ * static final int X = 0, VX = 1, ID = 2;
+ * StructLayout layout = new StructLayout(Type.DOUBLE, Type.DOUBLE, Type.INT);
+ * </pre>
+ *
+ * Instances of this class are immutable.
+ */
+public final class StructLayout implements Serializable {
+
+    /**
+     * Primitive types that the fields of a {@link StructLayout} can take
+     */
+    public static enum Type {
+        BYTE(Byte.BYTES), SHORT(Short.BYTES), INT(Integer.BYTES), FLOAT(Float.BYTES), LONG(Long.BYTES),
+        DOUBLE(Double.BYTES);
+
+        /** Number of bytes used by one value of this type */
+        public final int bytes;
+
+        private Type(int bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -4129542381655702734L;
+
+    /** Type of each field */
+    private final Type[] types;
+
+    /**
+     * Creates a new layout with the given field types. The field identifiers are
+     * the positions of the types given as parameter.
+     *
+     * @param types type of each field, in order
+     * @throws IllegalArgumentException if no type or a {@code null} type is
+     *                                  given
+     */
+    public StructLayout(Type... types) {
+        if (types.length == 0) {
+            throw new IllegalArgumentException("[StructLayout] at least one field is needed");
+        }
+        for (final Type t : types) {
+            if (t == null) {
+                throw new IllegalArgumentException("[StructLayout] field types cannot be null");
+            }
+        }
+        this.types = types.clone();
+    }
+
+    /**
+     * Returns the number of bytes used by one record of this layout
+     *
+     * @return the sum of the sizes of all the fields
+     */
+    public int bytesPerRecord() {
+        int sum = 0;
+        for (final Type t : types) {
+            sum += t.bytes;
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof StructLayout && Arrays.equals(types, ((StructLayout) o).types);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(types);
+    }
+
+    /**
+     * Returns the number of fields in this layout
+     *
+     * @return number of fields
+     */
+    public int numFields() {
+        return types.length;
+    }
+
+    @Override
+    public String toString() {
+        return "StructLayout" + Arrays.toString(types);
+    }
+
+    /**
+     * Returns the type of the specified field
+     *
+     * @param field identifier of the field
+     * @return the type of this field
+     * @throws ArrayIndexOutOfBoundsException if there is no such field
+     */
+    public Type type(int field) {
+        return types[field];
+    }
+}
@@ -34,13 +34,21 @@ import handist.collections.LongRange;
  * specified as parameter to these functions.
  * </ol>
  * <p>
- * There is currently one implementation of {@link Accumulator}:
+ * There are currently three implementations of {@link Accumulator}:
  * <ul>
  * <li>{@link AccumulatorCompleteRange} which prepares accumulators for all the
  * ranges it is given at the time of construction. Use this variant if you know
  * that the elements processed during the accumulation phase will need to record
  * information about (almost) all indices contained in the target
  * {@link ChunkedList}&lt;T&gt;.
+ * <li>{@link AccumulatorBlocked} which allocates accumulators by fixed-size
+ * blocks, the first time an index of a block is acquired. Use this variant if
+ * each thread only records information about a small fraction of the indices
+ * contained in the target {@link ChunkedList}&lt;T&gt;.
+ * <li>{@link AccumulatorSharedDouble} which keeps a single {@code double}
+ * accumulator per index, shared by all threads and updated under striped locks.
+ * Use this variant to save memory when few threads update the same indices at
+ * the same time.
  * </ul>
  *
  * @author Kawanishi Yoshiki
@@ -0,0 +1,203 @@
+package handist.collections.accumulator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.function.Function;
+
+import handist.collections.Chunk;
+import handist.collections.ChunkedList;
+import handist.collections.LongRange;
+
+/**
+ * Variation of {@link Accumulator} which allocates the accumulators of each
+ * thread lazily, by fixed-size blocks.
+ * <p>
+ * The ranges given at construction are divided into blocks of
+ * {@code blockSize} indices, aligned on multiples of {@code blockSize} and
+ * clipped to the bounds of each range. A thread-local accumulator initially
+ * holds no accumulator at all. The first time an index is acquired, the whole
+ * block containing it is allocated using the {@link #initFunc} of this
+ * instance. Only the blocks touched by a thread are therefore present in its
+ * thread-local accumulator, and only those are walked when the accumulated
+ * information is applied to the target collection with
+ * {@link ChunkedList#accept(Accumulator, java.util.function.BiConsumer)} or
+ * {@link ChunkedList#parallelAccept(Accumulator, java.util.function.BiConsumer)}.
+ * <p>
+ * Use this variant rather than {@link AccumulatorCompleteRange} when each
+ * thread only records information about a small fraction of the indices of the
+ * target collection. With many threads and large ranges, allocating every
+ * index for every thread would otherwise consume a considerable amount of
+ * memory.
+ *
+ * @param <A> the accumulator type used to store information
+ */
+public class AccumulatorBlocked<A> extends Accumulator<A> {
+
+    private class BlockedTLA implements ThreadLocalAccumulator<A> {
+
+        /** Blocks allocated so far */
+        final ChunkedList<A> accumulators;
+
+        /** Blocks allocated so far, indexed by the first index they contain */
+        final HashMap<Long, Chunk<A>> blocks;
+
+        /** Block in which the last acquired index was located */
+        Chunk<A> lastBlock;
+
+        public BlockedTLA() {
+            accumulators = new ChunkedList<>();
+            blocks = new HashMap<>();
+        }
+
+        @Override
+        public A acquire(long idx) {
+            final Chunk<A> last = lastBlock;
+            if (last != null && last.getRange().contains(idx)) {
+                return last.get(idx);
+            }
+            final Chunk<A> block = block(idx);
+            lastBlock = block;
+            return block.get(idx);
+        }
+
+        @Override
+        public ChunkedList<A> acquire(LongRange range) {
+            long idx = range.from;
+            while (idx < range.to) {
+                idx = block(idx).getRange().to;
+            }
+            return accumulators.subList(range);
+        }
+
+        /**
+         * Returns the block containing the specified index, allocating it if
+         * necessary
+         *
+         * @param idx index whose block is desired
+         * @return the block containing this index
+         * @throws IndexOutOfBoundsException if the index is not contained in any of
+         *                                   the ranges handled by this accumulator
+         */
+        private Chunk<A> block(long idx) {
+            final int r = rangeIndex(idx);
+            final long start = Math.max(froms[r], Math.floorDiv(idx, blockSize) * blockSize);
+            Chunk<A> block = blocks.get(start);
+            if (block == null) {
+                final long end = Math.min(tos[r], start - Math.floorMod(start, blockSize) + blockSize);
+                block = new Chunk<>(new LongRange(start, end), initFunc);
+                blocks.put(start, block);
+                accumulators.add(block);
+            }
+            return block;
+        }
+
+        @Override
+        public ChunkedList<A> getChunkedList() {
+            return accumulators;
+        }
+
+        @Override
+        public Collection<LongRange> ranges() {
+            return accumulators.ranges();
+        }
+    }
+
+    /** Number of indices contained by each block */
+    private final long blockSize;
+
+    /** Lower bound of each range handled by this accumulator, in increasing order */
+    private final long[] froms;
+
+    /** Upper bound of each range handled by this accumulator, matching {@link #froms} */
+    private final long[] tos;
+
+    /**
+     * Constructor. Thread-local accumulators created by this instance will allocate
+     * accumulators by blocks of the specified size for the indices contained in
+     * the ranges held by the {@link ChunkedList} given as parameter.
+     * <p>
+     * Note that subsequent addition of ranges to the {@link ChunkedList} <em>will
+     * not</em> be reflected into the instance created by calling this constructor.
+     *
+     * @param toAllocate {@link ChunkedList} whose ranges may be allocated in the
+     *                   thread-local accumulators prepared by this instance
+     * @param blockSize  number of accumulators allocated at once
+     * @param initFunc   the function used to allocate the individual accumulators
+     */
+    public AccumulatorBlocked(ChunkedList<?> toAllocate, long blockSize, Function<Long, A> initFunc) {
+        this(toAllocate.ranges(), blockSize, initFunc);
+    }
+
+    /**
+     * Constructor. Thread-local accumulators created by this instance will allocate
+     * accumulators by blocks of the specified size for the indices contained in
+     * the ranges given as parameter.
+     * <p>
+     * It is assumed that the ranges given as parameter are mutually exclusive. In
+     * other words, no two ranges should overlap. Subsequent modifications to the
+     * collection given as parameter will not influence the behavior of this
+     * instance.
+     *
+     * @param ranges    the ranges on which this accumulator will be capable of
+     *                  accumulating values
+     * @param blockSize number of accumulators allocated at once
+     * @param initFunc  the function used to allocate the individual accumulators
+     * @throws IllegalArgumentException if the block size is not strictly positive
+     */
+    public AccumulatorBlocked(Collection<LongRange> ranges, long blockSize, Function<Long, A> initFunc) {
+        super(initFunc);
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be strictly positive, was " + blockSize);
+        }
+        this.blockSize = blockSize;
+        final LongRange[] sorted = ranges.toArray(new LongRange[ranges.size()]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.from, b.from));
+        froms = new long[sorted.length];
+        tos = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            froms[i] = sorted[i].from;
+            tos[i] = sorted[i].to;
+        }
+    }
+
+    /**
+     * Returns the number of indices contained by each block
+     *
+     * @return the block size of this accumulator
+     */
+    public long getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    protected ThreadLocalAccumulator<A> newThreadLocalAccumulator() {
+        return new BlockedTLA();
+    }
+
+    /**
+     * Returns the position in {@link #froms} of the range containing the
+     * specified index
+     *
+     * @param idx the index to locate
+     * @return position of the range containing this index
+     * @throws IndexOutOfBoundsException if the index is not contained in any of
+     *                                   the ranges handled by this accumulator
+     */
+    private int rangeIndex(long idx) {
+        int low = 0;
+        int high = froms.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (idx < froms[mid]) {
+                high = mid - 1;
+            } else if (idx >= tos[mid]) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IndexOutOfBoundsException(
+                "AccumulatorBlocked: index " + idx + " is not contained in the ranges of this accumulator");
+    }
+}
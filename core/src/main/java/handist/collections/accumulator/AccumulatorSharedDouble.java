@@ -0,0 +1,243 @@
+package handist.collections.accumulator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import handist.collections.ChunkedList;
+import handist.collections.DoubleChunk;
+import handist.collections.LongRange;
+
+/**
+ * Variation of {@link Accumulator} in which all the threads add {@code double}
+ * values into a single, shared set of accumulators.
+ * <p>
+ * Contrary to {@link AccumulatorCompleteRange} and {@link AccumulatorBlocked},
+ * no per-thread copy of the accumulators is allocated: a single
+ * {@link DoubleChunk} is allocated for each range given at construction and
+ * all thread-local accumulators refer to it. Values are added with method
+ * {@link #addDouble(long, double)}, available on this instance and on the
+ * {@link SharedDoubleTLA} handed to each thread. Concurrent additions are
+ * serialized by a set of striped locks, each lock protecting the blocks of
+ * {@link #BLOCK_SIZE} consecutive indices which map to it.
+ * <p>
+ * This variant uses one {@code double} per index regardless of the number of
+ * threads, at the cost of a lock acquisition per addition. It is well suited
+ * to scatter-add patterns (force accumulation for instance) in which few
+ * threads update the same indices at the same time. When contention is high,
+ * the per-thread copies of the other {@link Accumulator} implementations
+ * perform better.
+ * <p>
+ * Method {@link ThreadLocalAccumulator#acquire(long)} returns the value
+ * accumulated so far for an index. As the accumulators are shared, only the
+ * first thread-local accumulator obtained from this instance exposes them
+ * through {@link ThreadLocalAccumulator#ranges()} and
+ * {@link ThreadLocalAccumulator#getChunkedList()}, the others report no range.
+ * This way, {@link ChunkedList#accept(Accumulator, java.util.function.BiConsumer)}
+ * and its parallel variants process each index exactly once.
+ */
+public class AccumulatorSharedDouble extends Accumulator<Double> {
+
+    /**
+     * {@link ThreadLocalAccumulator} of {@link AccumulatorSharedDouble}. All
+     * instances refer to the accumulators shared by all threads.
+     */
+    public class SharedDoubleTLA implements ThreadLocalAccumulator<Double> {
+
+        /**
+         * Indicates if this instance exposes the shared accumulators through
+         * {@link #ranges()} and {@link #getChunkedList()}
+         */
+        private final boolean exposes;
+
+        private SharedDoubleTLA(boolean exposes) {
+            this.exposes = exposes;
+        }
+
+        @Override
+        public Double acquire(long idx) {
+            return chunk(idx).getDouble(idx);
+        }
+
+        @Override
+        public ChunkedList<Double> acquire(LongRange range) {
+            return accumulators.subList(range);
+        }
+
+        /**
+         * Adds the specified value to the accumulator of the specified index
+         *
+         * @param idx   index of the accumulator
+         * @param value value to add
+         * @see AccumulatorSharedDouble#addDouble(long, double)
+         */
+        public void addDouble(long idx, double value) {
+            AccumulatorSharedDouble.this.addDouble(idx, value);
+        }
+
+        @Override
+        public ChunkedList<Double> getChunkedList() {
+            return exposes ? accumulators : new ChunkedList<>();
+        }
+
+        @Override
+        public Collection<LongRange> ranges() {
+            return exposes ? accumulators.ranges() : Collections.emptyList();
+        }
+    }
+
+    /**
+     * Number of consecutive indices protected by the same lock. Chosen so that
+     * the values guarded by a lock span whole cache lines.
+     */
+    public static final int BLOCK_SIZE = 64;
+
+    /** Accumulators shared by all threads */
+    private final ChunkedList<Double> accumulators;
+
+    /** Chunks of {@link #accumulators}, sorted by increasing range */
+    private final DoubleChunk[] chunks;
+
+    /** Lower bound of the range of each chunk of {@link #chunks} */
+    private final long[] froms;
+
+    /** Locks serializing the additions, one per stripe */
+    private final Object[] locks;
+
+    /**
+     * Constructor. Allocates a shared accumulator for every index contained in
+     * the ranges of the {@link ChunkedList} given as parameter, using a number of
+     * lock stripes proportional to the number of available processors.
+     * <p>
+     * Note that subsequent addition of ranges to the {@link ChunkedList} <em>will
+     * not</em> be reflected into the instance created by calling this constructor.
+     *
+     * @param toAllocate {@link ChunkedList} whose ranges will be allocated
+     */
+    public AccumulatorSharedDouble(ChunkedList<?> toAllocate) {
+        this(toAllocate.ranges());
+    }
+
+    /**
+     * Constructor. Allocates a shared accumulator for every index contained in
+     * the ranges given as parameter, using a number of lock stripes proportional
+     * to the number of available processors.
+     *
+     * @param ranges the ranges on which this accumulator will be capable of
+     *               accumulating values, which should not overlap
+     */
+    public AccumulatorSharedDouble(Collection<LongRange> ranges) {
+        this(ranges, 16 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor. Allocates a shared accumulator for every index contained in
+     * the ranges given as parameter.
+     * <p>
+     * It is assumed that the ranges given as parameter are mutually exclusive. In
+     * other words, no two ranges should overlap. Subsequent modifications to the
+     * collection given as parameter will not influence the behavior of this
+     * instance.
+     *
+     * @param ranges    the ranges on which this accumulator will be capable of
+     *                  accumulating values
+     * @param nbStripes number of locks used to serialize concurrent additions,
+     *                  rounded up to a power of two
+     * @throws IllegalArgumentException if the number of stripes is not strictly
+     *                                  positive
+     */
+    public AccumulatorSharedDouble(Collection<LongRange> ranges, int nbStripes) {
+        super(l -> 0d);
+        if (nbStripes <= 0) {
+            throw new IllegalArgumentException("Number of stripes must be strictly positive, was " + nbStripes);
+        }
+        final LongRange[] sorted = ranges.toArray(new LongRange[ranges.size()]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.from, b.from));
+        accumulators = new ChunkedList<>();
+        chunks = new DoubleChunk[sorted.length];
+        froms = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            chunks[i] = new DoubleChunk(sorted[i]);
+            froms[i] = sorted[i].from;
+            accumulators.add(chunks[i]);
+        }
+        int nbLocks = 1;
+        while (nbLocks < nbStripes) {
+            nbLocks <<= 1;
+        }
+        locks = new Object[nbLocks];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Adds the specified value to the accumulator of the specified index. This
+     * method can be called concurrently by any number of threads.
+     *
+     * @param idx   index of the accumulator
+     * @param value value to add
+     * @throws IndexOutOfBoundsException if the index is not contained in any of
+     *                                   the ranges of this accumulator
+     */
+    public void addDouble(long idx, double value) {
+        final DoubleChunk c = chunk(idx);
+        synchronized (locks[(int) (idx / BLOCK_SIZE) & (locks.length - 1)]) {
+            c.setDouble(idx, c.getDouble(idx) + value);
+        }
+    }
+
+    /**
+     * Returns the chunk of the shared accumulators which contains the specified
+     * index
+     *
+     * @param idx index to locate
+     * @return the chunk containing this index
+     * @throws IndexOutOfBoundsException if the index is not contained in any of
+     *                                   the ranges of this accumulator
+     */
+    private DoubleChunk chunk(long idx) {
+        int low = 0;
+        int high = froms.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (froms[mid] <= idx) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (froms.length == 0 || !chunks[low].getRange().contains(idx)) {
+            throw new IndexOutOfBoundsException(
+                    "AccumulatorSharedDouble: index " + idx + " is not contained in the ranges of this accumulator");
+        }
+        return chunks[low];
+    }
+
+    /**
+     * Returns the value accumulated so far for the specified index
+     *
+     * @param idx index of the accumulator
+     * @return the sum of the values added for this index
+     */
+    public double getDouble(long idx) {
+        return chunk(idx).getDouble(idx);
+    }
+
+    @Override
+    protected ThreadLocalAccumulator<Double> newThreadLocalAccumulator() {
+        return new SharedDoubleTLA(threadLocalAccumulators.isEmpty());
+    }
+
+    /**
+     * Discards the thread-local accumulators and sets all the shared accumulators
+     * back to 0.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        for (final DoubleChunk c : chunks) {
+            c.forEachDouble((l, d) -> c.setDouble(l, 0d));
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import static apgas.Constructs.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import apgas.Place;
+import handist.collections.dist.util.DeSerializerRegistry;
+import handist.collections.dist.util.ObjectInput;
+import handist.collections.dist.util.ObjectOutput;
+import handist.collections.function.DeSerializer;
+import handist.collections.function.Serializer;
+import mpi.MPI;
+
+/**
+ * Implementation of {@link MoveManager} which aggregates the transfers
+ * requested towards each destination into larger messages. Where a
+ * {@link OneSidedMoveManager} sends one MPI message and spawns one remote
+ * activity for every batch of objects, this class buffers the transfers
+ * requested towards each place and sends them together, paying the latency of
+ * a message once for many small transfers.
+ * <p>
+ * Contrary to the other {@link MoveManager} implementations, the serializer
+ * submitted with {@link #request(Place, Serializer, DeSerializer)} is called
+ * right away and its output appended to the buffer of the destination. The
+ * buffer of a destination is sent when:
+ * <ul>
+ * <li>the number of bytes it holds reaches the size threshold,
+ * <li>its oldest transfer has been waiting for longer than the time threshold.
+ * This is checked whenever a transfer is requested, towards any destination,
+ * <li>method {@link #flush()} or {@link #flush(Place)} is called.
+ * </ul>
+ * Method {@link #flush()} should therefore be called once no more transfers
+ * are going to be requested. The buffered transfers are delivered on the
+ * destination by a single activity which calls their deserializers in the
+ * order in which they were requested. This activity is registered with the
+ * finish of the thread which sent the message.
+ * <p>
+ * This class keeps counters of the messages sent, of the transfers they
+ * carried and of the bytes sent, from which the coalescing ratio can be
+ * obtained with {@link #coalescingRatio()}. The methods of this class are
+ * thread-safe.
+ */
+public class CoalescingMoveManager implements MoveManager {
+
+    /**
+     * Transfers buffered for a destination
+     */
+    static final class Batch {
+        /** Distinct deserializers of the buffered transfers */
+        final List<DeSerializer> deserializers = new ArrayList<>();
+
+        /** Index of each deserializer in {@link #deserializers} */
+        final IdentityHashMap<DeSerializer, Integer> indices = new IdentityHashMap<>();
+
+        /** Time at which the oldest buffered transfer was requested */
+        long oldest;
+
+        /** Number of buffered transfers */
+        int requests;
+
+        /** Buffered transfers, each one preceded by its length */
+        final ByteArrayOutputStream segments = new ByteArrayOutputStream();
+
+        /**
+         * Calls the serializer and appends its output to this batch
+         *
+         * @param serializer   the serializer of the objects to transfer
+         * @param deserializer the deserializer to call on the destination
+         * @throws IOException if thrown by the serializer
+         */
+        void add(Serializer serializer, DeSerializer deserializer) throws IOException {
+            Integer index = indices.get(deserializer);
+            if (index == null) {
+                index = deserializers.size();
+                deserializers.add(deserializer);
+                indices.put(deserializer, index);
+            }
+            final ByteArrayOutputStream segment = new ByteArrayOutputStream();
+            final ObjectOutput out = new ObjectOutput(segment);
+            out.writeInt(index);
+            serializer.accept(out);
+            out.close();
+
+            new DataOutputStream(segments).writeInt(segment.size());
+            segment.writeTo(segments);
+            if (requests++ == 0) {
+                oldest = System.nanoTime();
+            }
+        }
+
+        /**
+         * Indicates if this batch holds no transfer
+         *
+         * @return {@code true} if no transfer is buffered
+         */
+        boolean isEmpty() {
+            return requests == 0;
+        }
+
+        /**
+         * Produces the message carrying the buffered transfers. The message
+         * consists of the length of the header, the header containing the
+         * deserializers, followed by the buffered transfers.
+         *
+         * @return the bytes to send to the destination
+         * @throws IOException if thrown while writing the message
+         */
+        byte[] toMessage() throws IOException {
+            final ByteArrayOutputStream header = new ByteArrayOutputStream();
+            final ObjectOutput out = new ObjectOutput(header);
+            DeSerializerRegistry.writeDeSerializers(out, deserializers);
+            out.close();
+
+            final ByteArrayOutputStream message = new ByteArrayOutputStream(4 + header.size() + segments.size());
+            new DataOutputStream(message).writeInt(header.size());
+            header.writeTo(message);
+            segments.writeTo(message);
+            return message.toByteArray();
+        }
+    }
+
+    /** Default number of bytes above which the transfers to a place are sent */
+    public static final int DEFAULT_SIZE_THRESHOLD = 64 * 1024;
+
+    /**
+     * Default time in nanoseconds after which the transfers to a place are sent
+     */
+    public static final long DEFAULT_TIME_THRESHOLD = 1000000l;
+
+    /**
+     * Calls the deserializers of the transfers contained in a message produced by
+     * {@link Batch#toMessage()}
+     *
+     * @param message the message received
+     * @throws Exception if thrown by a deserializer
+     */
+    static void deliver(byte[] message) throws Exception {
+        final ByteBuffer buffer = ByteBuffer.wrap(message);
+        final int headerLength = buffer.getInt();
+        final ObjectInput header = new ObjectInput(
+                new ByteArrayInputStream(message, buffer.position(), headerLength));
+        final List<DeSerializer> deserializers = DeSerializerRegistry.readDeSerializers(header);
+        header.close();
+        buffer.position(buffer.position() + headerLength);
+
+        while (buffer.hasRemaining()) {
+            final int length = buffer.getInt();
+            final ObjectInput in = new ObjectInput(new ByteArrayInputStream(message, buffer.position(), length));
+            deserializers.get(in.readInt()).accept(in);
+            in.close();
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    /**
+     * Receives a message sent by {@link #send(Place, Batch)} and delivers the
+     * transfers it contains. This method is called on the destination place.
+     *
+     * @param nbOfBytes  size of the message
+     * @param sourceRank rank of the sending place
+     * @param tag        tag of the MPI message
+     * @throws Exception if thrown during the reception or by a deserializer
+     */
+    @SuppressWarnings("deprecation")
+    private static void receive(int nbOfBytes, int sourceRank, int tag) throws Exception {
+        final byte[] received = new byte[nbOfBytes];
+        TeamedPlaceGroup.world.comm.Recv(received, 0, nbOfBytes, MPI.BYTE, sourceRank, tag);
+        deliver(received);
+    }
+
+    /** Transfers buffered for each destination */
+    private final Map<Place, Batch> batches = new HashMap<>();
+
+    /** Number of bytes sent */
+    private long bytesSent = 0l;
+
+    /** Number of messages sent */
+    private long messagesSent = 0l;
+
+    /** Number of transfers carried by the messages sent */
+    private long requestsSent = 0l;
+
+    /** Number of bytes above which the transfers to a place are sent */
+    private final int sizeThreshold;
+
+    /** Time in nanoseconds after which the transfers to a place are sent */
+    private final long timeThreshold;
+
+    /**
+     * Constructor using the default size and time thresholds
+     */
+    public CoalescingMoveManager() {
+        this(DEFAULT_SIZE_THRESHOLD, DEFAULT_TIME_THRESHOLD);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param sizeThreshold      number of buffered bytes above which the
+     *                           transfers to a place are sent
+     * @param timeThresholdNanos time in nanoseconds after which buffered
+     *                           transfers are sent
+     */
+    public CoalescingMoveManager(int sizeThreshold, long timeThresholdNanos) {
+        this.sizeThreshold = sizeThreshold;
+        timeThreshold = timeThresholdNanos;
+    }
+
+    /**
+     * Returns the number of bytes sent by this instance
+     *
+     * @return number of bytes sent
+     */
+    public synchronized long bytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Returns the average number of transfers carried by each message sent by
+     * this instance. A ratio of 1 indicates no coalescing took place.
+     *
+     * @return number of transfers per message, 0 if no message was sent
+     */
+    public synchronized double coalescingRatio() {
+        return messagesSent == 0 ? 0d : (double) requestsSent / messagesSent;
+    }
+
+    /**
+     * Sends the transfers buffered for every destination
+     *
+     * @throws IOException if thrown while preparing a message
+     */
+    public synchronized void flush() throws IOException {
+        for (final Map.Entry<Place, Batch> entry : batches.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                send(entry.getKey(), entry.getValue());
+            }
+        }
+        batches.clear();
+    }
+
+    /**
+     * Sends the transfers buffered for the specified destination
+     *
+     * @param destination the place whose transfers should be sent
+     * @throws IOException if thrown while preparing the message
+     */
+    public synchronized void flush(Place destination) throws IOException {
+        final Batch batch = batches.remove(destination);
+        if (batch != null && !batch.isEmpty()) {
+            send(destination, batch);
+        }
+    }
+
+    /**
+     * Returns the number of messages sent by this instance
+     *
+     * @return number of messages sent
+     */
+    public synchronized long messagesSent() {
+        return messagesSent;
+    }
+
+    /**
+     * Serializes the objects targeted by the serializer right away and buffers
+     * them until the transfers to this destination are sent.
+     *
+     * @throws RuntimeException if an exception is thrown by the serializer or
+     *                          while sending buffered transfers
+     */
+    @Override
+    public synchronized void request(Place dest, Serializer serialize, DeSerializer deserialize) {
+        try {
+            final Batch batch = batches.computeIfAbsent(dest, p -> new Batch());
+            batch.add(serialize, deserialize);
+            if (batch.segments.size() >= sizeThreshold) {
+                flush(dest);
+            }
+
+            // Send the batches which have been waiting for too long
+            final long now = System.nanoTime();
+            final List<Place> expired = new ArrayList<>();
+            for (final Map.Entry<Place, Batch> entry : batches.entrySet()) {
+                if (!entry.getValue().isEmpty() && now - entry.getValue().oldest >= timeThreshold) {
+                    expired.add(entry.getKey());
+                }
+            }
+            for (final Place p : expired) {
+                flush(p);
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("CoalescingMoveManager failed to buffer a transfer to " + dest, e);
+        }
+    }
+
+    /**
+     * Returns the number of transfers carried by the messages sent by this
+     * instance
+     *
+     * @return number of transfers sent
+     */
+    public synchronized long requestsSent() {
+        return requestsSent;
+    }
+
+    /**
+     * Sends a message containing the buffered transfers to their destination and
+     * spawns the activity which delivers them there
+     *
+     * @param destination the place to which the transfers are sent
+     * @param batch       the transfers to send
+     * @throws IOException if thrown while preparing the message
+     */
+    @SuppressWarnings("deprecation")
+    private void send(Place destination, Batch batch) throws IOException {
+        final byte[] bytesToSend = batch.toMessage();
+        final int nbOfBytes = bytesToSend.length;
+        final int destinationRank = TeamedPlaceGroup.world.rank(destination);
+        final int myRank = TeamedPlaceGroup.world.rank();
+        final int tag = OneSidedMoveManager.nextTag();
+
+        TeamedPlaceGroup.world.comm.Isend(bytesToSend, 0, nbOfBytes, MPI.BYTE, destinationRank, tag);
+        // Only the size, source and tag of the message travel with the remote activity
+        asyncAt(destination, () -> receive(nbOfBytes, myRank, tag));
+
+        messagesSent++;
+        requestsSent += batch.requests;
+        bytesSent += nbOfBytes;
+    }
+}
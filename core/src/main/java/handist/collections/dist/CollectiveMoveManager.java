@@ -12,17 +12,31 @@ package handist.collections.dist;
 
 import static apgas.Constructs.*;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import apgas.Place;
+import handist.collections.dist.util.DeSerializerRegistry;
 import handist.collections.dist.util.ObjectInput;
 import handist.collections.dist.util.ObjectOutput;
+import handist.collections.dist.util.PayloadCodec;
+import handist.collections.dist.util.PipedSegmentedOutputStream;
+import handist.collections.dist.util.SegmentedInputStream;
+import handist.collections.dist.util.SegmentedOutputStream;
 import handist.collections.function.DeSerializer;
 import handist.collections.function.Serializer;
 
@@ -33,19 +47,196 @@ import handist.collections.function.Serializer;
  * host involved in the transfer.
  */
 public final class CollectiveMoveManager implements MoveManager {
+    /**
+     * Implementation used to transfer the bytes between places during
+     * {@link CollectiveMoveManager#sync()}
+     *
+     * @see CollectiveMoveManager#setExchangeMode(ExchangeMode)
+     */
+    public enum ExchangeMode {
+        /**
+         * The sparse exchange is used when each place receives objects from few
+         * places of the group, the dense exchange otherwise
+         */
+        AUTO,
+        /**
+         * The bytes are transferred in rounds of collective communications
+         * involving all the places of the group, every pair of places first
+         * exchanging the number of bytes it transfers in the round. This is
+         * efficient when most places send objects to most other places.
+         */
+        DENSE,
+        /**
+         * Each place only learns how many places send it objects, the bytes are
+         * then transferred with point-to-point communications between the places
+         * which actually exchange objects. This is efficient when the relocation
+         * only involves a few pairs of places, for instance when moving elements
+         * between neighboring places.
+         */
+        SPARSE
+    }
+
+    /**
+     * Future returned by {@link CollectiveMoveManager#syncAsync()}. The
+     * communication thread exchanges the bytes and calls the deserializers
+     * submitted with
+     * {@link CollectiveMoveManager#requestConcurrent(Place, Serializer, DeSerializer)}.
+     * The bytes whose deserializers need to be called one place after the other
+     * are kept aside, and these deserializers are called by the first thread
+     * calling {@link #get()} once the exchange is over.
+     */
+    private static final class AsyncRelocation implements Future<Void> {
+        /**
+         * Streams whose deserializers are called by {@link #get()}, in the order of
+         * the ranks of the places which sent them
+         */
+        private final List<InputStream> deferred = Collections.synchronizedList(new ArrayList<>());
+
+        /** Indicates if the deferred deserializers have been called */
+        private boolean deserialized = false;
+
+        /** Exception thrown by a deferred deserializer, reported by each get */
+        private ExecutionException failure = null;
+
+        /** Whether the objects were serialized with references */
+        private final boolean references;
+
+        /** Exchange of bytes performed by the communication thread */
+        private Future<Void> transfer;
+
+        private AsyncRelocation(boolean references) {
+            this.references = references;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        /**
+         * Calls the deserializers whose bytes were kept aside during the exchange,
+         * the first time this method is called
+         *
+         * @throws ExecutionException if thrown by one of the deserializers
+         */
+        private synchronized void deserializeDeferred() throws ExecutionException {
+            if (!deserialized) {
+                deserialized = true;
+                try {
+                    for (final InputStream in : deferred) {
+                        deserialize(in, references);
+                    }
+                } catch (final Exception e) {
+                    failure = new ExecutionException(e);
+                } finally {
+                    deferred.clear();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        @Override
+        public Void get() throws InterruptedException, ExecutionException {
+            transfer.get();
+            deserializeDeferred();
+            return null;
+        }
+
+        @Override
+        public Void get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            transfer.get(timeout, unit);
+            deserializeDeferred();
+            return null;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        /**
+         * Indicates if the bytes have been exchanged. The deserializers which could
+         * not be called by the communication thread may remain to be called by
+         * {@link #get()}, which does not wait for any communication in that case.
+         */
+        @Override
+        public boolean isDone() {
+            return transfer.isDone();
+        }
+    }
+
+    /**
+     * Byte written at the start of the bytes sent to a place when all its
+     * deserializers may be called concurrently with those of other places
+     */
+    private static final int CONCURRENT = 1;
+
     private static final boolean DEBUG = false;
 
+    /**
+     * Byte written at the start of the bytes sent to a place when its
+     * deserializers need to be called one place after the other
+     */
+    private static final int SEQUENTIAL = 0;
+
+    /**
+     * Thread on which the transfers started by {@link #syncAsync()} are
+     * performed. Using a single thread guarantees that the collective
+     * communications of successive asynchronous relocations are issued in the
+     * same order on every place.
+     */
+    private static final ExecutorService COMMUNICATION_THREAD = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "CollectiveMoveManager-communication");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Size of the arrays holding the bytes of the objects sent with
+     * {@link #request(Place, Serializer, DeSerializer)} received during
+     * {@link #syncAsync()}, which are kept until their deserializers are called
+     */
+    private static final int KEPT_SEGMENT_SIZE = 1024 * 1024;
+
+    /**
+     * Default maximum number of bytes transferred to each place in a round of
+     * communication
+     *
+     * @see #setRoundSize(int)
+     */
+    public static final int DEFAULT_ROUND_SIZE = 64 * 1024 * 1024;
+
     /**
      * Collection of the deserializers, gathered by destination place.
      */
     private final Map<Place, List<DeSerializer>> builders;
 
+    /**
+     * Codec applied to the bytes sent to each place, {@code null} if the bytes
+     * are sent as they are serialized
+     */
+    private PayloadCodec codec = null;
+
+    /** Implementation of the transfer used by {@link #sync()} */
+    private ExchangeMode exchangeMode = ExchangeMode.AUTO;
+
     /**
      * The group of places which are involved in the collective relocation
      * operation.
      */
     private final TeamedPlaceGroup placeGroup;
 
+    /**
+     * Places for which at least one transfer was submitted with
+     * {@link #request(Place, Serializer, DeSerializer)}. The objects destined to
+     * these places are serialized by the thread calling {@link #sync()} and
+     * deserialized one place after the other.
+     */
+    private final Set<Place> sequential = new HashSet<>();
+
     /**
      * The collection of serializers, gathered by destination places
      */
@@ -53,6 +244,9 @@ public final class CollectiveMoveManager implements MoveManager {
 
     private boolean references = true;
 
+    /** Maximum number of bytes transferred to each place in a round */
+    private int roundSize = DEFAULT_ROUND_SIZE;
+
     /**
      * Construct a MoveManagerLocal with the given arguments.
      *
@@ -70,24 +264,27 @@ public final class CollectiveMoveManager implements MoveManager {
     }
 
     private void all2allser() throws Exception {
-        // Prepare to send the data
-        final int[] sendOffset = new int[placeGroup.size()];
-        final int[] sendSize = new int[placeGroup.size()];
-        // Rather than initializing an array, use an output stream as we do not know how
-        // long the array needs to be an advance.
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
-        executeSerialization(out, sendOffset, sendSize);
-
-        // Prepare the arrays for receiving the information
-        final int[] rcvOffset = new int[placeGroup.size()];
-        final int[] rcvSize = new int[placeGroup.size()];
-
-        // Make the MPI calls
-        final byte[] buf = CollectiveRelocator.exchangeBytesWithinGroup(placeGroup, out.toByteArray(), sendOffset,
-                sendSize, rcvOffset, rcvSize);
+        final PipedSegmentedOutputStream[] out = new PipedSegmentedOutputStream[placeGroup.size()];
+        finish(() -> {
+            // Serialize the objects destined to each place into a separate stream,
+            // the objects sent with requestConcurrent being serialized while they are
+            // transferred
+            try {
+                executeSerialization(out, true);
+            } catch (final Exception e) {
+                for (final PipedSegmentedOutputStream o : out) {
+                    if (o != null) {
+                        o.abort();
+                    }
+                }
+                throw e;
+            }
 
-        // Deserialize the objects received from the various hosts
-        executeDeserialization(buf, rcvOffset, rcvSize);
+            // Transfer the bytes in rounds, deserializing the objects received from the
+            // various hosts while the next rounds proceed
+            CollectiveRelocator.exchangeBytesInRounds(placeGroup, out, exchangeMode,
+                    (rank, in) -> executeDeserialization(in, codec, references, null));
+        });
     }
 
     /**
@@ -100,26 +297,68 @@ public final class CollectiveMoveManager implements MoveManager {
         for (final List<DeSerializer> list : builders.values()) {
             list.clear();
         }
+        sequential.clear();
     }
 
-    @SuppressWarnings("unchecked")
-    private void executeDeserialization(byte[] buf, int[] rcvOffset, int[] rcvSize) throws Exception {
-        int current = 0;
-        for (final Place p : placeGroup.places()) {
-            final int size = rcvSize[current];
-            final int offset = rcvOffset[current];
-            current++;
-            if (p.equals(here())) {
-                continue;
-            }
-
-            final ByteArrayInputStream in = new ByteArrayInputStream(buf, offset, size);
+    /**
+     * Reads the deserializers sent by a place and calls them
+     *
+     * @param in         stream delivering the bytes sent by a place, positioned
+     *                   after the byte indicating if the deserializers may be
+     *                   called concurrently. The stream is closed by this method.
+     * @param references whether the objects were serialized with references
+     * @throws Exception if thrown by a deserializer
+     */
+    private static void deserialize(InputStream in, boolean references) throws Exception {
+        try {
             final ObjectInput ds = new ObjectInput(in, references);
-            final List<DeSerializer> deserializerList = (List<DeSerializer>) ds.readObject();
+            final List<DeSerializer> deserializerList = DeSerializerRegistry.readDeSerializers(ds);
             for (final DeSerializer deserialize : deserializerList) {
                 deserialize.accept(ds);
             }
             ds.close();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Deserializes the objects sent by a place by calling the deserializers sent
+     * along with them. If all these deserializers may be called concurrently with
+     * the deserializers of other places, they are called by a new activity and
+     * this method returns without waiting for them. Otherwise they are called
+     * before this method returns, unless a list of deferred streams is given, in
+     * which case the bytes are copied into a stream added to that list. Copying
+     * them lets the exchange go on while the deserializers are not called.
+     *
+     * @param received   stream delivering the bytes sent by a place
+     * @param codec      codec with which the bytes were encoded, {@code null} if
+     *                   they were not encoded
+     * @param references whether the objects were serialized with references
+     * @param deferred   list to which the streams whose deserializers need to be
+     *                   called one place after the other are added, {@code null}
+     *                   to call these deserializers right away
+     * @throws Exception if thrown by a deserializer
+     */
+    private static void executeDeserialization(InputStream received, PayloadCodec codec, boolean references,
+            List<InputStream> deferred) throws Exception {
+        final InputStream in;
+        if (codec == null) {
+            in = received;
+        } else {
+            try {
+                in = codec.decode(received);
+            } catch (final Exception e) {
+                received.close();
+                throw e;
+            }
+        }
+        if (in.read() == CONCURRENT) {
+            async(() -> deserialize(in, references));
+        } else if (deferred != null) {
+            deferred.add(keep(in));
+        } else {
+            deserialize(in, references);
         }
     }
 
@@ -132,47 +371,98 @@ public final class CollectiveMoveManager implements MoveManager {
      * add dist to the list to schedule }
      */
     /**
-     * Proceed to call all the serializers held by this instance and prepare an
-     * array for an incoming MPI call.
+     * Proceed to call all the serializers held by this instance, placing the
+     * bytes destined to each place into a separate stream. The places whose
+     * transfers were all submitted with
+     * {@link #requestConcurrent(Place, Serializer, DeSerializer)} are serialized
+     * in parallel by activities spawned by this method, the others one after the
+     * other by the calling thread before this method returns. This method should
+     * be called within a {@code finish} which waits for the spawned activities.
+     * <p>
+     * The serializers of {@link #request(Place, Serializer, DeSerializer)}
+     * typically remove the objects they send from structures which are not
+     * thread-safe, into which the objects received are inserted by the
+     * corresponding deserializers. These serializers are therefore all called
+     * before the exchange starts, and the bytes they produce are held until they
+     * are transferred. The serializers of
+     * {@link #requestConcurrent(Place, Serializer, DeSerializer)} may on the
+     * contrary run while objects are received: when {@code lazy} is set, the
+     * activities calling them wait whenever a segment of {@link #roundSize}
+     * bytes is complete and the previous one has not been transferred yet.
      *
-     * @param out     output stream into which the serialized objects need to be
-     *                placed
-     * @param offsets array describing the index in the byte array which is destined
-     *                for every destination
-     * @param sizes   length in the array which is destined to every host
+     * @param out  array into which the stream of bytes destined to each place is
+     *             placed, indexed by rank. The entries of this place and of the
+     *             places to which nothing is sent are left {@code null}.
+     * @param lazy whether the serialization of the objects sent with
+     *             {@link #requestConcurrent(Place, Serializer, DeSerializer)}
+     *             keeps pace with their transfer, rather than producing all
+     *             their bytes up front
      * @throws IOException if thrown while serializing the objects
      */
-    private void executeSerialization(ByteArrayOutputStream out, int[] offsets, int[] sizes) throws IOException {
+    private void executeSerialization(PipedSegmentedOutputStream[] out, boolean lazy) throws IOException {
+        final int segmentSize = CollectiveRelocator.segmentSize(placeGroup, roundSize);
         for (int i = 0; i < placeGroup.size(); i++) {
             final Place place = placeGroup.get(i);
-            if (place.equals(here())) {
-                continue;
+            // No bytes are sent to the places without requests, keeping the
+            // communication matrix as sparse as the relocation
+            if (!place.equals(here()) && !serializeListMap.get(place).isEmpty()) {
+                final boolean bounded = lazy && !sequential.contains(place);
+                out[i] = new PipedSegmentedOutputStream(segmentSize, bounded ? 1 : 0);
             }
-            offsets[i] = out.size();
-            // TODO should reopen ByteArray...
-            if (DEBUG) {
-                System.err.println("execSeri: " + here() + "->" + place + ":start:" + out.size());
+        }
+        for (int i = 0; i < placeGroup.size(); i++) {
+            final Place place = placeGroup.get(i);
+            if (out[i] != null && !sequential.contains(place)) {
+                final PipedSegmentedOutputStream o = out[i];
+                async(() -> serialize(place, o));
             }
-            final ObjectOutput s = new ObjectOutput(out, references);
-            // First, write all the deserializers which will have to operate on the other
-            // end
-            s.writeObject(builders.get(place));
-            // Then call all the serializers
-            for (final Serializer serializer : serializeListMap.get(place)) {
-                serializer.accept(s);
+        }
+        for (int i = 0; i < placeGroup.size(); i++) {
+            final Place place = placeGroup.get(i);
+            if (out[i] != null && sequential.contains(place)) {
+                serialize(place, out[i]);
             }
-            s.close();
-            if (DEBUG) {
-                System.err.println("execSeri: " + here() + "->" + place + ":finish:" + out.size());
+        }
+    }
+
+    /**
+     * Copies the remaining bytes of a stream into memory so that they can be
+     * read once the exchange which delivers them is over
+     *
+     * @param in the stream to copy, closed by this method
+     * @return a stream delivering the bytes copied
+     * @throws IOException if thrown while reading the stream
+     */
+    private static InputStream keep(InputStream in) throws IOException {
+        final SegmentedOutputStream copy = new SegmentedOutputStream(KEPT_SEGMENT_SIZE);
+        try {
+            final byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                copy.write(buf, 0, n);
             }
-            sizes[i] = out.size() - offsets[i];
+        } finally {
+            in.close();
         }
+        final SegmentedInputStream kept = new SegmentedInputStream();
+        for (int i = 0; i < copy.segmentCount(); i++) {
+            kept.append(copy.segment(i), 0, copy.segmentLength(i));
+        }
+        kept.end();
+        return kept;
     }
 
     @Override
     public void request(Place pl, Serializer serializer, DeSerializer deserializer) {
         serializeListMap.get(pl).add(serializer);
         builders.get(pl).add(deserializer);
+        sequential.add(pl);
+    }
+
+    @Override
+    public void requestConcurrent(Place pl, Serializer serializer, DeSerializer deserializer) {
+        serializeListMap.get(pl).add(serializer);
+        builders.get(pl).add(deserializer);
     }
 
     /**
@@ -186,6 +476,91 @@ public final class CollectiveMoveManager implements MoveManager {
         });
     }
 
+    /**
+     * Calls the serializers of the objects destined to a place and closes the
+     * stream into which they are serialized. When a codec is set, the objects are
+     * entirely serialized before being encoded into the stream, as the codec
+     * works on whole payloads.
+     *
+     * @param place destination of the objects
+     * @param out   stream into which the objects are serialized
+     * @throws IOException if thrown while serializing the objects
+     */
+    private void serialize(Place place, PipedSegmentedOutputStream out) throws IOException {
+        if (DEBUG) {
+            System.err.println("execSeri: " + here() + "->" + place + ":start");
+        }
+        try {
+            if (codec != null) {
+                // Serialize the objects separately and encode them into the stream sent
+                final SegmentedOutputStream payload = new SegmentedOutputStream(roundSize);
+                serializeInto(place, payload);
+                codec.encode(payload, out);
+            } else {
+                serializeInto(place, out);
+            }
+        } finally {
+            out.close();
+        }
+        if (DEBUG) {
+            System.err.println("execSeri: " + here() + "->" + place + ":finish:" + out.length());
+        }
+    }
+
+    /**
+     * Writes the deserializers and calls the serializers of the objects destined
+     * to a place
+     *
+     * @param place destination of the objects
+     * @param out   stream into which the objects are serialized
+     * @throws IOException if thrown while serializing the objects
+     */
+    private void serializeInto(Place place, ByteArrayOutputStream out) throws IOException {
+        // Tell the receiver if the deserializers may run concurrently with those of
+        // other places
+        out.write(sequential.contains(place) ? SEQUENTIAL : CONCURRENT);
+        final ObjectOutput s = new ObjectOutput(out, references);
+        // First, write all the deserializers which will have to operate on the other
+        // end. Deserializers submitted several times are only written once.
+        DeSerializerRegistry.writeDeSerializers(s, builders.get(place));
+        // Then call all the serializers
+        for (final Serializer serializer : serializeListMap.get(place)) {
+            serializer.accept(s);
+        }
+        s.close();
+    }
+
+    /**
+     * Sets the codec applied to the bytes sent to each place during
+     * {@link #sync()} and {@link #syncAsync()}, for instance a
+     * {@link handist.collections.dist.util.DeflateCodec} to compress them when
+     * the relocations are limited by the bandwidth of the network. By default,
+     * the bytes are sent as they are serialized.
+     * <p>
+     * All the places of the group need to use the same codec.
+     *
+     * @param codec the codec to apply, or {@code null} to send the serialized
+     *              bytes as they are
+     */
+    public void setCodec(PayloadCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Sets the implementation used to transfer the bytes between places during
+     * {@link #sync()} and {@link #syncAsync()}. By default,
+     * {@link ExchangeMode#AUTO} is used: the places count how many places send
+     * objects to each of them and switch to point-to-point communications when
+     * each place only receives objects from a few places.
+     * <p>
+     * All the places of the group need to use the same exchange mode.
+     *
+     * @param mode the implementation of the transfer to use
+     */
+    public void setExchangeMode(ExchangeMode mode) {
+        exchangeMode = mode;
+    }
+
     /**
      *
      * */
@@ -193,6 +568,41 @@ public final class CollectiveMoveManager implements MoveManager {
         this.references = references;
     }
 
+    /**
+     * Sets the maximum number of bytes transferred to each place in a single
+     * round of communication during {@link #sync()} and {@link #syncAsync()}.
+     * Relocations involving more bytes are performed in several rounds, the
+     * objects received in a round being deserialized while the next round is in
+     * flight. This bounds the size of the arrays used for each transfer and
+     * allows relocations of more than 2GB.
+     * <p>
+     * The round size also bounds the memory used by {@link #sync()}. The objects
+     * sent with {@link #requestConcurrent(Place, Serializer, DeSerializer)} are
+     * serialized while they are transferred, each serializing activity waiting
+     * whenever it is two rounds ahead of the transfer. A place stops receiving
+     * bytes from a sender while more than a round of its bytes remains to be
+     * deserialized. A relocation thus holds a few rounds of bytes per peer on
+     * each place. This does not apply to the objects sent with
+     * {@link #request(Place, Serializer, DeSerializer)}, whose serializers
+     * typically modify the structures into which their deserializers insert
+     * objects: they are entirely serialized before the first round starts.
+     * Payloads encoded with a codec, see {@link #setCodec(PayloadCodec)}, and
+     * the objects relocated with {@link #syncAsync()} are also entirely
+     * serialized before being transferred.
+     * <p>
+     * All the places of the group need to use the same round size.
+     *
+     * @param bytes maximum number of bytes sent to each place in a round
+     * @throws IllegalArgumentException if the specified size is not strictly
+     *                                  positive
+     */
+    public void setRoundSize(int bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Round size must be strictly positive, was " + bytes);
+        }
+        roundSize = bytes;
+    }
+
     /**
      * Execute the all requests synchronously. When the transfer of objects
      * completes, clears this object so that it can be safely re-used for another
@@ -206,4 +616,60 @@ public final class CollectiveMoveManager implements MoveManager {
         // Clear the MoveManager to make it safe to reuse
         clear();
     }
+
+    /**
+     * Starts the transfer of all the requests and returns without waiting for
+     * the objects to be received. The serializers are called by the caller before
+     * this method returns, so the objects leaving this place are already
+     * detached from the local collections. The exchange of bytes with the other
+     * places is then performed on a communication thread, allowing the caller to
+     * keep working on the elements which do not move. This instance is cleared
+     * before this method returns and can be used to prepare another transfer
+     * right away.
+     * <p>
+     * The objects sent with
+     * {@link #requestConcurrent(Place, Serializer, DeSerializer)}, whose
+     * deserializers are safe to call concurrently, are deserialized by the
+     * communication thread as they arrive. The deserializers of the objects sent
+     * with {@link #request(Place, Serializer, DeSerializer)} typically insert
+     * them into structures which are not thread-safe: the bytes of these objects
+     * are kept until the exchange is over, and their deserializers are called by
+     * the thread calling {@link Future#get()} on the returned future. The
+     * collections receiving objects through these deserializers are therefore
+     * only modified by the caller.
+     * <p>
+     * As with {@link #sync()}, every place of the group needs to call this
+     * method. No other collective communication should be performed on the place
+     * group and {@link #sync()} should not be called before
+     * {@link Future#isDone()} returns {@code true}. Successive calls to this
+     * method are processed in order, but {@link Future#get()} needs to be called
+     * on each returned future for its objects to be entirely received.
+     * <p>
+     * MPJ does not provide non-blocking variants of the collective
+     * communications used by the transfer, which is why a separate thread is
+     * used rather than non-blocking primitives.
+     *
+     * @return a future whose {@link Future#get()} method returns once all the
+     *         objects sent to this place have been received and deserialized.
+     *         Exceptions thrown during the transfer or by the deserializers are
+     *         reported by this method. The returned future cannot be cancelled.
+     * @throws IOException if thrown while serializing the objects
+     */
+    public Future<Void> syncAsync() throws IOException {
+        final PipedSegmentedOutputStream[] out = new PipedSegmentedOutputStream[placeGroup.size()];
+        finish(() -> executeSerialization(out, false));
+        // The requests have been serialized, this instance can be reused
+        clear();
+
+        final ExchangeMode mode = exchangeMode;
+        final PayloadCodec payloadCodec = codec;
+        final AsyncRelocation relocation = new AsyncRelocation(references);
+        relocation.transfer = COMMUNICATION_THREAD.submit(() -> {
+            CollectiveRelocator.exchangeBytesInRounds(placeGroup, out, mode,
+                    (rank, in) -> executeDeserialization(in, payloadCodec, relocation.references,
+                            relocation.deferred));
+            return null;
+        });
+        return relocation;
+    }
 }
@@ -13,18 +13,29 @@ package handist.collections.dist;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import apgas.Constructs;
 import apgas.Place;
+import handist.collections.dist.CollectiveMoveManager.ExchangeMode;
+import handist.collections.dist.util.BufferPool;
 import handist.collections.dist.util.ObjectInput;
 import handist.collections.dist.util.ObjectOutput;
+import handist.collections.dist.util.PayloadCodec;
+import handist.collections.dist.util.PipedSegmentedOutputStream;
+import handist.collections.dist.util.SegmentedInputStream;
 import handist.collections.function.DeSerializer;
 import handist.collections.function.DeSerializerUsingPlace;
 import handist.collections.function.Serializer;
 import mpi.MPI;
 import mpi.MPIException;
+import mpi.Request;
+import mpi.Status;
 
 /**
  * Class wrapping utilities used to relocate object instances that rely on pairs
@@ -35,8 +46,15 @@ import mpi.MPIException;
  */
 @SuppressWarnings("deprecation")
 public class CollectiveRelocator {
+    /**
+     * Gathers on every place the bytes written by the serializers of all the
+     * places of the group. The deserializers are called for every other place
+     * which contributed at least one byte: places whose serializers wrote nothing
+     * are skipped.
+     */
     public static class Allgather {
         TeamedPlaceGroup pg;
+        PayloadCodec codec = null;
         final List<Serializer> sers = new LinkedList<>();
         final List<DeSerializerUsingPlace> desers = new LinkedList<>();
 
@@ -48,10 +66,13 @@ public class CollectiveRelocator {
             final int numPlaces = pg.size();
             final ByteArrayOutputStream out0 = new ByteArrayOutputStream();
             final ObjectOutput out = new ObjectOutput(out0);
+            final byte[] buf;
             try {
                 for (final Serializer ser : sers) {
                     ser.accept(out);
                 }
+                out.close();
+                buf = encode(codec, out0);
             } catch (final IOException e) {
                 System.err.println("IOException in CollectiveRelocator.allgather");
                 e.printStackTrace(System.err);
@@ -59,7 +80,6 @@ public class CollectiveRelocator {
             } finally {
                 out.close();
             }
-            final byte[] buf = out0.toByteArray();
             final int size = buf.length;
             final int[] tmpCounts = new int[1];
             tmpCounts[0] = size;
@@ -86,11 +106,17 @@ public class CollectiveRelocator {
             }
 
             for (int i = 0; i < recvCounts.length; i++) {
-                if (Constructs.here().equals(pg.get(i))) {
+                if (recvCounts[i] == 0 || Constructs.here().equals(pg.get(i))) {
                     continue;
                 }
                 final ByteArrayInputStream in0 = new ByteArrayInputStream(rbuf, recvDispls[i], recvCounts[i]);
-                final ObjectInput in = new ObjectInput(in0);
+                final ObjectInput in;
+                try {
+                    in = new ObjectInput(decode(codec, in0));
+                } catch (final IOException e) {
+                    e.printStackTrace();
+                    throw new Error("[CollectiveRelocator] DeSerialize error handled.");
+                }
                 try {
                     for (final DeSerializerUsingPlace deser : desers) {
                         deser.accept(in, pg.get(i));
@@ -109,11 +135,26 @@ public class CollectiveRelocator {
             desers.add(deser);
             return this;
         }
+
+        /**
+         * Sets the codec applied to the bytes contributed by each place, for
+         * instance to compress them. All the places of the group need to use the
+         * same codec.
+         *
+         * @param codec the codec to apply, or {@code null} to send the serialized
+         *              bytes as they are
+         * @return this instance
+         */
+        public Allgather setCodec(PayloadCodec codec) {
+            this.codec = codec;
+            return this;
+        }
     }
 
     public static class Bcast {
         TeamedPlaceGroup pg;
         Place root;
+        PayloadCodec codec = null;
         List<Serializer> sers = new LinkedList<>();
         List<DeSerializer> desers = new LinkedList<>();
 
@@ -127,24 +168,33 @@ public class CollectiveRelocator {
             if (Constructs.here().equals(root)) {
                 final ByteArrayOutputStream out0 = new ByteArrayOutputStream();
                 final ObjectOutput out = new ObjectOutput(out0);
+                final byte[] buf;
                 try {
                     for (final Serializer ser : sers) {
                         ser.accept(out);
                     }
+                    out.close();
+                    buf = encode(codec, out0);
                 } catch (final IOException e) {
                     e.printStackTrace();
                     throw new Error("[CollectiveRelocator] Serialize error raised.");
                 } finally {
                     out.close();
                 }
-                tmpBuf[0] = out0.size();
+                tmpBuf[0] = buf.length;
                 pg.comm.Bcast(tmpBuf, 0, 1, MPI.INT, pg.rank(root));
-                pg.comm.Bcast(out0.toByteArray(), 0, out0.size(), MPI.BYTE, pg.rank(root));
+                pg.comm.Bcast(buf, 0, buf.length, MPI.BYTE, pg.rank(root));
             } else {
                 pg.comm.Bcast(tmpBuf, 0, 1, MPI.INT, pg.rank(root));
                 final byte[] buf = new byte[tmpBuf[0]];
                 pg.comm.Bcast(buf, 0, buf.length, MPI.BYTE, pg.rank(root));
-                final ObjectInput in = new ObjectInput(new ByteArrayInputStream(buf));
+                final ObjectInput in;
+                try {
+                    in = new ObjectInput(decode(codec, new ByteArrayInputStream(buf)));
+                } catch (final IOException e) {
+                    e.printStackTrace();
+                    throw new Error("[CollectiveRelocator] DeSerialize error raised.");
+                }
                 try {
                     for (final DeSerializer des : desers) {
                         des.accept(in);
@@ -163,11 +213,26 @@ public class CollectiveRelocator {
             desers.add(des);
             return this;
         }
+
+        /**
+         * Sets the codec applied to the bytes broadcast by the root, for instance
+         * to compress them. All the places of the group need to use the same
+         * codec.
+         *
+         * @param codec the codec to apply, or {@code null} to send the serialized
+         *              bytes as they are
+         * @return this instance
+         */
+        public Bcast setCodec(PayloadCodec codec) {
+            this.codec = codec;
+            return this;
+        }
     }
 
     public static class Gather {
         TeamedPlaceGroup pg;
         Place root;
+        PayloadCodec codec = null;
         List<Serializer> sers = new LinkedList<>();
         List<DeSerializerUsingPlace> desers = new LinkedList<>();
 
@@ -180,16 +245,18 @@ public class CollectiveRelocator {
             final int numPlaces = pg.size();
             final ByteArrayOutputStream out0 = new ByteArrayOutputStream();
             final ObjectOutput out = new ObjectOutput(out0);
+            final byte[] buf;
             try {
                 for (final Serializer ser : sers) {
                     ser.accept(out);
                 }
+                out.close();
+                buf = encode(codec, out0);
             } catch (final IOException exp) {
                 throw new Error("This should not occur!.");
             } finally {
                 out.close();
             }
-            final byte[] buf = out0.toByteArray();
             final int size = buf.length;
             final int[] tmpCounts = new int[1];
             tmpCounts[0] = size;
@@ -223,7 +290,13 @@ public class CollectiveRelocator {
                     continue;
                 }
                 final ByteArrayInputStream in0 = new ByteArrayInputStream(rbuf, recvDispls[i], recvCounts[i]);
-                final ObjectInput in = new ObjectInput(in0);
+                final ObjectInput in;
+                try {
+                    in = new ObjectInput(decode(codec, in0));
+                } catch (final IOException e) {
+                    e.printStackTrace();
+                    throw new Error("[CollectiveRelocator] DeSerialize error raised.");
+                }
                 try {
                     for (final DeSerializerUsingPlace deser : desers) {
                         deser.accept(in, pg.get(i));
@@ -242,10 +315,580 @@ public class CollectiveRelocator {
             desers.add(deser);
             return this;
         }
+
+        /**
+         * Sets the codec applied to the bytes sent to the root by each place, for
+         * instance to compress them. All the places of the group need to use the
+         * same codec.
+         *
+         * @param codec the codec to apply, or {@code null} to send the serialized
+         *              bytes as they are
+         * @return this instance
+         */
+        public Gather setCodec(PayloadCodec codec) {
+            this.codec = codec;
+            return this;
+        }
+    }
+
+    /**
+     * Function receiving the stream of bytes sent by a place during
+     * {@link CollectiveRelocator#exchangeBytesInRounds}
+     */
+    @FunctionalInterface
+    interface StreamDeserializer {
+        /**
+         * Reads the bytes sent by a place. The stream needs to be closed once it is
+         * no longer needed so that the buffers holding its bytes can be recycled.
+         * The bytes may be read by an activity spawned by this method, in which
+         * case the exchange completes once that activity terminates.
+         *
+         * @param rank rank of the sending place in the place group
+         * @param in   stream delivering the bytes sent by this place
+         * @throws Exception if thrown while reading the bytes
+         */
+        void accept(int rank, InputStream in) throws Exception;
     }
 
     private static final boolean DEBUG = false;
 
+    /**
+     * Flag of a round of the dense exchange: the receiver accepts bytes from the
+     * sender in the next round
+     */
+    private static final int DENSE_READY = 1;
+
+    /**
+     * Flag of a round of the dense exchange: the bytes sent in this round end the
+     * stream of the sender to the receiver
+     */
+    private static final int DENSE_LAST = 2;
+
+    /**
+     * Flag of a round of the dense exchange: the sender has bytes left to send
+     * to some place after this round
+     */
+    private static final int DENSE_MORE = 4;
+
+    /**
+     * Flag of the first round of the dense exchange: the sender sends bytes to
+     * the receiver during the exchange
+     */
+    private static final int DENSE_STREAM = 8;
+
+    /**
+     * Time waited by the exchanges when no bytes could be transferred, leaving
+     * the serializers and deserializers some time to progress
+     */
+    private static final long IDLE_WAIT_NANOS = 100 * 1000l;
+
+    /**
+     * In {@link ExchangeMode#AUTO} mode, the point-to-point exchange is used if
+     * no place receives bytes from more than one place in this many places of
+     * the group
+     */
+    static final int SPARSE_DEGREE_FACTOR = 4;
+
+    /**
+     * Tag of the messages carrying the bytes sent during a point-to-point
+     * exchange. Tags below 10 are not used by the one-sided move managers.
+     */
+    private static final int SPARSE_DATA_TAG = 2;
+
+    /**
+     * Tag of the messages giving the length of the next segment sent during a
+     * point-to-point exchange
+     */
+    private static final int SPARSE_HEADER_TAG = 3;
+
+    /**
+     * Tag of the messages announcing that a place sends bytes to another place
+     * during a point-to-point exchange
+     */
+    private static final int SPARSE_OPEN_TAG = 1;
+
+    /**
+     * Returns the stream from which the bytes encoded by a codec are read
+     *
+     * @param codec codec with which the bytes were encoded, {@code null} if they
+     *              were not encoded
+     * @param in    stream delivering the bytes received, whose
+     *              {@link InputStream#available()} method returns the number of
+     *              bytes left
+     * @return stream delivering the bytes before encoding
+     * @throws IOException if thrown by the codec
+     */
+    private static InputStream decode(PayloadCodec codec, InputStream in) throws IOException {
+        // Empty payloads are not encoded
+        return codec == null || in.available() == 0 ? in : codec.decode(in);
+    }
+
+    /**
+     * Returns the bytes to send for the specified payload. Empty payloads are
+     * sent as they are so that places which have nothing to send can be
+     * recognized by the receivers.
+     *
+     * @param codec   codec to apply to the payload, {@code null} if the payload is
+     *                sent as is
+     * @param payload the serialized bytes
+     * @return an array containing the bytes to send
+     * @throws IOException if thrown by the codec
+     */
+    private static byte[] encode(PayloadCodec codec, ByteArrayOutputStream payload) throws IOException {
+        if (codec == null || payload.size() == 0) {
+            return payload.toByteArray();
+        }
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        codec.encode(payload, encoded);
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Transfers some bytes from and to all the places in the place group using
+     * collective communications, in rounds each transferring at most one segment
+     * between every pair of places.
+     * <p>
+     * Each round starts with an {@code Alltoall} call in which every place tells
+     * every other place how many bytes it sends it in this round, whether these
+     * bytes end its stream, whether it has bytes left to send to any place, and
+     * whether it accepts bytes from that place in the next round. The bytes are
+     * then transferred with a single {@code Alltoallv} call. The rounds go on
+     * until no place has bytes left to send.
+     * <p>
+     * A place only sends the segments its serializers have completed: the
+     * serializers keep writing while the rounds proceed, and wait whenever the
+     * segments they produced are not taken away. The bytes received from each
+     * place are handed to the deserializer through a
+     * {@link SegmentedInputStream}: the deserializer is called for every place
+     * which sends bytes to this place, in the order of the ranks, by an activity
+     * running concurrently with the rounds. A place stops accepting bytes from a
+     * sender while the deserializer has not read the segments already received
+     * from it. The bytes held on each side of the exchange are thus bounded by a
+     * few segments per peer. This method returns once all the rounds are
+     * completed and the deserializer as well as the activities it spawned have
+     * terminated.
+     *
+     * @param placeGroup   group of places participating in the exchange
+     * @param toSend       the bytes to send to each place of the group
+     * @param deserializer function reading the bytes received from each place
+     * @throws Exception if thrown during the transfer or by the deserializer
+     * @see #exchangeBytesInRounds(TeamedPlaceGroup, PipedSegmentedOutputStream[],
+     *      ExchangeMode, StreamDeserializer)
+     */
+    private static void exchangeBytesDense(TeamedPlaceGroup placeGroup, PipedSegmentedOutputStream[] toSend,
+            StreamDeserializer deserializer) throws Exception {
+        final int size = placeGroup.size();
+        final int myRank = placeGroup.rank();
+
+        // State of the exchange with each place
+        final boolean[] sendEnded = new boolean[size];
+        final boolean[] allowed = new boolean[size];
+        final long[] largest = new long[size];
+        for (int i = 0; i < size; i++) {
+            sendEnded[i] = i == myRank || toSend[i] == null;
+            allowed[i] = true;
+        }
+        final SegmentedInputStream[] received = new SegmentedInputStream[size];
+
+        Constructs.finish(() -> {
+            // Number of bytes and flags sent to and received from each place in a round
+            final int[] sendInfo = new int[2 * size];
+            final int[] rcvInfo = new int[2 * size];
+            final int[] sendSize = new int[size];
+            final int[] sendOffset = new int[size];
+            final int[] rcvSize = new int[size];
+            final int[] rcvOffset = new int[size];
+            final byte[][] segments = new byte[size][];
+            byte[] sendbuf = null;
+            try {
+                for (int round = 0;; round++) {
+                    // Take the segments ready for the places which accept bytes
+                    boolean more = false;
+                    int sendUsed = 0;
+                    for (int i = 0; i < size; i++) {
+                        int flags = 0;
+                        segments[i] = null;
+                        if (!sendEnded[i]) {
+                            segments[i] = allowed[i] ? toSend[i].poll() : null;
+                            if (round == 0) {
+                                flags |= DENSE_STREAM;
+                            }
+                            if (toSend[i].isDrained()) {
+                                flags |= DENSE_LAST;
+                                sendEnded[i] = true;
+                            } else {
+                                more = true;
+                            }
+                        }
+                        if (received[i] == null || received[i].buffered() <= largest[i]) {
+                            flags |= DENSE_READY;
+                        }
+                        sendSize[i] = segments[i] == null ? 0 : segments[i].length;
+                        sendOffset[i] = sendUsed;
+                        sendUsed += sendSize[i];
+                        sendInfo[2 * i] = sendSize[i];
+                        sendInfo[2 * i + 1] = flags;
+                    }
+                    if (more) {
+                        for (int i = 0; i < size; i++) {
+                            sendInfo[2 * i + 1] |= DENSE_MORE;
+                        }
+                    }
+                    placeGroup.comm.Alltoall(sendInfo, 0, 2, MPI.INT, rcvInfo, 0, 2, MPI.INT);
+
+                    if (round == 0) {
+                        for (int i = 0; i < size; i++) {
+                            if ((rcvInfo[2 * i + 1] & DENSE_STREAM) != 0) {
+                                received[i] = new SegmentedInputStream();
+                            }
+                        }
+                        spawnDeserialization(received, deserializer);
+                    }
+
+                    boolean anyMore = false;
+                    int rcvUsed = 0;
+                    for (int i = 0; i < size; i++) {
+                        rcvSize[i] = rcvInfo[2 * i];
+                        rcvOffset[i] = rcvUsed;
+                        rcvUsed += rcvSize[i];
+                        allowed[i] = (rcvInfo[2 * i + 1] & DENSE_READY) != 0;
+                        anyMore |= (rcvInfo[2 * i + 1] & DENSE_MORE) != 0;
+                    }
+
+                    if (sendbuf == null || sendbuf.length < sendUsed) {
+                        BufferPool.release(sendbuf);
+                        sendbuf = BufferPool.acquire(sendUsed);
+                    }
+                    for (int i = 0; i < size; i++) {
+                        if (sendSize[i] > 0) {
+                            System.arraycopy(segments[i], 0, sendbuf, sendOffset[i], sendSize[i]);
+                            segments[i] = null;
+                        }
+                    }
+                    final byte[] recvbuf = BufferPool.acquire(rcvUsed);
+                    placeGroup.Alltoallv(sendbuf, 0, sendSize, sendOffset, MPI.BYTE, recvbuf, 0, rcvSize, rcvOffset,
+                            MPI.BYTE);
+
+                    // Hand the received bytes to the deserializing activity, the reception
+                    // buffer returns to the pool once all of them have been read
+                    int slices = 0;
+                    for (int i = 0; i < size; i++) {
+                        if (rcvSize[i] > 0) {
+                            slices++;
+                        }
+                    }
+                    if (slices == 0) {
+                        BufferPool.release(recvbuf);
+                    } else {
+                        final AtomicInteger pending = new AtomicInteger(slices);
+                        final Runnable release = () -> {
+                            if (pending.decrementAndGet() == 0) {
+                                BufferPool.release(recvbuf);
+                            }
+                        };
+                        for (int i = 0; i < size; i++) {
+                            if (rcvSize[i] > 0) {
+                                largest[i] = Math.max(largest[i], rcvSize[i]);
+                                received[i].append(recvbuf, rcvOffset[i], rcvSize[i], release);
+                            }
+                        }
+                    }
+                    for (int i = 0; i < size; i++) {
+                        if ((rcvInfo[2 * i + 1] & DENSE_LAST) != 0) {
+                            received[i].end();
+                        }
+                    }
+
+                    if (DEBUG) {
+                        System.out.println(Constructs.here() + ":: round " + round + ", " + sendUsed + " bytes sent, "
+                                + rcvUsed + " bytes received");
+                    }
+                    if (!anyMore) {
+                        break;
+                    }
+                    if (sendUsed == 0 && rcvUsed == 0) {
+                        // Leave the serializers and deserializers some time to progress
+                        LockSupport.parkNanos(IDLE_WAIT_NANOS);
+                    }
+                }
+            } finally {
+                BufferPool.release(sendbuf);
+                // Unblock the serializers and the deserializing activity even if a round
+                // failed
+                for (final PipedSegmentedOutputStream out : toSend) {
+                    if (out != null) {
+                        out.abort();
+                    }
+                }
+                for (final SegmentedInputStream in : received) {
+                    if (in != null) {
+                        in.end();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Transfers some bytes from and to all the places in the place group. The
+     * number of bytes exchanged is not limited by the size of an array. The bytes
+     * are transferred by segments as the serializers writing into the streams
+     * complete them, and the bytes received from each place are handed to the
+     * deserializer through a {@link SegmentedInputStream}: the deserializer is
+     * called for every place which sends bytes to this place by an activity
+     * running concurrently with the transfer. A place stops receiving bytes from
+     * a sender while the deserializer has not read the segments already received
+     * from it, which in turn stops the serializers of the sender once the
+     * segments it produced are not taken away. This method returns once all the
+     * bytes are transferred and the deserializer as well as the activities it
+     * spawned have terminated.
+     * <p>
+     * Two implementations of the transfer are available:
+     * <ul>
+     * <li>a dense exchange, in which every round starts with an {@code Alltoall}
+     * call through which every pair of places exchanges the number of bytes it
+     * transfers in the round, before the bytes are transferred with an
+     * {@code Alltoallv} call. The cost of these calls grows with the number of
+     * places in the group regardless of the number of places which actually
+     * communicate.
+     * <li>a sparse exchange, in which each place only learns how many places send
+     * it bytes through a {@code Reduce_scatter} call. The bytes are then transferred
+     * with point-to-point messages between the places which communicate, each
+     * segment being sent as a separate message.
+     * </ul>
+     * In {@link ExchangeMode#AUTO} mode, the largest number of places sending
+     * bytes to a single place is obtained with an {@code Allreduce} call on a
+     * single integer, and the sparse exchange is used if no place receives bytes
+     * from more than a {@link #SPARSE_DEGREE_FACTOR}-th of the group. As this
+     * maximum is known by all places, they all make the same choice.
+     * <p>
+     * All the places of the group need to call this method with the same exchange
+     * mode. The streams may still be written by other activities when this
+     * method is called. They need to be closed by these activities once all
+     * their bytes are written, and are aborted when this method returns so that
+     * their writers fail rather than wait forever if the transfer failed.
+     *
+     * @param placeGroup   group of places participating in the exchange
+     * @param toSend       the bytes to send to each place of the group, indexed by
+     *                     rank. The entry of this place is ignored, {@code null}
+     *                     entries indicate that nothing is sent to the place. The
+     *                     other streams need to contain at least one byte, and
+     *                     their segments to fit into an array together, see
+     *                     {@link #segmentSize(TeamedPlaceGroup, int)}.
+     * @param mode         the implementation of the transfer to use
+     * @param deserializer function reading the bytes received from each place
+     * @throws Exception if thrown during the transfer or by the deserializer
+     */
+    static void exchangeBytesInRounds(TeamedPlaceGroup placeGroup, PipedSegmentedOutputStream[] toSend,
+            ExchangeMode mode, StreamDeserializer deserializer) throws Exception {
+        if (mode == ExchangeMode.DENSE) {
+            exchangeBytesDense(placeGroup, toSend, deserializer);
+            return;
+        }
+        final int size = placeGroup.size();
+        final int myRank = placeGroup.rank();
+
+        // Count the places sending bytes to this place, each place only receives its own count
+        final int[] sending = new int[size];
+        final int[] ones = new int[size];
+        for (int i = 0; i < size; i++) {
+            sending[i] = (i == myRank || toSend[i] == null) ? 0 : 1;
+            ones[i] = 1;
+        }
+        final int[] senders = new int[1];
+        placeGroup.comm.Reduce_scatter(sending, 0, senders, 0, ones, MPI.INT, MPI.SUM);
+
+        if (mode == ExchangeMode.AUTO) {
+            final int[] maxSenders = new int[1];
+            placeGroup.comm.Allreduce(senders, 0, maxSenders, 0, 1, MPI.INT, MPI.MAX);
+            if (DEBUG) {
+                System.out.println(Constructs.here() + ":: at most " + maxSenders[0] + " senders per place");
+            }
+            if (maxSenders[0] * SPARSE_DEGREE_FACTOR > size) {
+                exchangeBytesDense(placeGroup, toSend, deserializer);
+                return;
+            }
+        }
+        exchangeBytesSparse(placeGroup, toSend, senders[0], deserializer);
+    }
+
+    /**
+     * Transfers some bytes from and to the places in the place group with
+     * point-to-point communications. Each place first sends to every place it
+     * has bytes for a message announcing the size of its segments. The receiving
+     * place, which knows how many places send it bytes, receives these
+     * announcements from any source. Each segment is then sent as a message
+     * preceded by a header giving its length and indicating if it is the last
+     * one. A sender waits for the previous segment sent to a place to be
+     * received before sending the next one, and the receiver only receives a
+     * segment once the deserializer has read the segments previously received
+     * from that place, bounding the bytes held on both sides.
+     * <p>
+     * All the sends and receives are non-blocking: a single loop polls them,
+     * sending the segments as the serializers complete them and handing the
+     * segments received to the deserializer, so that no place waits on a peer
+     * which itself waits on another transfer.
+     * <p>
+     * The messages between a pair of places are received in the order in which
+     * they were sent. As the exchange starts with a collective call which cannot
+     * complete before all the places have finished the previous exchange, the
+     * messages of successive exchanges cannot be mixed up.
+     *
+     * @param placeGroup   group of places participating in the exchange
+     * @param toSend       the bytes to send to each place of the group
+     * @param nbSenders    number of places which send bytes to this place
+     * @param deserializer function reading the bytes received from each place
+     * @throws Exception if thrown during the transfer or by the deserializer
+     */
+    private static void exchangeBytesSparse(TeamedPlaceGroup placeGroup, PipedSegmentedOutputStream[] toSend,
+            int nbSenders, StreamDeserializer deserializer) throws Exception {
+        final int size = placeGroup.size();
+        final int myRank = placeGroup.rank();
+
+        // Announce the size of the segments to the places this place sends bytes to
+        final boolean[] sendEnded = new boolean[size];
+        final Request[] headerSent = new Request[size];
+        final Request[] segmentSent = new Request[size];
+        final long[][] headers = new long[size][];
+        for (int i = 0; i < size; i++) {
+            sendEnded[i] = i == myRank || toSend[i] == null;
+            if (!sendEnded[i]) {
+                headers[i] = new long[] { toSend[i].segmentSize() };
+                headerSent[i] = placeGroup.comm.Isend(headers[i], 0, 1, MPI.LONG, i, SPARSE_OPEN_TAG);
+            }
+        }
+
+        // Receive the announcements of the places sending bytes to this place
+        final SegmentedInputStream[] received = new SegmentedInputStream[size];
+        final long[] rcvSegment = new long[size];
+        final long[] announce = new long[1];
+        for (int n = 0; n < nbSenders; n++) {
+            final Status status = placeGroup.comm.Recv(announce, 0, 1, MPI.LONG, MPI.ANY_SOURCE, SPARSE_OPEN_TAG);
+            rcvSegment[status.source] = announce[0];
+            received[status.source] = new SegmentedInputStream();
+        }
+        if (DEBUG) {
+            System.out.println(Constructs.here() + ":: sparse exchange, " + nbSenders + " senders");
+        }
+
+        Constructs.finish(() -> {
+            spawnDeserialization(received, deserializer);
+
+            // State of the reception from each place
+            final boolean[] rcvEnded = new boolean[size];
+            final long[][] rcvHeaders = new long[size][];
+            final Request[] headerReceived = new Request[size];
+            final Request[] segmentReceived = new Request[size];
+            final byte[][] buffers = new byte[size][];
+            final int[] lengths = new int[size];
+            final boolean[] last = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                rcvEnded[i] = received[i] == null;
+                if (!rcvEnded[i]) {
+                    rcvHeaders[i] = new long[2];
+                    headerReceived[i] = placeGroup.comm.Irecv(rcvHeaders[i], 0, 2, MPI.LONG, i, SPARSE_HEADER_TAG);
+                }
+            }
+            try {
+                boolean done = false;
+                while (!done) {
+                    boolean progress = false;
+                    done = true;
+
+                    // Send the next segment to the places which received the previous one
+                    for (int i = 0; i < size; i++) {
+                        if (headerSent[i] != null && headerSent[i].Test() != null) {
+                            headerSent[i] = null;
+                        }
+                        if (segmentSent[i] != null && segmentSent[i].Test() != null) {
+                            segmentSent[i] = null;
+                        }
+                        if (sendEnded[i]) {
+                            done &= headerSent[i] == null && segmentSent[i] == null;
+                            continue;
+                        }
+                        done = false;
+                        if (headerSent[i] != null || segmentSent[i] != null) {
+                            continue;
+                        }
+                        final byte[] segment = toSend[i].poll();
+                        sendEnded[i] = toSend[i].isDrained();
+                        if (segment == null && !sendEnded[i]) {
+                            continue;
+                        }
+                        headers[i] = new long[] { segment == null ? 0 : segment.length, sendEnded[i] ? 1 : 0 };
+                        headerSent[i] = placeGroup.comm.Isend(headers[i], 0, 2, MPI.LONG, i, SPARSE_HEADER_TAG);
+                        if (segment != null) {
+                            segmentSent[i] = placeGroup.comm.Isend(segment, 0, segment.length, MPI.BYTE, i,
+                                    SPARSE_DATA_TAG);
+                        }
+                        progress = true;
+                    }
+
+                    // Receive the next segment from the places whose previous segments were read
+                    for (int i = 0; i < size; i++) {
+                        if (rcvEnded[i]) {
+                            continue;
+                        }
+                        done = false;
+                        if (segmentReceived[i] != null) {
+                            if (segmentReceived[i].Test() == null) {
+                                continue;
+                            }
+                            final byte[] buf = buffers[i];
+                            received[i].append(buf, 0, lengths[i], () -> BufferPool.release(buf));
+                            segmentReceived[i] = null;
+                            buffers[i] = null;
+                            progress = true;
+                            if (last[i]) {
+                                received[i].end();
+                                rcvEnded[i] = true;
+                            } else {
+                                headerReceived[i] = placeGroup.comm.Irecv(rcvHeaders[i], 0, 2, MPI.LONG, i,
+                                        SPARSE_HEADER_TAG);
+                            }
+                        } else if (headerReceived[i] != null) {
+                            if (headerReceived[i].Test() == null) {
+                                continue;
+                            }
+                            headerReceived[i] = null;
+                            lengths[i] = (int) rcvHeaders[i][0];
+                            last[i] = rcvHeaders[i][1] != 0;
+                            progress = true;
+                            if (lengths[i] == 0) {
+                                received[i].end();
+                                rcvEnded[i] = true;
+                            }
+                        } else if (received[i].buffered() <= rcvSegment[i]) {
+                            buffers[i] = BufferPool.acquire(lengths[i]);
+                            segmentReceived[i] = placeGroup.comm.Irecv(buffers[i], 0, lengths[i], MPI.BYTE, i,
+                                    SPARSE_DATA_TAG);
+                            progress = true;
+                        }
+                    }
+
+                    if (!done && !progress) {
+                        // Leave the serializers and deserializers some time to progress
+                        LockSupport.parkNanos(IDLE_WAIT_NANOS);
+                    }
+                }
+            } finally {
+                // Unblock the serializers and the deserializing activity even if a transfer
+                // failed
+                for (final PipedSegmentedOutputStream out : toSend) {
+                    if (out != null) {
+                        out.abort();
+                    }
+                }
+                for (final SegmentedInputStream in : received) {
+                    if (in != null) {
+                        in.end();
+                    }
+                }
+            }
+        });
+    }
+
     /**
      * Transfers some bytes from and to all the places in the place group, returning
      * a byte array containing all the bytes sent by the other places in the group
@@ -270,7 +913,10 @@ public class CollectiveRelocator {
      * @param rcvSize    number of bytes received from each host in the group. This
      *                   parameter needs to be an array initialized with a size that
      *                   matches the number of places in this group.
-     * @return an array containing the bytes received from every place
+     * @return an array containing the bytes received from every place. The array
+     *         is taken from the {@link BufferPool} and may be larger than the
+     *         number of bytes received. Callers should return it to the pool with
+     *         {@link BufferPool#release(byte[])} once the bytes are deserialized.
      * @throws MPIException
      */
     static byte[] exchangeBytesWithinGroup(TeamedPlaceGroup placeGroup, byte[] byteArray, int[] sendOffset,
@@ -291,8 +937,9 @@ public class CollectiveRelocator {
             current += rcvSize[i]; // Count the total number of bytes which this place is going to receive
         }
 
-        // Initialize a reception array of the adequate size
-        final byte[] recvbuf = new byte[current];
+        // Obtain a reception array of the adequate size, reusing the buffers of
+        // previous exchanges when possible
+        final byte[] recvbuf = BufferPool.acquire(current);
 
         // Do the transfer
         placeGroup.Alltoallv(byteArray, 0, sendSize, sendOffset, MPI.BYTE, recvbuf, 0, rcvSize, rcvOffset, MPI.BYTE);
@@ -300,4 +947,48 @@ public class CollectiveRelocator {
         // Return the initialized receiver array which now contains the received bytes.
         return recvbuf;
     }
+
+    /**
+     * Returns the size of the segments into which the bytes sent to each place
+     * are split by the exchanges of this class. It is the specified round size,
+     * reduced if needed so that one segment for every place of the group fits
+     * into an array.
+     *
+     * @param placeGroup group of places participating in the exchange
+     * @param roundSize  maximum number of bytes sent to each place in a round
+     * @return the size of the segments to use
+     */
+    static int segmentSize(TeamedPlaceGroup placeGroup, int roundSize) {
+        return (int) Math.max(1, Math.min(roundSize, (Integer.MAX_VALUE - 8l) / placeGroup.size()));
+    }
+
+    /**
+     * Spawns the activity calling the deserializer for every place which sends
+     * bytes to this place, in the order of the ranks. If the deserializer fails,
+     * the streams of the places it did not reach are closed so that the bytes
+     * they receive are discarded rather than held back.
+     *
+     * @param received     the stream of bytes received from each place,
+     *                     {@code null} for the places which send nothing
+     * @param deserializer function reading the bytes received from each place
+     */
+    private static void spawnDeserialization(SegmentedInputStream[] received, StreamDeserializer deserializer) {
+        Constructs.async(() -> {
+            int i = 0;
+            try {
+                for (; i < received.length; i++) {
+                    if (received[i] != null) {
+                        deserializer.accept(i, received[i]);
+                    }
+                }
+            } catch (final Exception e) {
+                for (; i < received.length; i++) {
+                    if (received[i] != null) {
+                        received[i].close();
+                    }
+                }
+                throw e;
+            }
+        });
+    }
 }
@@ -16,12 +16,14 @@ import java.io.ObjectStreamException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.ToDoubleFunction;
 
 import apgas.Constructs;
 import apgas.Place;
 import apgas.util.GlobalID;
 import apgas.util.SerializableWithReplace;
 import handist.collections.Bag;
+import handist.collections.dist.util.IntDoublePair;
 import handist.collections.dist.util.IntLongPair;
 import handist.collections.dist.util.LazyObjectReference;
 import handist.collections.dist.util.ObjectInput;
@@ -44,7 +46,8 @@ import handist.collections.function.Serializer;
  *
  * @param <T> type of the elements handled by the {@link DistBag}.
  */
-public class DistBag<T> extends Bag<T> implements DistributedCollection<T, DistBag<T>>, SerializableWithReplace {
+public class DistBag<T> extends Bag<T>
+        implements DistributedCollection<T, DistBag<T>>, WeightRelocatable<T>, SerializableWithReplace {
     /* implements Container[T], ReceiverHolder[T] */
 
     /**
@@ -161,7 +164,9 @@ public class DistBag<T> extends Bag<T> implements DistributedCollection<T, DistB
 
     @Override
     public void forEach(SerializableConsumer<T> action) {
+        final long start = System.nanoTime();
         super.forEach(action);
+        TEAM.monitor.record(longSize(), System.nanoTime() - start);
     }
 
     /*
@@ -194,6 +199,15 @@ public class DistBag<T> extends Bag<T> implements DistributedCollection<T, DistB
         return id;
     }
 
+    @Override
+    public double localWeight(ToDoubleFunction<? super T> weight) {
+        double sum = 0.0;
+        for (final T t : this) {
+            sum += weight.applyAsDouble(t);
+        }
+        return sum;
+    }
+
     @Override
     public float[] locality() {
         return locality;
@@ -248,9 +262,69 @@ public class DistBag<T> extends Bag<T> implements DistributedCollection<T, DistB
         mm.request(destination, serialize, deserialize);
     }
 
+    /**
+     * Removes entries whose total weight approaches the specified weight from the
+     * local Bag and prepares them to be transfered to the specified place when the
+     * {@link CollectiveMoveManager#sync()} method of the {@link CollectiveMoveManager}
+     * is called.
+     * <p>
+     * As with {@link #moveAtSyncCount(int, Place, MoveManager)}, the objects are
+     * not removed from the local collection until method
+     * {@link CollectiveMoveManager#sync()} is called. An object is selected if
+     * the weight selected so far plus half of its own weight remains below the
+     * requested weight, objects which are too heavy are kept on this place. If
+     * the {@code destination} is the local place, this method has no effects.
+     *
+     * @param amount      total weight of the objects to move from this instance
+     * @param destination the destination of the objects
+     * @param weight      function giving the weight of each object
+     * @param mm          move manager in charge of making the transfer
+     */
+    @SuppressWarnings("unchecked")
+    public void moveAtSyncWeight(final double amount, Place destination, ToDoubleFunction<? super T> weight,
+            MoveManager mm) {
+        if (destination.equals(Constructs.here())) {
+            return;
+        }
+        final DistBag<T> collection = this;
+        final Serializer serialize = (ObjectOutput s) -> {
+            final ArrayList<T> moved = new ArrayList<>();
+            final ArrayList<T> kept = new ArrayList<>();
+            double selected = 0.0;
+            while (selected < amount && !isEmpty()) {
+                final T t = remove();
+                final double w = weight.applyAsDouble(t);
+                if (selected + w / 2 < amount) {
+                    moved.add(t);
+                    selected += w;
+                } else {
+                    kept.add(t);
+                }
+            }
+            if (!kept.isEmpty()) {
+                addBag(kept);
+            }
+            s.writeObject(moved);
+        };
+        final DeSerializer deserialize = (ObjectInput ds) -> {
+            final List<T> imported = (List<T>) ds.readObject();
+            collection.addBag(imported);
+        };
+        mm.request(destination, serialize, deserialize);
+    }
+
+    @Override
+    public void moveAtSyncWeight(List<IntDoublePair> moveList, ToDoubleFunction<? super T> weight, MoveManager mm) {
+        for (final IntDoublePair pair : moveList) {
+            moveAtSyncWeight(pair.second, placeGroup.get(pair.first), weight, mm);
+        }
+    }
+
     @Override
     public void parallelForEach(SerializableConsumer<T> action) {
+        final long start = System.nanoTime();
         super.parallelForEach(action);
+        TEAM.monitor.record(longSize(), System.nanoTime() - start);
     }
 
     @Override
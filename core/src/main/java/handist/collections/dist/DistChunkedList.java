@@ -22,6 +22,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import com.esotericsoftware.kryo.DefaultSerializer;
 import com.esotericsoftware.kryo.serializers.JavaSerializer;
@@ -32,6 +35,7 @@ import apgas.util.SerializableWithReplace;
 import handist.collections.ChunkedList;
 import handist.collections.LongRange;
 import handist.collections.RangedList;
+import handist.collections.dist.util.IntDoublePair;
 import handist.collections.dist.util.IntLongPair;
 import handist.collections.dist.util.LazyObjectReference;
 import handist.collections.dist.util.ObjectInput;
@@ -63,7 +67,8 @@ import handist.collections.reducer.ShortReducer;
  */
 @DefaultSerializer(JavaSerializer.class)
 public class DistChunkedList<T> extends ChunkedList<T>
-        implements DistributedCollection<T, DistChunkedList<T>>, RangeRelocatable<LongRange>, SerializableWithReplace {
+        implements DistributedCollection<T, DistChunkedList<T>>, RangeRelocatable<LongRange>, WeightRelocatable<T>,
+        SerializableWithReplace {
 
     static class DistributionManager<T> extends GeneralDistManager<DistChunkedList<T>> implements Serializable {
 
@@ -206,6 +211,60 @@ public class DistChunkedList<T> extends ChunkedList<T>
             return handle.placeGroup().allReduce1(local, ShortReducer.getMPIOp(op));
         }
 
+        /**
+         * Performs a parallel reduction on each local handle of the underlying
+         * {@link DistChunkedList} collection before reducing the result of each
+         * individual host. Contrary to
+         * {@link #parallelReduce(DoubleReducer.Op, Function)}, the values extracted from the
+         * elements are not boxed. This method is blocking and needs to be called on
+         * all hosts to terminate.
+         *
+         * @param op          specifies the type of reduction operation
+         * @param extractFunc defines the value to be reduced
+         * @return the result of the specified reduction across all local handles of the
+         *         underlying collection
+         */
+        public double parallelReduceToDouble(DoubleReducer.Op op, ToDoubleFunction<? super T> extractFunc) {
+            final double local = handle.parallelReduceToDouble(op, extractFunc);
+            return handle.placeGroup().allReduce1(local, DoubleReducer.getMPIOp(op));
+        }
+
+        /**
+         * Performs a parallel reduction on each local handle of the underlying
+         * {@link DistChunkedList} collection before reducing the result of each
+         * individual host. Contrary to
+         * {@link #parallelReduce(IntReducer.Op, Function)}, the values extracted from the
+         * elements are not boxed. This method is blocking and needs to be called on
+         * all hosts to terminate.
+         *
+         * @param op          specifies the type of reduction operation
+         * @param extractFunc defines the value to be reduced
+         * @return the result of the specified reduction across all local handles of the
+         *         underlying collection
+         */
+        public int parallelReduceToInt(IntReducer.Op op, ToIntFunction<? super T> extractFunc) {
+            final int local = handle.parallelReduceToInt(op, extractFunc);
+            return handle.placeGroup().allReduce1(local, IntReducer.getMPIOp(op));
+        }
+
+        /**
+         * Performs a parallel reduction on each local handle of the underlying
+         * {@link DistChunkedList} collection before reducing the result of each
+         * individual host. Contrary to
+         * {@link #parallelReduce(LongReducer.Op, Function)}, the values extracted from the
+         * elements are not boxed. This method is blocking and needs to be called on
+         * all hosts to terminate.
+         *
+         * @param op          specifies the type of reduction operation
+         * @param extractFunc defines the value to be reduced
+         * @return the result of the specified reduction across all local handles of the
+         *         underlying collection
+         */
+        public long parallelReduceToLong(LongReducer.Op op, ToLongFunction<? super T> extractFunc) {
+            final long local = handle.parallelReduceToLong(op, extractFunc);
+            return handle.placeGroup().allReduce1(local, LongReducer.getMPIOp(op));
+        }
+
         /**
          * Performs a sequential reduction on each handle of the underlying
          * {@link DistChunkedList} collection before reducing the result of each
@@ -317,6 +376,60 @@ public class DistChunkedList<T> extends ChunkedList<T>
             final short local = handle.reduce(op, extractFunc);
             return handle.placeGroup().allReduce1(local, ShortReducer.getMPIOp(op));
         }
+
+        /**
+         * Performs a sequential reduction on each local handle of the underlying
+         * {@link DistChunkedList} collection before reducing the result of each
+         * individual host. Contrary to
+         * {@link #reduce(DoubleReducer.Op, Function)}, the values extracted from the
+         * elements are not boxed. This method is blocking and needs to be called on
+         * all hosts to terminate.
+         *
+         * @param op          specifies the type of reduction operation
+         * @param extractFunc defines the value to be reduced
+         * @return the result of the specified reduction across all local handles of the
+         *         underlying collection
+         */
+        public double reduceToDouble(DoubleReducer.Op op, ToDoubleFunction<? super T> extractFunc) {
+            final double local = handle.reduceToDouble(op, extractFunc);
+            return handle.placeGroup().allReduce1(local, DoubleReducer.getMPIOp(op));
+        }
+
+        /**
+         * Performs a sequential reduction on each local handle of the underlying
+         * {@link DistChunkedList} collection before reducing the result of each
+         * individual host. Contrary to
+         * {@link #reduce(IntReducer.Op, Function)}, the values extracted from the
+         * elements are not boxed. This method is blocking and needs to be called on
+         * all hosts to terminate.
+         *
+         * @param op          specifies the type of reduction operation
+         * @param extractFunc defines the value to be reduced
+         * @return the result of the specified reduction across all local handles of the
+         *         underlying collection
+         */
+        public int reduceToInt(IntReducer.Op op, ToIntFunction<? super T> extractFunc) {
+            final int local = handle.reduceToInt(op, extractFunc);
+            return handle.placeGroup().allReduce1(local, IntReducer.getMPIOp(op));
+        }
+
+        /**
+         * Performs a sequential reduction on each local handle of the underlying
+         * {@link DistChunkedList} collection before reducing the result of each
+         * individual host. Contrary to
+         * {@link #reduce(LongReducer.Op, Function)}, the values extracted from the
+         * elements are not boxed. This method is blocking and needs to be called on
+         * all hosts to terminate.
+         *
+         * @param op          specifies the type of reduction operation
+         * @param extractFunc defines the value to be reduced
+         * @return the result of the specified reduction across all local handles of the
+         *         underlying collection
+         */
+        public long reduceToLong(LongReducer.Op op, ToLongFunction<? super T> extractFunc) {
+            final long local = handle.reduceToLong(op, extractFunc);
+            return handle.placeGroup().allReduce1(local, LongReducer.getMPIOp(op));
+        }
     }
 
     private static int _debug_level = 5;
@@ -345,6 +458,15 @@ public class DistChunkedList<T> extends ChunkedList<T>
      */
     protected final transient Team<T> TEAM;
 
+    /** Deserializer of the chunks relocated by {@link #moveAtSync(List, Place, MoveManager)} */
+    @SuppressWarnings("unchecked")
+    private final transient DeSerializer chunksDeserializer = (ObjectInput ds) -> {
+        final List<RangedList<T>> chunks = (List<RangedList<T>>) ds.readObject();
+        for (final RangedList<T> c : chunks) {
+            add(c);
+        }
+    };
+
     @SuppressWarnings("rawtypes")
     DistCollectionSatellite satellite;
 
@@ -403,7 +525,9 @@ public class DistChunkedList<T> extends ChunkedList<T>
 
     @Override
     public void forEach(SerializableConsumer<T> action) {
+        final long start = System.nanoTime();
         super.forEach(action);
+        TEAM.monitor.record(longSize(), System.nanoTime() - start);
     }
 
     @Override
@@ -432,6 +556,15 @@ public class DistChunkedList<T> extends ChunkedList<T>
         return manager.id;
     }
 
+    @Override
+    public double localWeight(ToDoubleFunction<? super T> weight) {
+        double sum = 0.0;
+        for (final T t : this) {
+            sum += weight.applyAsDouble(t);
+        }
+        return sum;
+    }
+
     @Override
     public float[] locality() {
         // TODO check if this is correct
@@ -443,7 +576,6 @@ public class DistChunkedList<T> extends ChunkedList<T>
         return super.size();
     }
 
-    @SuppressWarnings("unchecked")
     protected void moveAtSync(final List<RangedList<T>> cs, final Place dest, final MoveManager mm) {
         if (_debug_level > 5) {
             System.out.print("[" + here().id + "] moveAtSync List[RangedList[T]]: ");
@@ -457,20 +589,15 @@ public class DistChunkedList<T> extends ChunkedList<T>
             return;
         }
 
-        final DistChunkedList<T> toBranch = this; // using plh@AbstractCol
         final Serializer serialize = (ObjectOutput s) -> {
             for (final RangedList<T> c : cs) {
                 this.remove(c.getRange());
             }
             s.writeObject(cs);
         };
-        final DeSerializer deserialize = (ObjectInput ds) -> {
-            final List<RangedList<T>> chunks = (List<RangedList<T>>) ds.readObject();
-            for (final RangedList<T> c : chunks) {
-                toBranch.add(c);
-            }
-        };
-        mm.request(dest, serialize, deserialize);
+        // Chunks are held in a concurrent map, transfers to and from other places can
+        // be processed in parallel
+        mm.requestConcurrent(dest, serialize, chunksDeserializer);
     }
 
     @Override
@@ -515,6 +642,59 @@ public class DistChunkedList<T> extends ChunkedList<T>
         }
     }
 
+    /**
+     * Marks elements for transfer so that each destination receives the specified
+     * weight. The local elements are scanned in increasing index order and the
+     * prefix sums of the requested weights are used as boundaries: an element is
+     * sent to the destination whose boundaries enclose the middle of the element
+     * in the prefix sum of the local weights. Each destination therefore receives
+     * contiguous ranges of indices, and the elements located after the last
+     * boundary remain on this place.
+     */
+    @Override
+    public void moveAtSyncWeight(List<IntDoublePair> moveList, ToDoubleFunction<? super T> weight, MoveManager mm) {
+        final double[] boundaries = new double[moveList.size()];
+        double sum = 0.0;
+        for (int k = 0; k < boundaries.length; k++) {
+            sum += moveList.get(k).second;
+            boundaries[k] = sum;
+        }
+        final ArrayList<RangedList<T>> localChunks = new ArrayList<>();
+        forEachChunk((RangedList<T> c) -> localChunks.add(c));
+
+        // The ranges are only marked for transfer once the scan is over, as doing so
+        // splits the chunks being scanned
+        final ArrayList<Pair<Place, LongRange>> rangesToMove = new ArrayList<>();
+        double prefix = 0.0;
+        int k = 0;
+        scan: for (final RangedList<T> c : localChunks) {
+            final LongRange range = c.getRange();
+            long blockStart = range.from;
+            for (long i = range.from; i < range.to; i++) {
+                final double w = weight.applyAsDouble(c.get(i));
+                while (k < boundaries.length && prefix + w / 2 >= boundaries[k]) {
+                    if (blockStart < i) {
+                        rangesToMove.add(new Pair<>(manager.placeGroup.get(moveList.get(k).first),
+                                new LongRange(blockStart, i)));
+                    }
+                    blockStart = i;
+                    k++;
+                }
+                if (k == boundaries.length) {
+                    break scan;
+                }
+                prefix += w;
+            }
+            if (blockStart < range.to) {
+                rangesToMove.add(new Pair<>(manager.placeGroup.get(moveList.get(k).first),
+                        new LongRange(blockStart, range.to)));
+            }
+        }
+        for (final Pair<Place, LongRange> move : rangesToMove) {
+            moveRangeAtSync(move.second, move.first, mm);
+        }
+    }
+
     public void moveRangeAtSync(Function<LongRange, List<Pair<Place, LongRange>>> rule, CollectiveMoveManager mm) {
         final DistChunkedList<T> collection = this;
         final HashMap<Place, ArrayList<LongRange>> rangesToMove = new HashMap<>();
@@ -579,7 +759,9 @@ public class DistChunkedList<T> extends ChunkedList<T>
 
     @Override
     public void parallelForEach(SerializableConsumer<T> action) {
+        final long start = System.nanoTime();
         super.parallelForEach(action);
+        TEAM.monitor.record(longSize(), System.nanoTime() - start);
     }
 
     @Override
@@ -39,6 +39,22 @@ public class DistCol<T> extends DistChunkedList<T> implements ElementLocationMan
      */
     protected final transient ElementLocationManager<LongRange> ldist;
 
+    /** Deserializer of the chunks relocated by {@link #moveAtSync(List, Place, MoveManager)} */
+    @SuppressWarnings("unchecked")
+    private final transient DeSerializer chunksDeserializer = (ObjectInput ds) -> {
+        final List<Byte> keyTypeList = (List<Byte>) ds.readObject();
+        final Iterator<Byte> keyTypeListIt = keyTypeList.iterator();
+        final List<RangedList<T>> chunks = (List<RangedList<T>>) ds.readObject();
+        for (final RangedList<T> c : chunks) {
+            final byte keyType = keyTypeListIt.next();
+            final LongRange key = c.getRange();
+            if (_debug_level > 5) {
+                System.out.println("[" + here() + "] putForMove key: " + key + " keyType: " + keyType);
+            }
+            putForMove(c, keyType);
+        }
+    };
+
     /**
      * Function kept and used when the local handle does not contain the specified
      * index in method {@link #get(long)}. This proxy will return a value to be
@@ -165,6 +181,11 @@ public class DistCol<T> extends DistChunkedList<T> implements ElementLocationMan
         return new LongRangeDistribution(ldist.dist);
     }
 
+    @Override
+    public long getDistributionVersion() {
+        return ldist.version();
+    }
+
     @Override
     public void getSizeDistribution(long[] result) {
         for (final Map.Entry<LongRange, Place> entry : ldist.dist.entrySet()) {
@@ -188,7 +209,6 @@ public class DistCol<T> extends DistChunkedList<T> implements ElementLocationMan
             return;
         }
 
-        final DistCol<T> toBranch = this; // using plh@AbstractCol
         final Serializer serialize = (ObjectOutput s) -> {
             final ArrayList<Byte> keyTypeList = new ArrayList<>();
             for (final RangedList<T> c : cs) {
@@ -198,21 +218,7 @@ public class DistCol<T> extends DistChunkedList<T> implements ElementLocationMan
             s.writeObject(keyTypeList);
             s.writeObject(cs);
         };
-        @SuppressWarnings("unchecked")
-        final DeSerializer deserialize = (ObjectInput ds) -> {
-            final List<Byte> keyTypeList = (List<Byte>) ds.readObject();
-            final Iterator<Byte> keyTypeListIt = keyTypeList.iterator();
-            final List<RangedList<T>> chunks = (List<RangedList<T>>) ds.readObject();
-            for (final RangedList<T> c : chunks) {
-                final byte keyType = keyTypeListIt.next();
-                final LongRange key = c.getRange();
-                if (_debug_level > 5) {
-                    System.out.println("[" + here() + "] putForMove key: " + key + " keyType: " + keyType);
-                }
-                toBranch.putForMove(c, keyType);
-            }
-        };
-        mm.request(dest, serialize, deserialize);
+        mm.request(dest, serialize, chunksDeserializer);
     }
 
     private void putForMove(final RangedList<T> c, final byte mType) throws Exception {
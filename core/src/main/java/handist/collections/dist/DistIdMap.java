@@ -52,6 +52,36 @@ public class DistIdMap<V> extends DistSortedMap<Long, V> implements DistributedC
     private static int _debug_level = 0;
     protected final transient ElementLocationManager<Long> ldist;
 
+    /**
+     * Location directory of {@link #ldist}, which stores the ids located on the
+     * same place in ranges
+     */
+    private final transient LongLocationDirectory locations;
+
+    /** Deserializer of the entries relocated by {@link #moveAtSync(Collection, Place, MoveManager)} */
+    @SuppressWarnings("unchecked")
+    private final transient DeSerializer entriesDeserializer = (ObjectInput ds) -> {
+        final int size = ds.readInt();
+        for (int i = 0; i < size; i++) {
+            final long key = ds.readLong();
+            final byte mType = ds.readByte();
+            final V value = (V) ds.readObject();
+            putForMove(key, mType, value);
+        }
+    };
+
+    /** Deserializer of the entries relocated by {@link #moveAtSync(long, Place, MoveManager)} */
+    @SuppressWarnings("unchecked")
+    private final transient DeSerializer entryDeserializer = (ObjectInput ds) -> {
+        final long k = ds.readLong();
+        final byte mType = ds.readByte();
+        final V v = (V) ds.readObject();
+        if (_debug_level > 5) {
+            System.err.println("[" + here() + "] putForMove key: " + k + " keyType: " + mType + " value: " + v);
+        }
+        putForMove(k, mType, v);
+    };
+
     /**
      * Construct a DistIdMap. {@link TeamedPlaceGroup#getWorld()} is used as the
      * PlaceGroup of the new instance, a new {@link GlobalID} will also be created
@@ -75,7 +105,8 @@ public class DistIdMap<V> extends DistSortedMap<Long, V> implements DistributedC
         super(placeGroup, id, new ConcurrentSkipListMap<>());
         super.GLOBAL = new GlobalOperations<>(this, (TeamedPlaceGroup pg0, GlobalID gid) -> new DistIdMap<>(pg0, gid));
         // TODO
-        this.ldist = new ElementLocationManager<>();
+        this.locations = new LongLocationDirectory();
+        this.ldist = new ElementLocationManager<>(locations);
         ldist.setup(data.keySet());
     }
 
@@ -110,11 +141,9 @@ public class DistIdMap<V> extends DistSortedMap<Long, V> implements DistributedC
      * all places
      */
     public void distSize(long[] result) {
-        for (final Map.Entry<Long, Place> entry : ldist.dist.entrySet()) {
-            // val k = entry.getKey();
-            final Place v = entry.getValue();
-            result[placeGroup.rank(v)] += 1;
-        }
+        locations.forEachRange((range, place) -> {
+            result[placeGroup.rank(place)] += range.size();
+        });
     }
 
     /**
@@ -213,12 +242,16 @@ public class DistIdMap<V> extends DistSortedMap<Long, V> implements DistributedC
         return ldist.dist.get(id);
     }
 
+    @Override
+    public long getDistributionVersion() {
+        return ldist.version();
+    }
+
     @Override
     public void getSizeDistribution(long[] result) {
-        for (final Map.Entry<Long, Place> entry : ldist.dist.entrySet()) {
-            final Place p = entry.getValue();
-            result[placeGroup.rank(p)]++;
-        }
+        locations.forEachRange((range, place) -> {
+            result[placeGroup.rank(place)] += range.size();
+        });
     }
 
     /*
@@ -231,7 +264,6 @@ public class DistIdMap<V> extends DistSortedMap<Long, V> implements DistributedC
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void moveAtSync(Collection<Long> keys, Place dest, MoveManager mm) {
         if (dest.equals(here())) {
             return;
@@ -248,16 +280,7 @@ public class DistIdMap<V> extends DistSortedMap<Long, V> implements DistributedC
                 s.writeObject(value);
             }
         };
-        final DeSerializer deserialize = (ObjectInput ds) -> {
-            final int size = ds.readInt();
-            for (int i = 0; i < size; i++) {
-                final long key = ds.readLong();
-                final byte mType = ds.readByte();
-                final V value = (V) ds.readObject();
-                collection.putForMove(key, mType, value);
-            }
-        };
-        mm.request(dest, serialize, deserialize);
+        mm.request(dest, serialize, entriesDeserializer);
     }
 
     @Override
@@ -284,13 +307,11 @@ public class DistIdMap<V> extends DistSortedMap<Long, V> implements DistributedC
         }
     }
 
-    @SuppressWarnings("unchecked")
     public void moveAtSync(final long key, Place dest, MoveManager mm) {
         if (dest.equals(here())) {
             return;
         }
 
-        final DistIdMap<V> toBranch = this;
         final Serializer serialize = (ObjectOutput s) -> {
             final V value = this.removeForMove(key);
             final byte mType = ldist.moveOut(key, dest);
@@ -298,16 +319,7 @@ public class DistIdMap<V> extends DistSortedMap<Long, V> implements DistributedC
             s.writeByte(mType);
             s.writeObject(value);
         };
-        final DeSerializer deserialize = (ObjectInput ds) -> {
-            final long k = ds.readLong();
-            final byte mType = ds.readByte();
-            final V v = (V) ds.readObject();
-            if (_debug_level > 5) {
-                System.err.println("[" + here() + "] putForMove key: " + k + " keyType: " + mType + " value: " + v);
-            }
-            toBranch.putForMove(k, mType, v);
-        };
-        mm.request(dest, serialize, deserialize);
+        mm.request(dest, serialize, entryDeserializer);
     }
 
     @SuppressWarnings("unchecked")
@@ -20,21 +20,26 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import apgas.Constructs;
 import apgas.Place;
 import apgas.util.GlobalID;
 import apgas.util.SerializableWithReplace;
 import handist.collections.ParallelMap;
+import handist.collections.dist.util.IntDoublePair;
 import handist.collections.dist.util.IntLongPair;
 import handist.collections.dist.util.LazyObjectReference;
 import handist.collections.dist.util.ObjectInput;
 import handist.collections.dist.util.ObjectOutput;
 import handist.collections.function.DeSerializer;
+import handist.collections.function.SerializableConsumer;
 import handist.collections.function.Serializer;
 import handist.collections.glb.DistMapGlb;
 import mpjbuf.IllegalArgumentException;
@@ -46,7 +51,8 @@ import mpjbuf.IllegalArgumentException;
  * @param <V> type of the value mapped to each key in the {@link DistMap}
  */
 public class DistMap<K, V> extends ParallelMap<K, V>
-        implements DistributedCollection<V, DistMap<K, V>>, KeyRelocatable<K>, SerializableWithReplace {
+        implements DistributedCollection<V, DistMap<K, V>>, KeyRelocatable<K>, WeightRelocatable<V>,
+        SerializableWithReplace {
 
     // TODO
 //     public <T, U> void setupBranches(Generator<T,U> gen) {
@@ -90,6 +96,25 @@ public class DistMap<K, V> extends ParallelMap<K, V>
     @SuppressWarnings("rawtypes")
     private DistCollectionSatellite satellite;
 
+    /** Deserializer of the entries relocated by {@link #moveAtSync(Collection, Place, MoveManager)} */
+    @SuppressWarnings("unchecked")
+    private final transient DeSerializer entriesDeserializer = (ObjectInput ds) -> {
+        final int size = ds.readInt();
+        for (int i = 1; i <= size; i++) {
+            final K key = (K) ds.readObject();
+            final V value = (V) ds.readObject();
+            putForMove(key, value);
+        }
+    };
+
+    /** Deserializer of the entries relocated by {@link #moveAtSync(Object, Place, MoveManager)} */
+    @SuppressWarnings("unchecked")
+    private final transient DeSerializer entryDeserializer = (ObjectInput ds) -> {
+        final K k = (K) ds.readObject();
+        final V v = (V) ds.readObject();
+        putForMove(k, v);
+    };
+
     /**
      * Construct an empty DistMap which can have local handles on all the hosts in
      * the computation.
@@ -141,6 +166,13 @@ public class DistMap<K, V> extends ParallelMap<K, V>
         id.putHere(this);
     }
 
+    @Override
+    public void forEach(SerializableConsumer<V> action) {
+        final long start = System.nanoTime();
+        super.forEach(action);
+        TEAM.monitor.record(longSize(), System.nanoTime() - start);
+    }
+
     @Override
     public Collection<K> getAllKeys() {
         return keySet();
@@ -216,6 +248,15 @@ public class DistMap<K, V> extends ParallelMap<K, V>
         return id;
     }
 
+    @Override
+    public double localWeight(ToDoubleFunction<? super V> weight) {
+        double sum = 0.0;
+        for (final V v : data.values()) {
+            sum += weight.applyAsDouble(v);
+        }
+        return sum;
+    }
+
     @Override
     public float[] locality() {
         return locality;
@@ -227,7 +268,6 @@ public class DistMap<K, V> extends ParallelMap<K, V>
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void moveAtSync(Collection<K> keys, Place pl, MoveManager mm) {
         if (pl.equals(Constructs.here())) {
             return;
@@ -242,15 +282,7 @@ public class DistMap<K, V> extends ParallelMap<K, V>
                 s.writeObject(value);
             }
         };
-        final DeSerializer deserialize = (ObjectInput ds) -> {
-            final int size = ds.readInt();
-            for (int i = 1; i <= size; i++) {
-                final K key = (K) ds.readObject();
-                final V value = (V) ds.readObject();
-                collection.putForMove(key, value);
-            }
-        };
-        mm.request(pl, serialize, deserialize);
+        request(mm, pl, serialize, entriesDeserializer);
     }
 
     @Override
@@ -277,23 +309,16 @@ public class DistMap<K, V> extends ParallelMap<K, V>
      * @param mm  MoveManagerLocal
      */
     @Override
-    @SuppressWarnings("unchecked")
     public void moveAtSync(K key, Place pl, MoveManager mm) {
         if (pl.equals(Constructs.here())) {
             return;
         }
-        final DistMap<K, V> toBranch = this;
         final Serializer serialize = (ObjectOutput s) -> {
             final V value = this.remove(key);
             s.writeObject(key);
             s.writeObject(value);
         };
-        final DeSerializer deserialize = (ObjectInput ds) -> {
-            final K k = (K) ds.readObject();
-            final V v = (V) ds.readObject();
-            toBranch.putForMove(k, v);
-        };
-        mm.request(pl, serialize, deserialize);
+        request(mm, pl, serialize, entryDeserializer);
     }
 
     /*
@@ -334,6 +359,38 @@ public class DistMap<K, V> extends ParallelMap<K, V>
         moveAtSync(getNKeys(count), dest, mm);
     }
 
+    /**
+     * Marks entries for transfer so that each destination receives the specified
+     * weight. The local entries are scanned in the iteration order of the
+     * underlying map and the prefix sums of the requested weights are used as
+     * boundaries: an entry is sent to the destination whose boundaries enclose
+     * the middle of the entry in the prefix sum of the local weights. The entries
+     * located after the last boundary remain on this place.
+     */
+    @Override
+    public void moveAtSyncWeight(List<IntDoublePair> moveList, ToDoubleFunction<? super V> weight, MoveManager mm) {
+        double boundary = 0.0;
+        double prefix = 0.0;
+        final Iterator<Map.Entry<K, V>> entries = data.entrySet().iterator();
+        Map.Entry<K, V> entry = entries.hasNext() ? entries.next() : null;
+        for (final IntDoublePair pair : moveList) {
+            boundary += pair.second;
+            final ArrayList<K> keys = new ArrayList<>();
+            while (entry != null) {
+                final double w = weight.applyAsDouble(entry.getValue());
+                if (prefix + w / 2 >= boundary) {
+                    break;
+                }
+                keys.add(entry.getKey());
+                prefix += w;
+                entry = entries.hasNext() ? entries.next() : null;
+            }
+            if (!keys.isEmpty()) {
+                moveAtSync(keys, placeGroup.get(pair.first), mm);
+            }
+        }
+    }
+
     /*
      * Abstractovdef create(placeGroup: PlaceGroup, team: TeamOperations, init:
      * ()=>Map[T, U]){ // return new DistMap[T,U](placeGroup, init) as
@@ -346,12 +403,27 @@ public class DistMap<K, V> extends ParallelMap<K, V>
      * BranchingManager[DistMap[T,U], Map[T,U]]; }
      */
 
+    @Override
+    public void parallelForEach(SerializableConsumer<V> action) {
+        final long start = System.nanoTime();
+        super.parallelForEach(action);
+        TEAM.monitor.record(longSize(), System.nanoTime() - start);
+    }
+
     @Override
     public TeamedPlaceGroup placeGroup() {
         return placeGroup;
     }
 
     protected V putForMove(K key, V value) {
+        // Concurrent maps may receive entries from several places at the same time,
+        // the check for an existing entry and the insertion need to be atomic
+        if (data instanceof ConcurrentMap) {
+            if (((ConcurrentMap<K, V>) data).putIfAbsent(key, value) != null) {
+                throw new RuntimeException("DistMap cannot override existing entry: " + key);
+            }
+            return null;
+        }
         if (data.containsKey(key)) {
             throw new RuntimeException("DistMap cannot override existing entry: " + key);
         }
@@ -420,6 +492,26 @@ public class DistMap<K, V> extends ParallelMap<K, V>
         mm.sync();
     }
 
+    /**
+     * Submits a transfer to the move manager. When the local map supports
+     * concurrent modifications, the transfer is submitted with
+     * {@link MoveManager#requestConcurrent(Place, Serializer, DeSerializer)} so
+     * that it can be processed in parallel with the transfers to and from other
+     * places.
+     *
+     * @param mm          the move manager
+     * @param pl          destination of the entries
+     * @param serialize   serializer of the entries
+     * @param deserialize deserializer of the entries
+     */
+    private void request(MoveManager mm, Place pl, Serializer serialize, DeSerializer deserialize) {
+        if (data instanceof ConcurrentMap) {
+            mm.requestConcurrent(pl, serialize, deserialize);
+        } else {
+            mm.request(pl, serialize, deserialize);
+        }
+    }
+
     @Override
     public <S extends DistCollectionSatellite<DistMap<K, V>, S>> void setSatellite(S s) {
         satellite = s;
@@ -140,6 +140,11 @@ public class DistRangedMap<T> extends RangedMap<T> implements DistributedCollect
         return (S) satellite;
     }
 
+    @Override
+    public long getDistributionVersion() {
+        return ldist.version();
+    }
+
     @Override
     public void getSizeDistribution(long[] result) {
         for (final Map.Entry<LongRange, Place> entry : ldist.dist.entrySet()) {
@@ -18,6 +18,19 @@ package handist.collections.dist;
  * @param <T> The type of index or keys to manage the elements.
  */
 public interface ElementLocationManageable<T> {
+    /**
+     * Returns the version of the distribution of this collection. The version is
+     * incremented each time a call to {@link #updateDist()} propagates changes
+     * made to the distribution. As {@link #updateDist()} is called on all the
+     * local handles, the version is the same on every place. Comparing versions
+     * therefore tells whether the distribution changed without any
+     * communication.
+     *
+     * @return the number of calls to {@link #updateDist()} which modified the
+     *         distribution
+     */
+    public long getDistributionVersion();
+
     /**
      * Computes and gathers the size of each local collection into the provided
      * array. In the case of {@code ElementLocationManagable}, this method is
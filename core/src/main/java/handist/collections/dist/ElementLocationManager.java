@@ -24,6 +24,7 @@ import handist.collections.dist.util.ObjectInput;
 import handist.collections.dist.util.ObjectOutput;
 import handist.collections.function.DeSerializerUsingPlace;
 import handist.collections.function.Serializer;
+import mpi.MPI;
 
 /**
  * This class manages the elements of a distributed collection in a
@@ -98,8 +99,11 @@ class ElementLocationManager<T> {
      * places that this local handle is not yet aware of.
      */
     ConcurrentHashMap<T, Integer> diff = new ConcurrentHashMap<>();
-    /** Current knowledge of the key-holding information on local & remote places */
-    ConcurrentHashMap<T, Place> dist = new ConcurrentHashMap<>();
+    /**
+     * Current knowledge of the key-holding information on local & remote places.
+     * This map needs to be thread-safe.
+     */
+    final Map<T, Place> dist;
 
     HashSet<T> importedDiffKeys = new HashSet<>();
 
@@ -116,6 +120,34 @@ class ElementLocationManager<T> {
      */
     protected Map<UpdatableDistribution<T>, Object> registeredDistribution = new WeakHashMap<>();
 
+    /**
+     * Version of the distribution shared by all the places, incremented each time
+     * {@link #update(TeamedPlaceGroup)} exchanges changes. As all the places take
+     * part in the update, this counter has the same value on every place.
+     */
+    private long version = 0;
+
+    /**
+     * Creates a manager recording the location of each key in a
+     * {@link ConcurrentHashMap}
+     */
+    ElementLocationManager() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Creates a manager recording the location of the keys in the specified map.
+     * This allows collections whose keys have a particular structure to use a
+     * more compact representation of their distribution, such as
+     * {@link LongLocationDirectory} for collections whose keys are ids.
+     *
+     * @param directory empty thread-safe map in which the location of the keys
+     *                  is recorded
+     */
+    ElementLocationManager(Map<T, Place> directory) {
+        dist = directory;
+    }
+
     /**
      * Registers the fact that a new key / entry was added to the local collection.
      *
@@ -437,10 +469,37 @@ class ElementLocationManager<T> {
         return "[DistManager] + dist: " + dist + ",  diff: " + diff + ", imported: " + importedDiffKeys + "-----";
     }
 
+    /**
+     * Returns the version of the distribution shared by all the places
+     *
+     * @return the number of calls to {@link #update(TeamedPlaceGroup)} which
+     *         exchanged changes
+     */
+    long version() {
+        return version;
+    }
+
+    /**
+     * Exchanges the changes made to the distribution since the previous call with
+     * the other places of the group. This method needs to be called by all the
+     * places of the group.
+     * <p>
+     * The places first agree on whether any of them has changes to share with a
+     * single reduction. If none of them has, nothing else is exchanged. Otherwise
+     * only the places with changes contribute bytes to the exchange and the
+     * other places are not deserialized.
+     *
+     * @param pg the group of places on which the collection is defined
+     */
     @SuppressWarnings("unchecked")
     void update(TeamedPlaceGroup pg) {
+        if (!pg.allReduce1(!diff.isEmpty(), MPI.LOR)) {
+            return;
+        }
         final Serializer serProcess = (ObjectOutput s) -> {
-            s.writeObject(diff);
+            if (!diff.isEmpty()) {
+                s.writeObject(diff);
+            }
         };
         final DeSerializerUsingPlace desProcess = (ObjectInput ds, Place from) -> {
             final Map<T, Integer> importedDiff = (Map<T, Integer>) ds.readObject();
@@ -453,6 +512,7 @@ class ElementLocationManager<T> {
         new CollectiveRelocator.Allgather(pg).request(serProcess, desProcess).execute();
         importedDiffKeys.clear();
         diff.clear();
+        version++;
     }
 
 }
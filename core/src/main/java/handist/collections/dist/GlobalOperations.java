@@ -45,6 +45,19 @@ public class GlobalOperations<T, C extends DistributedCollection<T, C>> implemen
         this.lazyCreator = lazyCreator;
     }
 
+    /**
+     * Relocates the entries of the distributed collection according to the
+     * throughput measured on each place, if doing so is predicted to pay off.
+     *
+     * @see TeamOperations#autoBalance()
+     */
+    public void autoBalance() {
+        final TeamedPlaceGroup pg = localHandle.placeGroup();
+        pg.broadcastFlat(() -> {
+            localHandle.team().autoBalance();
+        });
+    }
+
     public void balance() {
         final TeamedPlaceGroup pg = localHandle.placeGroup();
         pg.broadcastFlat(() -> {
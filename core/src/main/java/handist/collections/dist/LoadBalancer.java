@@ -12,27 +12,20 @@ package handist.collections.dist;
 
 import static apgas.Constructs.*;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.function.BiFunction;
 
-import apgas.Place;
+import handist.collections.dist.util.IntLongPair;
 import handist.collections.dist.util.ObjectInput;
 import handist.collections.dist.util.ObjectOutput;
-import mpi.MPI;
-import mpi.MPIException;
+import handist.collections.dist.util.PipedSegmentedOutputStream;
 
 //TODO not used now.
 // for internal use
 // this is a class for the load balancing
-@SuppressWarnings("deprecation")
 abstract class LoadBalancer {
 
     // private static Place tmpRoot = Place(0);
@@ -101,172 +94,119 @@ abstract class LoadBalancer {
     private final int myRole;
 
     private final TeamedPlaceGroup pg;
-    private final ArrayList<Integer> receivers;
-    private final Place root;
-    private final ArrayList<Integer> senders;
 
     public LoadBalancer(/* List<T> list, */ TeamedPlaceGroup pg) {
         // this.list = list;
         this.pg = pg;
-        root = pg.get(0);
         myRole = pg.rank(here());
-        senders = new ArrayList<>(pg.size());
-        receivers = new ArrayList<>(pg.size());
     }
 
-    public void execute() {
-        if (pg.size() == 1) {
-            return;
-        }
-        try {
-            relocate(getMoveCount());
-        } catch (final MPIException e) {
-            e.printStackTrace();
-            throw new Error("MPI Exception");
-        }
-    }
-
-    abstract void exportOne(ObjectOutput out) throws IOException;
-
-    // return (fromId, toId) => moveCount
-    private BiFunction<Integer, Integer, Integer> getMoveCount() throws MPIException {
-        final int np = pg.size();
-        final int[] matrix = new int[np * np];
-        senders.clear();
-        receivers.clear();
-        final long[] tmpOverCounts = new long[np];
-        Arrays.fill(tmpOverCounts, localSize());
-        final long[] overCounts = new long[np];
-        // team.alltoall(tmpOverCounts, 0, overCounts, 0, 1);
-        pg.comm.Alltoall(tmpOverCounts, 0, 1, MPI.LONG, overCounts, 0, 1, MPI.LONG);
+    /**
+     * Computes the transfers which balance the number of elements held by each
+     * place. Each place is first assigned its target, the average number of
+     * elements, the places holding the most elements keeping the remainder of the
+     * division. Places above their target then send their excess to the places
+     * below theirs, both being considered in order of rank. This produces at most
+     * {@code np - 1} transfers in O(np log np) operations.
+     * <p>
+     * The result only depends on the specified sizes: all the places compute the
+     * same plan without communicating.
+     *
+     * @param sizes number of elements held by each place
+     * @return for each place, the list of (destination rank, number of elements
+     *         to send) pairs
+     */
+    static ArrayList<ArrayList<IntLongPair>> computeMoves(long[] sizes) {
+        final int np = sizes.length;
         long total = 0;
-        for (int i = 0; i < np; i++) {
-            total = total + overCounts[i];
+        for (final long size : sizes) {
+            total += size;
         }
         final long average = total / np;
+        final int remainder = (int) (total % np);
+        final long[] excess = new long[np];
         for (int i = 0; i < np; i++) {
-            overCounts[i] = overCounts[i] - average;
+            excess[i] = sizes[i] - average;
         }
-        for (int i = 0; i < np; i++) {
-            final long overCount = overCounts[i];
-            if (overCount < 0) {
-                receivers.add(i);
-            } else if (overCount > 0) {
-                senders.add(i);
-            }
-        }
-        if ((here().equals(root)) && (0 < senders.size()) && (0 < receivers.size())) {
-            final Integer[] sendersX = new Integer[senders.size()];
-            final Integer[] receiversX = new Integer[receivers.size()];
-            senders.toArray(sendersX);
-            final Random random = new Random();
-            for (int i = 0; i < sendersX.length; i++) {
-                final Integer j = random.nextInt(sendersX.length);
-                final Integer tmp = sendersX[j];
-                sendersX[j] = sendersX[i];
-                sendersX[i] = tmp;
+        if (remainder > 0) {
+            final Integer[] bySize = new Integer[np];
+            for (int i = 0; i < np; i++) {
+                bySize[i] = i;
             }
-            receivers.toArray(receiversX);
-            final Comparator<Integer> comp = (Integer a, Integer b) -> {
-                return Long.compare(overCounts[b], overCounts[a]);
-            };
-            Arrays.sort(receiversX, comp);
-            int senderPointer = 0;
-            int receiverPointer = 1;
-            while ((receiverPointer < receiversX.length) && (senderPointer < sendersX.length)) {
-                final int i = sendersX[senderPointer];
-                final int j = receiversX[receiverPointer - 1];
-                final int k = receiversX[receiverPointer];
-                while ((overCounts[k] < overCounts[j]) && (0 < overCounts[i])) {
-                    overCounts[i]--;
-                    overCounts[k]++;
-                    matrix[np * i + k]++;
-                }
-                if (overCounts[j] == overCounts[k]) {
-                    receiverPointer++;
-                }
-                if (overCounts[i] == 0) {
-                    senderPointer++;
-                }
+            Arrays.sort(bySize, (Integer a, Integer b) -> {
+                final int cmp = Long.compare(sizes[b], sizes[a]);
+                return cmp != 0 ? cmp : Integer.compare(a, b);
+            });
+            for (int k = 0; k < remainder; k++) {
+                excess[bySize[k]]--;
             }
-            while (senderPointer < sendersX.length) {
-                final int i = sendersX[senderPointer];
-                while (0 < overCounts[i]) {
-                    receiverPointer = (receiverPointer + 1) % receiversX.length;
-                    final int j = receiversX[receiverPointer];
-                    overCounts[i]--;
-                    overCounts[j]++;
-                    matrix[np * i + j]++;
+        }
+
+        final ArrayList<ArrayList<IntLongPair>> moves = new ArrayList<>(np);
+        for (int i = 0; i < np; i++) {
+            moves.add(new ArrayList<>());
+        }
+        int sender = 0;
+        for (int receiver = 0; receiver < np; receiver++) {
+            while (excess[receiver] < 0) {
+                while (excess[sender] <= 0) {
+                    sender++;
                 }
-                senderPointer++;
+                final long count = Math.min(excess[sender], -excess[receiver]);
+                moves.get(sender).add(new IntLongPair(receiver, count));
+                excess[sender] -= count;
+                excess[receiver] += count;
             }
         }
-        // team.bcast(tmpRoot, matrix, 0, matrix, 0, np * np);
-        pg.comm.Bcast(matrix, 0, np * np, MPI.INT, pg.rank(root));
-        final BiFunction<Integer, Integer, Integer> func = (Integer i0, Integer j0) -> {
-            return matrix[np * i0 + j0];
-        };
-        return func;
+        return moves;
+    }
+
+    public void execute() {
+        if (pg.size() == 1) {
+            return;
+        }
+        relocate(computeMoves(pg.allGather1((long) localSize())));
     }
 
+    abstract void exportOne(ObjectOutput out) throws IOException;
+
     abstract void importOne(ObjectInput in) throws ClassNotFoundException, IOException;
 
     // private List<T> list;
     abstract int localSize();
 
-    // execute relocation using getCount function
-    private void relocate(BiFunction<Integer, Integer, Integer> getCount) {
+    // execute relocation using the moves computed by computeMoves
+    // the bytes are exchanged in bounded rounds so that more than 2GB can be moved
+    private void relocate(ArrayList<ArrayList<IntLongPair>> moves) {
         try {
             final int np = pg.size();
-            final ByteArrayOutputStream s0 = new ByteArrayOutputStream();
-            final int[] scounts = new int[np];
-            final int[] sdispls = new int[np];
-            final int[] rcounts = new int[np];
-            int s0used = 0;
-            for (int j = 0; j < np; j++) {
-                final int count = getCount.apply(myRole, j);
-                if (count > 0) {
-                    final ObjectOutput s = new ObjectOutput(s0);
-                    s.writeInt(count);
-                    for (int k = 0; k < count; k++) {
-                        exportOne(s);
-                    }
-                    s.close();
-                    final int prev = s0used;
-                    sdispls[j] = prev;
-                    s0used = s0.size();
-                    scounts[j] = s0used - prev;
-                } else {
-                    sdispls[j] = s0used;
-                    scounts[j] = 0;
+            final PipedSegmentedOutputStream[] out = new PipedSegmentedOutputStream[np];
+            final int segmentSize = CollectiveRelocator.segmentSize(pg, CollectiveMoveManager.DEFAULT_ROUND_SIZE);
+            for (final IntLongPair move : moves.get(myRole)) {
+                final int j = move.first;
+                out[j] = new PipedSegmentedOutputStream(segmentSize, 0);
+                final ObjectOutput s = new ObjectOutput(out[j]);
+                s.writeLong(move.second);
+                for (long k = 0; k < move.second; k++) {
+                    exportOne(s);
                 }
+                s.close();
+                out[j].close();
             }
 
-            pg.comm.Alltoall(scounts, 0, 1, MPI.INT, rcounts, 0, 1, MPI.INT);
-            final byte[] sendbuf = s0.toByteArray();
-
-            final int[] rdispls = new int[np];
-            int rused = 0;
-            for (int i = 0; i < np; i++) {
-                rdispls[i] = rused;
-                rused += rcounts[i];
-            }
-            final byte[] recvbuf = new byte[rused];
-            pg.Alltoallv(sendbuf, 0, scounts, sdispls, MPI.BYTE, recvbuf, 0, rcounts, rdispls, MPI.BYTE);
-
-            for (int i = 0; i < np; i++) {
-                if (rcounts[i] == 0) {
-                    continue;
-                }
-                final ByteArrayInputStream in = new ByteArrayInputStream(recvbuf, rdispls[i], rcounts[i]);
-                final ObjectInput ds = new ObjectInput(in);
-                final int count = ds.readInt();
-                assert (getCount.apply(i, myRole) == count);
-                for (int k = 0; k < count; k++) {
-                    importOne(ds);
+            CollectiveRelocator.exchangeBytesInRounds(pg, out, CollectiveMoveManager.ExchangeMode.AUTO, (i, in) -> {
+                try {
+                    final ObjectInput ds = new ObjectInput(in);
+                    final long count = ds.readLong();
+                    assert (moves.get(i).stream().anyMatch((m) -> m.first == myRole && m.second == count));
+                    for (long k = 0; k < count; k++) {
+                        importOne(ds);
+                    }
+                    ds.close();
+                } finally {
+                    in.close();
                 }
-                ds.close();
-            }
+            });
         } catch (final Exception e) {
             e.printStackTrace(System.err);
             throw new Error("Exception during LoadBalance Relocation.");
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+import apgas.Place;
+import handist.collections.LongRange;
+
+/**
+ * Map from {@link Long} keys to the {@link Place} holding them, which stores
+ * runs of consecutive keys located on the same place as a single range. It is
+ * used as the location directory of the {@link ElementLocationManager} of
+ * {@link DistIdMap}: collections whose ids are mostly allocated in contiguous
+ * blocks on each place need a few ranges per place instead of an entry for
+ * every id, while the location of an id is found in logarithmic time in the
+ * number of ranges.
+ * <p>
+ * Mapping a key to a different place splits the range containing it, mapping
+ * a key next to a range of the same place extends that range. Ranges of the
+ * same place which become adjacent are merged.
+ * <p>
+ * This class is thread-safe. Lookups share a read lock and can proceed in
+ * parallel, while modifications take the write lock exclusively. The views
+ * returned by {@link #entrySet()} iterate on a snapshot of the ranges taken
+ * when the iteration starts. The key
+ * {@link Long#MAX_VALUE} cannot be mapped.
+ */
+class LongLocationDirectory extends AbstractMap<Long, Place> {
+
+    /**
+     * Consecutive keys located on the same place. The lower bound of the run is
+     * the key under which it is stored in {@link LongLocationDirectory#runs}.
+     */
+    private static final class Run {
+        final Place place;
+        long to;
+
+        Run(long to, Place place) {
+            this.to = to;
+            this.place = place;
+        }
+    }
+
+    /** Number of keys mapped */
+    private long count = 0;
+
+    /** Lock protecting {@link #runs} and {@link #count} */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Runs of keys, indexed by their lower bound. Runs never overlap. */
+    private final TreeMap<Long, Run> runs = new TreeMap<>();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            runs.clear();
+            count = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Map.Entry<Long, Place>> entrySet() {
+        return new AbstractSet<Map.Entry<Long, Place>>() {
+            @Override
+            public Iterator<Map.Entry<Long, Place>> iterator() {
+                final List<Map.Entry<LongRange, Place>> snapshot = new ArrayList<>();
+                forEachRange((range, place) -> snapshot.add(new SimpleImmutableEntry<>(range, place)));
+                return new Iterator<Map.Entry<Long, Place>>() {
+                    int run = 0;
+                    long next = snapshot.isEmpty() ? 0l : snapshot.get(0).getKey().from;
+
+                    @Override
+                    public boolean hasNext() {
+                        return run < snapshot.size();
+                    }
+
+                    @Override
+                    public Map.Entry<Long, Place> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final Map.Entry<LongRange, Place> current = snapshot.get(run);
+                        final Map.Entry<Long, Place> entry = new SimpleImmutableEntry<>(next, current.getValue());
+                        next++;
+                        if (next == current.getKey().to && ++run < snapshot.size()) {
+                            next = snapshot.get(run).getKey().from;
+                        }
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LongLocationDirectory.this.size();
+            }
+        };
+    }
+
+    /**
+     * Calls the specified action for each range of consecutive keys located on
+     * the same place, in increasing order of keys. This is considerably cheaper
+     * than iterating over every key when keys are allocated contiguously. The
+     * action is called while holding the read lock of this directory and must
+     * therefore not modify it.
+     *
+     * @param action action to call with each range and the place holding its
+     *               keys
+     */
+    public void forEachRange(BiConsumer<LongRange, Place> action) {
+        lock.readLock().lock();
+        try {
+            for (final Map.Entry<Long, Run> entry : runs.entrySet()) {
+                action.accept(new LongRange(entry.getKey(), entry.getValue().to), entry.getValue().place);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Place get(Object key) {
+        if (!(key instanceof Long)) {
+            return null;
+        }
+        final long k = (Long) key;
+        lock.readLock().lock();
+        try {
+            final Map.Entry<Long, Run> entry = runs.floorEntry(k);
+            if (entry == null || k >= entry.getValue().to) {
+                return null;
+            }
+            return entry.getValue().place;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of keys mapped by this directory. Contrary to
+     * {@link #size()}, this count is not limited to {@link Integer#MAX_VALUE}.
+     *
+     * @return the number of keys mapped
+     */
+    public long longSize() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Place put(Long key, Place place) {
+        final long k = key;
+        if (place == null) {
+            throw new NullPointerException("Cannot map key " + k + " to a null place");
+        }
+        if (k == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Key " + k + " cannot be mapped");
+        }
+        lock.writeLock().lock();
+        try {
+            final Place previous = unmap(k);
+            count++;
+
+            // Extend or merge the neighboring runs of the same place
+            final Map.Entry<Long, Run> leftEntry = runs.floorEntry(k);
+            final Run left = leftEntry != null && leftEntry.getValue().to == k
+                    && leftEntry.getValue().place.equals(place) ? leftEntry.getValue() : null;
+            final Run right = runs.get(k + 1);
+            final boolean mergeRight = right != null && right.place.equals(place);
+            if (left != null) {
+                if (mergeRight) {
+                    runs.remove(k + 1);
+                    left.to = right.to;
+                } else {
+                    left.to = k + 1;
+                }
+            } else if (mergeRight) {
+                runs.remove(k + 1);
+                runs.put(k, new Run(right.to, place));
+            } else {
+                runs.put(k, new Run(k + 1, place));
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Place remove(Object key) {
+        if (!(key instanceof Long)) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            return unmap((Long) key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of ranges used to store the mappings of this directory
+     *
+     * @return the number of runs of consecutive keys located on the same place
+     */
+    public int runCount() {
+        lock.readLock().lock();
+        try {
+            return runs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return (int) Math.min(Integer.MAX_VALUE, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the mapping of the specified key, splitting the run containing it.
+     * Needs to be called while holding the write lock.
+     *
+     * @param k the key to remove
+     * @return the place to which the key was mapped, {@code null} if it was not
+     *         mapped
+     */
+    private Place unmap(long k) {
+        final Map.Entry<Long, Run> entry = runs.floorEntry(k);
+        if (entry == null || k >= entry.getValue().to) {
+            return null;
+        }
+        final long from = entry.getKey();
+        final Run run = entry.getValue();
+        final long to = run.to;
+        if (from == k) {
+            runs.remove(k);
+        } else {
+            run.to = k;
+        }
+        if (to > k + 1) {
+            runs.put(k + 1, new Run(to, run.place));
+        }
+        count--;
+        return run.place;
+    }
+}
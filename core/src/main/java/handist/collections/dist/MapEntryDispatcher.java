@@ -27,8 +27,10 @@ import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 
 import apgas.Place;
+import handist.collections.dist.util.BufferPool;
 import handist.collections.dist.util.ObjectInput;
 import handist.collections.dist.util.ObjectOutput;
+import handist.collections.dist.util.PooledByteArrayOutputStream;
 
 /**
  * {@link DistMap} has this class in order to dispatch entris to places defined
@@ -62,11 +64,18 @@ public class MapEntryDispatcher<K, V> implements KryoSerializable, Serializable
             final int[] sendSize = new int[placeGroup.size()];
             final int[] rcvOffset = new int[placeGroup.size()];
             final int[] rcvSize = new int[placeGroup.size()];
-            final ByteArrayOutputStream out = new ByteArrayOutputStream();
-            handle.executeSummerizeOutput(out, sendOffset, sendSize);
-            final byte[] buf = CollectiveRelocator.exchangeBytesWithinGroup(placeGroup, out.toByteArray(), sendOffset,
-                    sendSize, rcvOffset, rcvSize);
-            handle.executeDeserialize(buf, rcvOffset, rcvSize);
+            final PooledByteArrayOutputStream out = new PooledByteArrayOutputStream();
+            byte[] buf = null;
+            try {
+                handle.executeSummerizeOutput(out, sendOffset, sendSize);
+                buf = CollectiveRelocator.exchangeBytesWithinGroup(placeGroup, out.getBuffer(), sendOffset, sendSize,
+                        rcvOffset, rcvSize);
+                out.release();
+                handle.executeDeserialize(buf, rcvOffset, rcvSize);
+            } finally {
+                out.release();
+                BufferPool.release(buf);
+            }
             clear();
         }
     }
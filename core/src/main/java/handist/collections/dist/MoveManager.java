@@ -45,4 +45,29 @@ public interface MoveManager {
      */
     void request(Place dest, Serializer serialize, DeSerializer deserialize);
 
+    /**
+     * Submits a pair of serializer and deserializer which may be called
+     * concurrently with the serializers and deserializers handling other places.
+     * Collections whose local storage supports concurrent insertions and removals
+     * should submit their transfers with this method, allowing implementations to
+     * serialize the objects destined to different places and to deserialize the
+     * objects received from different places in parallel. Implementations may
+     * also serialize these objects while objects received from other places are
+     * deserialized.
+     * <p>
+     * The default implementation calls
+     * {@link #request(Place, Serializer, DeSerializer)}.
+     *
+     * @param dest        place to which objects should be transferred
+     * @param serialize   serializer which will transform some objects into a byte
+     *                    array, safe to call concurrently with other serializers
+     *                    and deserializers
+     * @param deserialize complement to the serializer which will transform a byte
+     *                    array back into the original objects, safe to call
+     *                    concurrently with other serializers and deserializers
+     */
+    default void requestConcurrent(Place dest, Serializer serialize, DeSerializer deserialize) {
+        request(dest, serialize, deserialize);
+    }
+
 }
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import apgas.Place;
+import handist.collections.dist.util.DeSerializerRegistry;
 import handist.collections.dist.util.ObjectInput;
 import handist.collections.dist.util.ObjectOutput;
 import handist.collections.function.DeSerializer;
@@ -100,22 +101,8 @@ public class OneSidedMoveManager implements MoveManager {
 
         TeamedPlaceGroup.world.comm.Isend(bytesToSend, 0, nbOfBytes, MPI.BYTE, destinationRank, tag);
 
-        asyncAt(destination, () -> {
-            // Receive the array of bytes
-            TeamedPlaceGroup.world.comm.Recv(new byte[nbOfBytes], 0, nbOfBytes, MPI.BYTE, myRank, tag);
-            final ByteArrayInputStream inStream = new ByteArrayInputStream(bytesToSend);
-            final ObjectInput oInput = new ObjectInput(inStream);
-
-            // The first object to come out of the byte array is a list of deserializers
-            @SuppressWarnings("unchecked")
-            final List<DeSerializer> ds = (List<DeSerializer>) oInput.readObject();
-
-            // We know apply each deserializer one after the other
-            for (final DeSerializer deserializer : ds) {
-                deserializer.accept(oInput);
-            }
-            oInput.close();
-        });
+        // Only the size, source and tag of the message travel with the remote activity
+        asyncAt(destination, () -> receive(nbOfBytes, myRank, tag));
     }
 
     /**
@@ -130,7 +117,7 @@ public class OneSidedMoveManager implements MoveManager {
         final ByteArrayOutputStream stream = new ByteArrayOutputStream();
         final ObjectOutput oo = new ObjectOutput(stream);
 
-        oo.writeObject(deserializers); // Write all the serializers first
+        DeSerializerRegistry.writeDeSerializers(oo, deserializers); // Write all the deserializers first
         for (final Serializer s : serializers) {
             s.accept(oo); // Convert the objects targeted by the serializers into bytes.
         }
@@ -140,6 +127,34 @@ public class OneSidedMoveManager implements MoveManager {
         return bytesToSend;
     }
 
+    /**
+     * Receives the bytes sent by {@link #send()} or {@link #asyncSend()} and
+     * deserializes the objects they contain. This method is called on the
+     * destination place.
+     *
+     * @param nbOfBytes  number of bytes sent
+     * @param sourceRank rank of the sending place
+     * @param tag        tag of the MPI message
+     * @throws Exception if thrown during the reception or by a deserializer
+     */
+    @SuppressWarnings("deprecation")
+    protected static void receive(int nbOfBytes, int sourceRank, int tag) throws Exception {
+        // Receive the array of bytes and deserialize the objects from it
+        final byte[] received = new byte[nbOfBytes];
+        TeamedPlaceGroup.world.comm.Recv(received, 0, nbOfBytes, MPI.BYTE, sourceRank, tag);
+        final ByteArrayInputStream inStream = new ByteArrayInputStream(received);
+        final ObjectInput oInput = new ObjectInput(inStream);
+
+        // The first object to come out of the byte array is a list of deserializers
+        final List<DeSerializer> ds = DeSerializerRegistry.readDeSerializers(oInput);
+
+        // We know apply each deserializer one after the other
+        for (final DeSerializer deserializer : ds) {
+            deserializer.accept(oInput);
+        }
+        oInput.close();
+    }
+
     @Override
     public void request(Place dest, Serializer s, DeSerializer d) {
         if (dest.id != destination.id) {
@@ -168,21 +183,7 @@ public class OneSidedMoveManager implements MoveManager {
 
         TeamedPlaceGroup.world.comm.Isend(bytesToSend, 0, nbOfBytes, MPI.BYTE, destinationRank, tag);
 
-        at(destination, () -> {
-            // Receive the array of bytes
-            TeamedPlaceGroup.world.comm.Recv(new byte[nbOfBytes], 0, nbOfBytes, MPI.BYTE, myRank, tag);
-            final ByteArrayInputStream inStream = new ByteArrayInputStream(bytesToSend);
-            final ObjectInput oInput = new ObjectInput(inStream);
-
-            // The first object to come out of the byte array is a list of deserializers
-            @SuppressWarnings("unchecked")
-            final List<DeSerializer> ds = (List<DeSerializer>) oInput.readObject();
-
-            // We know apply each deserializer one after the other
-            for (final DeSerializer deserializer : ds) {
-                deserializer.accept(oInput);
-            }
-            oInput.close();
-        });
+        // Only the size, source and tag of the message travel with the remote activity
+        at(destination, () -> receive(nbOfBytes, myRank, tag));
     }
 }
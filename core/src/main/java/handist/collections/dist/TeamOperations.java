@@ -12,8 +12,11 @@ package handist.collections.dist;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
 
 import apgas.Place;
+import handist.collections.dist.util.IntDoublePair;
 import handist.collections.dist.util.IntFloatPair;
 import handist.collections.dist.util.IntLongPair;
 import mpi.MPI;
@@ -32,6 +35,12 @@ public class TeamOperations<T, C extends DistributedCollection<T, C>> {
 
     protected final C handle;
 
+    /**
+     * Measures the throughput of the passes over the local elements of the
+     * handle, used by {@link #autoBalance()}
+     */
+    final ThroughputMonitor monitor = new ThroughputMonitor();
+
     /**
      * Super constructor. Needs to be called by all implementations to initialize
      * the necessary members common to all Team handles.
@@ -42,10 +51,90 @@ public class TeamOperations<T, C extends DistributedCollection<T, C>> {
         handle = localObject;
     }
 
+    /**
+     * Relocates the entries of the underlying distributed collection according to
+     * the throughput measured on each place, and performs the transfers. This
+     * method needs to be called on all the places of the collection.
+     * <p>
+     * The duration of the relocation is recorded into the
+     * {@link ThroughputMonitor} of this handle to refine the estimation of the
+     * cost of later relocations.
+     *
+     * @return {@code true} if entries were relocated
+     * @see #autoBalance(CollectiveMoveManager)
+     */
+    public boolean autoBalance() {
+        final TeamedPlaceGroup pg = handle.placeGroup();
+        final CollectiveMoveManager mm = new CollectiveMoveManager(pg);
+        final long sizeBefore = handle.longSize();
+        final long start = System.nanoTime();
+        if (!autoBalance(mm)) {
+            return false;
+        }
+        try {
+            mm.sync();
+        } catch (final Exception e) {
+            e.printStackTrace();
+            throw new Error("[AbstractDistCollection] data transfer error raised.");
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long moved = pg.allReduce1(Math.abs(handle.longSize() - sizeBefore), MPI.SUM) / 2;
+        monitor.recordMigration(moved, pg.allReduce1(elapsed, MPI.MAX));
+        return true;
+    }
+
+    /**
+     * Relocates the entries of the underlying distributed collection according to
+     * the throughput measured on each place by the {@link ThroughputMonitor} of
+     * the local handles. This method needs to be called on all the places of the
+     * collection.
+     * <p>
+     * The places exchange their smoothed throughput and derive from it the share
+     * of the entries each place should hold. Nothing happens if these shares are
+     * within the hysteresis threshold of the current locality, or if the time
+     * saved over the next passes is not predicted to exceed the time needed to
+     * migrate the entries. Otherwise the locality of the collection is updated
+     * and the entries are marked for transfer as with
+     * {@link #teamedBalance(float[], CollectiveMoveManager)}. The transfers are
+     * performed when the {@link CollectiveMoveManager#sync()} method of the
+     * provided manager is called.
+     *
+     * @param mm move manager in charge of the transfer
+     * @return {@code true} if entries were marked for transfer
+     */
+    public boolean autoBalance(CollectiveMoveManager mm) {
+        final TeamedPlaceGroup pg = handle.placeGroup();
+        final double[] throughputs = pg.allGather1(monitor.getThroughput());
+        final float[] newLocality = monitor.proposeLocality(throughputs, handle.locality());
+        if (newLocality == null) {
+            return false;
+        }
+        final long[] sizes = new long[pg.size()];
+        getSizeDistribution(sizes);
+        final double migrationCost = pg.allReduce1(monitor.getMigrationCost(), MPI.MAX);
+        if (!monitor.worthRelocating(sizes, throughputs, newLocality, migrationCost)) {
+            return false;
+        }
+        teamedBalance(newLocality, mm);
+        return true;
+    }
+
     public void gather(Place destination) {
         // TODO not implemented yet
     }
 
+    /**
+     * Returns the monitor measuring the throughput of the passes over the local
+     * elements of the underlying collection. The monitor can be used to record
+     * passes the collection cannot observe itself, or to tune
+     * {@link #autoBalance()}.
+     *
+     * @return the throughput monitor of this local handle
+     */
+    public ThroughputMonitor getThroughputMonitor() {
+        return monitor;
+    }
+
     /**
      * Computes and gathers the size of each local collection into the provided
      * array. This operation usually requires that all the hosts that are
@@ -233,6 +322,119 @@ public class TeamOperations<T, C extends DistributedCollection<T, C>> {
         teamedBalance(mm);
     }
 
+    /**
+     * Redistributes the elements of the underlying distributed collection between
+     * the places so that the total weight of the elements held by each place is
+     * proportional to its locality, and performs the transfers. This method needs
+     * to be called on all the places of the collection.
+     *
+     * @param weight function giving the weight (i.e. the estimated processing
+     *               cost) of each element, which must return a non-negative
+     *               value
+     * @throws UnsupportedOperationException if the underlying collection does not
+     *                                       implement {@link WeightRelocatable}
+     * @see #teamedBalance(ToDoubleFunction, CollectiveMoveManager)
+     */
+    public void teamedBalance(ToDoubleFunction<? super T> weight) {
+        final CollectiveMoveManager mm = new CollectiveMoveManager(handle.placeGroup());
+        teamedBalance(weight, mm);
+        try {
+            mm.sync();
+        } catch (final Exception e) {
+            e.printStackTrace();
+            throw new Error("[AbstractDistCollection] data transfer error raised.");
+        }
+    }
+
+    /**
+     * Redistributes the elements of the underlying distributed collection between
+     * the places so that the total weight of the elements held by each place is
+     * proportional to its locality. Contrary to {@link #teamedBalance()} which
+     * balances the number of elements, this method balances the work associated
+     * with the elements when their processing costs differ.
+     * <p>
+     * The places first exchange the total weight they hold. Each place then
+     * derives from the prefix sums of these weights and of the localities which
+     * amount of weight it needs to send to each other place, and marks elements
+     * for transfer accordingly. The transfers are performed when the
+     * {@link CollectiveMoveManager#sync()} method of the provided manager is
+     * called.
+     *
+     * @param weight function giving the weight (i.e. the estimated processing
+     *               cost) of each element, which must return a non-negative
+     *               value
+     * @param mm     move manager in charge of the transfer
+     * @throws UnsupportedOperationException if the underlying collection does not
+     *                                       implement {@link WeightRelocatable}
+     */
+    @SuppressWarnings("unchecked")
+    public void teamedBalance(ToDoubleFunction<? super T> weight, CollectiveMoveManager mm) {
+        if (!(handle instanceof WeightRelocatable)) {
+            throw new UnsupportedOperationException(
+                    handle.getClass().getSimpleName() + " does not support balancing by weight");
+        }
+        final double localWeight = ((WeightRelocatable<T>) handle).localWeight(weight);
+        final TeamedPlaceGroup pg = handle.placeGroup();
+        final double[] weights = pg.allGather1(localWeight);
+        final List<List<IntDoublePair>> moveList = weightedMoveList(weights, handle.locality());
+        ((WeightRelocatable<T>) handle).moveAtSyncWeight(moveList.get(pg.myrank), weight, mm);
+    }
+
+    /**
+     * Computes the weight each place should send to the other places so that the
+     * weight held by each place becomes proportional to its locality. The target
+     * weight of each place is the difference between consecutive boundaries
+     * placed on the prefix sums of the localities. Places holding more than their
+     * target send their excess to the places holding less than theirs, in order
+     * of rank. Transfers lighter than a negligible fraction of the total weight
+     * are omitted.
+     *
+     * @param weights  total weight held by each place
+     * @param locality relative share of the total weight each place should hold
+     * @return for each place, the list of (destination rank, weight to send)
+     *         pairs
+     */
+    static List<List<IntDoublePair>> weightedMoveList(double[] weights, float[] locality) {
+        final int pgSize = weights.length;
+        double totalWeight = 0.0;
+        double localitySum = 0.0;
+        for (int i = 0; i < pgSize; i++) {
+            totalWeight += weights[i];
+            localitySum += locality[i];
+        }
+        final double[] excess = new double[pgSize];
+        double cumulativeLocality = 0.0;
+        double previousBoundary = 0.0;
+        for (int i = 0; i < pgSize; i++) {
+            cumulativeLocality += locality[i];
+            final double boundary = i == pgSize - 1 ? totalWeight : totalWeight * cumulativeLocality / localitySum;
+            excess[i] = weights[i] - (boundary - previousBoundary);
+            previousBoundary = boundary;
+        }
+
+        final double negligible = totalWeight * 1e-9;
+        final List<List<IntDoublePair>> moveList = new ArrayList<>(pgSize);
+        for (int i = 0; i < pgSize; i++) {
+            moveList.add(new ArrayList<>());
+        }
+        int sender = 0;
+        for (int receiver = 0; receiver < pgSize; receiver++) {
+            while (excess[receiver] < -negligible) {
+                while (sender < pgSize && excess[sender] <= negligible) {
+                    sender++;
+                }
+                if (sender == pgSize) {
+                    return moveList;
+                }
+                final double amount = Math.min(excess[sender], -excess[receiver]);
+                moveList.get(sender).add(new IntDoublePair(receiver, amount));
+                excess[sender] -= amount;
+                excess[receiver] += amount;
+            }
+        }
+        return moveList;
+    }
+
     /**
      * Conduct element location management process if the target is
      * ElementLocationManagable
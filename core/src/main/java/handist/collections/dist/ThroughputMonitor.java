@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+/**
+ * Measures the number of elements a local handle of a distributed collection
+ * processes per second and derives from these measurements the locality vector
+ * used to balance the collection. An instance is kept by the
+ * {@link TeamOperations} of each local handle; the collections record the
+ * duration of their {@code forEach} and {@code parallelForEach} passes into it.
+ * <p>
+ * Only the passes made by the application over the elements should be
+ * recorded, as they are the work the balancing aims to spread. Scans made by
+ * the library itself, such as the evaluation of the local weight in
+ * {@link TeamOperations#teamedBalance(java.util.function.ToDoubleFunction)},
+ * iterate over the elements without going through the instrumented methods.
+ * <p>
+ * The throughput is smoothed with an exponential moving average so that a
+ * single pass slowed down by a noisy neighbor does not trigger a relocation. A
+ * new locality vector is only proposed when it differs from the current one by
+ * more than the hysteresis threshold, and {@link TeamOperations#autoBalance()}
+ * only relocates entries when the time saved over the following passes is
+ * predicted to exceed the time needed to migrate the entries.
+ * <p>
+ * The parameters of this class take part in a collective decision: they need
+ * to be set to the same values on all the places of the collection. Methods
+ * {@link #record(long, long)} and {@link #recordMigration(long, long)} may be
+ * called concurrently.
+ */
+public class ThroughputMonitor {
+
+    /** Default number of passes over which the gain of a relocation is counted */
+    public static final int DEFAULT_HORIZON = 10;
+
+    /**
+     * Default relative change of the share of a place below which the locality
+     * is left unchanged
+     */
+    public static final double DEFAULT_HYSTERESIS = 0.1;
+
+    /**
+     * Default time needed to migrate an entry, in seconds, used until a migration
+     * has been measured
+     */
+    public static final double DEFAULT_MIGRATION_COST = 1e-6;
+
+    /** Default weight of the latest measurement in the moving averages */
+    public static final double DEFAULT_SMOOTHING = 0.3;
+
+    /** Number of passes over which the gain of a relocation is counted */
+    private int horizon = DEFAULT_HORIZON;
+
+    /** Relative change of a share below which the locality is left unchanged */
+    private double hysteresis = DEFAULT_HYSTERESIS;
+
+    /** Smoothed time needed to migrate an entry, in seconds */
+    private double migrationCost = DEFAULT_MIGRATION_COST;
+
+    /** Indicates if a migration was measured since the last reset */
+    private boolean migrationMeasured = false;
+
+    /** Weight of the latest measurement in the moving averages */
+    private double smoothing = DEFAULT_SMOOTHING;
+
+    /** Smoothed number of elements processed per second, 0 if unknown */
+    private double throughput = 0.0;
+
+    /**
+     * Returns the number of passes over the collection over which the time saved
+     * by a relocation is counted when deciding whether to relocate
+     *
+     * @return the horizon of the relocation decisions
+     */
+    public synchronized int getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * Returns the relative change of the share of a place below which the
+     * locality of the collection is left unchanged
+     *
+     * @return the hysteresis threshold
+     */
+    public synchronized double getHysteresis() {
+        return hysteresis;
+    }
+
+    /**
+     * Returns the estimated time needed to migrate an entry of the collection
+     *
+     * @return time in seconds
+     */
+    public synchronized double getMigrationCost() {
+        return migrationCost;
+    }
+
+    /**
+     * Returns the weight of the latest measurement in the moving averages
+     *
+     * @return a value between 0 excluded and 1 included
+     */
+    public synchronized double getSmoothing() {
+        return smoothing;
+    }
+
+    /**
+     * Returns the smoothed number of elements processed per second by the local
+     * handle
+     *
+     * @return the throughput of this place, or 0 if no pass was recorded since
+     *         the last reset
+     */
+    public synchronized double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Computes the locality vector matching the throughput of each place. The
+     * new vector is only returned if the share of one of the places changes by
+     * more than the hysteresis threshold compared to the current locality.
+     * Places whose throughput is unknown are given the average throughput of the
+     * other places.
+     *
+     * @param throughputs throughput of each place, 0 if unknown
+     * @param locality    current locality of the collection
+     * @return the new locality, with an average value of 1, or {@code null} if
+     *         the current locality should be kept
+     */
+    float[] proposeLocality(double[] throughputs, float[] locality) {
+        final int n = throughputs.length;
+        double known = 0.0;
+        int nbKnown = 0;
+        double localitySum = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (throughputs[i] > 0) {
+                known += throughputs[i];
+                nbKnown++;
+            }
+            localitySum += locality[i];
+        }
+        if (nbKnown == 0) {
+            return null;
+        }
+        final double average = known / nbKnown;
+        final double total = known + average * (n - nbKnown);
+        final float[] result = new float[n];
+        boolean changed = false;
+        for (int i = 0; i < n; i++) {
+            final double share = (throughputs[i] > 0 ? throughputs[i] : average) / total;
+            final double currentShare = locality[i] / localitySum;
+            if (Math.abs(share - currentShare) > getHysteresis() * currentShare) {
+                changed = true;
+            }
+            result[i] = (float) (share * n);
+        }
+        return changed ? result : null;
+    }
+
+    /**
+     * Records a pass of the application over the local elements of the
+     * collection
+     *
+     * @param elements number of elements processed during the pass
+     * @param nanos    duration of the pass in nanoseconds
+     */
+    public synchronized void record(long elements, long nanos) {
+        if (elements <= 0 || nanos <= 0) {
+            return;
+        }
+        final double sample = elements * 1e9 / nanos;
+        throughput = throughput == 0.0 ? sample : smoothing * sample + (1 - smoothing) * throughput;
+    }
+
+    /**
+     * Records a relocation of entries, which refines the estimated time needed
+     * to migrate an entry
+     *
+     * @param entries number of entries relocated
+     * @param nanos   duration of the relocation in nanoseconds
+     */
+    public synchronized void recordMigration(long entries, long nanos) {
+        if (entries <= 0 || nanos <= 0) {
+            return;
+        }
+        final double sample = nanos * 1e-9 / entries;
+        migrationCost = migrationMeasured ? smoothing * sample + (1 - smoothing) * migrationCost : sample;
+        migrationMeasured = true;
+    }
+
+    /**
+     * Discards the measurements made so far
+     */
+    public synchronized void reset() {
+        throughput = 0.0;
+        migrationCost = DEFAULT_MIGRATION_COST;
+        migrationMeasured = false;
+    }
+
+    /**
+     * Sets the number of passes over the collection over which the time saved by
+     * a relocation is counted when deciding whether to relocate
+     *
+     * @param passes number of passes, strictly positive
+     * @throws IllegalArgumentException if the number of passes is not strictly
+     *                                  positive
+     */
+    public synchronized void setHorizon(int passes) {
+        if (passes <= 0) {
+            throw new IllegalArgumentException("Horizon must be strictly positive, was " + passes);
+        }
+        horizon = passes;
+    }
+
+    /**
+     * Sets the relative change of the share of a place below which the locality
+     * of the collection is left unchanged
+     *
+     * @param threshold the hysteresis threshold, positive or zero
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public synchronized void setHysteresis(double threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Hysteresis must be positive, was " + threshold);
+        }
+        hysteresis = threshold;
+    }
+
+    /**
+     * Sets the weight of the latest measurement in the moving averages of the
+     * throughput and of the migration cost
+     *
+     * @param weight a value between 0 excluded and 1 included, 1 disables the
+     *               smoothing
+     * @throws IllegalArgumentException if the weight is out of range
+     */
+    public synchronized void setSmoothing(double weight) {
+        if (!(weight > 0 && weight <= 1)) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1], was " + weight);
+        }
+        smoothing = weight;
+    }
+
+    /**
+     * Indicates whether relocating the entries according to the specified
+     * locality is worth it. The duration of a pass is limited by the slowest
+     * place: the time saved by each pass is the difference between the current
+     * duration and the duration with the new distribution. The relocation is
+     * worth it if the time saved over {@link #getHorizon()} passes exceeds the
+     * time needed to migrate the entries which change place.
+     *
+     * @param sizes         number of entries held by each place
+     * @param throughputs   throughput of each place, 0 if unknown
+     * @param locality      new locality of the collection
+     * @param migrationCost time needed to migrate an entry, in seconds
+     * @return {@code true} if the entries should be relocated
+     */
+    boolean worthRelocating(long[] sizes, double[] throughputs, float[] locality, double migrationCost) {
+        final int n = sizes.length;
+        long total = 0;
+        double known = 0.0;
+        int nbKnown = 0;
+        double localitySum = 0.0;
+        for (int i = 0; i < n; i++) {
+            total += sizes[i];
+            if (throughputs[i] > 0) {
+                known += throughputs[i];
+                nbKnown++;
+            }
+            localitySum += locality[i];
+        }
+        if (nbKnown == 0 || total == 0) {
+            return false;
+        }
+        final double average = known / nbKnown;
+        double currentPass = 0.0;
+        double newPass = 0.0;
+        double moved = 0.0;
+        for (int i = 0; i < n; i++) {
+            final double rate = throughputs[i] > 0 ? throughputs[i] : average;
+            final double target = total * locality[i] / localitySum;
+            currentPass = Math.max(currentPass, sizes[i] / rate);
+            newPass = Math.max(newPass, target / rate);
+            moved += Math.max(0.0, sizes[i] - target);
+        }
+        return (currentPass - newPass) * getHorizon() > moved * migrationCost;
+    }
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import handist.collections.dist.util.IntDoublePair;
+
+/**
+ * Interface implemented by the distributed collections whose elements can be
+ * relocated according to an amount of work (a weight) rather than a number of
+ * elements. This is used by {@link TeamOperations#teamedBalance(ToDoubleFunction)}
+ * to balance collections whose elements have very different processing costs.
+ *
+ * @param <T> type of the elements whose weight is evaluated
+ */
+public interface WeightRelocatable<T> {
+
+    /**
+     * Returns the total weight of the elements held by the local collection. The
+     * elements are scanned without recording the pass into the
+     * {@link ThroughputMonitor} of the collection, as this scan is not part of
+     * the work of the application.
+     *
+     * @param weight function giving the weight of each element, which must
+     *               return a non-negative value
+     * @return the sum of the weights of the local elements
+     */
+    public double localWeight(ToDoubleFunction<? super T> weight);
+
+    /**
+     * Marks elements of the local collection for transfer so that the total
+     * weight sent to each destination matches the weight specified for it. The
+     * transfers are performed when the {@link CollectiveMoveManager#sync()}
+     * method of the provided manager is called.
+     * <p>
+     * As elements cannot be split, the weight actually sent to a destination
+     * may differ from the requested weight by up to half the weight of an
+     * element.
+     *
+     * @param moveList list of (rank of the destination in the place group of the
+     *                 collection, weight to send) pairs
+     * @param weight   function giving the weight of each element, which must
+     *                 return a non-negative value
+     * @param mm       manager in charge of performing the transfers
+     */
+    public void moveAtSyncWeight(List<IntDoublePair> moveList, ToDoubleFunction<? super T> weight, MoveManager mm);
+}
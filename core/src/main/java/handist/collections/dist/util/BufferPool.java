@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import java.util.ArrayList;
+
+/**
+ * Pool of {@code byte} arrays reused by the collective relocation of objects
+ * between places. Relocating large collections requires buffers of several
+ * hundred megabytes on both the sending and the receiving side. Rather than
+ * allocating new arrays for every relocation, the arrays used in a previous
+ * relocation are kept in this pool and handed out again when a buffer of at
+ * most their size is requested.
+ * <p>
+ * The pool keeps at most {@link #MAX_POOLED} arrays, and at most
+ * {@link #getMaxPooledBytes()} bytes in total. When an array is returned to a
+ * pool holding too many arrays, the smallest array is discarded. When the
+ * arrays exceed the byte limit, the largest arrays are discarded until they fit
+ * within it. Arrays larger than the limit are never pooled.
+ * <p>
+ * The pooled arrays remain reachable for the life of the process. An
+ * application which performs a large relocation only occasionally should call
+ * {@link #clear()} once the relocations of a phase are over, so that the memory
+ * of the pooled arrays can be reclaimed. This class is thread-safe.
+ */
+public final class BufferPool {
+
+    /** Default maximum number of bytes kept in the pool, 256MB */
+    public static final long DEFAULT_MAX_POOLED_BYTES = 256l << 20;
+
+    /** Maximum number of arrays kept in the pool */
+    public static final int MAX_POOLED = 4;
+
+    /** Maximum number of bytes kept in the pool */
+    private static long maxPooledBytes = DEFAULT_MAX_POOLED_BYTES;
+
+    /** Arrays available for reuse */
+    private static final ArrayList<byte[]> pool = new ArrayList<>(MAX_POOLED + 1);
+
+    /** Total number of bytes of the arrays held by the pool */
+    private static long pooledBytes = 0l;
+
+    /**
+     * Obtains an array of at least the specified size. The smallest pooled array
+     * which is large enough is returned if there is one, otherwise a new array of
+     * exactly the requested size is allocated. The contents of the returned array
+     * are unspecified.
+     *
+     * @param minSize minimum size of the array
+     * @return an array whose length is greater or equal to {@code minSize}
+     */
+    public static byte[] acquire(int minSize) {
+        synchronized (pool) {
+            int best = -1;
+            for (int i = 0; i < pool.size(); i++) {
+                final int length = pool.get(i).length;
+                if (length >= minSize && (best < 0 || length < pool.get(best).length)) {
+                    best = i;
+                }
+            }
+            if (best >= 0) {
+                final byte[] buffer = pool.remove(best);
+                pooledBytes -= buffer.length;
+                return buffer;
+            }
+        }
+        return new byte[minSize];
+    }
+
+    /**
+     * Discards all the arrays held by the pool
+     */
+    public static void clear() {
+        synchronized (pool) {
+            pool.clear();
+            pooledBytes = 0l;
+        }
+    }
+
+    /**
+     * Returns the maximum number of bytes the arrays held by the pool may total
+     *
+     * @return the byte limit of the pool
+     */
+    public static long getMaxPooledBytes() {
+        synchronized (pool) {
+            return maxPooledBytes;
+        }
+    }
+
+    /**
+     * Returns the size of the largest array currently held by the pool. This can
+     * be used to size a buffer after the buffers used in previous relocations.
+     *
+     * @return size of the largest pooled array, 0 if the pool is empty
+     */
+    public static int largestPooled() {
+        int largest = 0;
+        synchronized (pool) {
+            for (final byte[] b : pool) {
+                largest = Math.max(largest, b.length);
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Returns an array to the pool so that it can be reused. The array should not
+     * be used by the caller afterwards.
+     *
+     * @param buffer array to return to the pool, {@code null} or empty arrays are
+     *               ignored
+     */
+    public static void release(byte[] buffer) {
+        if (buffer == null || buffer.length == 0) {
+            return;
+        }
+        synchronized (pool) {
+            if (buffer.length > maxPooledBytes) {
+                return;
+            }
+            pool.add(buffer);
+            pooledBytes += buffer.length;
+            if (pool.size() > MAX_POOLED) {
+                int smallest = 0;
+                for (int i = 1; i < pool.size(); i++) {
+                    if (pool.get(i).length < pool.get(smallest).length) {
+                        smallest = i;
+                    }
+                }
+                pooledBytes -= pool.remove(smallest).length;
+            }
+            trim();
+        }
+    }
+
+    /**
+     * Sets the maximum number of bytes the arrays held by the pool may total. The
+     * largest pooled arrays are discarded if they exceed the new limit.
+     *
+     * @param bytes the new byte limit of the pool, 0 disables pooling
+     * @throws IllegalArgumentException if the specified limit is negative
+     */
+    public static void setMaxPooledBytes(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("[BufferPool] negative byte limit " + bytes);
+        }
+        synchronized (pool) {
+            maxPooledBytes = bytes;
+            trim();
+        }
+    }
+
+    /**
+     * Discards the largest pooled arrays until the pooled arrays fit within the
+     * byte limit. Needs to be called while holding the lock on {@link #pool}.
+     */
+    private static void trim() {
+        while (pooledBytes > maxPooledBytes) {
+            int largest = 0;
+            for (int i = 1; i < pool.size(); i++) {
+                if (pool.get(i).length > pool.get(largest).length) {
+                    largest = i;
+                }
+            }
+            pooledBytes -= pool.remove(largest).length;
+        }
+    }
+
+    private BufferPool() {
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import handist.collections.function.DeSerializer;
+
+/**
+ * Encoding of the list of {@link DeSerializer}s written in front of the objects
+ * relocated to a place. Each distinct deserializer is given a compact integer
+ * identifier, in order of first appearance. A deserializer is serialized in
+ * full the first time it appears, subsequent occurrences are replaced by its
+ * identifier. The receiving place registers the deserializers as they are
+ * read and resolves the identifiers it encounters afterwards.
+ * <p>
+ * Distributed collections therefore keep one deserializer per kind of transfer
+ * in a field and submit that same instance for all the transfers they request
+ * (a collection-level "codec") rather than creating a new lambda each time.
+ * Move managers then send each of these deserializers only once per
+ * relocation, which makes moves of many small entries cost a single byte of
+ * metadata per entry instead of a serialized lambda. The identifiers are only valid within a single list:
+ * handles of distributed collections are created lazily and in no particular
+ * order on each place, so a numbering shared by all places could not be agreed
+ * upon without communication.
+ * <p>
+ * This class keeps statistics about the bytes written for the deserializers
+ * and the bytes saved by writing identifiers rather than serializing
+ * deserializers again. The bytes saved are estimated as the size of the first
+ * serialization of the deserializer minus the size of its identifier.
+ */
+public final class DeSerializerRegistry {
+
+    /** Bytes saved by writing identifiers instead of deserializers */
+    private static final AtomicLong bytesSaved = new AtomicLong();
+
+    /** Bytes written to encode the lists of deserializers */
+    private static final AtomicLong bytesWritten = new AtomicLong();
+
+    /**
+     * Returns an estimation of the number of bytes saved by writing identifiers
+     * instead of serializing the same deserializer several times since the
+     * statistics were last reset.
+     *
+     * @return number of bytes saved on this place
+     */
+    public static long bytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * Returns the number of bytes written to encode lists of deserializers since
+     * the statistics were last reset.
+     *
+     * @return number of bytes written on this place
+     */
+    public static long bytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Reads a list of deserializers written by
+     * {@link #writeDeSerializers(ObjectOutput, List)}
+     *
+     * @param in the input from which the list is read
+     * @return the deserializers in the order in which they were written
+     */
+    public static List<DeSerializer> readDeSerializers(ObjectInput in) {
+        final int size = in.input.readVarInt(true);
+        final List<DeSerializer> result = new ArrayList<>(size);
+        final List<DeSerializer> registered = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final int id = in.input.readVarInt(true);
+            if (id == registered.size()) {
+                registered.add((DeSerializer) in.readObject());
+            }
+            result.add(registered.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Resets the statistics kept by this class
+     */
+    public static void resetStatistics() {
+        bytesSaved.set(0);
+        bytesWritten.set(0);
+    }
+
+    /**
+     * Writes a list of deserializers, serializing each distinct deserializer only
+     * once
+     *
+     * @param out           the output into which the list is written
+     * @param deserializers the deserializers to write
+     */
+    public static void writeDeSerializers(ObjectOutput out, List<DeSerializer> deserializers) {
+        final long start = out.output.total();
+        // Identifier and size of the first serialization of each distinct deserializer
+        final IdentityHashMap<DeSerializer, long[]> registered = new IdentityHashMap<>();
+        long saved = 0;
+        out.output.writeVarInt(deserializers.size(), true);
+        for (final DeSerializer d : deserializers) {
+            final long[] entry = registered.get(d);
+            if (entry == null) {
+                final int id = registered.size();
+                final long before = out.output.total();
+                out.output.writeVarInt(id, true);
+                out.writeObject(d);
+                registered.put(d, new long[] { id, out.output.total() - before });
+            } else {
+                final int idSize = out.output.writeVarInt((int) entry[0], true);
+                saved += entry[1] - idSize;
+            }
+        }
+        bytesWritten.addAndGet(out.output.total() - start);
+        bytesSaved.addAndGet(saved);
+    }
+
+    private DeSerializerRegistry() {
+    }
+}
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@link PayloadCodec} compressing the payloads with the {@link Deflater} of
+ * the JDK. Serialized objects usually compress well as they contain many
+ * repeated class identifiers and small numbers, which makes compression
+ * worthwhile when relocations are limited by the bandwidth of the network.
+ * <p>
+ * Each payload is preceded by a byte indicating if it was compressed. A payload
+ * is sent as is when it is too small to benefit from compression or when its
+ * compressed size is not below a given ratio of its original size. In the
+ * latter case, compression is not attempted for the next
+ * {@link #SKIPPED_AFTER_POOR_RATIO} payloads, avoiding to spend time
+ * compressing data which does not compress.
+ * <p>
+ * This class keeps statistics about the bytes it encoded which can be
+ * consulted to decide whether compression is beneficial for a given
+ * application.
+ */
+public class DeflateCodec implements PayloadCodec {
+
+    /**
+     * Default maximum ratio between the compressed and the original size of a
+     * payload for the compressed version to be sent
+     */
+    public static final double DEFAULT_MAX_RATIO = 0.9;
+
+    /** Default minimum size of the payloads which are compressed */
+    public static final int DEFAULT_MIN_SIZE = 512;
+
+    /** Byte preceding a compressed payload */
+    private static final int DEFLATED = 1;
+
+    /** Byte preceding a payload which was not compressed */
+    private static final int RAW = 0;
+
+    /** Maximum size of the arrays holding a compressed payload */
+    private static final int SEGMENT_SIZE = 1024 * 1024;
+
+    private static final long serialVersionUID = 6387562915330546172L;
+
+    /**
+     * Number of payloads sent without attempting compression after a payload
+     * whose compression ratio was poor
+     */
+    public static final int SKIPPED_AFTER_POOR_RATIO = 16;
+
+    /** Number of bytes of the payloads encoded */
+    private final AtomicLong bytesIn = new AtomicLong();
+
+    /** Number of bytes written by the encoding of the payloads */
+    private final AtomicLong bytesOut = new AtomicLong();
+
+    /** Compression level used by the {@link Deflater} */
+    private final int level;
+
+    /** Maximum ratio between the compressed and original size of a payload */
+    private final double maxRatio;
+
+    /** Minimum size of the payloads which are compressed */
+    private final int minSize;
+
+    /** Number of payloads encoded and sent compressed */
+    private final AtomicLong payloadsCompressed = new AtomicLong();
+
+    /** Number of payloads encoded and sent as is */
+    private final AtomicLong payloadsRaw = new AtomicLong();
+
+    /**
+     * Number of payloads which remain to be sent without attempting compression
+     */
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    /**
+     * Creates a codec using the fastest compression level and the default
+     * ratio and minimum size
+     */
+    public DeflateCodec() {
+        this(Deflater.BEST_SPEED, DEFAULT_MAX_RATIO, DEFAULT_MIN_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param level    compression level of the {@link Deflater}, between
+     *                 {@link Deflater#BEST_SPEED} and
+     *                 {@link Deflater#BEST_COMPRESSION}, or
+     *                 {@link Deflater#DEFAULT_COMPRESSION}
+     * @param maxRatio maximum ratio between the compressed size and the original
+     *                 size of a payload for it to be sent compressed
+     * @param minSize  minimum size in bytes of the payloads which are compressed
+     * @throws IllegalArgumentException if the level is not a valid compression
+     *                                  level, if the ratio is not strictly
+     *                                  positive or if the minimum size is
+     *                                  negative
+     */
+    public DeflateCodec(int level, double maxRatio, int minSize) {
+        if ((level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)
+                && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level " + level);
+        }
+        if (!(maxRatio > 0)) {
+            throw new IllegalArgumentException("Compression ratio must be strictly positive, was " + maxRatio);
+        }
+        if (minSize < 0) {
+            throw new IllegalArgumentException("Minimum size must be positive, was " + minSize);
+        }
+        this.level = level;
+        this.maxRatio = maxRatio;
+        this.minSize = minSize;
+    }
+
+    /**
+     * Returns the number of bytes of the payloads encoded by this codec since
+     * the statistics were last reset
+     *
+     * @return the total size of the payloads before encoding
+     */
+    public long bytesIn() {
+        return bytesIn.get();
+    }
+
+    /**
+     * Returns the number of bytes written by this codec when encoding payloads
+     * since the statistics were last reset, including the byte preceding each
+     * payload
+     *
+     * @return the total size of the payloads after encoding
+     */
+    public long bytesOut() {
+        return bytesOut.get();
+    }
+
+    @Override
+    public InputStream decode(InputStream in) throws IOException {
+        final int marker = in.read();
+        switch (marker) {
+        case RAW:
+            return in;
+        case DEFLATED:
+            return new InflaterInputStream(in);
+        default:
+            throw new StreamCorruptedException("Unexpected payload marker " + marker);
+        }
+    }
+
+    @Override
+    public void encode(ByteArrayOutputStream payload, OutputStream out) throws IOException {
+        final long length = payload instanceof SegmentedOutputStream ? ((SegmentedOutputStream) payload).length()
+                : payload.size();
+        bytesIn.addAndGet(length);
+        // Skip the compression if one of the previous payloads compressed poorly
+        if (length >= minSize && skipped.getAndUpdate(s -> s > 0 ? s - 1 : 0) == 0) {
+            final SegmentedOutputStream deflated = new SegmentedOutputStream(SEGMENT_SIZE);
+            final Deflater deflater = new Deflater(level);
+            try {
+                final DeflaterOutputStream compressor = new DeflaterOutputStream(deflated, deflater);
+                payload.writeTo(compressor);
+                compressor.finish();
+            } finally {
+                deflater.end();
+            }
+            if (deflated.length() < length * maxRatio) {
+                out.write(DEFLATED);
+                deflated.writeTo(out);
+                bytesOut.addAndGet(1 + deflated.length());
+                payloadsCompressed.incrementAndGet();
+                return;
+            }
+            skipped.set(SKIPPED_AFTER_POOR_RATIO);
+        }
+        out.write(RAW);
+        payload.writeTo(out);
+        bytesOut.addAndGet(1 + length);
+        payloadsRaw.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of payloads sent compressed since the statistics were
+     * last reset
+     *
+     * @return number of payloads compressed
+     */
+    public long payloadsCompressed() {
+        return payloadsCompressed.get();
+    }
+
+    /**
+     * Returns the number of payloads sent without compression since the
+     * statistics were last reset, either because they were too small, because
+     * they did not compress well, or because a previous payload did not compress
+     * well
+     *
+     * @return number of payloads not compressed
+     */
+    public long payloadsRaw() {
+        return payloadsRaw.get();
+    }
+
+    /**
+     * Resets the statistics kept by this codec
+     */
+    public void resetStatistics() {
+        bytesIn.set(0);
+        bytesOut.set(0);
+        payloadsCompressed.set(0);
+        payloadsRaw.set(0);
+    }
+}
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import handist.collections.Bag;
+import handist.collections.Chunk;
+import handist.collections.LongRange;
+import handist.collections.SquareChunk;
+import handist.collections.SquareRange;
+
+/**
+ * Table of classes identified by a compact integer when objects are written
+ * with {@link ObjectOutput#writeObject(Object)} and by the serializers of the
+ * chunks. Kryo writes the fully qualified name of an unregistered class the
+ * first time it is encountered in a stream, which is significant when many
+ * small streams are sent to different places. The classes of this table are
+ * instead written as a varint, a single byte for the first hundred or so
+ * classes.
+ * <p>
+ * The core types of the library ({@link LongRange}, {@link Chunk},
+ * {@link SquareChunk}, {@link SquareRange}, {@link Bag}, {@link Pair}, object
+ * arrays, the boxed primitives and {@link String}) are registered in advance.
+ * Applications can register their own classes with {@link #register(Class)}.
+ * As the identifier of a class is its position in the table, all the places
+ * need to register the same classes in the same order, typically at the start
+ * of the program, before any object of these classes is transferred.
+ * <p>
+ * This table is separate from the registrations of the {@link Kryo} instances:
+ * these instances are shared with the runtime, which may deserialize objects
+ * on threads whose {@link Kryo} instance would not have been given the same
+ * registrations.
+ */
+public final class KryoRegistry {
+
+    /** Value written in place of a class for a {@code null} object */
+    private static final int NULL = 0;
+
+    /** Value written before the class of an object not in the table */
+    private static final int UNREGISTERED = 1;
+
+    /** Registered classes, indexed by identifier */
+    private static volatile Class<?>[] classes = new Class<?>[0];
+
+    /**
+     * Identifier of each registered class. The map is replaced rather than
+     * modified when a class is registered so that it can be read without
+     * synchronization.
+     */
+    private static volatile IdentityHashMap<Class<?>, Integer> ids = new IdentityHashMap<>();
+
+    static {
+        register(LongRange.class);
+        register(Chunk.class);
+        register(SquareChunk.class);
+        register(SquareRange.class);
+        register(Bag.class);
+        register(Pair.class);
+        register(Object[].class);
+        register(Boolean.class);
+        register(Byte.class);
+        register(Character.class);
+        register(Short.class);
+        register(Integer.class);
+        register(Long.class);
+        register(Float.class);
+        register(Double.class);
+        register(String.class);
+    }
+
+    /**
+     * Returns the identifier of the specified class
+     *
+     * @param type a class
+     * @return the identifier of the class, or -1 if the class is not registered
+     */
+    public static int idOf(Class<?> type) {
+        final Integer id = ids.get(type);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Reads an array written by {@link #writeArray(Kryo, Output, Object[])}
+     *
+     * @param kryo  the kryo instance used to read the elements
+     * @param input the input from which the array is read
+     * @return a new array containing the elements read
+     */
+    public static Object[] readArray(Kryo kryo, Input input) {
+        final int length = input.readVarInt(true);
+        final Object[] array = new Object[length];
+        final Class<?> type = readClass(kryo, input);
+        if (type != null) {
+            for (int i = 0; i < length; i++) {
+                array[i] = kryo.readObjectOrNull(input, type);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                array[i] = readObject(kryo, input);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Reads a class written by {@link #writeClass(Kryo, Output, Class)}
+     *
+     * @param kryo  the kryo instance used to read unregistered classes
+     * @param input the input from which the class is read
+     * @return the class read, {@code null} if {@code null} was written
+     */
+    public static Class<?> readClass(Kryo kryo, Input input) {
+        final int value = input.readVarInt(true);
+        switch (value) {
+        case NULL:
+            return null;
+        case UNREGISTERED:
+            return kryo.readClass(input).getType();
+        default:
+            return classes[value - 2];
+        }
+    }
+
+    /**
+     * Reads an object written by {@link #writeObject(Kryo, Output, Object)}
+     *
+     * @param kryo  the kryo instance used to read the object
+     * @param input the input from which the object is read
+     * @return the object read, possibly {@code null}
+     */
+    public static Object readObject(Kryo kryo, Input input) {
+        final int value = input.readVarInt(true);
+        switch (value) {
+        case NULL:
+            return null;
+        case UNREGISTERED:
+            final Registration registration = kryo.readClass(input);
+            return kryo.readObject(input, registration.getType(), registration.getSerializer());
+        default:
+            return kryo.readObject(input, classes[value - 2]);
+        }
+    }
+
+    /**
+     * Registers a class. Objects of this class written with
+     * {@link ObjectOutput#writeObject(Object)} are then identified by a compact
+     * integer instead of the name of their class. Registering a class several
+     * times has no effect.
+     * <p>
+     * All the places need to register the same classes in the same order before
+     * objects of these classes are transferred.
+     *
+     * @param type the class to register
+     * @return the identifier given to the class
+     */
+    public static synchronized int register(Class<?> type) {
+        final Integer existing = ids.get(type);
+        if (existing != null) {
+            return existing;
+        }
+        final int id = classes.length;
+        final Class<?>[] extendedClasses = Arrays.copyOf(classes, id + 1);
+        extendedClasses[id] = type;
+        final IdentityHashMap<Class<?>, Integer> extendedIds = new IdentityHashMap<>(ids);
+        extendedIds.put(type, id);
+        // Publish the class before its identifier can be written
+        classes = extendedClasses;
+        ids = extendedIds;
+        return id;
+    }
+
+    /**
+     * Writes an array of objects. If all the non-null elements of the array are
+     * of the same class, this class is written once and the elements are written
+     * without their class. Otherwise each element is written with
+     * {@link #writeObject(Kryo, Output, Object)}.
+     *
+     * @param kryo   the kryo instance used to write the elements
+     * @param output the output into which the array is written
+     * @param array  the array to write
+     */
+    public static void writeArray(Kryo kryo, Output output, Object[] array) {
+        output.writeVarInt(array.length, true);
+        Class<?> type = null;
+        for (final Object o : array) {
+            if (o == null) {
+                continue;
+            }
+            if (type == null) {
+                type = o.getClass();
+            } else if (type != o.getClass()) {
+                // Heterogeneous array
+                type = null;
+                break;
+            }
+        }
+        writeClass(kryo, output, type);
+        if (type != null) {
+            for (final Object o : array) {
+                kryo.writeObjectOrNull(output, o, type);
+            }
+        } else {
+            for (final Object o : array) {
+                writeObject(kryo, output, o);
+            }
+        }
+    }
+
+    /**
+     * Writes a class, using its identifier if it is registered
+     *
+     * @param kryo   the kryo instance used to write unregistered classes
+     * @param output the output into which the class is written
+     * @param type   the class to write, may be {@code null}
+     */
+    public static void writeClass(Kryo kryo, Output output, Class<?> type) {
+        if (type == null) {
+            output.writeVarInt(NULL, true);
+            return;
+        }
+        final int id = idOf(type);
+        if (id < 0) {
+            output.writeVarInt(UNREGISTERED, true);
+            kryo.writeClass(output, type);
+        } else {
+            output.writeVarInt(id + 2, true);
+        }
+    }
+
+    /**
+     * Writes an object preceded by its class, using the identifier of the class
+     * if it is registered
+     *
+     * @param kryo   the kryo instance used to write the object
+     * @param output the output into which the object is written
+     * @param object the object to write, may be {@code null}
+     */
+    public static void writeObject(Kryo kryo, Output output, Object object) {
+        if (object == null) {
+            output.writeVarInt(NULL, true);
+            return;
+        }
+        final int id = idOf(object.getClass());
+        if (id < 0) {
+            output.writeVarInt(UNREGISTERED, true);
+            final Registration registration = kryo.writeClass(output, object.getClass());
+            kryo.writeObject(output, object, registration.getSerializer());
+        } else {
+            output.writeVarInt(id + 2, true);
+            kryo.writeObject(output, object);
+        }
+    }
+
+    private KryoRegistry() {
+    }
+}
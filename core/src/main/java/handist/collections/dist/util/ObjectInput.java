@@ -10,8 +10,9 @@
  ******************************************************************************/
 package handist.collections.dist.util;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
@@ -20,21 +21,35 @@ import apgas.impl.KryoSerializer;
 
 public class ObjectInput {
 
+    /**
+     * Kryo {@link Input} instances released by closed {@link ObjectInput}s of the
+     * current thread, reused by the next {@link ObjectInput}s created by the same
+     * thread. Several instances may be needed if {@link ObjectInput}s are nested.
+     */
+    private static final ThreadLocal<ArrayDeque<Input>> inputPool = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private boolean closed = false;
     final Input input;
     final Kryo kryo;
 
-    final ByteArrayInputStream stream;
+    final InputStream stream;
 
-    public ObjectInput(ByteArrayInputStream in) {
+    public ObjectInput(InputStream in) {
         this(in, true);
     }
 
-    public ObjectInput(ByteArrayInputStream in, boolean references) {
+    public ObjectInput(InputStream in, boolean references) {
         if (in == null) {
             throw new NullPointerException();
         }
         stream = in;
-        input = new Input(stream);
+        final Input pooled = inputPool.get().poll();
+        if (pooled == null) {
+            input = new Input(stream);
+        } else {
+            input = pooled;
+            input.setInputStream(stream);
+        }
         kryo = KryoSerializer.getKryoInstance();
         kryo.setAutoReset(false);
         kryo.setReferences(references);
@@ -45,8 +60,15 @@ public class ObjectInput {
     }
 
     public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
         input.close();
         kryo.reset();
+        // The Kryo Input can be reused by the next instance created by this thread
+        input.setInputStream(null);
+        inputPool.get().push(input);
     }
 
     public byte readByte() {
@@ -62,7 +84,7 @@ public class ObjectInput {
     }
 
     public Object readObject() {
-        return kryo.readClassAndObject(input);
+        return KryoRegistry.readObject(kryo, input);
     }
 
     public void reset() {
@@ -11,6 +11,7 @@
 package handist.collections.dist.util;
 
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Output;
@@ -19,6 +20,15 @@ import apgas.impl.KryoSerializer;
 
 public class ObjectOutput {
 
+    /**
+     * Kryo {@link Output} instances released by closed {@link ObjectOutput}s of
+     * the current thread, reused by the next {@link ObjectOutput}s created by the
+     * same thread. Several instances may be needed if {@link ObjectOutput}s are
+     * nested.
+     */
+    private static final ThreadLocal<ArrayDeque<Output>> outputPool = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private boolean closed = false;
     private int count;
     final Kryo kryo;
     final Output output;
@@ -33,7 +43,13 @@ public class ObjectOutput {
             throw new NullPointerException();
         }
         stream = out;
-        output = new Output(stream);
+        final Output pooled = outputPool.get().poll();
+        if (pooled == null) {
+            output = new Output(stream);
+        } else {
+            output = pooled;
+            output.setOutputStream(stream);
+        }
         kryo = KryoSerializer.getKryoInstance();
         kryo.setAutoReset(false);
         kryo.setReferences(references);
@@ -47,8 +63,15 @@ public class ObjectOutput {
     }
 
     public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
         output.close();
         kryo.reset();
+        // The Kryo Output can be reused by the next instance created by this thread
+        output.setOutputStream(null);
+        outputPool.get().push(output);
     }
 
     public void flush() {
@@ -83,7 +106,7 @@ public class ObjectOutput {
     }
 
     public void writeObject(Object obj) {
-        kryo.writeClassAndObject(output, obj);
+        KryoRegistry.writeObject(kryo, output, obj);
         count++;
     }
 }
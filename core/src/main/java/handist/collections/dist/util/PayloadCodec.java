@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+/**
+ * Transformation applied to the serialized bytes transferred to a place, for
+ * instance to compress them. The bytes produced by the serializers are written
+ * into a {@link ByteArrayOutputStream} (the payload), which the codec encodes
+ * into the stream actually transferred. On the receiving place, the codec
+ * provides the stream from which the deserializers read the original bytes.
+ * <p>
+ * The sending and receiving places need to use the same codec, which is why
+ * codecs are typically configured identically on all the places of a group,
+ * for instance with {@link handist.collections.dist.CollectiveMoveManager}.
+ * Implementations need to be thread-safe: the payloads destined to different
+ * places may be encoded concurrently.
+ *
+ * @see DeflateCodec
+ */
+public interface PayloadCodec extends Serializable {
+
+    /**
+     * Returns a stream delivering the bytes of a payload encoded with
+     * {@link #encode(ByteArrayOutputStream, OutputStream)}. Closing the returned
+     * stream closes the specified stream.
+     *
+     * @param in stream delivering the encoded bytes
+     * @return a stream delivering the bytes of the original payload
+     * @throws IOException if thrown while reading the encoded bytes
+     */
+    InputStream decode(InputStream in) throws IOException;
+
+    /**
+     * Encodes the bytes of a payload into the specified stream. The payload is
+     * not modified.
+     *
+     * @param payload the bytes to encode
+     * @param out     stream into which the encoded bytes are written
+     * @throws IOException if thrown while writing the encoded bytes
+     */
+    void encode(ByteArrayOutputStream payload, OutputStream out) throws IOException;
+}
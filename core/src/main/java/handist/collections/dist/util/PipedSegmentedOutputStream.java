@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+
+/**
+ * {@link ByteArrayOutputStream} into which a producer thread writes bytes that
+ * a consumer thread takes away by segments of bounded size. The bytes written are
+ * gathered into arrays of at most {@link #segmentSize()} bytes. Each array is
+ * handed to the consumer through {@link #poll()} once it is full, or once the
+ * producer closes this stream for the last one.
+ * <p>
+ * This stream is used to send the objects serialized during a relocation: the
+ * serializers write into it while the segments already complete are
+ * transferred. The number of complete segments waiting for the consumer can be
+ * bounded, in which case the producer blocks until the consumer takes a
+ * segment away. The memory held by this stream is then limited to a few
+ * segments, however large the objects serialized. When the producer is a
+ * thread of the {@link ForkJoinPool} used by the APGAS runtime, it blocks
+ * through {@link ForkJoinPool#managedBlock(ManagedBlocker)} so that the pool
+ * can keep running other activities in the meantime.
+ * <p>
+ * Methods {@link #poll()}, {@link #isDrained()} and {@link #abort()} may be
+ * called by one thread while another thread writes into this stream. The
+ * writing methods themselves are not thread-safe. As the bytes taken away are
+ * no longer held by this stream, it cannot be reset nor copied into an array:
+ * {@link #reset()}, {@link #toByteArray()} and {@link #writeTo(OutputStream)}
+ * throw {@link UnsupportedOperationException}, and {@link #size()} saturates
+ * at {@link Integer#MAX_VALUE}.
+ */
+public class PipedSegmentedOutputStream extends ByteArrayOutputStream {
+
+    /** Initial size of the array used for each segment */
+    private static final int INITIAL_SIZE = 32;
+
+    /** Indicates if {@link #abort()} was called */
+    private boolean aborted = false;
+
+    /** Indicates if the producer has closed this stream */
+    private boolean closed = false;
+
+    /** Segment being written by the producer, only accessed by the producer */
+    private byte[] current;
+
+    /** Number of bytes written into {@link #current} */
+    private int currentCount;
+
+    /** Total number of bytes written into this stream, only written by the producer */
+    private volatile long length;
+
+    /**
+     * Maximum number of complete segments waiting for the consumer, 0 if not
+     * bounded
+     */
+    private final int maxQueued;
+
+    /** Complete segments waiting for the consumer */
+    private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+
+    /** Maximum size of each segment */
+    private final int segmentSize;
+
+    /**
+     * Blocker used by the producer to wait until there is room for another
+     * segment in {@link #queue}
+     */
+    private final ManagedBlocker room = new ManagedBlocker() {
+        @Override
+        public boolean block() throws InterruptedException {
+            synchronized (PipedSegmentedOutputStream.this) {
+                while (!isReleasable()) {
+                    PipedSegmentedOutputStream.this.wait();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            synchronized (PipedSegmentedOutputStream.this) {
+                return aborted || maxQueued == 0 || queue.size() < maxQueued;
+            }
+        }
+    };
+
+    /**
+     * Constructor
+     *
+     * @param segmentSize maximum number of bytes of each segment
+     * @param maxQueued   maximum number of complete segments waiting for the
+     *                    consumer before the producer blocks, 0 to never block
+     *                    the producer
+     * @throws IllegalArgumentException if the segment size is not strictly
+     *                                  positive or if the maximum number of
+     *                                  segments is negative
+     */
+    public PipedSegmentedOutputStream(int segmentSize, int maxQueued) {
+        super(0);
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be strictly positive, was " + segmentSize);
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Maximum number of segments must be positive, was " + maxQueued);
+        }
+        this.segmentSize = segmentSize;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Makes the producer fail instead of writing any further, and releases it if
+     * it is waiting for the consumer. Called by the consumer when it gives up
+     * taking the segments away, for instance because the transfer failed.
+     */
+    public synchronized void abort() {
+        aborted = true;
+        queue.clear();
+        notifyAll();
+    }
+
+    /**
+     * Hands the last segment to the consumer and indicates that no more bytes
+     * will be written. Calling this method several times has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        if (currentCount > 0 && !aborted) {
+            queue.add(Arrays.copyOf(current, currentCount));
+        }
+        current = null;
+        currentCount = 0;
+        closed = true;
+    }
+
+    /**
+     * Hands a complete segment to the consumer, waiting for room in the queue if
+     * necessary
+     *
+     * @param segment the segment to hand over
+     * @throws UncheckedIOException if this stream was aborted or if the thread
+     *                              was interrupted while waiting
+     */
+    private void enqueue(byte[] segment) {
+        try {
+            ForkJoinPool.managedBlock(room);
+        } catch (final InterruptedException e) {
+            throw new UncheckedIOException(new InterruptedIOException());
+        }
+        synchronized (this) {
+            if (aborted) {
+                throw new UncheckedIOException(new IOException("Transfer of the stream was aborted"));
+            }
+            queue.add(segment);
+        }
+    }
+
+    /**
+     * Makes sure the current segment has room for at least one more byte, handing
+     * it to the consumer if it is full
+     *
+     * @throws UncheckedIOException if this stream was aborted or closed
+     */
+    private void ensureRoom() {
+        if (closed) {
+            throw new UncheckedIOException(new IOException("Cannot write into a closed PipedSegmentedOutputStream"));
+        }
+        if (current != null && currentCount == segmentSize) {
+            enqueue(current);
+            current = null;
+        }
+        if (current == null) {
+            current = new byte[Math.min(INITIAL_SIZE, segmentSize)];
+            currentCount = 0;
+        } else if (currentCount == current.length) {
+            current = Arrays.copyOf(current, (int) Math.min(2L * current.length, segmentSize));
+        }
+    }
+
+    /**
+     * Indicates if the producer has closed this stream and all the segments were
+     * taken away by the consumer
+     *
+     * @return {@code true} if no more segments will be returned by
+     *         {@link #poll()}
+     */
+    public synchronized boolean isDrained() {
+        return closed && queue.isEmpty();
+    }
+
+    /**
+     * Returns the number of bytes written into this stream so far
+     *
+     * @return the number of bytes written
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Takes away the oldest complete segment, releasing the producer if it was
+     * waiting for room. All the bytes of the returned array belong to the
+     * segment.
+     *
+     * @return the oldest segment not taken away yet, or {@code null} if no
+     *         complete segment is available
+     */
+    public synchronized byte[] poll() {
+        final byte[] segment = queue.poll();
+        if (segment != null) {
+            notifyAll();
+        }
+        return segment;
+    }
+
+    /**
+     * Not supported, the bytes taken away by the consumer cannot be discarded
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void reset() {
+        throw new UnsupportedOperationException("PipedSegmentedOutputStream cannot be reset");
+    }
+
+    /**
+     * Returns the maximum number of bytes held by each segment, as specified
+     * when this stream was created
+     *
+     * @return the size of the segments
+     */
+    public int segmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Returns the number of bytes written into this stream, or
+     * {@link Integer#MAX_VALUE} if more bytes than that were written.
+     *
+     * @see #length()
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, length);
+    }
+
+    /**
+     * Not supported, the bytes taken away by the consumer are no longer held by
+     * this stream
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public byte[] toByteArray() {
+        throw new UnsupportedOperationException("PipedSegmentedOutputStream cannot be copied into an array");
+    }
+
+    @Override
+    public String toString() {
+        return "PipedSegmentedOutputStream[" + length + " bytes written]";
+    }
+
+    /**
+     * Writes bytes into this stream, waiting for the consumer if a segment is
+     * complete and the maximum number of segments is already waiting for it
+     *
+     * @throws UncheckedIOException if this stream was closed or aborted, or if
+     *                              the thread was interrupted while waiting
+     */
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            ensureRoom();
+            final int n = Math.min(len, current.length - currentCount);
+            System.arraycopy(b, off, current, currentCount, n);
+            currentCount += n;
+            off += n;
+            len -= n;
+            length += n;
+        }
+    }
+
+    /**
+     * Writes a byte into this stream, waiting for the consumer if a segment is
+     * complete and the maximum number of segments is already waiting for it
+     *
+     * @throws UncheckedIOException if this stream was closed or aborted, or if
+     *                              the thread was interrupted while waiting
+     */
+    @Override
+    public void write(int b) {
+        ensureRoom();
+        current[currentCount++] = (byte) b;
+        length++;
+    }
+
+    /**
+     * Not supported, the bytes taken away by the consumer are no longer held by
+     * this stream
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void writeTo(OutputStream out) {
+        throw new UnsupportedOperationException("PipedSegmentedOutputStream cannot be copied into a stream");
+    }
+}
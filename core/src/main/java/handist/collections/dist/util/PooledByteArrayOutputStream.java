@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * {@link ByteArrayOutputStream} whose initial buffer is taken from the
+ * {@link BufferPool} and whose buffer can be accessed directly with
+ * {@link #getBuffer()}, avoiding the copy made by {@link #toByteArray()}.
+ * <p>
+ * Once the bytes written into this stream are no longer needed, method
+ * {@link #release()} returns the buffer to the pool. The stream should not be
+ * used afterwards.
+ */
+public class PooledByteArrayOutputStream extends ByteArrayOutputStream {
+
+    /**
+     * Creates a stream whose initial buffer is the largest array of the pool, so
+     * that relocations of similar size do not need to grow the buffer
+     */
+    public PooledByteArrayOutputStream() {
+        this(BufferPool.largestPooled());
+    }
+
+    /**
+     * Creates a stream whose initial buffer is a pooled array of at least the
+     * specified size
+     *
+     * @param initialSize minimum size of the initial buffer
+     */
+    public PooledByteArrayOutputStream(int initialSize) {
+        super(0);
+        buf = BufferPool.acquire(Math.max(32, initialSize));
+    }
+
+    /**
+     * Returns the buffer of this stream without copying it. Only the first
+     * {@link #size()} bytes of the returned array are meaningful. The returned
+     * array is no longer the buffer of this stream if further bytes are written.
+     *
+     * @return the buffer containing the bytes written into this stream
+     */
+    public byte[] getBuffer() {
+        return buf;
+    }
+
+    /**
+     * Returns the buffer of this stream to the {@link BufferPool}. This stream
+     * should not be used after calling this method.
+     */
+    public void release() {
+        BufferPool.release(buf);
+        buf = new byte[0];
+        count = 0;
+    }
+}
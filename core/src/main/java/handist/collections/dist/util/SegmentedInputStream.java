@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+
+/**
+ * {@link InputStream} fed with portions of arrays (segments) by a producer
+ * thread while a consumer thread reads from it. Reading from this stream blocks
+ * until a segment is available or until the producer calls {@link #end()}.
+ * <p>
+ * This stream is used during relocations performed in several rounds of
+ * communication: the bytes received from a place in each round are appended to
+ * the stream of this place, allowing the objects to be deserialized while the
+ * next round is in flight. A callback can be attached to each segment, which
+ * is called once all the bytes of the segment have been read. This allows the
+ * array holding the segment to be recycled.
+ * <p>
+ * Methods {@link #append(byte[], int, int, Runnable)} and {@link #end()} may be
+ * called by one thread while another thread reads from this stream. The
+ * producer can consult the number of bytes not read yet with
+ * {@link #buffered()} to stop feeding this stream while the reader lags
+ * behind. When the reader is a thread of the {@link ForkJoinPool} used by the
+ * APGAS runtime, it waits for bytes through
+ * {@link ForkJoinPool#managedBlock(ManagedBlocker)} so that the pool can keep
+ * running other activities in the meantime.
+ */
+public class SegmentedInputStream extends InputStream {
+
+    /**
+     * Portion of an array appended to a {@link SegmentedInputStream}
+     */
+    private static final class Segment {
+        final byte[] buf;
+        final int end;
+        final int length;
+        final Runnable onConsumed;
+        int position;
+
+        Segment(byte[] buf, int offset, int length, Runnable onConsumed) {
+            this.buf = buf;
+            position = offset;
+            end = offset + length;
+            this.length = length;
+            this.onConsumed = onConsumed;
+        }
+    }
+
+    /**
+     * Blocker used by the reading thread to wait until a segment is appended or
+     * until the producer calls {@link #end()}
+     */
+    private final ManagedBlocker arrival = new ManagedBlocker() {
+        @Override
+        public boolean block() throws InterruptedException {
+            synchronized (SegmentedInputStream.this) {
+                while (!isReleasable()) {
+                    SegmentedInputStream.this.wait();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            synchronized (SegmentedInputStream.this) {
+                return !segments.isEmpty() || ended;
+            }
+        }
+    };
+
+    /**
+     * Number of bytes of the segments appended to this stream which have not been
+     * entirely read yet
+     */
+    private long buffered = 0l;
+
+    /** Segment currently being read, only accessed by the reading thread */
+    private Segment current;
+
+    /** Indicates if the reader has closed this stream */
+    private boolean closed = false;
+
+    /** Indicates if the producer has appended all the segments */
+    private boolean ended = false;
+
+    /** Segments appended to this stream but not read yet */
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+
+    /**
+     * Appends bytes to this stream. The bytes are not copied, the array should
+     * therefore not be modified until they have been read.
+     *
+     * @param buf    array containing the bytes to append
+     * @param offset index of the first byte to append
+     * @param length number of bytes to append
+     * @throws IllegalStateException if {@link #end()} was called previously
+     */
+    public void append(byte[] buf, int offset, int length) {
+        append(buf, offset, length, null);
+    }
+
+    /**
+     * Appends bytes to this stream. The bytes are not copied, the array should
+     * therefore not be modified until the specified callback is called.
+     *
+     * @param buf        array containing the bytes to append
+     * @param offset     index of the first byte to append
+     * @param length     number of bytes to append
+     * @param onConsumed callback called by the reading thread when all the bytes
+     *                   appended by this call have been read or when this stream
+     *                   is closed, may be {@code null}. If the stream is already
+     *                   closed, the bytes are discarded and the callback is called
+     *                   by this method.
+     * @throws IllegalStateException if {@link #end()} was called previously
+     */
+    public void append(byte[] buf, int offset, int length, Runnable onConsumed) {
+        synchronized (this) {
+            if (ended) {
+                throw new IllegalStateException("Cannot append bytes to a SegmentedInputStream after its end");
+            }
+            if (!closed) {
+                segments.add(new Segment(buf, offset, length, onConsumed));
+                buffered += length;
+                notifyAll();
+                return;
+            }
+        }
+        if (onConsumed != null) {
+            onConsumed.run();
+        }
+    }
+
+    @Override
+    public synchronized int available() {
+        int available = current == null ? 0 : current.end - current.position;
+        for (final Segment s : segments) {
+            available += s.end - s.position;
+        }
+        return available;
+    }
+
+    /**
+     * Returns the number of bytes appended to this stream which are still held
+     * by it. The bytes of a segment are counted until all of them have been read
+     * or until this stream is closed.
+     *
+     * @return the number of bytes held by this stream
+     */
+    public synchronized long buffered() {
+        return buffered;
+    }
+
+    /**
+     * Discards the bytes which have not been read, as well as the bytes appended
+     * afterwards. The callbacks of the discarded segments are called.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        if (current != null) {
+            consumed(current);
+            current = null;
+        }
+        Segment s;
+        while ((s = poll()) != null) {
+            consumed(s);
+        }
+    }
+
+    private void consumed(Segment s) {
+        synchronized (this) {
+            buffered -= s.length;
+        }
+        if (s.onConsumed != null) {
+            s.onConsumed.run();
+        }
+    }
+
+    /**
+     * Indicates that no more bytes will be appended to this stream. Once all the
+     * bytes appended previously have been read, reading from this stream returns
+     * -1. Calling this method several times has no effect.
+     */
+    public synchronized void end() {
+        ended = true;
+        notifyAll();
+    }
+
+    /**
+     * Makes {@link #current} a segment with bytes left to read, blocking until
+     * one is appended if necessary
+     *
+     * @return {@code false} if the end of the stream was reached
+     * @throws InterruptedIOException if interrupted while waiting for bytes
+     */
+    private boolean nextSegment() throws InterruptedIOException {
+        while (current == null || current.position == current.end) {
+            if (current != null) {
+                consumed(current);
+                current = null;
+            }
+            try {
+                ForkJoinPool.managedBlock(arrival);
+            } catch (final InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            current = poll();
+            if (current == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized Segment poll() {
+        return segments.poll();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextSegment()) {
+            return -1;
+        }
+        return current.buf[current.position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextSegment()) {
+            return -1;
+        }
+        final int n = Math.min(len, current.end - current.position);
+        System.arraycopy(current.buf, current.position, b, off, n);
+        current.position += n;
+        return n;
+    }
+}
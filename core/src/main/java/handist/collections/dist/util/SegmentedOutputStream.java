@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * {@link ByteArrayOutputStream} which stores the bytes written into it in a
+ * list of arrays (segments) of bounded size rather than in a single array. The
+ * number of bytes this stream can hold is therefore not limited to the 2GB of
+ * a Java array.
+ * <p>
+ * This stream is used to serialize the objects sent to a place during a
+ * relocation. The serialized bytes are then read back by portions of bounded
+ * size with method {@link #copyTo(long, byte[], int, int)}, each portion being
+ * transferred in a separate round of communication. The segments can also be
+ * accessed directly with {@link #segment(int)} so that they are sent without
+ * being copied.
+ * <p>
+ * As the content of this stream may not fit into an array, {@link #size()}
+ * saturates at {@link Integer#MAX_VALUE}. Use {@link #length()} to obtain the
+ * exact number of bytes written. Contrary to {@link ByteArrayOutputStream},
+ * this class is not thread-safe.
+ */
+public class SegmentedOutputStream extends ByteArrayOutputStream {
+
+    /** Initial size of the array used for the first segment */
+    private static final int INITIAL_SIZE = 32;
+
+    /**
+     * Number of bytes written into the last segment of {@link #segments}
+     */
+    private int lastCount;
+
+    /**
+     * Maximum size of each segment. All segments but the last one have exactly
+     * this size.
+     */
+    private final int segmentSize;
+
+    /** Arrays holding the bytes written into this stream */
+    private final ArrayList<byte[]> segments = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param segmentSize maximum size of the arrays used to store the bytes
+     * @throws IllegalArgumentException if the segment size is not strictly
+     *                                  positive
+     */
+    public SegmentedOutputStream(int segmentSize) {
+        super(0);
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be strictly positive, was " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Copies bytes written into this stream into the specified array
+     *
+     * @param position index of the first byte of this stream to copy
+     * @param dst      the array into which the bytes are copied
+     * @param offset   index in {@code dst} at which the first byte is copied
+     * @param length   number of bytes to copy
+     * @throws IndexOutOfBoundsException if the requested bytes are not all
+     *                                   contained in this stream
+     */
+    public void copyTo(long position, byte[] dst, int offset, int length) {
+        if (position < 0 || length < 0 || position + length > length()) {
+            throw new IndexOutOfBoundsException("Cannot copy " + length + " bytes from position " + position
+                    + " of a stream of length " + length());
+        }
+        int segment = (int) (position / segmentSize);
+        int from = (int) (position % segmentSize);
+        while (length > 0) {
+            final int n = Math.min(length, segmentSize - from);
+            System.arraycopy(segments.get(segment), from, dst, offset, n);
+            offset += n;
+            length -= n;
+            segment++;
+            from = 0;
+        }
+    }
+
+    /**
+     * Makes sure the last segment has room for at least one more byte
+     */
+    private void ensureRoom() {
+        if (segments.isEmpty() || lastCount == segmentSize) {
+            segments.add(new byte[Math.min(INITIAL_SIZE, segmentSize)]);
+            lastCount = 0;
+            return;
+        }
+        final int last = segments.size() - 1;
+        final byte[] b = segments.get(last);
+        if (lastCount == b.length) {
+            // Grow the last segment, up to the segment size
+            segments.set(last, Arrays.copyOf(b, (int) Math.min(2L * b.length, segmentSize)));
+        }
+    }
+
+    /**
+     * Returns the number of bytes written into this stream
+     *
+     * @return the number of bytes held by this stream
+     */
+    public long length() {
+        return segments.isEmpty() ? 0l : (long) (segments.size() - 1) * segmentSize + lastCount;
+    }
+
+    /**
+     * Discards all the bytes written into this stream
+     */
+    @Override
+    public void reset() {
+        segments.clear();
+        lastCount = 0;
+    }
+
+    /**
+     * Returns the array holding the bytes of the specified segment without
+     * copying it. Only the first {@link #segmentLength(int)} bytes of the
+     * returned array belong to the segment. The array should not be modified.
+     *
+     * @param index index of the segment, between 0 included and
+     *              {@link #segmentCount()} excluded
+     * @return the array holding the bytes of the segment
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public byte[] segment(int index) {
+        return segments.get(index);
+    }
+
+    /**
+     * Returns the number of segments used to hold the bytes written into this
+     * stream. All the segments but the last one contain {@link #segmentSize()}
+     * bytes.
+     *
+     * @return the number of segments of this stream
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Returns the number of bytes held by the specified segment
+     *
+     * @param index index of the segment, between 0 included and
+     *              {@link #segmentCount()} excluded
+     * @return the number of bytes of the segment
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int segmentLength(int index) {
+        if (index < 0 || index >= segments.size()) {
+            throw new IndexOutOfBoundsException(
+                    "Segment " + index + " of a stream of " + segments.size() + " segments");
+        }
+        return index == segments.size() - 1 ? lastCount : segmentSize;
+    }
+
+    /**
+     * Returns the maximum number of bytes held by each segment, as specified
+     * when this stream was created
+     *
+     * @return the size of the segments
+     */
+    public int segmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Returns the number of bytes written into this stream, or
+     * {@link Integer#MAX_VALUE} if it holds more bytes than that.
+     *
+     * @see #length()
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, length());
+    }
+
+    /**
+     * Copies the content of this stream into a new array
+     *
+     * @throws IllegalStateException if this stream holds too many bytes to fit
+     *                               into an array
+     */
+    @Override
+    public byte[] toByteArray() {
+        final long length = length();
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("SegmentedOutputStream of " + length + " bytes cannot fit into an array");
+        }
+        final byte[] result = new byte[(int) length];
+        copyTo(0, result, 0, result.length);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return new String(toByteArray());
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            ensureRoom();
+            final byte[] last = segments.get(segments.size() - 1);
+            final int n = Math.min(len, last.length - lastCount);
+            System.arraycopy(b, off, last, lastCount, n);
+            lastCount += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureRoom();
+        segments.get(segments.size() - 1)[lastCount++] = (byte) b;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        for (int i = 0; i < segments.size(); i++) {
+            out.write(segments.get(i), 0, i == segments.size() - 1 ? lastCount : segmentSize);
+        }
+    }
+}
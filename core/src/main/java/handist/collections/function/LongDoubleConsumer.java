@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.function;
+
+import handist.collections.RangedList;
+
+/**
+ * Functional interface for actions taking a {@code long} index and a
+ * {@code double} value as parameter. This is used to iterate on the primitive
+ * {@link RangedList} implementations without boxing their elements.
+ * <p>
+ * When used as a lambda expression on a primitive {@link RangedList}, the
+ * parameter types should be declared explicitly (e.g.
+ * {@code (long l, double v) -> ...}) to distinguish it from
+ * {@link LongTBiConsumer}.
+ */
+@FunctionalInterface
+public interface LongDoubleConsumer {
+    /**
+     * Performs an action with the given {@code long} index and {@code double}
+     * value.
+     *
+     * @param l index of the value in the {@link RangedList}
+     * @param v value
+     */
+    void accept(long l, double v);
+}
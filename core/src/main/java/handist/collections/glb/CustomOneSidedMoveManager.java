@@ -107,21 +107,10 @@ class CustomOneSidedMoveManager extends OneSidedMoveManager {
 
         TeamedPlaceGroup.getWorld().comm.Isend(bytesToSend, 0, nbOfBytes, MPI.BYTE, destinationRank, tag);
 
+        // Only the size, source and tag of the message travel with the remote activity
         asyncArbitraryFinish(destination, () -> {
-            // Receive the array of bytes
-            TeamedPlaceGroup.getWorld().comm.Recv(new byte[nbOfBytes], 0, nbOfBytes, MPI.BYTE, myRank, tag);
-            final ByteArrayInputStream inStream = new ByteArrayInputStream(bytesToSend);
-            final ObjectInput oInput = new ObjectInput(inStream);
-
-            // The first object to come out of the byte array is a list of deserializers
-            @SuppressWarnings("unchecked")
-            final List<DeSerializer> ds = (List<DeSerializer>) oInput.readObject();
-
-            // We know apply each deserializer one after the other
-            for (final DeSerializer deserializer : ds) {
-                deserializer.accept(oInput);
-            }
-            oInput.close();
+            // Receive the array of bytes and deserialize the objects it contains
+            receive(nbOfBytes, myRank, tag);
 
             // Reception is over, launch the job that was given as parameter
             j.run();
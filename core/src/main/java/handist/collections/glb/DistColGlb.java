@@ -24,9 +24,18 @@ import handist.collections.function.SerializableConsumer;
 import handist.collections.function.SerializableFunction;
 import handist.collections.function.SerializableLongTBiConsumer;
 import handist.collections.function.SerializableSupplier;
+import handist.collections.function.SerializableToDoubleFunction;
+import handist.collections.function.SerializableToIntFunction;
+import handist.collections.function.SerializableToLongFunction;
 import handist.collections.glb.DistColGlbTask.DistColLambda;
 import handist.collections.glb.GlbComputer.WorkerInfo;
+import handist.collections.reducer.DoubleReducer;
+import handist.collections.reducer.IntReducer;
+import handist.collections.reducer.LongReducer;
 import handist.collections.reducer.Reducer;
+import handist.collections.reducer.ToDoubleReducer;
+import handist.collections.reducer.ToIntReducer;
+import handist.collections.reducer.ToLongReducer;
 
 /**
  * This class proposes various operations that operate on all the elements of a
@@ -290,6 +299,49 @@ public class DistColGlb<T> extends AbstractGlbHandle implements Serializable {
         return future;
     }
 
+    /**
+     * GLB variant of
+     * {@link DistChunkedList.Team#reduceToDouble(DoubleReducer.Op, java.util.function.ToDoubleFunction)}.
+     * The values extracted from the elements are reduced without being boxed.
+     *
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return {@link GlbFuture} waiting on the completion of this operation, whose
+     *         result holds the value obtained across all hosts
+     */
+    public GlbFuture<ToDoubleReducer<T>> reduceToDouble(DoubleReducer.Op op,
+            SerializableToDoubleFunction<T> extractFunc) {
+        return reduce(new ToDoubleReducer<>(op, extractFunc));
+    }
+
+    /**
+     * GLB variant of
+     * {@link DistChunkedList.Team#reduceToInt(IntReducer.Op, java.util.function.ToIntFunction)}.
+     * The values extracted from the elements are reduced without being boxed.
+     *
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return {@link GlbFuture} waiting on the completion of this operation, whose
+     *         result holds the value obtained across all hosts
+     */
+    public GlbFuture<ToIntReducer<T>> reduceToInt(IntReducer.Op op, SerializableToIntFunction<T> extractFunc) {
+        return reduce(new ToIntReducer<>(op, extractFunc));
+    }
+
+    /**
+     * GLB variant of
+     * {@link DistChunkedList.Team#reduceToLong(LongReducer.Op, java.util.function.ToLongFunction)}.
+     * The values extracted from the elements are reduced without being boxed.
+     *
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return {@link GlbFuture} waiting on the completion of this operation, whose
+     *         result holds the value obtained across all hosts
+     */
+    public GlbFuture<ToLongReducer<T>> reduceToLong(LongReducer.Op op, SerializableToLongFunction<T> extractFunc) {
+        return reduce(new ToLongReducer<>(op, extractFunc));
+    }
+
     /**
      * GLB variant of
      * {@link ChunkedList#parallelForEach(java.util.function.BiConsumer, handist.collections.ParallelReceiver)}
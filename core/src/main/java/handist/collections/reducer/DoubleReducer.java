@@ -1,7 +1,6 @@
 package handist.collections.reducer;
 
 import java.io.Serializable;
-import java.util.function.Consumer;
 
 import mpi.MPI;
 
@@ -32,33 +31,22 @@ public class DoubleReducer implements Serializable {
     }
 
     private double value;
-    private final Consumer<Double> reduceFunc;
+    private final Op op;
 
     public DoubleReducer(Op op) {
+        this.op = op;
         switch (op) {
         case SUM:
             value = 0d;
-            reduceFunc = (input) -> value += input;
             break;
         case PROD:
             value = 1d;
-            reduceFunc = (input) -> value *= input;
             break;
         case MAX:
             value = Double.MIN_VALUE;
-            reduceFunc = (input) -> {
-                if (input > value) {
-                    value = input;
-                }
-            };
             break;
         case MIN:
             value = Double.MAX_VALUE;
-            reduceFunc = (input) -> {
-                if (input < value) {
-                    value = input;
-                }
-            };
             break;
         default:
             throw new UnsupportedOperationException("DoubleReducer does not support the operation :" + op);
@@ -66,7 +54,24 @@ public class DoubleReducer implements Serializable {
     }
 
     public void reduce(double input) {
-        reduceFunc.accept(input);
+        switch (op) {
+        case SUM:
+            value += input;
+            break;
+        case PROD:
+            value *= input;
+            break;
+        case MAX:
+            if (input > value) {
+                value = input;
+            }
+            break;
+        case MIN:
+            if (input < value) {
+                value = input;
+            }
+            break;
+        }
     }
 
     public double value() {
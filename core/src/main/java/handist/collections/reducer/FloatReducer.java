@@ -1,7 +1,6 @@
 package handist.collections.reducer;
 
 import java.io.Serializable;
-import java.util.function.Consumer;
 
 import mpi.MPI;
 
@@ -32,33 +31,22 @@ public class FloatReducer implements Serializable {
     }
 
     private float value;
-    private final Consumer<Float> reduceFunc;
+    private final Op op;
 
     public FloatReducer(Op op) {
+        this.op = op;
         switch (op) {
         case SUM:
             value = 0f;
-            reduceFunc = (input) -> value += input;
             break;
         case PROD:
             value = 1f;
-            reduceFunc = (input) -> value *= input;
             break;
         case MAX:
             value = Float.MIN_VALUE;
-            reduceFunc = (input) -> {
-                if (input > value) {
-                    value = input;
-                }
-            };
             break;
         case MIN:
             value = Float.MAX_VALUE;
-            reduceFunc = (input) -> {
-                if (input < value) {
-                    value = input;
-                }
-            };
             break;
         default:
             throw new UnsupportedOperationException("FloatReducer does not support the operation :" + op);
@@ -66,7 +54,24 @@ public class FloatReducer implements Serializable {
     }
 
     public void reduce(float input) {
-        reduceFunc.accept(input);
+        switch (op) {
+        case SUM:
+            value += input;
+            break;
+        case PROD:
+            value *= input;
+            break;
+        case MAX:
+            if (input > value) {
+                value = input;
+            }
+            break;
+        case MIN:
+            if (input < value) {
+                value = input;
+            }
+            break;
+        }
     }
 
     public float value() {
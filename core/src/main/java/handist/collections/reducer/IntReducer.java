@@ -1,7 +1,6 @@
 package handist.collections.reducer;
 
 import java.io.Serializable;
-import java.util.function.Consumer;
 
 import mpi.MPI;
 
@@ -32,33 +31,22 @@ public class IntReducer implements Serializable {
     }
 
     private int value;
-    private final Consumer<Integer> reduceFunc;
+    private final Op op;
 
     public IntReducer(Op op) {
+        this.op = op;
         switch (op) {
         case SUM:
             value = 0;
-            reduceFunc = (input) -> value += input;
             break;
         case PROD:
             value = 1;
-            reduceFunc = (input) -> value *= input;
             break;
         case MAX:
             value = Integer.MIN_VALUE;
-            reduceFunc = (input) -> {
-                if (input > value) {
-                    value = input;
-                }
-            };
             break;
         case MIN:
             value = Integer.MAX_VALUE;
-            reduceFunc = (input) -> {
-                if (input < value) {
-                    value = input;
-                }
-            };
             break;
         default:
             throw new UnsupportedOperationException("IntReducer does not support the operation :" + op);
@@ -66,7 +54,24 @@ public class IntReducer implements Serializable {
     }
 
     public void reduce(int input) {
-        reduceFunc.accept(input);
+        switch (op) {
+        case SUM:
+            value += input;
+            break;
+        case PROD:
+            value *= input;
+            break;
+        case MAX:
+            if (input > value) {
+                value = input;
+            }
+            break;
+        case MIN:
+            if (input < value) {
+                value = input;
+            }
+            break;
+        }
     }
 
     public int value() {
@@ -1,7 +1,6 @@
 package handist.collections.reducer;
 
 import java.io.Serializable;
-import java.util.function.Consumer;
 
 import mpi.MPI;
 
@@ -32,33 +31,22 @@ public class LongReducer implements Serializable {
     }
 
     private long value;
-    private final Consumer<Long> reduceFunc;
+    private final Op op;
 
     public LongReducer(Op op) {
+        this.op = op;
         switch (op) {
         case SUM:
             value = 0l;
-            reduceFunc = (input) -> value += input;
             break;
         case PROD:
             value = 1l;
-            reduceFunc = (input) -> value *= input;
             break;
         case MAX:
             value = Long.MIN_VALUE;
-            reduceFunc = (input) -> {
-                if (input > value) {
-                    value = input;
-                }
-            };
             break;
         case MIN:
             value = Long.MAX_VALUE;
-            reduceFunc = (input) -> {
-                if (input < value) {
-                    value = input;
-                }
-            };
             break;
         default:
             throw new UnsupportedOperationException("LongReducer does not support the operation :" + op);
@@ -66,7 +54,24 @@ public class LongReducer implements Serializable {
     }
 
     public void reduce(long input) {
-        reduceFunc.accept(input);
+        switch (op) {
+        case SUM:
+            value += input;
+            break;
+        case PROD:
+            value *= input;
+            break;
+        case MAX:
+            if (input > value) {
+                value = input;
+            }
+            break;
+        case MIN:
+            if (input < value) {
+                value = input;
+            }
+            break;
+        }
     }
 
     public long value() {
@@ -1,6 +1,9 @@
 package handist.collections.reducer;
 
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import handist.collections.ChunkedList;
 
@@ -106,4 +109,52 @@ public interface Reducible<T> extends Iterable<T> {
         forEach(t -> reducer.reduce(extractFunc.apply(t)));
         return reducer.value();
     }
+
+    /**
+     * Sequentially reduces all the elements contained in this {@link ChunkedList},
+     * using an operation provided by default. Contrary to
+     * {@link #reduce(DoubleReducer.Op, Function)}, the extracted values are not
+     * boxed.
+     *
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public default double reduceToDouble(DoubleReducer.Op op, ToDoubleFunction<? super T> extractFunc) {
+        final DoubleReducer reducer = new DoubleReducer(op);
+        forEach(t -> reducer.reduce(extractFunc.applyAsDouble(t)));
+        return reducer.value();
+    }
+
+    /**
+     * Sequentially reduces all the elements contained in this {@link ChunkedList},
+     * using an operation provided by default. Contrary to
+     * {@link #reduce(IntReducer.Op, Function)}, the extracted values are not
+     * boxed.
+     *
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public default int reduceToInt(IntReducer.Op op, ToIntFunction<? super T> extractFunc) {
+        final IntReducer reducer = new IntReducer(op);
+        forEach(t -> reducer.reduce(extractFunc.applyAsInt(t)));
+        return reducer.value();
+    }
+
+    /**
+     * Sequentially reduces all the elements contained in this {@link ChunkedList},
+     * using an operation provided by default. Contrary to
+     * {@link #reduce(LongReducer.Op, Function)}, the extracted values are not
+     * boxed.
+     *
+     * @param op          specifies the type of reduction operation
+     * @param extractFunc defines the value to be reduced
+     * @return the value after the reduction has completed
+     */
+    public default long reduceToLong(LongReducer.Op op, ToLongFunction<? super T> extractFunc) {
+        final LongReducer reducer = new LongReducer(op);
+        forEach(t -> reducer.reduce(extractFunc.applyAsLong(t)));
+        return reducer.value();
+    }
 }
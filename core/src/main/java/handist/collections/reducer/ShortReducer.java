@@ -1,7 +1,6 @@
 package handist.collections.reducer;
 
 import java.io.Serializable;
-import java.util.function.Consumer;
 
 import mpi.MPI;
 
@@ -32,33 +31,22 @@ public class ShortReducer implements Serializable {
     }
 
     private short value;
-    private final Consumer<Short> reduceFunc;
+    private final Op op;
 
     public ShortReducer(Op op) {
+        this.op = op;
         switch (op) {
         case SUM:
             value = 0;
-            reduceFunc = (input) -> value += input;
             break;
         case PROD:
             value = 1;
-            reduceFunc = (input) -> value *= input;
             break;
         case MAX:
             value = Short.MIN_VALUE;
-            reduceFunc = (input) -> {
-                if (input > value) {
-                    value = input;
-                }
-            };
             break;
         case MIN:
             value = Short.MAX_VALUE;
-            reduceFunc = (input) -> {
-                if (input < value) {
-                    value = input;
-                }
-            };
             break;
         default:
             throw new UnsupportedOperationException("ShortReducer does not support the operation :" + op);
@@ -66,7 +54,24 @@ public class ShortReducer implements Serializable {
     }
 
     public void reduce(short input) {
-        reduceFunc.accept(input);
+        switch (op) {
+        case SUM:
+            value = (short) (value + input);
+            break;
+        case PROD:
+            value = (short) (value * input);
+            break;
+        case MAX:
+            if (input > value) {
+                value = input;
+            }
+            break;
+        case MIN:
+            if (input < value) {
+                value = input;
+            }
+            break;
+        }
     }
 
     public short value() {
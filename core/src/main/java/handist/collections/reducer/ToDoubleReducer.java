@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.reducer;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link Reducer} which extracts a {@code double} from each element with a
+ * {@link ToDoubleFunction} and reduces these values with one of the
+ * operations of {@link DoubleReducer}. Values are accumulated into a primitive
+ * field, no boxing takes place during the reduction.
+ * <p>
+ * This class is used by the {@code reduceToDouble} and
+ * {@code parallelReduceToDouble} methods of the library's collections, but can
+ * also be given to any method accepting a {@link Reducer}.
+ *
+ * @param <T> type of the elements reduced
+ */
+public class ToDoubleReducer<T> extends Reducer<ToDoubleReducer<T>, T> {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -2407553011950413867L;
+
+    /**
+     * Function extracting the value to reduce from each element. It needs to be
+     * serializable if this reducer is transferred to other hosts, as is the case
+     * with the GLB reductions.
+     */
+    private final ToDoubleFunction<? super T> extractFunc;
+
+    /** Operation performed */
+    private final DoubleReducer.Op op;
+
+    /** Accumulated value */
+    private final DoubleReducer reducer;
+
+    /**
+     * Creates a new reducer
+     *
+     * @param op          the reduction operation to perform
+     * @param extractFunc function extracting the value to reduce from each
+     *                    element
+     */
+    public ToDoubleReducer(DoubleReducer.Op op, ToDoubleFunction<? super T> extractFunc) {
+        this.op = op;
+        this.extractFunc = extractFunc;
+        reducer = new DoubleReducer(op);
+    }
+
+    @Override
+    public void merge(ToDoubleReducer<T> other) {
+        reducer.reduce(other.value());
+    }
+
+    @Override
+    public ToDoubleReducer<T> newReducer() {
+        return new ToDoubleReducer<>(op, extractFunc);
+    }
+
+    @Override
+    public void reduce(T input) {
+        reducer.reduce(extractFunc.applyAsDouble(input));
+    }
+
+    /**
+     * Returns the result of the reduction
+     *
+     * @return the value reduced so far
+     */
+    public double value() {
+        return reducer.value();
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.reducer;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * {@link Reducer} which extracts an {@code int} from each element with a
+ * {@link ToIntFunction} and reduces these values with one of the
+ * operations of {@link IntReducer}. Values are accumulated into a primitive
+ * field, no boxing takes place during the reduction.
+ * <p>
+ * This class is used by the {@code reduceToInt} and
+ * {@code parallelReduceToInt} methods of the library's collections, but can
+ * also be given to any method accepting a {@link Reducer}.
+ *
+ * @param <T> type of the elements reduced
+ */
+public class ToIntReducer<T> extends Reducer<ToIntReducer<T>, T> {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -1783120935570542281L;
+
+    /**
+     * Function extracting the value to reduce from each element. It needs to be
+     * serializable if this reducer is transferred to other hosts, as is the case
+     * with the GLB reductions.
+     */
+    private final ToIntFunction<? super T> extractFunc;
+
+    /** Operation performed */
+    private final IntReducer.Op op;
+
+    /** Accumulated value */
+    private final IntReducer reducer;
+
+    /**
+     * Creates a new reducer
+     *
+     * @param op          the reduction operation to perform
+     * @param extractFunc function extracting the value to reduce from each
+     *                    element
+     */
+    public ToIntReducer(IntReducer.Op op, ToIntFunction<? super T> extractFunc) {
+        this.op = op;
+        this.extractFunc = extractFunc;
+        reducer = new IntReducer(op);
+    }
+
+    @Override
+    public void merge(ToIntReducer<T> other) {
+        reducer.reduce(other.value());
+    }
+
+    @Override
+    public ToIntReducer<T> newReducer() {
+        return new ToIntReducer<>(op, extractFunc);
+    }
+
+    @Override
+    public void reduce(T input) {
+        reducer.reduce(extractFunc.applyAsInt(input));
+    }
+
+    /**
+     * Returns the result of the reduction
+     *
+     * @return the value reduced so far
+     */
+    public int value() {
+        return reducer.value();
+    }
+}
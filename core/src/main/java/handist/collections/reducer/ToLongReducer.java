@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.reducer;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link Reducer} which extracts a {@code long} from each element with a
+ * {@link ToLongFunction} and reduces these values with one of the
+ * operations of {@link LongReducer}. Values are accumulated into a primitive
+ * field, no boxing takes place during the reduction.
+ * <p>
+ * This class is used by the {@code reduceToLong} and
+ * {@code parallelReduceToLong} methods of the library's collections, but can
+ * also be given to any method accepting a {@link Reducer}.
+ *
+ * @param <T> type of the elements reduced
+ */
+public class ToLongReducer<T> extends Reducer<ToLongReducer<T>, T> {
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = 6330283742853925108L;
+
+    /**
+     * Function extracting the value to reduce from each element. It needs to be
+     * serializable if this reducer is transferred to other hosts, as is the case
+     * with the GLB reductions.
+     */
+    private final ToLongFunction<? super T> extractFunc;
+
+    /** Operation performed */
+    private final LongReducer.Op op;
+
+    /** Accumulated value */
+    private final LongReducer reducer;
+
+    /**
+     * Creates a new reducer
+     *
+     * @param op          the reduction operation to perform
+     * @param extractFunc function extracting the value to reduce from each
+     *                    element
+     */
+    public ToLongReducer(LongReducer.Op op, ToLongFunction<? super T> extractFunc) {
+        this.op = op;
+        this.extractFunc = extractFunc;
+        reducer = new LongReducer(op);
+    }
+
+    @Override
+    public void merge(ToLongReducer<T> other) {
+        reducer.reduce(other.value());
+    }
+
+    @Override
+    public ToLongReducer<T> newReducer() {
+        return new ToLongReducer<>(op, extractFunc);
+    }
+
+    @Override
+    public void reduce(T input) {
+        reducer.reduce(extractFunc.applyAsLong(input));
+    }
+
+    /**
+     * Returns the result of the reduction
+     *
+     * @return the value reduced so far
+     */
+    public long value() {
+        return reducer.value();
+    }
+}
@@ -18,7 +18,11 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
 import java.util.function.Function;
 
 import org.junit.Before;
@@ -404,6 +408,30 @@ public class TestChunk implements Serializable {
         assertSame(includeNullChunk.size(), 5l);
     }
 
+    @Test
+    public void testSpliterator() {
+        final Spliterator<Element> spliterator = chunk.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(5l, spliterator.getExactSizeIfKnown());
+        final Spliterator<Element> prefix = spliterator.trySplit();
+        assertEquals(2l, prefix.estimateSize());
+        assertEquals(3l, spliterator.estimateSize());
+        assertTrue(prefix.tryAdvance(e -> assertSame(elems[0], e)));
+        final List<Element> rest = new ArrayList<>();
+        prefix.forEachRemaining(rest::add);
+        spliterator.forEachRemaining(rest::add);
+        assertEquals(Arrays.asList(elems[1], elems[2], elems[3], elems[4]), rest);
+    }
+
+    @Test
+    public void testStream() {
+        assertEquals(10, chunk.stream().mapToInt(e -> e.n).sum());
+        assertEquals(10, chunk.parallelStream().mapToInt(e -> e.n).sum());
+        assertEquals(5l, includeNullChunk.stream().filter(e -> e == null).count());
+        assertArrayEquals(new long[] { 1, 2 }, chunk.subList(1, 3).indexStream().toArray());
+        assertEquals(10l, chunk.parallelIndexStream().sum());
+    }
+
     @Test
     public void testSubList() {
         // same range
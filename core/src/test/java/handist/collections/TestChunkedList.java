@@ -23,8 +23,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -37,6 +39,7 @@ import org.junit.Test;
 
 import handist.collections.dist.util.ObjectInput;
 import handist.collections.dist.util.ObjectOutput;
+import handist.collections.reducer.IntReducer;
 import handist.collections.reducer.Reducer;
 
 @SuppressWarnings("deprecation")
@@ -247,6 +250,51 @@ public class TestChunkedList {
         assertEquals(1, newlyCreatedChunkedList.numChunks());
     }
 
+    /**
+     * Adds overlapping chunks from several threads at once and checks that the
+     * chunks kept do not overlap and are counted once
+     */
+    @Test(timeout = 20000)
+    public void testAddChunkConcurrentOverlap() throws InterruptedException, ExecutionException {
+        final LongRange[] ranges = { new LongRange(0, 10), new LongRange(0, 10), new LongRange(5, 15),
+                new LongRange(9, 20) };
+        final ExecutorService pool = Executors.newFixedThreadPool(ranges.length);
+        try {
+            for (int repeat = 0; repeat < 200; repeat++) {
+                final ChunkedList<Element> list = new ChunkedList<>();
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<?>> futures = new ArrayList<>();
+                for (final LongRange r : ranges) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        try {
+                            list.add(new Chunk<>(r));
+                        } catch (final ElementOverlapException e) {
+                            // Expected for all the chunks but one
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (final Future<?> f : futures) {
+                    f.get();
+                }
+
+                long expectedSize = 0l;
+                LongRange previous = null;
+                for (final LongRange r : list.ranges()) {
+                    assertTrue(previous == null || previous.to <= r.from);
+                    expectedSize += r.size();
+                    previous = r;
+                }
+                assertTrue(list.numChunks() <= 2);
+                assertEquals(expectedSize, list.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test(expected = RuntimeException.class)
     public void testAddChunkErrorIdenticalChunk() {
         chunkedList.add(chunks[1]);
@@ -793,6 +841,43 @@ public class TestChunkedList {
         chunkedList.forEach((e) -> e.increase(2));
     }
 
+    @Test
+    public void testFreeze() {
+        chunkedList.freeze();
+        for (int i = 0; i < 6; i++) {
+            if (i != 4) {
+                assertEquals(elems[i], chunkedList.get(i));
+            }
+        }
+        assertTrue(chunkedList.containsIndex(5));
+        assertFalse(chunkedList.containsIndex(-1));
+        assertFalse(chunkedList.containsIndex(6));
+        chunkedList.set(4, elems[4]);
+        assertEquals(elems[4], chunks[1].get(4));
+
+        // Removing and adding chunks discards the frozen index
+        chunkedList.remove(new LongRange(3, 5));
+        assertFalse(chunkedList.containsIndex(3));
+        final Chunk<Element> far = new Chunk<>(new LongRange(100, 110), new Element(42));
+        chunkedList.add(far);
+        assertEquals(42, chunkedList.get(105).n);
+
+        chunkedList.freeze();
+        assertFalse(chunkedList.containsIndex(4));
+        assertFalse(chunkedList.containsIndex(50));
+        assertEquals(elems[5], chunkedList.get(5));
+        assertEquals(42, chunkedList.get(109).n);
+        assertFalse(chunkedList.containsIndex(110));
+        chunkedList.clear();
+        assertFalse(chunkedList.containsIndex(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testFreezeGetError() {
+        chunkedList.freeze();
+        chunkedList.get(6);
+    }
+
     @Test
     public void testGet() {
         assertEquals(elems[0], chunkedList.get(0));
@@ -976,6 +1061,49 @@ public class TestChunkedList {
         assertEquals(0l, noElements.counter);
     }
 
+    @Test
+    public void testParallelWorkStealing() {
+        // Chunks of very different sizes, with a gap between two of them
+        final ChunkedList<Element> cl = new ChunkedList<>();
+        cl.add(new Chunk<>(new LongRange(0, 1), (Long i) -> new Element(i.intValue())));
+        cl.add(new Chunk<>(new LongRange(1, 200), (Long i) -> new Element(i.intValue())));
+        cl.add(new Chunk<>(new LongRange(250, 260), (Long i) -> new Element(i.intValue())));
+        cl.add(new Chunk<>(new LongRange(260, 263), (Long i) -> new Element(i.intValue())));
+        cl.setParallelGrain(7);
+        assertEquals(7l, cl.getParallelGrain());
+        assertEquals(7l, new ChunkedList.UnmodifiableView<>(cl).getParallelGrain());
+
+        cl.parallelForEach(2, (long l, Element e) -> {
+            assertEquals(l, e.n);
+            e.increase(1000);
+        });
+        cl.forEach((long l, Element e) -> assertEquals(l + 1000, e.n));
+
+        final ElementCounter<Element> ec = cl.parallelReduce(3, new ElementCounter<>());
+        assertEquals(cl.size(), ec.counter);
+        assertEquals(cl.size(), cl.parallelReduce(IntReducer.Op.SUM, e -> 1));
+
+        final Bag<Integer> bag = new Bag<>();
+        cl.parallelToBag(4, (Element e, Consumer<? super Integer> c) -> c.accept(e.n), bag);
+        final List<Integer> values = bag.convertToList();
+        assertEquals(cl.size(), values.size());
+        assertEquals(new ConcurrentSkipListSet<>(values).size(), values.size());
+
+        // Back to the static split
+        cl.setParallelGrain(0);
+        cl.parallelForEach((e) -> e.increase(-1000));
+        cl.forEach((long l, Element e) -> assertEquals(l, e.n));
+
+        // Empty collection
+        newlyCreatedChunkedList.setParallelGrain(1);
+        assertEquals(0l, newlyCreatedChunkedList.parallelReduce(new ElementCounter<>()).counter);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetParallelGrainNegative() {
+        chunkedList.setParallelGrain(-1);
+    }
+
     @Test
     public void testRanges() {
         int i = 0;
@@ -1170,6 +1298,52 @@ public class TestChunkedList {
         assertTrue(x.get() == 8);
     }
 
+    @Test
+    public void testSpliterator() {
+        // Chunks [0,3), [3,5) and [5,6)
+        final Spliterator<Element> spliterator = chunkedList.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(6l, spliterator.getExactSizeIfKnown());
+        // Split on the chunk boundary closest to the middle
+        final Spliterator<Element> prefix = spliterator.trySplit();
+        assertEquals(3l, prefix.estimateSize());
+        assertEquals(3l, spliterator.estimateSize());
+        // Splits inside chunk [0,3)
+        final Spliterator<Element> first = prefix.trySplit();
+        assertEquals(1l, first.estimateSize());
+        assertEquals(2l, prefix.estimateSize());
+
+        final List<Element> traversed = new ArrayList<>();
+        assertTrue(first.tryAdvance(traversed::add));
+        assertFalse(first.tryAdvance(traversed::add));
+        prefix.forEachRemaining(traversed::add);
+        while (spliterator.tryAdvance(traversed::add)) {
+            ;
+        }
+        assertEquals(Arrays.asList(elems[0], elems[1], elems[2], elems[3], null, elems[5]), traversed);
+
+        assertNull(newlyCreatedChunkedList.spliterator().trySplit());
+        assertEquals(0l, newlyCreatedChunkedList.spliterator().estimateSize());
+    }
+
+    @Test
+    public void testStream() {
+        final ChunkedList<Element> cl = new ChunkedList<>();
+        cl.add(new Chunk<>(new LongRange(0, 1000), (Long i) -> new Element(i.intValue())));
+        cl.add(new Chunk<>(new LongRange(2000, 2010), (Long i) -> new Element(i.intValue())));
+        cl.add(new Chunk<>(new LongRange(3000, 4000), (Long i) -> new Element(i.intValue())));
+
+        final long expected = cl.indexStream().sum();
+        assertEquals(expected, cl.stream().mapToLong(e -> e.n).sum());
+        assertEquals(expected, cl.parallelStream().mapToLong(e -> e.n).sum());
+        assertEquals(expected, cl.parallelIndexStream().sum());
+        assertEquals(2010l, cl.indexStream().count());
+        assertArrayEquals(cl.indexStream().toArray(), cl.parallelIndexStream().toArray());
+        assertArrayEquals(cl.stream().toArray(), cl.parallelStream().toArray());
+        assertEquals(2010l, new ChunkedList.UnmodifiableView<>(cl).parallelStream().count());
+        assertEquals(0l, newlyCreatedChunkedList.parallelStream().count());
+    }
+
     @Test
     public void testToString() {
         assertEquals("[ChunkedList(3),[[0,3)]:0,1,2,[[3,5)]:3,null,[[5,6)]:5]", chunkedList.toString());
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.PrimitiveIterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import handist.collections.dist.util.ObjectInput;
+import handist.collections.dist.util.ObjectOutput;
+
+public class TestDoubleChunk {
+
+    /** chunk on [10,20) with value i*0.5 at index i */
+    private DoubleChunk chunk;
+
+    @Before
+    public void setUp() {
+        chunk = new DoubleChunk(new LongRange(10, 20), (long i) -> i * 0.5);
+    }
+
+    @Test
+    public void testAddToChunkedList() {
+        final ChunkedList<Double> cl = new ChunkedList<>();
+        cl.add(chunk);
+        cl.add(new DoubleChunk(new LongRange(20, 25), 1.0));
+        assertEquals(15, cl.size());
+        assertEquals(5.5, cl.get(11), 0.0);
+        assertEquals(1.0, cl.get(24), 0.0);
+        cl.set(12, 42.0);
+        assertEquals(42.0, chunk.getDouble(12), 0.0);
+    }
+
+    @Test
+    public void testClone() {
+        final DoubleChunk clone = chunk.clone();
+        assertEquals(chunk, clone);
+        assertNotSame(chunk.toDoubleArray(), clone.toDoubleArray());
+        clone.setDouble(10, -1.0);
+        assertEquals(5.0, chunk.getDouble(10), 0.0);
+    }
+
+    @Test
+    public void testCloneRange() {
+        final DoubleChunk sub = chunk.cloneRange(new LongRange(12, 15));
+        assertEquals(new LongRange(12, 15), sub.getRange());
+        for (long i = 12; i < 15; i++) {
+            assertEquals(chunk.getDouble(i), sub.getDouble(i), 0.0);
+        }
+        final DoubleChunk whole = chunk.cloneRange(new LongRange(10, 20));
+        assertNotSame(chunk.toDoubleArray(), whole.toDoubleArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorArraySizeMismatch() {
+        new DoubleChunk(new LongRange(0, 5), new double[4]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorEmptyRange() {
+        new DoubleChunk(new LongRange(5, 5));
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(chunk.contains(5.5));
+        assertFalse(chunk.contains(5.25));
+        assertFalse(chunk.contains(null));
+        assertFalse(chunk.contains(11));
+    }
+
+    @Test
+    public void testEqualsBoxedChunk() {
+        final Chunk<Double> boxed = new Chunk<>(new LongRange(10, 20), (Long i) -> i * 0.5);
+        assertEquals(chunk, boxed);
+        assertEquals(boxed, chunk);
+        assertEquals(boxed.hashCode(), chunk.hashCode());
+        assertEquals(boxed, chunk.toChunk(chunk.getRange()));
+    }
+
+    @Test
+    public void testForEach() {
+        final double[] sum = new double[1];
+        chunk.forEachDouble((i, v) -> {
+            assertEquals(i * 0.5, v, 0.0);
+            sum[0] += v;
+        });
+        assertEquals(72.5, sum[0], 0.0);
+
+        sum[0] = 0;
+        chunk.forEachDouble(new LongRange(12, 14), (i, v) -> sum[0] += v);
+        assertEquals(12.5, sum[0], 0.0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testForEachOutOfRange() {
+        chunk.forEachDouble(new LongRange(5, 12), (i, v) -> {
+        });
+    }
+
+    @Test
+    public void testGetSet() {
+        assertEquals(7.0, chunk.getDouble(14), 0.0);
+        assertEquals(7.0, chunk.get(14), 0.0);
+        assertEquals(7.0, chunk.setDouble(14, 1.5), 0.0);
+        assertEquals(1.5, chunk.set(14, 2.5), 0.0);
+        assertEquals(2.5, chunk.getDouble(14), 0.0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        chunk.getDouble(20);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetOutOfRange() {
+        chunk.setDouble(9, 0.0);
+    }
+
+    @Test
+    public void testIterator() {
+        final PrimitiveIterator.OfDouble it = chunk.iterator();
+        for (long i = 10; i < 20; i++) {
+            assertTrue(it.hasNext());
+            assertEquals(i * 0.5, it.nextDouble(), 0.0);
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testListIterator() {
+        final RangedListIterator<Double> it = chunk.listIterator(15);
+        assertEquals(15, it.nextIndex());
+        assertEquals(7.5, it.next(), 0.0);
+        it.set(0.0);
+        assertEquals(0.0, chunk.getDouble(15), 0.0);
+        assertEquals(15, it.previousIndex());
+        assertEquals(0.0, it.previous(), 0.0);
+        assertEquals(7.0, it.previous(), 0.0);
+    }
+
+    @Test
+    public void testSplitRange() {
+        final LinkedList<RangedList<Double>> split = chunk.splitRange(13, 17);
+        assertEquals(3, split.size());
+        assertEquals(new LongRange(10, 13), split.get(0).getRange());
+        assertEquals(new LongRange(13, 17), split.get(1).getRange());
+        assertEquals(new LongRange(17, 20), split.get(2).getRange());
+
+        final Iterator<Double> it = split.get(1).iterator();
+        for (long i = 13; i < 17; i++) {
+            assertEquals(i * 0.5, it.next(), 0.0);
+        }
+        assertFalse(it.hasNext());
+
+        // Views write through to the underlying array
+        split.get(2).set(18, 100.0);
+        assertEquals(100.0, chunk.getDouble(18), 0.0);
+    }
+
+    @Test
+    public void testToDoubleArray() {
+        assertSame(chunk.toDoubleArray(), chunk.toDoubleArray(chunk.getRange()));
+        final double[] sub = chunk.toDoubleArray(new LongRange(18, 20));
+        assertArrayEquals(new double[] { 9.0, 9.5 }, sub, 0.0);
+    }
+
+    @Test
+    public void testToString() {
+        final DoubleChunk small = new DoubleChunk(new LongRange(0, 3), 1.5);
+        assertEquals("[[0,3)]:1.5,1.5,1.5", small.toString());
+    }
+
+    @Test
+    public void testViewSerialization() {
+        final RangedList<Double> view = chunk.splitRange(15).getLast();
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        final ObjectOutput objectOut = new ObjectOutput(byteOut);
+        objectOut.writeObject(view);
+        objectOut.close();
+
+        final ObjectInput objectIn = new ObjectInput(new ByteArrayInputStream(byteOut.toByteArray()));
+        @SuppressWarnings("unchecked")
+        final RangedList<Double> read = (RangedList<Double>) objectIn.readObject();
+        objectIn.close();
+        assertEquals(view, read);
+    }
+
+    @Test
+    public void testWriteObject() throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        final ObjectOutputStream objectOut = new ObjectOutputStream(byteOut);
+        objectOut.writeObject(chunk);
+        objectOut.close();
+
+        final ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(byteOut.toByteArray()));
+        final DoubleChunk readChunk = (DoubleChunk) objectIn.readObject();
+        objectIn.close();
+        assertEquals(chunk, readChunk);
+    }
+
+    @Test
+    public void testWriteObjectKryo() {
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        final ObjectOutput objectOut = new ObjectOutput(byteOut);
+        objectOut.writeObject(chunk);
+        objectOut.close();
+
+        final ObjectInput objectIn = new ObjectInput(new ByteArrayInputStream(byteOut.toByteArray()));
+        final DoubleChunk readChunk = (DoubleChunk) objectIn.readObject();
+        objectIn.close();
+        assertEquals(chunk, readChunk);
+    }
+}
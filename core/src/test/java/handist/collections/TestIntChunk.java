@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import handist.collections.dist.util.ObjectInput;
+import handist.collections.dist.util.ObjectOutput;
+
+public class TestIntChunk {
+
+    /** chunk on [10,20) with value 2*i at index i */
+    private IntChunk chunk;
+
+    @Before
+    public void setUp() {
+        chunk = new IntChunk(new LongRange(10, 20), (long i) -> (int) (2 * i));
+    }
+
+    @Test
+    public void testAddToChunkedList() {
+        final ChunkedList<Integer> cl = new ChunkedList<>();
+        cl.add(chunk);
+        assertEquals(10, cl.size());
+        assertEquals(Integer.valueOf(22), cl.get(11));
+        cl.set(12, Integer.valueOf(5));
+        assertEquals(5, chunk.getInt(12));
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(chunk.contains(Integer.valueOf(30)));
+        assertFalse(chunk.contains(Integer.valueOf(31)));
+        assertFalse(chunk.contains(null));
+    }
+
+    @Test
+    public void testForEach() {
+        final long[] sum = new long[1];
+        chunk.forEachInt((i, v) -> {
+            assertEquals(2 * i, v);
+            sum[0] += v;
+        });
+        assertEquals(290, sum[0]);
+    }
+
+    @Test
+    public void testGetSet() {
+        assertEquals(28, chunk.getInt(14));
+        assertEquals(28, chunk.setInt(14, 3));
+        assertEquals(3, chunk.getInt(14));
+        assertEquals(Integer.valueOf(3), chunk.get(14));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        chunk.getInt(9);
+    }
+
+    @Test
+    public void testSplitRange() {
+        final LinkedList<RangedList<Integer>> split = chunk.splitRange(15);
+        assertEquals(new LongRange(10, 15), split.getFirst().getRange());
+        assertEquals(new LongRange(15, 20), split.getLast().getRange());
+        assertEquals(Integer.valueOf(30), split.getLast().get(15));
+    }
+
+    @Test
+    public void testWriteObjectKryo() {
+        final RangedList<Integer> view = chunk.splitRange(15).getLast();
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        final ObjectOutput objectOut = new ObjectOutput(byteOut);
+        objectOut.writeObject(chunk);
+        objectOut.writeObject(view);
+        objectOut.close();
+
+        final ObjectInput objectIn = new ObjectInput(new ByteArrayInputStream(byteOut.toByteArray()));
+        final IntChunk readChunk = (IntChunk) objectIn.readObject();
+        @SuppressWarnings("unchecked")
+        final RangedList<Integer> readView = (RangedList<Integer>) objectIn.readObject();
+        objectIn.close();
+        assertEquals(chunk, readChunk);
+        assertEquals(view, readView);
+    }
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import handist.collections.reducer.Reducer;
+
+public class TestLazyPipeline {
+
+    /** Reducer computing the sum of long values */
+    static class Sum extends Reducer<Sum, Long> {
+        private static final long serialVersionUID = -5472981375802393262L;
+        long sum = 0;
+
+        @Override
+        public void merge(Sum reducer) {
+            sum += reducer.sum;
+        }
+
+        @Override
+        public Sum newReducer() {
+            return new Sum();
+        }
+
+        @Override
+        public void reduce(Long input) {
+            sum += input;
+        }
+    }
+
+    /** Collection on [0,100) and [200,250) with value i at index i */
+    private ChunkedList<Long> list;
+
+    /** Expected sum of the squares of the even indices of {@link #list} */
+    private long evenSquares;
+
+    @Before
+    public void setUp() {
+        list = new ChunkedList<>();
+        list.add(new Chunk<>(new LongRange(0, 100), (Long i) -> i));
+        list.add(new Chunk<>(new LongRange(200, 250), (Long i) -> i));
+        evenSquares = 0;
+        for (final long i : list.indexStream().toArray()) {
+            if (i % 2 == 0) {
+                evenSquares += i * i;
+            }
+        }
+    }
+
+    @Test
+    public void testAsChunkedList() {
+        final ChunkedList<Long> view = list.lazy().map(i -> i + 1).asChunkedList();
+        assertEquals(list.size(), view.size());
+        assertEquals(list.numChunks(), view.numChunks());
+        assertEquals(201l, view.get(200).longValue());
+        list.set(200, 0l);
+        assertEquals(1l, view.get(200).longValue());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAsChunkedListFiltered() {
+        list.lazy().filter(i -> i > 10).asChunkedList();
+    }
+
+    @Test
+    public void testForEach() {
+        final List<Long> indices = new ArrayList<>();
+        list.lazy().filter(i -> i % 50 == 0).mapIndexed((long l, Long i) -> l + i).forEach((long l, Long v) -> {
+            assertEquals(2 * l, v.longValue());
+            indices.add(l);
+        });
+        assertEquals(3, indices.size());
+        assertEquals(0l, indices.get(0).longValue());
+        assertEquals(50l, indices.get(1).longValue());
+        assertEquals(200l, indices.get(2).longValue());
+    }
+
+    @Test
+    public void testLaziness() {
+        final AtomicLong calls = new AtomicLong();
+        final LazyPipeline<Long, Long> pipeline = list.lazy().map(i -> {
+            calls.incrementAndGet();
+            return i;
+        });
+        assertEquals(0l, calls.get());
+        pipeline.filter(i -> i < 0).forEach(i -> fail());
+        assertEquals(list.size(), calls.get());
+    }
+
+    @Test
+    public void testParallelForEach() {
+        final AtomicLong sum = new AtomicLong();
+        list.lazy().filter(i -> i % 2 == 0).map(i -> i * i).parallelForEach(i -> sum.addAndGet(i));
+        assertEquals(evenSquares, sum.get());
+    }
+
+    @Test
+    public void testParallelReduce() {
+        final Sum sum = list.lazy().filter(i -> i % 2 == 0).map(i -> i * i).parallelReduce(new Sum());
+        assertEquals(evenSquares, sum.sum);
+
+        list.setParallelGrain(7);
+        final Sum stolen = list.lazy().filter(i -> i % 2 == 0).map(i -> i * i).parallelReduce(3, new Sum());
+        assertEquals(evenSquares, stolen.sum);
+
+        assertEquals(evenSquares, list.lazy().filter(i -> i % 2 == 0).map(i -> i * i).reduce(new Sum()).sum);
+    }
+
+    @Test
+    public void testParallelToBag() {
+        final Bag<String> bag = new Bag<>();
+        list.lazy().filter(i -> i >= 240).map(i -> "v" + i).parallelToBag(4, bag);
+        final List<String> result = bag.convertToList();
+        Collections.sort(result);
+        assertEquals(10, result.size());
+        assertEquals("v240", result.get(0));
+        assertEquals("v249", result.get(9));
+    }
+
+    @Test
+    public void testToChunkedList() {
+        final ChunkedList<String> result = list.lazy().mapIndexed((long l, Long i) -> l + ":" + (i * 2))
+                .toChunkedList();
+        assertEquals(list.size(), result.size());
+        assertEquals(list.ranges(), result.ranges());
+        assertEquals("5:10", result.get(5));
+        assertEquals("249:498", result.get(249));
+        // The result is independent from the source
+        list.set(5, 0l);
+        assertEquals("5:10", result.get(5));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testToChunkedListFiltered() {
+        list.lazy().filter(i -> i > 10).toChunkedList();
+    }
+
+    @Test
+    public void testUnmodifiableView() {
+        final ChunkedList<Long> view = new ChunkedList.UnmodifiableView<>(list);
+        assertEquals(evenSquares, view.lazy().filter(i -> i % 2 == 0).map(i -> i * i).parallelReduce(new Sum()).sum);
+    }
+}
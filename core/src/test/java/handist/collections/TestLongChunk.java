@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import handist.collections.dist.util.ObjectInput;
+import handist.collections.dist.util.ObjectOutput;
+
+public class TestLongChunk {
+
+    /** chunk on [10,20) with value 2*i at index i */
+    private LongChunk chunk;
+
+    @Before
+    public void setUp() {
+        chunk = new LongChunk(new LongRange(10, 20), (long i) -> 2 * i);
+    }
+
+    @Test
+    public void testAddToChunkedList() {
+        final ChunkedList<Long> cl = new ChunkedList<>();
+        cl.add(chunk);
+        assertEquals(10, cl.size());
+        assertEquals(Long.valueOf(22L), cl.get(11));
+        cl.set(12, Long.valueOf(5L));
+        assertEquals(5, chunk.getLong(12));
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(chunk.contains(Long.valueOf(30L)));
+        assertFalse(chunk.contains(Long.valueOf(31L)));
+        assertFalse(chunk.contains(null));
+    }
+
+    @Test
+    public void testForEach() {
+        final long[] sum = new long[1];
+        chunk.forEachLong((i, v) -> {
+            assertEquals(2 * i, v);
+            sum[0] += v;
+        });
+        assertEquals(290, sum[0]);
+    }
+
+    @Test
+    public void testGetSet() {
+        assertEquals(28, chunk.getLong(14));
+        assertEquals(28, chunk.setLong(14, 3));
+        assertEquals(3, chunk.getLong(14));
+        assertEquals(Long.valueOf(3L), chunk.get(14));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        chunk.getLong(9);
+    }
+
+    @Test
+    public void testSplitRange() {
+        final LinkedList<RangedList<Long>> split = chunk.splitRange(15);
+        assertEquals(new LongRange(10, 15), split.getFirst().getRange());
+        assertEquals(new LongRange(15, 20), split.getLast().getRange());
+        assertEquals(Long.valueOf(30L), split.getLast().get(15));
+    }
+
+    @Test
+    public void testWriteObjectKryo() {
+        final RangedList<Long> view = chunk.splitRange(15).getLast();
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        final ObjectOutput objectOut = new ObjectOutput(byteOut);
+        objectOut.writeObject(chunk);
+        objectOut.writeObject(view);
+        objectOut.close();
+
+        final ObjectInput objectIn = new ObjectInput(new ByteArrayInputStream(byteOut.toByteArray()));
+        final LongChunk readChunk = (LongChunk) objectIn.readObject();
+        @SuppressWarnings("unchecked")
+        final RangedList<Long> readView = (RangedList<Long>) objectIn.readObject();
+        objectIn.close();
+        assertEquals(chunk, readChunk);
+        assertEquals(view, readView);
+    }
+}
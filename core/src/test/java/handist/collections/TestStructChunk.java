@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import apgas.impl.KryoSerializer;
+
+import handist.collections.StructChunk.Record;
+import handist.collections.StructLayout.Type;
+import handist.collections.dist.util.ObjectInput;
+import handist.collections.dist.util.ObjectOutput;
+
+public class TestStructChunk {
+
+    /** Field identifiers */
+    static final int X = 0, ID = 1, FLAG = 2;
+
+    /** Layout used for the tests */
+    static final StructLayout LAYOUT = new StructLayout(Type.DOUBLE, Type.LONG, Type.BYTE);
+
+    /** chunk on [10,20), field X set to i*0.5, ID to i, FLAG to i%2 */
+    private StructChunk chunk;
+
+    @Before
+    public void setUp() {
+        chunk = new StructChunk(new LongRange(10, 20), LAYOUT);
+        for (long i = 10; i < 20; i++) {
+            chunk.setDouble(i, X, i * 0.5);
+            chunk.setLong(i, ID, i);
+            chunk.setByte(i, FLAG, (byte) (i % 2));
+        }
+    }
+
+    @Test
+    public void testAddToChunkedList() {
+        final ChunkedList<Record> cl = new ChunkedList<>();
+        cl.add(chunk);
+        assertEquals(10, cl.size());
+        assertEquals(15l, cl.get(15).getLong(ID));
+        final long[] sum = new long[1];
+        cl.forEach(r -> sum[0] += r.getLong(ID));
+        assertEquals(145l, sum[0]);
+    }
+
+    @Test
+    public void testCloneRange() {
+        final StructChunk copy = chunk.cloneRange(new LongRange(12, 15));
+        assertEquals(new LongRange(12, 15), copy.getRange());
+        for (long i = 12; i < 15; i++) {
+            assertEquals(chunk.get(i), copy.get(i));
+        }
+        copy.setDouble(12, X, -1.0);
+        assertEquals(6.0, chunk.getDouble(12, X), 0.0);
+        assertEquals(chunk, chunk.clone());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorEmptyRange() {
+        new StructChunk(new LongRange(3, 3), LAYOUT);
+    }
+
+    @Test
+    public void testContains() {
+        final StructChunk other = new StructChunk(new LongRange(0, 1), LAYOUT);
+        other.set(0, chunk.get(14));
+        assertTrue(chunk.contains(other.get(0)));
+        other.setLong(0, ID, 100l);
+        assertFalse(chunk.contains(other.get(0)));
+    }
+
+    @Test
+    public void testFlyweight() {
+        final Record r = chunk.record(10);
+        assertEquals(10l, r.index());
+        assertEquals(5.0, r.getDouble(X), 0.0);
+        r.moveTo(19).setDouble(X, 42.0);
+        assertEquals(42.0, chunk.getDouble(19, X), 0.0);
+        assertEquals(1, r.getByte(FLAG));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testFlyweightOutOfRange() {
+        chunk.record(10).moveTo(20);
+    }
+
+    @Test
+    public void testIteratorReusesFlyweight() {
+        final Iterator<Record> it = chunk.iterator();
+        final Record first = it.next();
+        assertEquals(10l, first.getLong(ID));
+        final Record second = it.next();
+        assertSame(first, second);
+        assertEquals(11l, second.getLong(ID));
+    }
+
+    /**
+     * Checks that the columns received from a host whose byte order differs are
+     * converted to the native byte order
+     */
+    @Test
+    public void testReadForeignByteOrder() {
+        final boolean bigEndian = ByteOrder.nativeOrder() != ByteOrder.BIG_ENDIAN;
+        final ByteBuffer x = ByteBuffer.allocate(10 * Double.BYTES);
+        final ByteBuffer id = ByteBuffer.allocate(10 * Long.BYTES);
+        final ByteBuffer flag = ByteBuffer.allocate(10);
+        x.order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        id.order(x.order());
+        for (long i = 10; i < 20; i++) {
+            x.putDouble(i * 0.5);
+            id.putLong(i);
+            flag.put((byte) (i % 2));
+        }
+
+        final Kryo kryo = KryoSerializer.getKryoInstance();
+        final Output output = new Output(1024, -1);
+        kryo.writeClassAndObject(output, chunk.getRange());
+        kryo.writeClassAndObject(output, LAYOUT);
+        output.writeBoolean(bigEndian);
+        output.writeBytes(x.array());
+        output.writeBytes(id.array());
+        output.writeBytes(flag.array());
+
+        final StructChunk readChunk = new StructChunk(new LongRange(0, 1), LAYOUT);
+        readChunk.read(kryo, new Input(output.toBytes()));
+        assertEquals(chunk, readChunk);
+        assertEquals(7.5, readChunk.getDouble(15, X), 0.0);
+    }
+
+    @Test
+    public void testSet() {
+        chunk.set(10, chunk.get(15));
+        assertEquals(7.5, chunk.getDouble(10, X), 0.0);
+        assertEquals(15l, chunk.getLong(10, ID));
+        assertEquals(1, chunk.getByte(10, FLAG));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetWrongLayout() {
+        final StructChunk other = new StructChunk(new LongRange(0, 1), new StructLayout(Type.INT));
+        chunk.set(10, other.get(0));
+    }
+
+    @Test
+    public void testSplitRange() {
+        final LinkedList<RangedList<Record>> split = chunk.splitRange(13);
+        assertEquals(new LongRange(10, 13), split.getFirst().getRange());
+        assertEquals(new LongRange(13, 20), split.getLast().getRange());
+        assertEquals(13l, split.getLast().get(13).getLong(ID));
+    }
+
+    @Test
+    public void testToList() {
+        final List<Record> list = chunk.toList();
+        assertEquals(10, list.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(10l + i, list.get(i).getLong(ID));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongFieldType() {
+        chunk.getInt(10, X);
+    }
+
+    @Test
+    public void testWriteObject() throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        final ObjectOutputStream objectOut = new ObjectOutputStream(byteOut);
+        objectOut.writeObject(chunk);
+        objectOut.close();
+
+        final ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(byteOut.toByteArray()));
+        final StructChunk readChunk = (StructChunk) objectIn.readObject();
+        objectIn.close();
+        assertEquals(LAYOUT, readChunk.getLayout());
+        assertEquals(chunk, readChunk);
+    }
+
+    @Test
+    public void testWriteObjectKryo() {
+        final RangedList<Record> view = chunk.splitRange(15).getLast();
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        final ObjectOutput objectOut = new ObjectOutput(byteOut);
+        objectOut.writeObject(view);
+        objectOut.close();
+
+        final ObjectInput objectIn = new ObjectInput(new ByteArrayInputStream(byteOut.toByteArray()));
+        @SuppressWarnings("unchecked")
+        final RangedList<Record> readView = (RangedList<Record>) objectIn.readObject();
+        objectIn.close();
+        assertEquals(view, readView);
+        assertEquals(19l, readView.get(19).getLong(ID));
+    }
+}
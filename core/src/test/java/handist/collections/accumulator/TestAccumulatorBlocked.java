@@ -0,0 +1,233 @@
+package handist.collections.accumulator;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import handist.collections.Chunk;
+import handist.collections.ChunkedList;
+import handist.collections.LongRange;
+import handist.collections.accumulator.Accumulator.ThreadLocalAccumulator;
+import handist.collections.accumulator.TestAccumulatorCompleteRange.IntValue;
+
+public class TestAccumulatorBlocked {
+
+    /**
+     * Ranges prepared for the ChunkedList used in all the tests of this class. We
+     * use contiguous ranges to simply loops.
+     */
+    final static LongRange lr1 = new LongRange(0, 100);
+    final static LongRange lr2 = new LongRange(100, 200);
+    final static LongRange lr3 = new LongRange(200, 400);
+
+    /**
+     * Initializer to prepare the contents of the chunks contained by the
+     * ChunkedList
+     */
+    final static Function<Long, IntValue> chunkInitializer = l -> {
+        return new IntValue(l.intValue());
+    };
+    final static int totalSize = (int) (lr1.size() + lr2.size() + lr3.size());
+
+    int randomIntArray[];
+
+    /**
+     * ChunkedList used as the ultimate target of the "accumulator" computation
+     */
+    ChunkedList<IntValue> source;
+
+    @Before
+    public void before() {
+        // Populate the source ChunkedList
+        source = new ChunkedList<>();
+        source.add(new Chunk<>(lr1, chunkInitializer));
+        source.add(new Chunk<>(lr2, chunkInitializer));
+        source.add(new Chunk<>(lr3, chunkInitializer));
+
+        // Populate the array with random integer values
+        final Random r = new Random(42l);
+        randomIntArray = new int[totalSize];
+        Arrays.setAll(randomIntArray, i -> {
+            return r.nextInt(1000);
+        });
+
+        // Populate the ChunkedList
+        int arrayIdx = 0;
+        for (final long l : lr1) {
+            source.get(l).value = randomIntArray[arrayIdx];
+            arrayIdx++;
+        }
+        for (final long l : lr2) {
+            source.get(l).value = randomIntArray[arrayIdx];
+            arrayIdx++;
+        }
+        for (final long l : lr3) {
+            source.get(l).value = randomIntArray[arrayIdx];
+            arrayIdx++;
+        }
+    }
+
+    @Test
+    public void testAllocationOfTLA() {
+        final Accumulator<IntValue> accumulator = new AccumulatorBlocked<>(source, 16, l -> new IntValue(0));
+
+        // A newly created accumulator has no threadLocalAccumulator yet
+        assertTrue(accumulator.threadLocalAccumulators.isEmpty());
+
+        // Check the number of allocated TLAs when asking for some for the first time
+        final List<ThreadLocalAccumulator<IntValue>> tlas = accumulator.obtainThreadLocalAccumulators(4);
+        assertEquals(4, tlas.size());
+        assertEquals(4, accumulator.threadLocalAccumulators.size());
+
+        // Check that no new TLAs are created when asking for fewer than was already
+        // initialized
+        final List<ThreadLocalAccumulator<IntValue>> tlas2 = accumulator.obtainThreadLocalAccumulators(2);
+        assertEquals(2, tlas2.size());
+        assertEquals(4, accumulator.threadLocalAccumulators.size());
+
+        // Check that the exact number of extra TLAs are created when asking for more
+        // than previously initialized
+        final List<ThreadLocalAccumulator<IntValue>> tlas3 = accumulator.obtainThreadLocalAccumulators(6);
+        assertEquals(6, tlas3.size());
+        assertEquals(6, accumulator.threadLocalAccumulators.size());
+
+        // Check that Reset discards all TLA
+        accumulator.reset();
+        assertTrue(accumulator.threadLocalAccumulators.isEmpty());
+    }
+
+    @Test
+    public void testBlockAllocationOnFirstTouch() {
+        final Accumulator<IntValue> acc = new AccumulatorBlocked<>(source, 16, l -> new IntValue(0));
+        final ThreadLocalAccumulator<IntValue> tla = acc.obtainThreadLocalAccumulators(1).get(0);
+        assertTrue(tla.ranges().isEmpty());
+
+        // The block containing the index is allocated, aligned on the block size
+        tla.acquire(35).value += 3;
+        assertEquals(1, tla.ranges().size());
+        assertEquals(new LongRange(32, 48), tla.ranges().iterator().next());
+        tla.acquire(47).value += 1;
+        assertEquals(1, tla.getChunkedList().numChunks());
+
+        // Blocks are clipped to the ranges they belong to
+        tla.acquire(98).value += 1;
+        tla.acquire(100).value += 1;
+        assertTrue(tla.ranges().contains(new LongRange(96, 100)));
+        assertTrue(tla.ranges().contains(new LongRange(100, 112)));
+        assertEquals(32, tla.getChunkedList().size());
+
+        // Acquiring a range allocates every block it overlaps
+        final ChunkedList<IntValue> sub = tla.acquire(new LongRange(190, 230));
+        assertEquals(40, sub.size());
+        assertEquals(3, tla.acquire(35).value);
+
+        // Only the touched indices are updated
+        source.accept(acc, (IntValue i, IntValue a) -> {
+            i.value += a.value;
+        });
+        assertEquals(randomIntArray[35] + 3, source.get(35).value);
+        assertEquals(randomIntArray[36], source.get(36).value);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBlockSizeZero() {
+        new AccumulatorBlocked<>(source, 0, l -> new IntValue(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfRange() {
+        final Accumulator<IntValue> acc = new AccumulatorBlocked<>(source, 16, l -> new IntValue(0));
+        acc.obtainThreadLocalAccumulators(1).get(0).acquire(400);
+    }
+
+    @Test
+    public void testParallelPrefixSum() {
+        // Prepare an accumulator
+        final Accumulator<IntValue> acc = new AccumulatorBlocked<>(source, 16, l -> new IntValue(0));
+
+        // Accumulate values
+        source.parallelForEach(acc, (l, sourceInteger, tla) -> {
+            for (long prefix = l + 1; prefix < lr3.to; prefix++) {
+                // increment by the value of the integer the TLA of all indices to the right
+                tla.acquire(prefix).value += sourceInteger.value;
+            }
+        });
+
+        // Apply update on the "source" ChunkedList
+        source.parallelAccept(acc, (IntValue i, IntValue a) -> {
+            i.value += a.value;
+        });
+
+        // Compute the prefix sum on the randomIntArray and check we obtain the same
+        // results
+        Arrays.parallelPrefix(randomIntArray, (a, b) -> a + b);
+
+        for (int idx = 0; idx < randomIntArray.length; idx++) {
+            assertEquals("at index " + idx, randomIntArray[idx], source.get(idx).value);
+        }
+    }
+
+    @Test
+    public void testParallelPrefixSumTreeMerge() {
+        // Prepare an accumulator, used by an odd number of threads
+        final Accumulator<IntValue> acc = new AccumulatorBlocked<>(source, 16, l -> new IntValue(0));
+
+        // Accumulate values
+        source.parallelForEach(5, acc, (l, sourceInteger, tla) -> {
+            for (long prefix = l + 1; prefix < lr3.to; prefix++) {
+                // increment by the value of the integer the TLA of all indices to the right
+                tla.acquire(prefix).value += sourceInteger.value;
+            }
+        });
+        assertEquals(5, acc.getAllThreadLocalAccumulator().size());
+
+        // Combine the accumulators of the threads, then apply the update on the
+        // "source" ChunkedList
+        source.parallelAccept(3, acc, (IntValue a, IntValue b) -> {
+            a.value += b.value;
+        }, (IntValue i, IntValue a) -> {
+            i.value += a.value;
+        });
+
+        // Compute the prefix sum on the randomIntArray and check we obtain the same
+        // results
+        Arrays.parallelPrefix(randomIntArray, (a, b) -> a + b);
+
+        for (int idx = 0; idx < randomIntArray.length; idx++) {
+            assertEquals("at index " + idx, randomIntArray[idx], source.get(idx).value);
+        }
+    }
+
+    @Test
+    public void testPrefixSum() {
+        // Prepare an accumulator
+        final Accumulator<IntValue> acc = new AccumulatorBlocked<>(source, 16, l -> new IntValue(0));
+
+        // Accumulate values
+        source.forEach(acc, (sourceIndex, sourceInteger, tla) -> {
+            for (long prefix = sourceIndex + 1; prefix < lr3.to; prefix++) {
+                // increment by the value of the integer the TLA of all indices to the right
+                tla.acquire(prefix).value += sourceInteger.value;
+            }
+        });
+
+        // Apply update on the "source" ChunkedList
+        source.accept(acc, (IntValue i, IntValue a) -> {
+            i.value += a.value;
+        });
+
+        // Compute the prefix sum on the randomIntArray and check we obtain the same
+        // results
+        Arrays.parallelPrefix(randomIntArray, (a, b) -> a + b);
+
+        for (int idx = 0; idx < randomIntArray.length; idx++) {
+            assertEquals("at index " + idx, randomIntArray[idx], source.get(idx).value);
+        }
+    }
+}
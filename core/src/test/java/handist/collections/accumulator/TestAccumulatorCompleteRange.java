@@ -139,6 +139,37 @@ public class TestAccumulatorCompleteRange {
         }
     }
 
+    @Test
+    public void testParallelPrefixSumTreeMerge() {
+        // Prepare an accumulator, used by an odd number of threads
+        final Accumulator<IntValue> acc = new AccumulatorCompleteRange<>(source, l -> new IntValue(0));
+
+        // Accumulate values
+        source.parallelForEach(5, acc, (l, sourceInteger, tla) -> {
+            for (long prefix = l + 1; prefix < lr3.to; prefix++) {
+                // increment by the value of the integer the TLA of all indices to the right
+                tla.acquire(prefix).value += sourceInteger.value;
+            }
+        });
+        assertEquals(5, acc.getAllThreadLocalAccumulator().size());
+
+        // Combine the accumulators of the threads, then apply the update on the
+        // "source" ChunkedList
+        source.parallelAccept(3, acc, (IntValue a, IntValue b) -> {
+            a.value += b.value;
+        }, (IntValue i, IntValue a) -> {
+            i.value += a.value;
+        });
+
+        // Compute the prefix sum on the randomIntArray and check we obtain the same
+        // results
+        Arrays.parallelPrefix(randomIntArray, (a, b) -> a + b);
+
+        for (int idx = 0; idx < randomIntArray.length; idx++) {
+            assertEquals("at index " + idx, randomIntArray[idx], source.get(idx).value);
+        }
+    }
+
     @Test
     public void testPrefixSum() {
         // Prepare an accumulator
@@ -0,0 +1,103 @@
+package handist.collections.accumulator;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import handist.collections.Chunk;
+import handist.collections.ChunkedList;
+import handist.collections.LongRange;
+import handist.collections.accumulator.AccumulatorSharedDouble.SharedDoubleTLA;
+
+public class TestAccumulatorSharedDouble {
+
+    /**
+     * Modifiable double object
+     */
+    public static class DoubleValue {
+        double value;
+
+        public DoubleValue(double d) {
+            value = d;
+        }
+    }
+
+    final static LongRange lr1 = new LongRange(0, 100);
+    final static LongRange lr2 = new LongRange(150, 400);
+
+    /**
+     * ChunkedList used as the ultimate target of the "accumulator" computation,
+     * element at index i has value i
+     */
+    ChunkedList<DoubleValue> source;
+
+    @Before
+    public void before() {
+        source = new ChunkedList<>();
+        source.add(new Chunk<>(lr1, l -> new DoubleValue(l)));
+        source.add(new Chunk<>(lr2, l -> new DoubleValue(l)));
+    }
+
+    @Test
+    public void testAcceptAppliesOnce() {
+        final AccumulatorSharedDouble acc = new AccumulatorSharedDouble(source);
+        acc.obtainThreadLocalAccumulators(4);
+        acc.addDouble(10, 1.5);
+        acc.addDouble(200, -2.0);
+
+        // Only one of the thread-local accumulators exposes the shared values
+        assertEquals(2, acc.getAllThreadLocalAccumulator().get(0).ranges().size());
+        assertTrue(acc.getAllThreadLocalAccumulator().get(3).ranges().isEmpty());
+
+        source.accept(acc, (DoubleValue v, Double a) -> {
+            v.value += a;
+        });
+        assertEquals(11.5, source.get(10).value, 0.0);
+        assertEquals(198.0, source.get(200).value, 0.0);
+        assertEquals(11.0, source.get(11).value, 0.0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddOutOfRange() {
+        new AccumulatorSharedDouble(source).addDouble(120, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoStripe() {
+        new AccumulatorSharedDouble(source.ranges(), 0);
+    }
+
+    @Test
+    public void testParallelScatterAdd() {
+        final AccumulatorSharedDouble acc = new AccumulatorSharedDouble(source.ranges(), 2);
+
+        // Every element adds its value to itself and to its two successors
+        source.parallelForEach(acc, (l, v, tla) -> {
+            for (long n = l; n < l + 3; n++) {
+                if (lr1.contains(n) || lr2.contains(n)) {
+                    ((SharedDoubleTLA) tla).addDouble(n, v.value);
+                }
+            }
+        });
+        assertEquals(0.0 + 1.0 + 2.0, acc.getDouble(2), 0.0);
+        assertEquals(151.0 + 152.0 + 153.0, acc.obtainThreadLocalAccumulators(1).get(0).acquire(153), 0.0);
+
+        source.parallelAccept(acc, (DoubleValue v, Double a) -> {
+            v.value = a;
+        });
+        assertEquals(99.0 + 98.0 + 97.0, source.get(99).value, 0.0);
+        assertEquals(150.0, source.get(150).value, 0.0);
+        assertEquals(399.0 + 398.0 + 397.0, source.get(399).value, 0.0);
+    }
+
+    @Test
+    public void testReset() {
+        final AccumulatorSharedDouble acc = new AccumulatorSharedDouble(source);
+        acc.addDouble(42, 3.0);
+        acc.obtainThreadLocalAccumulators(2);
+        acc.reset();
+        assertTrue(acc.getAllThreadLocalAccumulator().isEmpty());
+        assertEquals(0.0, acc.getDouble(42), 0.0);
+    }
+}
@@ -31,6 +31,7 @@ import apgas.impl.DebugFinish;
 import handist.mpijunit.MpiConfig;
 import handist.mpijunit.MpiRunner;
 import handist.mpijunit.launcher.TestLauncher;
+import mpi.MPI;
 
 /**
  * Test class for the distributed features of {@link DistBag}
@@ -45,6 +46,9 @@ public class IT_DistBag implements Serializable {
     static final int NB_LISTS[] = { 4, 4 };
     static Random random = new Random(12345l);
 
+    /** Maximum weight given to an element when balancing by weight */
+    static final int MAX_WEIGHT = 4;
+
     /** Serial Version UID */
     private static final long serialVersionUID = 7668710704105520109L;
 
@@ -93,6 +97,42 @@ public class IT_DistBag implements Serializable {
         });
     }
 
+    /**
+     * Records a throughput on place 1 three times higher than on place 0 and
+     * checks that {@link TeamOperations#autoBalance()} gives place 1 three times
+     * as many elements as place 0
+     *
+     * @throws Throwable if thrown during the test
+     */
+    @Test(timeout = 10000)
+    public void testAutoBalance() throws Throwable {
+        try {
+            WORLD.broadcastFlat(() -> {
+                final int here = WORLD.rank();
+                final long sizeBefore = WORLD.allReduce1(distBag.longSize(), MPI.SUM);
+                final ThroughputMonitor monitor = distBag.team().getThroughputMonitor();
+                monitor.reset();
+                // One thousand elements per second on place 0, three thousand on place 1
+                monitor.record(1000 * (here == 0 ? 1 : 3), 1_000_000_000l);
+
+                assertTrue(distBag.team().autoBalance());
+
+                // No element was lost or duplicated
+                assertEquals(sizeBefore, WORLD.allReduce1(distBag.longSize(), MPI.SUM));
+                // Each place holds a share of the elements proportional to its throughput
+                final long expected = sizeBefore * (here == 0 ? 1 : 3) / 4;
+                assertEquals(expected, distBag.longSize(), 1);
+
+                // The throughputs did not change, the elements are left where they are
+                assertFalse(distBag.team().autoBalance());
+                assertEquals(expected, distBag.longSize(), 1);
+            });
+        } catch (final MultipleException me) {
+            me.printStackTrace();
+            throw me.getSuppressed()[0];
+        }
+    }
+
     @Test
     public void testGlobalForEach() throws Throwable {
         // Add a prefix to all Element.s members
@@ -180,4 +220,17 @@ public class IT_DistBag implements Serializable {
             throw me.getSuppressed()[0];
         }
     }
+
+    @Test(timeout = 10000)
+    public void testTeamedBalanceWeight() throws Throwable {
+        try {
+            WORLD.broadcastFlat(() -> {
+                WeightBalanceCheck.balanceAndCheck(distBag, (Element e) -> 1 + Math.floorMod(e.s.hashCode(), MAX_WEIGHT),
+                        MAX_WEIGHT);
+            });
+        } catch (final MultipleException me) {
+            me.printStackTrace();
+            throw me.getSuppressed()[0];
+        }
+    }
 }
@@ -53,6 +53,8 @@ public class IT_DistChunkedList implements Serializable {
     static final long rangeSize = 10;
     /** Size of the range skipped between chunks */
     static final long rangeSkip = 5;
+    /** Maximum weight given to an element when balancing by weight */
+    static final int MAX_WEIGHT = 4;
 
     /** Serial Version UID */
     private static final long serialVersionUID = -9076195681727813858L;
@@ -290,6 +292,37 @@ public class IT_DistChunkedList implements Serializable {
         // TODO CHECK
     }
 
+    /**
+     * Balances the weight of the elements initially held by place 0 between all
+     * the places
+     *
+     * @throws Throwable if thrown during the test
+     */
+    @Test(timeout = 100000)
+    public void testTeamedBalanceWeight() throws Throwable {
+        // Prepare initial population on place 0
+        long rangeBegin = 0;
+        for (long i = 0; i < chunkNumber; i++) {
+            final long rangeEnd = rangeBegin + rangeSize;
+            final Chunk<String> c = new Chunk<>(new LongRange(rangeBegin, rangeEnd), "<empty>");
+            for (long j = rangeBegin; j < rangeEnd; j++) {
+                c.set(j, "" + j + "/" + i);
+            }
+            distChunkedList.add(c);
+            rangeBegin = rangeEnd + rangeSkip;
+        }
+
+        try {
+            placeGroup.broadcastFlat(() -> {
+                WeightBalanceCheck.balanceAndCheck(distChunkedList,
+                        (String s) -> 1 + Long.parseLong(s.split("/")[0]) % MAX_WEIGHT, MAX_WEIGHT);
+            });
+        } catch (final MultipleException me) {
+            me.printStackTrace();
+            throw me.getSuppressed()[0];
+        }
+    }
+
     private void x_checkShift(final long expectedShift) throws Throwable {
         try {
             placeGroup.broadcastFlat(() -> {
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import static apgas.Constructs.*;
+import static org.junit.Assert.*;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.junit.runner.RunWith;
+
+import apgas.MultipleException;
+import apgas.Place;
+import apgas.impl.Config;
+import apgas.impl.DebugFinish;
+import handist.mpijunit.MpiConfig;
+import handist.mpijunit.MpiRunner;
+import handist.mpijunit.launcher.TestLauncher;
+
+/**
+ * Tests the relocation of entries from several places to a single place over
+ * maps whose entries are deserialized concurrently
+ */
+@RunWith(MpiRunner.class)
+@MpiConfig(ranks = 4, launcher = TestLauncher.class)
+public class IT_DistConcurrentMap implements Serializable {
+
+    /** Number of entries created on each place */
+    static final int NB_ENTRIES = 500;
+
+    /** Serial Version UID */
+    private static final long serialVersionUID = -2183716240938517734L;
+
+    @Rule
+    public transient TestName nameOfCurrentTest = new TestName();
+
+    /** PlaceGroup on which the maps are defined */
+    TeamedPlaceGroup pg = TeamedPlaceGroup.getWorld();
+
+    @After
+    public void afterEachTest() throws IllegalAccessException, IllegalArgumentException, InvocationTargetException,
+            NoSuchMethodException, SecurityException {
+        if (DebugFinish.class.getCanonicalName().equals(System.getProperty(Config.APGAS_FINISH))
+                && DebugFinish.suppressedExceptionsPresent()) {
+            System.err.println("Dumping the errors that occurred during " + nameOfCurrentTest.getMethodName());
+            // If we are using the DebugFinish, dump all throwables collected on each host
+            DebugFinish.dumpAllSuppressedExceptions();
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testDuplicateKeyFromSeveralPlaces() throws Throwable {
+        final DistConcurrentMap<String, String> map = new DistConcurrentMap<>(pg);
+        try {
+            pg.broadcastFlat(() -> {
+                map.put("duplicate", "from " + here());
+                final CollectiveMoveManager mm = new CollectiveMoveManager(pg);
+                map.moveAtSync("duplicate", pg.get(0), mm);
+                mm.sync();
+            });
+            fail("Receiving the same key from several places should fail");
+        } catch (final MultipleException me) {
+            // The key is kept on place 0 and is not silently overwritten
+            assertTrue(containsDuplicateError(me));
+        } finally {
+            map.destroy();
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testGatherConcurrentMap() throws Throwable {
+        final DistConcurrentMap<String, String> map = new DistConcurrentMap<>(pg);
+        try {
+            x_gatherOnPlace0(map);
+        } finally {
+            map.destroy();
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testGatherMixedMaps() throws Throwable {
+        // A plain DistMap is deserialized sequentially, the sorted map concurrently,
+        // both within the same relocation
+        final DistMap<String, String> plain = new DistMap<>(pg);
+        final DistSortedMap<String, String> sorted = new DistSortedMap<>(pg);
+        try {
+            pg.broadcastFlat(() -> {
+                final int rank = pg.rank();
+                for (int i = 0; i < NB_ENTRIES; i++) {
+                    plain.put(rank + "-" + i, "p" + i);
+                    sorted.put(rank + "-" + i, "s" + i);
+                }
+                final CollectiveMoveManager mm = new CollectiveMoveManager(pg);
+                plain.moveAtSync(plain.getAllKeys(), pg.get(0), mm);
+                sorted.moveAtSync(sorted.getAllKeys(), pg.get(0), mm);
+                mm.sync();
+            });
+            x_checkGathered(plain);
+            x_checkGathered(sorted);
+        } finally {
+            plain.destroy();
+            sorted.destroy();
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testGatherSortedMap() throws Throwable {
+        final DistSortedMap<String, String> map = new DistSortedMap<>(pg);
+        try {
+            x_gatherOnPlace0(map);
+        } finally {
+            map.destroy();
+        }
+    }
+
+    /**
+     * Indicates if the exception or one of its causes or suppressed exceptions is
+     * the error raised when a relocated entry already exists
+     */
+    private static boolean containsDuplicateError(Throwable t) {
+        if (t == null) {
+            return false;
+        }
+        if (t.getMessage() != null && t.getMessage().contains("cannot override existing entry")) {
+            return true;
+        }
+        for (final Throwable s : t.getSuppressed()) {
+            if (containsDuplicateError(s)) {
+                return true;
+            }
+        }
+        return t.getCause() != t && containsDuplicateError(t.getCause());
+    }
+
+    /**
+     * Checks that place 0 holds the entries created by every place and that the
+     * other places are empty
+     */
+    private void x_checkGathered(DistMap<String, String> map) throws Throwable {
+        try {
+            pg.broadcastFlat(() -> {
+                if (pg.rank() == 0) {
+                    assertEquals((long) NB_ENTRIES * pg.size(), map.size());
+                    for (int r = 0; r < pg.size(); r++) {
+                        for (int i = 0; i < NB_ENTRIES; i++) {
+                            assertTrue(map.containsKey(r + "-" + i));
+                        }
+                    }
+                } else {
+                    assertEquals(0, map.size());
+                }
+            });
+        } catch (final MultipleException me) {
+            me.printStackTrace();
+            throw me.getSuppressed()[0];
+        }
+    }
+
+    /**
+     * Creates entries on every place and relocates all of them to place 0, whose
+     * entries are received from several places at the same time
+     */
+    private void x_gatherOnPlace0(DistMap<String, String> map) throws Throwable {
+        pg.broadcastFlat(() -> {
+            final int rank = pg.rank();
+            for (int i = 0; i < NB_ENTRIES; i++) {
+                map.put(rank + "-" + i, "v" + i);
+            }
+            final CollectiveMoveManager mm = new CollectiveMoveManager(pg);
+            final Place destination = pg.get(0);
+            for (int i = 0; i < NB_ENTRIES; i++) {
+                // Entries are moved one by one so that many transfers are deserialized
+                map.moveAtSync(rank + "-" + i, destination, mm);
+            }
+            mm.sync();
+        });
+        x_checkGathered(map);
+    }
+}
@@ -28,6 +28,7 @@ import apgas.MultipleException;
 import apgas.Place;
 import apgas.impl.Config;
 import apgas.impl.DebugFinish;
+import handist.collections.dist.util.DeflateCodec;
 import handist.collections.function.SerializableFunction;
 import handist.mpijunit.MpiConfig;
 import handist.mpijunit.MpiRunner;
@@ -43,6 +44,9 @@ public class IT_DistMap implements Serializable {
     /** Number of initial data entries places into the map */
     final static long numData = 200;
 
+    /** Maximum weight given to an entry when balancing by weight */
+    final static int MAX_WEIGHT = 4;
+
     /** Random instance used to populate the map with initial data */
     final static Random random = new Random(12345l);
     /** Serial Version UID */
@@ -165,6 +169,74 @@ public class IT_DistMap implements Serializable {
         // Check that the keys have shifted by 1
         x_checkKeyShift(3);
 
+        // ---------------------------------------------------------------------------
+        // Move all entries to the next place asynchronously, in rounds of a few bytes
+        pg.broadcastFlat(() -> {
+            try {
+                final CollectiveMoveManager mm = new CollectiveMoveManager(pg);
+                mm.setRoundSize(64);
+                final int rank = pg.rank(here());
+                final Place destination = pg.get(rank + 1 == pg.size() ? 0 : rank + 1);
+                distMap.forEach((String key, String value) -> {
+                    distMap.moveAtSync(key, destination, mm);
+                });
+                mm.syncAsync().get();
+            } catch (final Exception e) {
+                System.err.println("Error on " + here());
+                e.printStackTrace();
+                throw e;
+            }
+        });
+
+        // Number of entries / place have now shifted
+        x_checkSize((j) -> {
+            return size[(j + 4) % distMap.placeGroup().size()];
+        });
+        x_checkKeyShift(4);
+
+        // ---------------------------------------------------------------------------
+        // Move all entries to the next place with point-to-point communications
+        pg.broadcastFlat(() -> {
+            try {
+                final CollectiveMoveManager mm = new CollectiveMoveManager(pg);
+                mm.setExchangeMode(CollectiveMoveManager.ExchangeMode.SPARSE);
+                final int rank = pg.rank(here());
+                final Place destination = pg.get(rank + 1 == pg.size() ? 0 : rank + 1);
+                distMap.forEach((String key, String value) -> {
+                    distMap.moveAtSync(key, destination, mm);
+                });
+                mm.sync();
+            } catch (final Exception e) {
+                System.err.println("Error on " + here());
+                e.printStackTrace();
+                throw e;
+            }
+        });
+
+        // Number of entries / place have now shifted
+        x_checkSize((j) -> {
+            return size[(j + 5) % distMap.placeGroup().size()];
+        });
+        x_checkKeyShift(5);
+
+        // ---------------------------------------------------------------------------
+        // Move all entries to the next place with collective communications,
+        // compressing the transferred bytes
+        z_moveToNextPlaceCompressed(CollectiveMoveManager.ExchangeMode.DENSE);
+        x_checkSize((j) -> {
+            return size[(j + 6) % distMap.placeGroup().size()];
+        });
+        x_checkKeyShift(6);
+
+        // ---------------------------------------------------------------------------
+        // Move all entries to the next place with point-to-point communications,
+        // compressing the transferred bytes
+        z_moveToNextPlaceCompressed(CollectiveMoveManager.ExchangeMode.SPARSE);
+        x_checkSize((j) -> {
+            return size[(j + 7) % distMap.placeGroup().size()];
+        });
+        x_checkKeyShift(7);
+
         // ---------------------------------------------------------------------------
         // Move all entries to place 0
         pg.broadcastFlat(() -> {
@@ -194,6 +266,30 @@ public class IT_DistMap implements Serializable {
         distMap = new DistMap<>(pg);
     }
 
+    /**
+     * Balances the weight of the entries initially held by place 0 between all
+     * the places
+     *
+     * @throws Throwable if thrown during the test
+     */
+    @Test
+    public void testTeamedBalanceWeight() throws Throwable {
+        // Create initial data at Place 0
+        for (int i = 0; i < numData; i++) {
+            distMap.put(genRandStr("k"), genRandStr("v"));
+        }
+
+        try {
+            pg.broadcastFlat(() -> {
+                WeightBalanceCheck.balanceAndCheck(distMap, (String v) -> 1 + Math.floorMod(v.hashCode(), MAX_WEIGHT),
+                        MAX_WEIGHT);
+            });
+        } catch (final MultipleException me) {
+            me.printStackTrace();
+            throw me.getSuppressed()[0];
+        }
+    }
+
     @After
     public void tearDown() {
         distMap.destroy();
@@ -248,6 +344,31 @@ public class IT_DistMap implements Serializable {
         }
     }
 
+    /**
+     * Moves all the entries to the next place, compressing the transferred bytes
+     *
+     * @param mode the exchange used for the transfer
+     */
+    private void z_moveToNextPlaceCompressed(CollectiveMoveManager.ExchangeMode mode) {
+        pg.broadcastFlat(() -> {
+            try {
+                final CollectiveMoveManager mm = new CollectiveMoveManager(pg);
+                mm.setExchangeMode(mode);
+                mm.setCodec(new DeflateCodec());
+                final int rank = pg.rank(here());
+                final Place destination = pg.get(rank + 1 == pg.size() ? 0 : rank + 1);
+                distMap.forEach((String key, String value) -> {
+                    distMap.moveAtSync(key, destination, mm);
+                });
+                mm.sync();
+            } catch (final Exception e) {
+                System.err.println("Error on " + here());
+                e.printStackTrace();
+                throw e;
+            }
+        });
+    }
+
     private void z_distribute() {
         pg.broadcastFlat(() -> {
             try {
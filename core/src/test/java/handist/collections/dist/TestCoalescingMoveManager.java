@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import handist.collections.dist.CoalescingMoveManager.Batch;
+import handist.collections.dist.util.ObjectInput;
+import handist.collections.function.DeSerializer;
+
+public class TestCoalescingMoveManager {
+
+    /**
+     * Deserializer recording the integers it reads, prefixed by its name
+     */
+    static class Recorder implements DeSerializer {
+        private static final long serialVersionUID = 3725841019348219067L;
+
+        final String name;
+
+        Recorder(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void accept(ObjectInput in) throws Exception {
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                received.add(name + in.readInt());
+            }
+        }
+    }
+
+    /** Values recorded by the deserializers */
+    static final List<String> received = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        received.clear();
+    }
+
+    @Test
+    public void testBatchDelivery() throws Exception {
+        final DeSerializer a = new Recorder("a");
+        final DeSerializer b = new Recorder("b");
+        final Batch batch = new Batch();
+        assertTrue(batch.isEmpty());
+
+        for (int i = 0; i < 5; i++) {
+            final int value = i;
+            batch.add(out -> {
+                out.writeInt(2);
+                out.writeInt(value);
+                out.writeInt(value * 10);
+            }, i % 2 == 0 ? a : b);
+        }
+        assertEquals(5, batch.requests);
+        // Each distinct deserializer is only kept once
+        assertEquals(2, batch.deserializers.size());
+
+        CoalescingMoveManager.deliver(batch.toMessage());
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final String name = i % 2 == 0 ? "a" : "b";
+            expected.add(name + i);
+            expected.add(name + i * 10);
+        }
+        assertEquals(expected, received);
+    }
+
+    @Test
+    public void testEmptyBatch() throws Exception {
+        final Batch batch = new Batch();
+        CoalescingMoveManager.deliver(batch.toMessage());
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void testNoMessageSent() {
+        final CoalescingMoveManager mm = new CoalescingMoveManager();
+        assertEquals(0l, mm.messagesSent());
+        assertEquals(0l, mm.bytesSent());
+        assertEquals(0d, mm.coalescingRatio(), 0d);
+    }
+}
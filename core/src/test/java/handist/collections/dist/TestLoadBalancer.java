@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+import handist.collections.dist.util.IntLongPair;
+
+public class TestLoadBalancer {
+
+    /**
+     * Applies the moves to the sizes, checks that no place sends more elements
+     * than it holds, and returns the resulting sizes
+     */
+    private static long[] apply(long[] sizes, ArrayList<ArrayList<IntLongPair>> moves) {
+        final long[] result = sizes.clone();
+        int nbMoves = 0;
+        for (int src = 0; src < moves.size(); src++) {
+            long sent = 0;
+            for (final IntLongPair move : moves.get(src)) {
+                assertNotEquals(src, move.first);
+                assertTrue(move.second > 0);
+                sent += move.second;
+                result[src] -= move.second;
+                result[move.first] += move.second;
+                nbMoves++;
+            }
+            assertTrue(sent <= sizes[src]);
+        }
+        assertTrue(nbMoves < Math.max(1, sizes.length));
+        return result;
+    }
+
+    @Test
+    public void testComputeMovesBalanced() {
+        final ArrayList<ArrayList<IntLongPair>> moves = LoadBalancer.computeMoves(new long[] { 5, 5, 5 });
+        for (final ArrayList<IntLongPair> l : moves) {
+            assertTrue(l.isEmpty());
+        }
+    }
+
+    @Test
+    public void testComputeMovesLarge() {
+        final long[] sizes = { 3_000_000_000l, 0, 1, 7 };
+        final long[] result = apply(sizes, LoadBalancer.computeMoves(sizes));
+        assertArrayEquals(new long[] { 750_000_002l, 750_000_002l, 750_000_002l, 750_000_002l }, result);
+    }
+
+    @Test
+    public void testComputeMovesRandom() {
+        final Random random = new Random(42);
+        for (int iter = 0; iter < 100; iter++) {
+            final long[] sizes = new long[1 + random.nextInt(20)];
+            long total = 0;
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = random.nextInt(1000);
+                total += sizes[i];
+            }
+            final long[] result = apply(sizes, LoadBalancer.computeMoves(sizes));
+            final long average = total / sizes.length;
+            for (int i = 0; i < sizes.length; i++) {
+                assertTrue(result[i] == average || result[i] == average + 1);
+            }
+        }
+    }
+
+    @Test
+    public void testComputeMovesRemainder() {
+        final long[] sizes = { 0, 10, 1 };
+        final ArrayList<ArrayList<IntLongPair>> moves = LoadBalancer.computeMoves(sizes);
+        // Places 1 and 2 hold the most elements and keep the extra ones
+        assertArrayEquals(new long[] { 3, 4, 4 }, apply(sizes, moves));
+        assertEquals(2, moves.get(1).size());
+    }
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import apgas.Place;
+import handist.collections.LongRange;
+
+public class TestLongLocationDirectory {
+
+    private static final Place P0 = new Place(0);
+    private static final Place P1 = new Place(1);
+
+    private LongLocationDirectory directory;
+
+    @Before
+    public void setUp() {
+        directory = new LongLocationDirectory();
+    }
+
+    @Test
+    public void testClear() {
+        for (long i = 0; i < 10; i++) {
+            directory.put(i, P0);
+        }
+        directory.clear();
+        assertEquals(0, directory.size());
+        assertEquals(0, directory.runCount());
+        assertNull(directory.get(5l));
+    }
+
+    @Test
+    public void testConsecutiveKeysShareRun() {
+        for (long i = 0; i < 1000; i++) {
+            directory.put(i, P0);
+        }
+        // Keys added in decreasing order extend the run downwards
+        for (long i = -1; i >= -1000; i--) {
+            directory.put(i, P0);
+        }
+        assertEquals(1, directory.runCount());
+        assertEquals(2000, directory.size());
+        assertEquals(2000l, directory.longSize());
+        assertEquals(P0, directory.get(-1000l));
+        assertEquals(P0, directory.get(999l));
+        assertNull(directory.get(1000l));
+        assertNull(directory.get(-1001l));
+        assertFalse(directory.containsKey("not a long"));
+    }
+
+    @Test(timeout = 20000)
+    public void testConcurrentLookupsAndUpdates() throws Exception {
+        for (long i = 0; i < 1000; i++) {
+            directory.put(i, P0);
+        }
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            // Two writers move the odd and the even keys to place 1
+            for (int parity = 0; parity < 2; parity++) {
+                final int p = parity;
+                futures.add(pool.submit(() -> {
+                    for (long i = p; i < 1000; i += 2) {
+                        directory.put(i, P1);
+                    }
+                }));
+            }
+            // Two readers always find every key on one of the places
+            for (int r = 0; r < 2; r++) {
+                futures.add(pool.submit(() -> {
+                    for (int repeat = 0; repeat < 20; repeat++) {
+                        for (long i = 0; i < 1000; i++) {
+                            assertNotNull(directory.get(i));
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1000l, directory.longSize());
+        assertEquals(1, directory.runCount());
+        assertEquals(P1, directory.get(999l));
+    }
+
+    @Test
+    public void testEntrySet() {
+        directory.put(0l, P0);
+        directory.put(1l, P0);
+        directory.put(5l, P1);
+        directory.put(2l, P1);
+        final List<Long> keys = new ArrayList<>();
+        final List<Place> places = new ArrayList<>();
+        for (final Map.Entry<Long, Place> e : directory.entrySet()) {
+            keys.add(e.getKey());
+            places.add(e.getValue());
+        }
+        assertEquals(4, directory.entrySet().size());
+        assertEquals(Arrays.asList(0l, 1l, 2l, 5l), keys);
+        assertEquals(Arrays.asList(P0, P0, P1, P1), places);
+    }
+
+    @Test
+    public void testForEachRange() {
+        for (long i = 0; i < 10; i++) {
+            directory.put(i, i < 4 ? P0 : P1);
+        }
+        final List<LongRange> ranges = new ArrayList<>();
+        final List<Place> places = new ArrayList<>();
+        directory.forEachRange((range, place) -> {
+            ranges.add(range);
+            places.add(place);
+        });
+        assertEquals(Arrays.asList(new LongRange(0, 4), new LongRange(4, 10)), ranges);
+        assertEquals(Arrays.asList(P0, P1), places);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxValueRejected() {
+        directory.put(Long.MAX_VALUE, P0);
+    }
+
+    @Test
+    public void testMoveSplitsAndMergesRuns() {
+        for (long i = 0; i < 10; i++) {
+            directory.put(i, P0);
+        }
+        // Relocating a key in the middle of a run splits it
+        assertEquals(P0, directory.put(5l, P1));
+        assertEquals(3, directory.runCount());
+        assertEquals(P1, directory.get(5l));
+        assertEquals(P0, directory.get(4l));
+        assertEquals(P0, directory.get(6l));
+        assertEquals(10, directory.size());
+
+        // Moving it back merges the three runs
+        assertEquals(P1, directory.put(5l, P0));
+        assertEquals(1, directory.runCount());
+        assertEquals(10, directory.size());
+    }
+
+    @Test
+    public void testRemove() {
+        for (long i = 0; i < 10; i++) {
+            directory.put(i, P0);
+        }
+        assertEquals(P0, directory.remove(0l));
+        assertEquals(P0, directory.remove(9l));
+        assertEquals(P0, directory.remove(4l));
+        assertNull(directory.remove(4l));
+        assertNull(directory.remove(42l));
+        assertEquals(2, directory.runCount());
+        assertEquals(7, directory.size());
+        assertNull(directory.get(0l));
+        assertEquals(P0, directory.get(1l));
+        assertNull(directory.get(4l));
+        assertEquals(P0, directory.get(8l));
+
+        // Filling the hole merges the runs again
+        directory.put(4l, P0);
+        assertEquals(1, directory.runCount());
+    }
+}
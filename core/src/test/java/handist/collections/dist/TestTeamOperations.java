@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import handist.collections.dist.util.IntDoublePair;
+
+public class TestTeamOperations {
+
+    private static final double DELTA = 1e-9;
+
+    /**
+     * Applies the move list to the weights and returns the resulting weights
+     */
+    private static double[] apply(double[] weights, List<List<IntDoublePair>> moveList) {
+        final double[] result = weights.clone();
+        for (int src = 0; src < moveList.size(); src++) {
+            for (final IntDoublePair pair : moveList.get(src)) {
+                assertNotEquals(src, pair.first);
+                assertTrue(pair.second > 0);
+                result[src] -= pair.second;
+                result[pair.first] += pair.second;
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testWeightedMoveListBalanced() {
+        final double[] weights = { 10.0, 10.0, 10.0 };
+        final List<List<IntDoublePair>> moveList = TeamOperations.weightedMoveList(weights,
+                new float[] { 1f, 1f, 1f });
+        assertEquals(3, moveList.size());
+        for (final List<IntDoublePair> l : moveList) {
+            assertTrue(l.isEmpty());
+        }
+    }
+
+    @Test
+    public void testWeightedMoveListEqualLocality() {
+        final double[] weights = { 100.0, 1.0, 0.0, 19.0 };
+        final double[] result = apply(weights,
+                TeamOperations.weightedMoveList(weights, new float[] { 1f, 1f, 1f, 1f }));
+        assertArrayEquals(new double[] { 30.0, 30.0, 30.0, 30.0 }, result, DELTA);
+    }
+
+    @Test
+    public void testWeightedMoveListLocality() {
+        final double[] weights = { 0.0, 60.0, 0.0 };
+        final List<List<IntDoublePair>> moveList = TeamOperations.weightedMoveList(weights,
+                new float[] { 1f, 2f, 3f });
+        assertTrue(moveList.get(0).isEmpty());
+        assertTrue(moveList.get(2).isEmpty());
+        assertEquals(2, moveList.get(1).size());
+        assertArrayEquals(new double[] { 10.0, 20.0, 30.0 }, apply(weights, moveList), DELTA);
+    }
+
+    @Test
+    public void testWeightedMoveListNoWeight() {
+        final List<List<IntDoublePair>> moveList = TeamOperations.weightedMoveList(new double[] { 0.0, 0.0 },
+                new float[] { 1f, 1f });
+        assertTrue(moveList.get(0).isEmpty());
+        assertTrue(moveList.get(1).isEmpty());
+    }
+}
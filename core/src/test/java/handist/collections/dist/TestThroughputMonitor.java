@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestThroughputMonitor {
+
+    private static final double DELTA = 1e-9;
+
+    ThroughputMonitor monitor;
+
+    @Before
+    public void setUp() {
+        monitor = new ThroughputMonitor();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSmoothing() {
+        monitor.setSmoothing(0);
+    }
+
+    @Test
+    public void testMigrationCost() {
+        assertEquals(ThroughputMonitor.DEFAULT_MIGRATION_COST, monitor.getMigrationCost(), DELTA);
+        monitor.setSmoothing(0.5);
+        monitor.recordMigration(1000, 2_000_000l);
+        assertEquals(2e-6, monitor.getMigrationCost(), DELTA);
+        monitor.recordMigration(1000, 4_000_000l);
+        assertEquals(3e-6, monitor.getMigrationCost(), DELTA);
+        monitor.reset();
+        assertEquals(ThroughputMonitor.DEFAULT_MIGRATION_COST, monitor.getMigrationCost(), DELTA);
+    }
+
+    @Test
+    public void testProposeLocality() {
+        final float[] locality = { 1f, 1f, 1f, 1f };
+        final float[] proposed = monitor.proposeLocality(new double[] { 100, 300, 0, 200 }, locality);
+        // The place whose throughput is unknown is given the average throughput
+        assertArrayEquals(new float[] { 0.5f, 1.5f, 1f, 1f }, proposed, 1e-6f);
+    }
+
+    @Test
+    public void testProposeLocalityHysteresis() {
+        final float[] locality = { 1f, 1f };
+        assertNull(monitor.proposeLocality(new double[] { 105, 100 }, locality));
+        assertNotNull(monitor.proposeLocality(new double[] { 130, 100 }, locality));
+        monitor.setHysteresis(0.5);
+        assertNull(monitor.proposeLocality(new double[] { 130, 100 }, locality));
+        assertNull(monitor.proposeLocality(new double[] { 0, 0 }, locality));
+    }
+
+    @Test
+    public void testRecordSmoothing() {
+        assertEquals(0.0, monitor.getThroughput(), DELTA);
+        monitor.record(0, 1000);
+        assertEquals(0.0, monitor.getThroughput(), DELTA);
+        monitor.setSmoothing(0.25);
+        monitor.record(1000, 1_000_000_000l);
+        assertEquals(1000.0, monitor.getThroughput(), DELTA);
+        monitor.record(5000, 1_000_000_000l);
+        assertEquals(2000.0, monitor.getThroughput(), DELTA);
+    }
+
+    @Test
+    public void testWorthRelocating() {
+        final long[] sizes = { 1000, 1000 };
+        final double[] throughputs = { 1000, 3000 };
+        final float[] locality = { 0.5f, 1.5f };
+        // A pass currently takes 1s, 0.5s after the relocation of 500 entries
+        assertTrue(monitor.worthRelocating(sizes, throughputs, locality, 1e-3));
+        monitor.setHorizon(1);
+        assertFalse(monitor.worthRelocating(sizes, throughputs, locality, 1.1e-3));
+        assertFalse(monitor.worthRelocating(new long[] { 0, 0 }, throughputs, locality, 1e-3));
+    }
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist;
+
+import static org.junit.Assert.*;
+
+import java.util.function.ToDoubleFunction;
+
+import mpi.MPI;
+
+/**
+ * Check shared by the tests of
+ * {@link TeamOperations#teamedBalance(ToDoubleFunction)} on the various
+ * distributed collections
+ */
+public class WeightBalanceCheck {
+
+    /**
+     * Balances the specified collection by weight and checks that the number of
+     * elements and their total weight are conserved, and that each place holds
+     * its share of the total weight give or take one element. Needs to be called
+     * on all the places of the collection.
+     *
+     * @param <T>        type of the elements of the collection
+     * @param <C>        type of the collection
+     * @param collection local handle of the collection to balance
+     * @param weight     weight of each element
+     * @param maxWeight  maximum weight of an element
+     */
+    public static <T, C extends DistributedCollection<T, C> & WeightRelocatable<T>> void balanceAndCheck(
+            C collection, ToDoubleFunction<? super T> weight, double maxWeight) {
+        final TeamedPlaceGroup pg = collection.placeGroup();
+        final long sizeBefore = pg.allReduce1(collection.longSize(), MPI.SUM);
+        final double weightBefore = pg.allReduce1(collection.localWeight(weight), MPI.SUM);
+
+        collection.team().teamedBalance(weight);
+
+        // No element was lost or duplicated
+        assertEquals(sizeBefore, pg.allReduce1(collection.longSize(), MPI.SUM));
+        final double[] weights = pg.allGather1(collection.localWeight(weight));
+        double weightAfter = 0.0;
+        for (final double w : weights) {
+            weightAfter += w;
+        }
+        assertEquals(weightBefore, weightAfter, 0.0);
+
+        // Each place holds its share of the total weight, give or take one element
+        final float[] locality = collection.locality();
+        float localitySum = 0f;
+        for (final float l : locality) {
+            localitySum += l;
+        }
+        final int rank = pg.rank();
+        assertEquals(weightBefore * locality[rank] / localitySum, weights[rank], maxWeight);
+    }
+
+    private WeightBalanceCheck() {
+    }
+}
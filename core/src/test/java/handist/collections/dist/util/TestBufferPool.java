@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestBufferPool {
+
+    @Before
+    public void setUp() {
+        BufferPool.clear();
+    }
+
+    @After
+    public void tearDown() {
+        BufferPool.clear();
+        BufferPool.setMaxPooledBytes(BufferPool.DEFAULT_MAX_POOLED_BYTES);
+    }
+
+    @Test
+    public void testAcquireReusesSmallestFittingBuffer() {
+        final byte[] small = new byte[100];
+        final byte[] large = new byte[1000];
+        BufferPool.release(large);
+        BufferPool.release(small);
+        assertEquals(1000, BufferPool.largestPooled());
+
+        assertSame(small, BufferPool.acquire(50));
+        assertSame(large, BufferPool.acquire(50));
+        final byte[] fresh = BufferPool.acquire(50);
+        assertEquals(50, fresh.length);
+        assertEquals(0, BufferPool.largestPooled());
+    }
+
+    @Test
+    public void testPoolIsBounded() {
+        for (int i = 1; i <= BufferPool.MAX_POOLED + 2; i++) {
+            BufferPool.release(new byte[i * 10]);
+        }
+        // The smallest buffers were discarded
+        assertEquals(30, BufferPool.acquire(1).length);
+        assertEquals((BufferPool.MAX_POOLED + 2) * 10, BufferPool.largestPooled());
+    }
+
+    @Test
+    public void testPoolIsBoundedInBytes() {
+        BufferPool.setMaxPooledBytes(250);
+        BufferPool.release(new byte[300]);
+        assertEquals(0, BufferPool.largestPooled());
+
+        BufferPool.release(new byte[50]);
+        BufferPool.release(new byte[100]);
+        BufferPool.release(new byte[150]);
+        // The largest buffer was discarded to fit in 250 bytes
+        assertEquals(100, BufferPool.largestPooled());
+
+        BufferPool.setMaxPooledBytes(60);
+        assertEquals(50, BufferPool.largestPooled());
+        BufferPool.setMaxPooledBytes(0);
+        assertEquals(0, BufferPool.largestPooled());
+    }
+
+    @Test
+    public void testPooledStreamRoundTrip() {
+        final PooledByteArrayOutputStream out = new PooledByteArrayOutputStream(16);
+        final ObjectOutput first = new ObjectOutput(out);
+        first.writeObject("first");
+        first.writeLong(42l);
+        first.close();
+        // A second ObjectOutput created by this thread reuses the Kryo Output
+        final ObjectOutput second = new ObjectOutput(out);
+        second.writeObject("second");
+        second.close();
+        second.close();
+
+        final byte[] buf = out.getBuffer();
+        final ObjectInput in = new ObjectInput(new ByteArrayInputStream(buf, 0, out.size()));
+        assertEquals("first", in.readObject());
+        assertEquals(42l, in.readLong());
+        assertEquals("second", in.readObject());
+        in.close();
+
+        out.release();
+        assertEquals(0, out.size());
+        assertSame(buf, BufferPool.acquire(buf.length));
+    }
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import handist.collections.function.DeSerializer;
+
+public class TestDeSerializerRegistry {
+
+    /**
+     * Deserializer carrying some state so that serializing it takes a few bytes
+     */
+    static class NamedDeSerializer implements DeSerializer {
+        private static final long serialVersionUID = -4012390718527617436L;
+
+        final String name;
+
+        NamedDeSerializer(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void accept(ObjectInput in) throws Exception {
+            // Nothing to do
+        }
+    }
+
+    @Before
+    public void setUp() {
+        DeSerializerRegistry.resetStatistics();
+    }
+
+    @Test
+    public void testRepeatedDeSerializersWrittenOnce() {
+        final DeSerializer a = new NamedDeSerializer("a deserializer with a rather long name");
+        final DeSerializer b = new NamedDeSerializer("another deserializer");
+        final List<DeSerializer> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i % 10 == 0 ? b : a);
+        }
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutput(stream);
+        DeSerializerRegistry.writeDeSerializers(out, list);
+        out.writeInt(42);
+        out.close();
+
+        final long written = DeSerializerRegistry.bytesWritten();
+        assertTrue(written > 0);
+        assertTrue(written < stream.size());
+        // 98 of the deserializers were replaced by an identifier
+        assertTrue(DeSerializerRegistry.bytesSaved() > 98 * 10);
+
+        final ObjectInput in = new ObjectInput(new ByteArrayInputStream(stream.toByteArray()));
+        final List<DeSerializer> read = DeSerializerRegistry.readDeSerializers(in);
+        assertEquals(42, in.readInt());
+        in.close();
+
+        assertEquals(100, read.size());
+        final DeSerializer readA = read.get(1);
+        final DeSerializer readB = read.get(0);
+        assertEquals("a deserializer with a rather long name", ((NamedDeSerializer) readA).name);
+        assertEquals("another deserializer", ((NamedDeSerializer) readB).name);
+        for (int i = 0; i < 100; i++) {
+            assertSame(i % 10 == 0 ? readB : readA, read.get(i));
+        }
+    }
+
+    @Test
+    public void testEmptyList() {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutput(stream);
+        DeSerializerRegistry.writeDeSerializers(out, Arrays.asList());
+        out.close();
+        assertEquals(1, stream.size());
+        assertEquals(0l, DeSerializerRegistry.bytesSaved());
+
+        final ObjectInput in = new ObjectInput(new ByteArrayInputStream(stream.toByteArray()));
+        assertTrue(DeSerializerRegistry.readDeSerializers(in).isEmpty());
+        in.close();
+    }
+}
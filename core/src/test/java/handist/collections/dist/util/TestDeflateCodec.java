@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestDeflateCodec {
+
+    private DeflateCodec codec;
+
+    private static byte[] randomBytes(int size) {
+        final byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[100];
+        int n;
+        while ((n = in.read(buf, 0, buf.length)) != -1) {
+            out.write(buf, 0, n);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    private byte[] roundTrip(ByteArrayOutputStream payload) throws IOException {
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        codec.encode(payload, encoded);
+        return readAll(codec.decode(new ByteArrayInputStream(encoded.toByteArray())));
+    }
+
+    @Before
+    public void setUp() {
+        codec = new DeflateCodec();
+    }
+
+    @Test
+    public void testCompressibleObjects() throws IOException {
+        final SegmentedOutputStream payload = new SegmentedOutputStream(64);
+        final ObjectOutput out = new ObjectOutput(payload);
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i % 10);
+        }
+        out.writeObject(list);
+        out.close();
+
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        codec.encode(payload, encoded);
+        assertEquals(1, codec.payloadsCompressed());
+        assertEquals(payload.length(), codec.bytesIn());
+        assertEquals(encoded.size(), codec.bytesOut());
+        assertTrue(encoded.size() < payload.length());
+
+        final ObjectInput in = new ObjectInput(codec.decode(new ByteArrayInputStream(encoded.toByteArray())));
+        assertEquals(list, in.readObject());
+        in.close();
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void testDecodeUnknownMarker() throws IOException {
+        codec.decode(new ByteArrayInputStream(new byte[] { 7 }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLevel() {
+        new DeflateCodec(12, DeflateCodec.DEFAULT_MAX_RATIO, DeflateCodec.DEFAULT_MIN_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRatio() {
+        new DeflateCodec(Deflater.BEST_SPEED, 0, DeflateCodec.DEFAULT_MIN_SIZE);
+    }
+
+    @Test
+    public void testPoorRatioSkipsNextPayloads() throws IOException {
+        final ByteArrayOutputStream random = new ByteArrayOutputStream();
+        random.write(randomBytes(4096), 0, 4096);
+        assertArrayEquals(random.toByteArray(), roundTrip(random));
+        assertEquals(0, codec.payloadsCompressed());
+        assertEquals(1, codec.payloadsRaw());
+        assertEquals(4097, codec.bytesOut());
+
+        // Compressible payloads are not compressed until enough payloads were skipped
+        final ByteArrayOutputStream zeros = new ByteArrayOutputStream();
+        zeros.write(new byte[4096], 0, 4096);
+        for (int i = 0; i < DeflateCodec.SKIPPED_AFTER_POOR_RATIO; i++) {
+            assertArrayEquals(zeros.toByteArray(), roundTrip(zeros));
+        }
+        assertEquals(0, codec.payloadsCompressed());
+        assertArrayEquals(zeros.toByteArray(), roundTrip(zeros));
+        assertEquals(1, codec.payloadsCompressed());
+        assertEquals(DeflateCodec.SKIPPED_AFTER_POOR_RATIO + 1, codec.payloadsRaw());
+
+        codec.resetStatistics();
+        assertEquals(0, codec.bytesIn());
+        assertEquals(0, codec.bytesOut());
+        assertEquals(0, codec.payloadsCompressed());
+        assertEquals(0, codec.payloadsRaw());
+    }
+
+    @Test
+    public void testSmallPayloadNotCompressed() throws IOException {
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        payload.write(new byte[DeflateCodec.DEFAULT_MIN_SIZE - 1], 0, DeflateCodec.DEFAULT_MIN_SIZE - 1);
+        assertArrayEquals(payload.toByteArray(), roundTrip(payload));
+        assertEquals(0, codec.payloadsCompressed());
+        assertEquals(1, codec.payloadsRaw());
+    }
+}
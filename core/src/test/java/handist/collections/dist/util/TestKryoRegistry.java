@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+
+import org.junit.Test;
+
+import handist.collections.Chunk;
+import handist.collections.LongRange;
+
+public class TestKryoRegistry {
+
+    /** Class registered by {@link #testRegisterApplicationClass()} */
+    static class Registered implements Serializable {
+        private static final long serialVersionUID = 2417395417436203791L;
+        int value;
+
+        Registered(int value) {
+            this.value = value;
+        }
+    }
+
+    /** Class which is never registered */
+    static class Unregistered implements Serializable {
+        private static final long serialVersionUID = -5046431526734719862L;
+        int value;
+
+        Unregistered(int value) {
+            this.value = value;
+        }
+    }
+
+    private static Object roundTrip(Object o, int[] size) {
+        final ByteArrayOutputStream out0 = new ByteArrayOutputStream();
+        final ObjectOutput out = new ObjectOutput(out0);
+        out.writeObject(o);
+        out.close();
+        size[0] = out0.size();
+        final ObjectInput in = new ObjectInput(new ByteArrayInputStream(out0.toByteArray()));
+        final Object result = in.readObject();
+        in.close();
+        return result;
+    }
+
+    @Test
+    public void testChunkHeterogeneousElements() {
+        final Chunk<Object> chunk = new Chunk<>(new LongRange(-5, 0));
+        chunk.set(-5, "a");
+        chunk.set(-4, 1);
+        chunk.set(-2, new Unregistered(3));
+        chunk.set(-1, 4l);
+
+        @SuppressWarnings("unchecked")
+        final Chunk<Object> copy = (Chunk<Object>) roundTrip(chunk, new int[1]);
+        assertEquals(new LongRange(-5, 0), copy.getRange());
+        assertEquals("a", copy.get(-5));
+        assertEquals(1, copy.get(-4));
+        assertNull(copy.get(-3));
+        assertEquals(3, ((Unregistered) copy.get(-2)).value);
+        assertEquals(4l, copy.get(-1));
+    }
+
+    @Test
+    public void testChunkHomogeneousElements() {
+        final int[] size = new int[1];
+        final Chunk<Unregistered> homogeneous = new Chunk<>(new LongRange(10, 110));
+        final Chunk<Object> heterogeneous = new Chunk<>(new LongRange(10, 110));
+        for (long i = 10; i < 110; i++) {
+            homogeneous.set(i, new Unregistered((int) i));
+            heterogeneous.set(i, new Unregistered((int) i));
+        }
+        heterogeneous.set(10l, 10);
+
+        @SuppressWarnings("unchecked")
+        final Chunk<Unregistered> copy = (Chunk<Unregistered>) roundTrip(homogeneous, size);
+        final int homogeneousSize = size[0];
+        roundTrip(heterogeneous, size);
+        // The class of the elements is only written once
+        assertTrue(homogeneousSize + 90 < size[0]);
+        for (long i = 10; i < 110; i++) {
+            assertEquals(i, copy.get(i).value);
+        }
+    }
+
+    @Test
+    public void testCoreTypesRegistered() {
+        assertTrue(KryoRegistry.idOf(LongRange.class) >= 0);
+        assertTrue(KryoRegistry.idOf(Chunk.class) >= 0);
+        assertTrue(KryoRegistry.idOf(Integer.class) >= 0);
+        assertEquals(-1, KryoRegistry.idOf(Unregistered.class));
+
+        final int[] size = new int[1];
+        assertEquals(new LongRange(3, 7), roundTrip(new LongRange(3, 7), size));
+        // Identifier of the class, reference marker and the two bounds
+        assertEquals(4, size[0]);
+        assertNull(roundTrip(null, size));
+        assertEquals(1, size[0]);
+    }
+
+    @Test
+    public void testRegisterApplicationClass() {
+        final int[] size = new int[1];
+        roundTrip(new Registered(1), size);
+        final int unregisteredSize = size[0];
+
+        final int id = KryoRegistry.register(Registered.class);
+        assertEquals(id, KryoRegistry.register(Registered.class));
+        assertEquals(id, KryoRegistry.idOf(Registered.class));
+        final Registered copy = (Registered) roundTrip(new Registered(42), size);
+        assertEquals(42, copy.value);
+        assertTrue(size[0] < unregisteredSize);
+    }
+}
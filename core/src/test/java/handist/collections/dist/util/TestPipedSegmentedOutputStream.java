@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import static org.junit.Assert.*;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class TestPipedSegmentedOutputStream {
+
+    @Test(timeout = 10000)
+    public void testAbortReleasesProducer() throws Exception {
+        final PipedSegmentedOutputStream out = new PipedSegmentedOutputStream(4, 1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread producer = new Thread(() -> {
+            try {
+                out.write(new byte[100], 0, 100);
+            } catch (final Throwable t) {
+                failure.set(t);
+            }
+        });
+        producer.start();
+        // Wait until the producer is blocked with a full queue
+        while (producer.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        out.abort();
+        producer.join();
+        assertTrue(failure.get() instanceof UncheckedIOException);
+        assertNull(out.poll());
+    }
+
+    @Test(timeout = 10000)
+    public void testBoundedProducer() throws Exception {
+        final PipedSegmentedOutputStream out = new PipedSegmentedOutputStream(8, 1);
+        final AtomicLong maxAhead = new AtomicLong();
+        final AtomicLong taken = new AtomicLong();
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                out.write(i);
+                // At most one queued segment and the segment being written, plus
+                // the segment the consumer may have taken without counting it yet
+                maxAhead.accumulateAndGet(out.length() - taken.get(), Math::max);
+            }
+            out.close();
+        });
+        producer.start();
+
+        int expected = 0;
+        while (!out.isDrained()) {
+            final byte[] segment = out.poll();
+            if (segment == null) {
+                Thread.sleep(1);
+                continue;
+            }
+            for (final byte b : segment) {
+                assertEquals((byte) expected++, b);
+            }
+            taken.addAndGet(segment.length);
+        }
+        producer.join();
+        assertEquals(1000, expected);
+        assertEquals(1000l, out.length());
+        assertTrue("Producer was " + maxAhead.get() + " bytes ahead", maxAhead.get() <= 24);
+    }
+
+    @Test
+    public void testClose() {
+        final PipedSegmentedOutputStream out = new PipedSegmentedOutputStream(8, 0);
+        out.write(new byte[20], 0, 20);
+        assertFalse(out.isDrained());
+        out.close();
+        out.close();
+        assertEquals(8, out.poll().length);
+        assertEquals(8, out.poll().length);
+        assertFalse(out.isDrained());
+        // The last segment only holds the bytes written
+        assertEquals(4, out.poll().length);
+        assertTrue(out.isDrained());
+        assertNull(out.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSegmentSize() {
+        new PipedSegmentedOutputStream(0, 1);
+    }
+
+    @Test
+    public void testObjectOutputRoundTrip() throws Exception {
+        final PipedSegmentedOutputStream out = new PipedSegmentedOutputStream(16, 0);
+        final ObjectOutput s = new ObjectOutput(out);
+        final StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longString.append(i);
+        }
+        s.writeObject(longString.toString());
+        s.writeLong(42l);
+        s.close();
+        out.close();
+
+        final SegmentedInputStream in = new SegmentedInputStream();
+        byte[] segment;
+        while ((segment = out.poll()) != null) {
+            assertTrue(segment.length <= 16);
+            in.append(segment, 0, segment.length);
+        }
+        in.end();
+        final ObjectInput ds = new ObjectInput(in);
+        assertEquals(longString.toString(), ds.readObject());
+        assertEquals(42l, ds.readLong());
+        ds.close();
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testWriteAfterClose() {
+        final PipedSegmentedOutputStream out = new PipedSegmentedOutputStream(8, 0);
+        out.close();
+        out.write(1);
+    }
+}
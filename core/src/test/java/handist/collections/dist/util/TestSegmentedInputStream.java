@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class TestSegmentedInputStream {
+
+    @Test
+    public void testCallbackCalledOnClose() {
+        final AtomicInteger consumed = new AtomicInteger();
+        final SegmentedInputStream in = new SegmentedInputStream();
+        in.append(new byte[4], 0, 4, consumed::incrementAndGet);
+        in.append(new byte[4], 0, 4, consumed::incrementAndGet);
+        in.close();
+        assertEquals(2, consumed.get());
+    }
+
+    @Test
+    public void testConcurrentProducer() throws Exception {
+        final AtomicInteger consumed = new AtomicInteger();
+        final SegmentedInputStream in = new SegmentedInputStream();
+        final Thread producer = new Thread(() -> {
+            for (int round = 0; round < 10; round++) {
+                final byte[] b = new byte[12];
+                for (int i = 0; i < 10; i++) {
+                    b[i + 2] = (byte) (round * 10 + i);
+                }
+                in.append(b, 2, 10, consumed::incrementAndGet);
+            }
+            in.end();
+        });
+        producer.start();
+
+        final byte[] read = new byte[7];
+        int expected = 0;
+        int n;
+        while ((n = in.read(read, 0, read.length)) != -1) {
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected++, read[i]);
+            }
+        }
+        producer.join();
+        assertEquals(100, expected);
+        assertEquals(10, consumed.get());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testAppendAfterClose() {
+        final AtomicInteger consumed = new AtomicInteger();
+        final SegmentedInputStream in = new SegmentedInputStream();
+        in.close();
+        // The bytes appended to a closed stream are discarded right away
+        in.append(new byte[4], 0, 4, consumed::incrementAndGet);
+        assertEquals(1, consumed.get());
+        assertEquals(0l, in.buffered());
+    }
+
+    @Test
+    public void testBuffered() throws Exception {
+        final SegmentedInputStream in = new SegmentedInputStream();
+        in.append(new byte[4], 0, 4);
+        in.append(new byte[6], 1, 5);
+        assertEquals(9l, in.buffered());
+        in.read(new byte[3], 0, 3);
+        in.read();
+        // The first segment is counted until the reader moves past it
+        assertEquals(9l, in.buffered());
+        in.read();
+        assertEquals(5l, in.buffered());
+        in.close();
+        assertEquals(0l, in.buffered());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAppendAfterEnd() {
+        final SegmentedInputStream in = new SegmentedInputStream();
+        in.end();
+        in.append(new byte[1], 0, 1);
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Handy Tools for Distributed Computing (HanDist) project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ ******************************************************************************/
+package handist.collections.dist.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+public class TestSegmentedOutputStream {
+
+    @Test
+    public void testCopyAcrossSegments() {
+        final SegmentedOutputStream out = new SegmentedOutputStream(7);
+        for (int i = 0; i < 50; i++) {
+            out.write(i);
+        }
+        assertEquals(50l, out.length());
+        assertEquals(50, out.size());
+
+        final byte[] dst = new byte[20];
+        out.copyTo(5, dst, 2, 18);
+        for (int i = 0; i < 18; i++) {
+            assertEquals(5 + i, dst[2 + i]);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCopyBeyondEnd() {
+        final SegmentedOutputStream out = new SegmentedOutputStream(4);
+        out.write(new byte[10], 0, 10);
+        out.copyTo(8, new byte[4], 0, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSegmentSize() {
+        new SegmentedOutputStream(0);
+    }
+
+    @Test
+    public void testObjectOutputRoundTrip() throws Exception {
+        final SegmentedOutputStream out = new SegmentedOutputStream(16);
+        final ObjectOutput s = new ObjectOutput(out);
+        final StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longString.append(i);
+        }
+        s.writeObject(longString.toString());
+        s.writeLong(42l);
+        s.close();
+
+        final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        out.writeTo(copy);
+        assertArrayEquals(copy.toByteArray(), out.toByteArray());
+
+        final SegmentedInputStream in = new SegmentedInputStream();
+        in.append(out.toByteArray(), 0, out.size());
+        in.end();
+        final ObjectInput ds = new ObjectInput(in);
+        assertEquals(longString.toString(), ds.readObject());
+        assertEquals(42l, ds.readLong());
+        ds.close();
+    }
+
+    @Test
+    public void testReset() {
+        final SegmentedOutputStream out = new SegmentedOutputStream(4);
+        out.write(new byte[10], 0, 10);
+        out.reset();
+        assertEquals(0l, out.length());
+        out.write(3);
+        assertArrayEquals(new byte[] { 3 }, out.toByteArray());
+    }
+
+    @Test
+    public void testSegments() {
+        final SegmentedOutputStream out = new SegmentedOutputStream(8);
+        assertEquals(0, out.segmentCount());
+        for (int i = 0; i < 20; i++) {
+            out.write(i);
+        }
+        assertEquals(8, out.segmentSize());
+        assertEquals(3, out.segmentCount());
+        assertEquals(8, out.segmentLength(0));
+        assertEquals(8, out.segmentLength(1));
+        assertEquals(4, out.segmentLength(2));
+
+        // The segments hold the bytes in order
+        int expected = 0;
+        for (int s = 0; s < out.segmentCount(); s++) {
+            final byte[] segment = out.segment(s);
+            for (int i = 0; i < out.segmentLength(s); i++) {
+                assertEquals(expected++, segment[i]);
+            }
+        }
+        assertEquals(20, expected);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSegmentLengthOutOfRange() {
+        final SegmentedOutputStream out = new SegmentedOutputStream(8);
+        out.write(1);
+        out.segmentLength(1);
+    }
+}
@@ -176,6 +176,24 @@ public class TestPrimitiveReducer {
         assertEquals(min, bag.parallelReduce(parallelism, ShortReducer.Op.MIN, e -> e.s));
     }
 
+    @Test
+    public void testParallelReduceToPrimitive() {
+        assertEquals(sum, chunkedList.parallelReduceToInt(parallelism, IntReducer.Op.SUM, e -> e.i));
+        assertEquals(prod, chunkedList.parallelReduceToInt(parallelism, IntReducer.Op.PROD, e -> e.i));
+        assertEquals(max, chunkedList.parallelReduceToLong(parallelism, LongReducer.Op.MAX, e -> e.l));
+        assertEquals(min, chunkedList.parallelReduceToLong(parallelism, LongReducer.Op.MIN, e -> e.l));
+        assertEquals(sum, chunkedList.parallelReduceToDouble(parallelism, DoubleReducer.Op.SUM, e -> e.d), 0.0);
+        assertEquals(max, chunkedList.parallelReduceToDouble(DoubleReducer.Op.MAX, e -> e.d), 0.0);
+        assertEquals(sum, chunkedList.parallelReduce(new ToIntReducer<Element>(IntReducer.Op.SUM, e -> e.i)).value());
+
+        assertEquals(sum, bag.parallelReduceToInt(parallelism, IntReducer.Op.SUM, e -> e.i));
+        assertTrue(bag.isEmpty());
+        setupBag();
+        assertEquals(prod, bag.parallelReduceToLong(parallelism, LongReducer.Op.PROD, e -> e.l));
+        setupBag();
+        assertEquals(min, bag.parallelReduceToDouble(parallelism, DoubleReducer.Op.MIN, e -> e.d), 0.0);
+    }
+
     @Test
     public void testReduceBoolAnd() {
         assertTrue(chunkedList.reduce(BoolReducer.Op.AND, e -> e.b));
@@ -288,4 +306,14 @@ public class TestPrimitiveReducer {
         setupBag();
         assertEquals(min, bag.reduce(ShortReducer.Op.MIN, e -> e.s));
     }
+
+    @Test
+    public void testReduceToPrimitive() {
+        assertEquals(sum, chunkedList.reduceToInt(IntReducer.Op.SUM, e -> e.i));
+        assertEquals(min, chunkedList.reduceToInt(IntReducer.Op.MIN, e -> e.i));
+        assertEquals(prod, chunkedList.reduceToLong(LongReducer.Op.PROD, e -> e.l));
+        assertEquals(max, chunkedList.reduceToLong(LongReducer.Op.MAX, e -> e.l));
+        assertEquals(sum, chunkedList.reduceToDouble(DoubleReducer.Op.SUM, e -> e.d), 0.0);
+        assertEquals(prod, chunkedList.reduceToDouble(DoubleReducer.Op.PROD, e -> e.d), 0.0);
+    }
 }